@@ -0,0 +1,126 @@
+import groovy.json.JsonSlurper
+
+plugins {
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+/*
+ * Run:                ./gradlew :benchmarks:jmh [-PjmhIncludes=PromoDiscount]
+ * Compare:            ./gradlew :benchmarks:jmhCompare [-PjmhRegressionThreshold=0.10]
+ * Accept new numbers: ./gradlew :benchmarks:jmhSaveBaseline
+ *
+ * Results are written as JMH JSON to build/results/jmh/results.json; the committed
+ * baseline lives in baseline/jmh-baseline.json. Compare numbers only from the same machine.
+ */
+
+dependencies {
+    jmh(project(":common-lib"))
+    jmh(project(":order-service"))
+    jmh(project(":delivery-service"))
+
+    // Entity annotations of the service classes (only on their runtime classpath)
+    jmh("jakarta.persistence:jakarta.persistence-api")
+
+    // Throwaway Redis for CourierSearchBenchmark when no -Dredis.host is given
+    jmh("org.testcontainers:testcontainers")
+}
+
+val jmhResults = layout.buildDirectory.file("results/jmh/results.json")
+val jmhBaseline = layout.projectDirectory.file("baseline/jmh-baseline.json")
+
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+    resultsFile.set(jmhResults)
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    // The fat benchmark jar carries the whole Spring Boot classpath
+    zip64.set(true)
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.set(it.split(",")) }
+}
+
+tasks.register("jmhCompare") {
+    group = "verification"
+    description = "Fails if any benchmark in the latest JMH results regressed against the committed baseline"
+
+    val results = jmhResults
+    val baseline = jmhBaseline
+    val threshold = providers.gradleProperty("jmhRegressionThreshold").map { it.toDouble() }.orElse(0.10)
+    inputs.file(results)
+    inputs.file(baseline)
+
+    doLast {
+        @Suppress("UNCHECKED_CAST")
+        fun load(file: File): Map<String, Map<String, Any?>> =
+            (JsonSlurper().parse(file) as List<Map<String, Any?>>).associateBy { run ->
+                val params = (run["params"] as Map<*, *>?)?.entries?.sortedBy { it.key.toString() }
+                    ?.joinToString(",", "[", "]") { "${it.key}=${it.value}" } ?: ""
+                "${run["benchmark"]}$params (${run["mode"]})"
+            }
+
+        fun metric(run: Map<String, Any?>) = run["primaryMetric"] as Map<*, *>
+
+        val current = load(results.get().asFile)
+        val reference = load(baseline.asFile)
+        if (reference.isEmpty()) {
+            throw GradleException("The JMH baseline ${baseline.asFile} is empty; run :benchmarks:jmh " +
+                "and :benchmarks:jmhSaveBaseline on the comparison machine first")
+        }
+        val limit = threshold.get()
+        val regressions = mutableListOf<String>()
+
+        current.forEach { (name, run) ->
+            val base = reference[name]
+            if (base == null) {
+                logger.lifecycle("NEW        $name")
+                return@forEach
+            }
+            val score = (metric(run)["score"] as Number).toDouble()
+            val error = (metric(run)["scoreError"] as? Number)?.toDouble()?.takeIf { !it.isNaN() } ?: 0.0
+            val baseScore = (metric(base)["score"] as Number).toDouble()
+            val baseError = (metric(base)["scoreError"] as? Number)?.toDouble()?.takeIf { !it.isNaN() } ?: 0.0
+            val unit = metric(run)["scoreUnit"]
+
+            // Throughput: higher is better; every other mode measures time
+            val higherIsBetter = run["mode"] == "thrpt"
+            val change = if (higherIsBetter) (baseScore - score) / baseScore else (score - baseScore) / baseScore
+            val outsideNoise = Math.abs(score - baseScore) > error + baseError
+            val status = when {
+                change > limit && outsideNoise -> "REGRESSED"
+                -change > limit && outsideNoise -> "IMPROVED"
+                else -> "OK"
+            }
+            logger.lifecycle(String.format("%-10s %s: %.3f -> %.3f %s (%+.1f%%)",
+                status, name, baseScore, score, unit, -change * 100))
+            if (status == "REGRESSED") {
+                regressions += name
+            }
+        }
+        reference.keys.filterNot { it in current }.forEach { logger.lifecycle("MISSING    $it") }
+        if (current.keys.none { it in reference }) {
+            throw GradleException("No benchmark of the latest results is in the baseline; nothing was compared")
+        }
+
+        if (regressions.isNotEmpty()) {
+            throw GradleException("${regressions.size} benchmark(s) regressed by more than " +
+                "${(limit * 100).toInt()}%: ${regressions.joinToString()}")
+        }
+    }
+}
+
+tasks.register<Copy>("jmhSaveBaseline") {
+    group = "verification"
+    description = "Replaces the committed JMH baseline with the latest results"
+    from(jmhResults)
+    into(jmhBaseline.asFile.parentFile)
+    rename { jmhBaseline.asFile.name }
+}
+
+tasks.bootJar {
+    enabled = false
+}
+
+tasks.jar {
+    enabled = true
+}
@@ -0,0 +1,172 @@
+package com.fooddelivery.benchmarks.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fooddelivery.common.event.DeliveryAssignedEvent;
+import com.fooddelivery.common.event.OrderCreatedEvent;
+import com.fooddelivery.common.event.OrderStatusChangedEvent;
+import com.fooddelivery.common.serde.EventDeserializer;
+import com.fooddelivery.common.serde.EventSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of common.event payloads, configured like the Kafka JsonSerializer
+ * (JavaTimeModule, ISO dates), against the binary format of EventSerializer/EventDeserializer
+ * on a binary topic (schema registry in a temp directory)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class EventSerializationBenchmark {
+    
+    private ObjectMapper objectMapper;
+    private OrderCreatedEvent orderCreated;
+    private OrderStatusChangedEvent statusChanged;
+    private DeliveryAssignedEvent deliveryAssigned;
+    private byte[] orderCreatedJson;
+    private byte[] statusChangedJson;
+    private byte[] deliveryAssignedJson;
+    
+    private static final String BINARY_TOPIC = "bench.binary";
+    private Path schemaDir;
+    private EventSerializer binarySerializer;
+    private EventDeserializer binaryDeserializer;
+    private byte[] orderCreatedBinary;
+    private byte[] statusChangedBinary;
+    private byte[] deliveryAssignedBinary;
+    
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        
+        orderCreated = OrderCreatedEvent.builder()
+                .orderId(1_048_576L)
+                .userId(42L)
+                .restaurantId(7L)
+                .deliveryAddressId(99L)
+                .totalAmount(new BigDecimal("46.69"))
+                .pickupLatitude(52.2297)
+                .pickupLongitude(21.0122)
+                .deliveryLatitude(52.2401)
+                .deliveryLongitude(21.0305)
+                .build();
+        statusChanged = OrderStatusChangedEvent.builder()
+                .orderId(1_048_576L)
+                .userId(42L)
+                .restaurantId(7L)
+                .oldStatus("PREPARING")
+                .newStatus("READY")
+                .changedBy(42L)
+                .build();
+        deliveryAssigned = DeliveryAssignedEvent.builder()
+                .deliveryId(5_000L)
+                .orderId(1_048_576L)
+                .courierId(311L)
+                .userId(42L)
+                .estimatedTimeMinutes(25)
+                .build();
+        
+        orderCreatedJson = objectMapper.writeValueAsBytes(orderCreated);
+        statusChangedJson = objectMapper.writeValueAsBytes(statusChanged);
+        deliveryAssignedJson = objectMapper.writeValueAsBytes(deliveryAssigned);
+        
+        schemaDir = Files.createTempDirectory("bench-schemas");
+        Map<String, Object> configs = Map.of(
+                EventSerializer.BINARY_TOPICS_CONFIG, BINARY_TOPIC,
+                EventSerializer.SCHEMA_DIR_CONFIG, schemaDir.toString());
+        binarySerializer = new EventSerializer();
+        binarySerializer.configure(configs, false);
+        binaryDeserializer = new EventDeserializer();
+        binaryDeserializer.configure(configs, false);
+        
+        orderCreatedBinary = binarySerializer.serialize(BINARY_TOPIC, orderCreated);
+        statusChangedBinary = binarySerializer.serialize(BINARY_TOPIC, statusChanged);
+        deliveryAssignedBinary = binarySerializer.serialize(BINARY_TOPIC, deliveryAssigned);
+    }
+    
+    @TearDown
+    public void tearDown() throws IOException {
+        try (var files = Files.walk(schemaDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+    
+    @Benchmark
+    public byte[] serializeOrderCreated() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orderCreated);
+    }
+    
+    @Benchmark
+    public OrderCreatedEvent deserializeOrderCreated() throws IOException {
+        return objectMapper.readValue(orderCreatedJson, OrderCreatedEvent.class);
+    }
+    
+    @Benchmark
+    public byte[] serializeOrderStatusChanged() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(statusChanged);
+    }
+    
+    @Benchmark
+    public OrderStatusChangedEvent deserializeOrderStatusChanged() throws IOException {
+        return objectMapper.readValue(statusChangedJson, OrderStatusChangedEvent.class);
+    }
+    
+    @Benchmark
+    public byte[] serializeDeliveryAssigned() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(deliveryAssigned);
+    }
+    
+    @Benchmark
+    public DeliveryAssignedEvent deserializeDeliveryAssigned() throws IOException {
+        return objectMapper.readValue(deliveryAssignedJson, DeliveryAssignedEvent.class);
+    }
+    
+    @Benchmark
+    public byte[] serializeOrderCreatedBinary() {
+        return binarySerializer.serialize(BINARY_TOPIC, orderCreated);
+    }
+    
+    @Benchmark
+    public Object deserializeOrderCreatedBinary() {
+        return binaryDeserializer.deserialize(BINARY_TOPIC, orderCreatedBinary);
+    }
+    
+    @Benchmark
+    public byte[] serializeOrderStatusChangedBinary() {
+        return binarySerializer.serialize(BINARY_TOPIC, statusChanged);
+    }
+    
+    @Benchmark
+    public Object deserializeOrderStatusChangedBinary() {
+        return binaryDeserializer.deserialize(BINARY_TOPIC, statusChangedBinary);
+    }
+    
+    @Benchmark
+    public byte[] serializeDeliveryAssignedBinary() {
+        return binarySerializer.serialize(BINARY_TOPIC, deliveryAssigned);
+    }
+    
+    @Benchmark
+    public Object deserializeDeliveryAssignedBinary() {
+        return binaryDeserializer.deserialize(BINARY_TOPIC, deliveryAssignedBinary);
+    }
+}
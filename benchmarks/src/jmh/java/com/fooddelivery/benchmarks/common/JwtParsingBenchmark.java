@@ -0,0 +1,49 @@
+package com.fooddelivery.benchmarks.common;
+
+import com.fooddelivery.common.config.JwtProperties;
+import com.fooddelivery.common.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtil parsing as done by JwtAuthenticationFilter on every request
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JwtParsingBenchmark {
+    
+    private JwtUtil jwtUtil;
+    private String token;
+    
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("benchmark-secret-key-that-is-long-enough-for-hs256-signing");
+        jwtUtil = new JwtUtil(properties);
+        token = jwtUtil.generateToken(42L, "courier@example.com", "COURIER");
+    }
+    
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+    
+    @Benchmark
+    public Claims extractAllClaims() {
+        return jwtUtil.extractAllClaims(token);
+    }
+    
+    @Benchmark
+    public Long extractUserId() {
+        return jwtUtil.extractUserId(token);
+    }
+}
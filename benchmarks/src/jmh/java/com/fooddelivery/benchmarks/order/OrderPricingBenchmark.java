@@ -0,0 +1,55 @@
+package com.fooddelivery.benchmarks.order;
+
+import com.fooddelivery.order.entity.Order;
+import com.fooddelivery.order.entity.OrderItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order.calculateTotal / recalculateSubtotal (BigDecimal arithmetic over the items)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class OrderPricingBenchmark {
+    
+    @Param({"1", "5", "25"})
+    private int itemCount;
+    
+    private Order order;
+    
+    @Setup
+    public void setUp() {
+        order = new Order();
+        order.setDeliveryFee(new BigDecimal("2.99"));
+        order.setDiscount(new BigDecimal("5.00"));
+        for (int i = 0; i < itemCount; i++) {
+            OrderItem item = new OrderItem();
+            item.setQuantity(1 + i % 3);
+            item.setPrice(new BigDecimal("7.49").add(BigDecimal.valueOf(i)));
+            item.setSubtotal(item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+            order.addItem(item);
+        }
+    }
+    
+    @Benchmark
+    public BigDecimal calculateTotal() {
+        order.calculateTotal();
+        return order.getTotalAmount();
+    }
+    
+    @Benchmark
+    public BigDecimal recalculateSubtotal() {
+        order.recalculateSubtotal();
+        return order.getTotalAmount();
+    }
+}
@@ -0,0 +1,47 @@
+package com.fooddelivery.benchmarks.order;
+
+import com.fooddelivery.order.enums.OrderStatus;
+import com.fooddelivery.order.exception.InvalidOrderStateException;
+import com.fooddelivery.order.service.OrderStateMachine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderStateMachine.validateTransition over the whole happy path, and the rejection path
+ * (which pays for building the exception message and stack trace)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class OrderStateMachineBenchmark {
+    
+    private static final OrderStatus[] HAPPY_PATH = {
+        OrderStatus.CREATED, OrderStatus.CONFIRMED, OrderStatus.PREPARING,
+        OrderStatus.READY, OrderStatus.PICKED_UP, OrderStatus.DELIVERED
+    };
+    
+    private final OrderStateMachine stateMachine = new OrderStateMachine();
+    
+    @Benchmark
+    public void validateHappyPath() {
+        for (int i = 1; i < HAPPY_PATH.length; i++) {
+            stateMachine.validateTransition(HAPPY_PATH[i - 1], HAPPY_PATH[i]);
+        }
+    }
+    
+    @Benchmark
+    public void validateRejected(Blackhole blackhole) {
+        try {
+            stateMachine.validateTransition(OrderStatus.DELIVERED, OrderStatus.PREPARING);
+        } catch (InvalidOrderStateException e) {
+            blackhole.consume(e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.fooddelivery.benchmarks.order;
+
+import com.fooddelivery.order.entity.PromoCode;
+import com.fooddelivery.order.enums.DiscountType;
+import com.fooddelivery.order.service.PromoCodeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PromoCodeService.calculateDiscount per discount type (pure arithmetic - no repositories involved)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class PromoDiscountBenchmark {
+    
+    @Param({"PERCENTAGE", "FIXED_AMOUNT", "FREE_DELIVERY"})
+    private DiscountType discountType;
+    
+    private final BigDecimal subtotal = new BigDecimal("48.70");
+    private final BigDecimal deliveryFee = new BigDecimal("2.99");
+    
+    private PromoCodeService promoCodeService;
+    private PromoCode promoCode;
+    
+    @Setup
+    public void setUp() {
+        promoCodeService = new PromoCodeService(null, null, null, null);
+        promoCode = new PromoCode();
+        promoCode.setDiscountType(discountType);
+        promoCode.setDiscountValue(discountType == DiscountType.PERCENTAGE ? new BigDecimal("15") : new BigDecimal("5.00"));
+        promoCode.setMaxDiscountAmount(new BigDecimal("10.00"));
+    }
+    
+    @Benchmark
+    public BigDecimal calculateDiscount() {
+        return promoCodeService.calculateDiscount(promoCode, subtotal, deliveryFee);
+    }
+}
@@ -0,0 +1,70 @@
+package com.fooddelivery.delivery.service;
+
+import com.fooddelivery.delivery.entity.Courier;
+import com.fooddelivery.delivery.enums.CourierStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DeliveryAssignmentService courier scoring (haversine distance, rating, experience) and the
+ * best-candidate selection over a nearby-courier list, without the repository lookups.
+ * Lives in the service package to reach the package-private scoring method.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class CourierScoringBenchmark {
+    
+    private static final double PICKUP_LAT = 52.2297;
+    private static final double PICKUP_LON = 21.0122;
+    
+    @Param({"10", "100"})
+    private int candidates;
+    
+    private DeliveryAssignmentService assignmentService;
+    private List<Courier> couriers;
+    
+    @Setup
+    public void setUp() {
+        assignmentService = new DeliveryAssignmentService(null, null, new LocationTrackingService(null), null, null, null);
+        SplittableRandom random = new SplittableRandom(42);
+        couriers = new ArrayList<>(candidates);
+        for (int i = 0; i < candidates; i++) {
+            Courier courier = new Courier();
+            courier.setId((long) i);
+            courier.setStatus(CourierStatus.AVAILABLE);
+            // Within ~10 km of the pickup point
+            courier.setCurrentLatitude(PICKUP_LAT + random.nextDouble(-0.09, 0.09));
+            courier.setCurrentLongitude(PICKUP_LON + random.nextDouble(-0.14, 0.14));
+            courier.setAverageRating(random.nextDouble(3.0, 5.0));
+            courier.setTotalDeliveries(random.nextInt(0, 300));
+            couriers.add(courier);
+        }
+    }
+    
+    @Benchmark
+    public double scoreOne() {
+        return assignmentService.calculateCourierScore(couriers.get(0), PICKUP_LAT, PICKUP_LON);
+    }
+    
+    @Benchmark
+    public Optional<Courier> selectBest() {
+        return couriers.stream()
+                .max((c1, c2) -> Double.compare(
+                    assignmentService.calculateCourierScore(c1, PICKUP_LAT, PICKUP_LON),
+                    assignmentService.calculateCourierScore(c2, PICKUP_LAT, PICKUP_LON)
+                ));
+    }
+}
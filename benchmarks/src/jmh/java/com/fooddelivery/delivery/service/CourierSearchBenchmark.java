@@ -0,0 +1,147 @@
+package com.fooddelivery.delivery.service;
+
+import com.fooddelivery.delivery.config.RedisConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nearest available couriers for a pickup point: the in-process CourierSpatialIndex (filtered kNN)
+ * against the Redis path it replaced (GEORADIUS for the 10 nearest, then the availability filter,
+ * which keeps only the free couriers among those 10).
+ * <p>
+ * The Redis benchmark runs against {@code -Dredis.host} / {@code -Dredis.port} (default port 6379)
+ * in database 15 ({@code -Dredis.database}) when a host is given; otherwise it starts a throwaway
+ * redis:7-alpine container, the image of docker/docker-compose.yml, which needs Docker. Without
+ * either only its setup fails and the spatial index numbers are still recorded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CourierSearchBenchmark {
+
+    private static final double CENTER_LAT = 52.2297;
+    private static final double CENTER_LON = 21.0122;
+    private static final double RADIUS_KM = 10.0;
+    private static final int NEAREST = 10;
+    private static final int PICKUPS = 1024;
+
+    @Param({"1000", "10000"})
+    private int couriers;
+
+    /**
+     * Share of couriers that are free; the rest are busy or offline
+     */
+    @Param({"0.2"})
+    private double availableShare;
+
+    private double[][] positions;
+    private boolean[] available;
+    private double[][] pickups;
+    private CourierSpatialIndex index;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        positions = new double[couriers][];
+        available = new boolean[couriers];
+        index = new CourierSpatialIndex(null);
+        for (int i = 0; i < couriers; i++) {
+            // Within ~10 km of the city center
+            positions[i] = new double[]{
+                CENTER_LAT + random.nextDouble(-0.09, 0.09),
+                CENTER_LON + random.nextDouble(-0.14, 0.14)
+            };
+            available[i] = random.nextDouble() < availableShare;
+            index.update(i, positions[i][0], positions[i][1], 1);
+        }
+        pickups = new double[PICKUPS][];
+        for (int i = 0; i < PICKUPS; i++) {
+            pickups[i] = new double[]{
+                CENTER_LAT + random.nextDouble(-0.05, 0.05),
+                CENTER_LON + random.nextDouble(-0.08, 0.08)
+            };
+        }
+    }
+
+    @Benchmark
+    public List<Long> spatialIndex() {
+        double[] pickup = pickups[next++ & (PICKUPS - 1)];
+        return index.nearest(pickup[0], pickup[1], RADIUS_KM, NEAREST, courierId -> available[(int) courierId]);
+    }
+
+    @Benchmark
+    public List<Long> redisGeo(RedisState redis) {
+        double[] pickup = pickups[next++ & (PICKUPS - 1)];
+        return redis.locationTrackingService.findNearestCouriers(pickup[0], pickup[1], RADIUS_KM).stream()
+                .filter(courierId -> available[courierId.intValue()])
+                .toList();
+    }
+
+    @State(Scope.Benchmark)
+    public static class RedisState {
+
+        private static final int REDIS_PORT = 6379;
+
+        private GenericContainer<?> container;
+        private LettuceConnectionFactory connectionFactory;
+        private RedisTemplate<String, String> redisTemplate;
+        private LocationTrackingService locationTrackingService;
+
+        @Setup(Level.Trial)
+        public void setUp(CourierSearchBenchmark benchmark) {
+            String host = System.getProperty("redis.host");
+            int port = Integer.getInteger("redis.port", REDIS_PORT);
+            if (host == null) {
+                container = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+                    .withExposedPorts(REDIS_PORT);
+                container.start();
+                host = container.getHost();
+                port = container.getMappedPort(REDIS_PORT);
+            }
+            RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(host, port);
+            configuration.setDatabase(Integer.getInteger("redis.database", 15));
+            connectionFactory = new LettuceConnectionFactory(configuration);
+            connectionFactory.afterPropertiesSet();
+            // Fail the setup rather than measure swallowed connection errors
+            try (RedisConnection connection = connectionFactory.getConnection()) {
+                connection.ping();
+            }
+            redisTemplate = new RedisConfig().redisTemplate(connectionFactory);
+
+            // Not a Spring bean, so the @Async update runs inline
+            locationTrackingService = new LocationTrackingService(redisTemplate);
+            for (int i = 0; i < benchmark.couriers; i++) {
+                locationTrackingService.updateCourierLocation(
+                    (long) i, benchmark.positions[i][0], benchmark.positions[i][1]);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            redisTemplate.delete("courier:locations");
+            connectionFactory.destroy();
+            if (container != null) {
+                container.stop();
+            }
+        }
+    }
+}
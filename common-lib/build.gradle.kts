@@ -22,6 +22,9 @@ dependencies {
     // Kafka
     api("org.springframework.kafka:spring-kafka")
     
+    // JDBC (transactional outbox - provided by services that use JPA)
+    compileOnly("org.springframework.boot:spring-boot-starter-jdbc")
+    
     // Redis
     api("org.springframework.boot:spring-boot-starter-data-redis")
     
@@ -38,6 +41,7 @@ dependencies {
     
     // Testing
     testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testImplementation("org.springframework.boot:spring-boot-starter-jdbc")
     testImplementation("org.mockito:mockito-core")
     testImplementation("org.mockito:mockito-junit-jupiter")
 }
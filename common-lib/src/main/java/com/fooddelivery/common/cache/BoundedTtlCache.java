@@ -0,0 +1,83 @@
+package com.fooddelivery.common.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Small in-process LRU cache with a fixed time-to-live per entry.
+ * 
+ * Meant for hot, rarely changing lookups where a Redis round trip would cost more than
+ * the value itself (coordinates, computed routes). Capacity bounds memory; TTL bounds
+ * staleness when an invalidation event is missed. Thread-safe via a single monitor.
+ */
+public class BoundedTtlCache<K, V> {
+    
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<K, Timestamped<V>> entries;
+    
+    public BoundedTtlCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+    
+    BoundedTtlCache(int maxSize, Duration ttl, LongSupplier nanoClock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(Math.min(maxSize, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Timestamped<V>> eldest) {
+                return size() > BoundedTtlCache.this.maxSize;
+            }
+        };
+    }
+    
+    /**
+     * @return cached value, or null when absent or expired
+     */
+    public synchronized V get(K key) {
+        Timestamped<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (nanoClock.getAsLong() - entry.writtenAt() > ttlNanos) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+    
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Timestamped<>(value, nanoClock.getAsLong()));
+    }
+    
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+    
+    /**
+     * Drop every entry whose key matches (linear scan - intended for rare invalidation events)
+     */
+    public synchronized void invalidateIf(Predicate<K> keyPredicate) {
+        Iterator<K> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            if (keyPredicate.test(keys.next())) {
+                keys.remove();
+            }
+        }
+    }
+    
+    public synchronized int size() {
+        return entries.size();
+    }
+    
+    private record Timestamped<V>(V value, long writtenAt) {}
+}
@@ -1,5 +1,7 @@
 package com.fooddelivery.common.config;
 
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
@@ -84,5 +86,22 @@ public abstract class BaseAsyncConfig implements AsyncConfigurer {
             DEFAULT_QUEUE_CAPACITY
         );
     }
+    
+    /**
+     * Create virtual-thread executor for blocking I/O fan-out (e.g. parallel remote lookups).
+     * Every task gets its own virtual thread; the concurrency limit throttles submitters
+     * instead of queueing without bound.
+     * 
+     * @param threadNamePrefix prefix for thread names
+     * @param concurrencyLimit maximum number of tasks running at the same time
+     * @return configured executor
+     */
+    protected AsyncTaskExecutor createVirtualThreadExecutor(String threadNamePrefix, int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        executor.setTaskTerminationTimeout(DEFAULT_AWAIT_TERMINATION_SECONDS * 1000L);
+        
+        return executor;
+    }
 }
-
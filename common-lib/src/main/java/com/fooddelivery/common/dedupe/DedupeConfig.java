@@ -0,0 +1,35 @@
+package com.fooddelivery.common.dedupe;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Idempotent consumer beans.
+ * Services add @Import(DedupeConfig.class) to their KafkaConfig and wrap listener bodies in
+ * {@link EventDeduplicator#runOnce}. For the DB tier set app.dedupe.database-enabled=true and
+ * include db/changelog/common/processed-events-changelog.xml in the Liquibase master changelog.
+ */
+@EnableScheduling
+@EnableConfigurationProperties(DedupeProperties.class)
+public class DedupeConfig {
+    
+    @Bean
+    public EventDeduplicator eventDeduplicator(StringRedisTemplate redisTemplate,
+                                               ObjectProvider<JdbcTemplate> jdbcTemplate,
+                                               ObjectProvider<PlatformTransactionManager> transactionManager,
+                                               DedupeProperties properties) {
+        if (!properties.isDatabaseEnabled()) {
+            return new EventDeduplicator(redisTemplate, null, null, properties);
+        }
+        return new EventDeduplicator(redisTemplate,
+                new ProcessedEventRepository(jdbcTemplate.getObject()),
+                new TransactionTemplate(transactionManager.getObject()),
+                properties);
+    }
+}
@@ -0,0 +1,57 @@
+package com.fooddelivery.common.dedupe;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Idempotent consumer settings (app.dedupe)
+ */
+@ConfigurationProperties(prefix = "app.dedupe")
+@Getter
+@Setter
+public class DedupeProperties {
+    
+    /**
+     * Processed event ids remembered in-process per service instance
+     */
+    private int localCacheSize = 100_000;
+    
+    /**
+     * How long an in-process entry stays valid
+     */
+    private Duration localTtl = Duration.ofHours(1);
+    
+    /**
+     * Enables the shared Redis tier (SET NX with TTL)
+     */
+    private boolean redisEnabled = true;
+    
+    /**
+     * How long a processed event id is remembered in Redis
+     */
+    private Duration redisTtl = Duration.ofHours(24);
+    
+    /**
+     * How long a claim may stay "in progress" before another consumer may take the event over
+     */
+    private Duration processingTtl = Duration.ofMinutes(5);
+    
+    /**
+     * Enables the processed_events table tier; the service must include
+     * db/changelog/common/processed-events-changelog.xml
+     */
+    private boolean databaseEnabled = false;
+    
+    /**
+     * Rows older than this are purged from processed_events
+     */
+    private Duration databaseRetention = Duration.ofDays(7);
+    
+    /**
+     * Delay between purges of expired processed_events rows
+     */
+    private Duration purgeInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,215 @@
+package com.fooddelivery.common.dedupe;
+
+import com.fooddelivery.common.cache.BoundedTtlCache;
+import com.fooddelivery.common.event.BaseEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Idempotent consumer: runs an event handler at most once per consumer group and eventId.
+ * <p>
+ * Three tiers, cheapest first:
+ * <ol>
+ *   <li>in-process LRU of processed ids - a redelivery to the same instance costs a map lookup;</li>
+ *   <li>Redis {@code dedupe:<group>:<eventId>} - claimed with SET NX ("processing", short TTL)
+ *       before the handler runs, flipped to "done" (long TTL) after it succeeds and deleted if it
+ *       fails, so redeliveries after a rebalance skip work done by another instance;</li>
+ *   <li>optional processed_events row inserted in the same transaction as the handler's writes -
+ *       the authoritative guard when Redis is down or its entry has expired.</li>
+ * </ol>
+ * Redis errors never fail the handler; the event is processed and the DB tier (if enabled)
+ * still guarantees a single effect.
+ */
+@Slf4j
+public class EventDeduplicator {
+    
+    private static final String PROCESSING = "processing";
+    private static final String DONE = "done";
+    
+    private final StringRedisTemplate redisTemplate;
+    private final ProcessedEventRepository processedEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DedupeProperties properties;
+    private final BoundedTtlCache<String, Boolean> processed;
+    
+    /**
+     * @param processedEventRepository null when the DB tier is disabled
+     * @param transactionTemplate      null when the DB tier is disabled
+     */
+    public EventDeduplicator(StringRedisTemplate redisTemplate,
+                             ProcessedEventRepository processedEventRepository,
+                             TransactionTemplate transactionTemplate,
+                             DedupeProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.processedEventRepository = processedEventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.processed = new BoundedTtlCache<>(properties.getLocalCacheSize(), properties.getLocalTtl());
+    }
+    
+    /**
+     * Run the handler unless this consumer group already processed the event.
+     * With the DB tier enabled the handler runs inside a new transaction that also records
+     * the event, so business services called with REQUIRED propagation join it.
+     *
+     * @return false when the event was a duplicate and the handler was skipped
+     * @throws EventInProgressException if another instance currently holds the event
+     */
+    public boolean runOnce(String consumerGroup, BaseEvent event, Runnable handler) {
+        String eventId = event.getEventId();
+        if (eventId == null) {
+            handler.run();
+            return true;
+        }
+        
+        String key = key(consumerGroup, eventId);
+        if (processed.get(key) != null) {
+            log.debug("Skipping duplicate {}: eventId={}, group={}", event.getEventType(), eventId, consumerGroup);
+            return false;
+        }
+        
+        Claim claim = claim(key, consumerGroup, eventId);
+        if (claim == Claim.DONE) {
+            processed.put(key, Boolean.TRUE);
+            log.debug("Skipping duplicate {}: eventId={}, group={}", event.getEventType(), eventId, consumerGroup);
+            return false;
+        }
+        
+        boolean ran;
+        try {
+            ran = runHandler(consumerGroup, eventId, handler);
+        } catch (RuntimeException e) {
+            if (claim == Claim.ACQUIRED) {
+                releaseClaim(key);
+            }
+            throw e;
+        }
+        
+        markDone(key);
+        if (!ran) {
+            log.debug("Skipping duplicate {} (processed_events): eventId={}, group={}",
+                      event.getEventType(), eventId, consumerGroup);
+        }
+        return ran;
+    }
+    
+    /**
+     * Cache-tier check only (local, then Redis) - for batch consumers that filter a poll
+     * up front and call {@link #markProcessed} once the batch has committed
+     */
+    public boolean isProcessed(String consumerGroup, String eventId) {
+        if (eventId == null) {
+            return false;
+        }
+        String key = key(consumerGroup, eventId);
+        if (processed.get(key) != null) {
+            return true;
+        }
+        if (!properties.isRedisEnabled()) {
+            return false;
+        }
+        try {
+            if (DONE.equals(redisTemplate.opsForValue().get(key))) {
+                processed.put(key, Boolean.TRUE);
+                return true;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Dedupe lookup failed, treating event as new: eventId={}, error={}", eventId, e.getMessage());
+        }
+        return false;
+    }
+    
+    public void markProcessed(String consumerGroup, String eventId) {
+        if (eventId != null) {
+            markDone(key(consumerGroup, eventId));
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${app.dedupe.purge-interval:1h}")
+    public void purgeProcessedEvents() {
+        if (processedEventRepository == null) {
+            return;
+        }
+        try {
+            int purged = processedEventRepository.deleteOlderThan(properties.getDatabaseRetention());
+            if (purged > 0) {
+                log.debug("Purged {} processed_events rows", purged);
+            }
+        } catch (RuntimeException e) {
+            log.warn("processed_events purge failed: {}", e.getMessage());
+        }
+    }
+    
+    private boolean runHandler(String consumerGroup, String eventId, Runnable handler) {
+        if (processedEventRepository == null) {
+            handler.run();
+            return true;
+        }
+        Boolean ran = transactionTemplate.execute(status -> {
+            if (!processedEventRepository.insertIfAbsent(consumerGroup, eventId)) {
+                status.setRollbackOnly();
+                return false;
+            }
+            handler.run();
+            return true;
+        });
+        return Boolean.TRUE.equals(ran);
+    }
+    
+    private Claim claim(String key, String consumerGroup, String eventId) {
+        if (!properties.isRedisEnabled()) {
+            return Claim.UNAVAILABLE;
+        }
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, PROCESSING, properties.getProcessingTtl()))) {
+                return Claim.ACQUIRED;
+            }
+            String state = redisTemplate.opsForValue().get(key);
+            if (DONE.equals(state)) {
+                return Claim.DONE;
+            }
+            if (PROCESSING.equals(state)) {
+                throw new EventInProgressException(consumerGroup, eventId);
+            }
+            // Claim expired between SET NX and GET - nothing holds it any more
+            return Claim.UNAVAILABLE;
+        } catch (EventInProgressException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.warn("Dedupe claim failed, processing without Redis tier: eventId={}, error={}", eventId, e.getMessage());
+            return Claim.UNAVAILABLE;
+        }
+    }
+    
+    private void markDone(String key) {
+        processed.put(key, Boolean.TRUE);
+        if (!properties.isRedisEnabled()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(key, DONE, properties.getRedisTtl());
+        } catch (RuntimeException e) {
+            log.warn("Failed to record processed event in Redis: key={}, error={}", key, e.getMessage());
+        }
+    }
+    
+    private void releaseClaim(String key) {
+        try {
+            redisTemplate.delete(key);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release dedupe claim: key={}, error={}", key, e.getMessage());
+        }
+    }
+    
+    private static String key(String consumerGroup, String eventId) {
+        return "dedupe:" + consumerGroup + ":" + eventId;
+    }
+    
+    private enum Claim {
+        ACQUIRED,
+        DONE,
+        UNAVAILABLE
+    }
+}
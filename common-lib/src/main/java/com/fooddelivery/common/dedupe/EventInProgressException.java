@@ -0,0 +1,12 @@
+package com.fooddelivery.common.dedupe;
+
+/**
+ * Another consumer instance is processing the same event right now (typically after a
+ * rebalance). Thrown so the container error handler retries the record later.
+ */
+public class EventInProgressException extends RuntimeException {
+    
+    public EventInProgressException(String consumerGroup, String eventId) {
+        super("Event " + eventId + " is already being processed by " + consumerGroup);
+    }
+}
@@ -0,0 +1,38 @@
+package com.fooddelivery.common.dedupe;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+/**
+ * JDBC access to the processed_events table.
+ * Uses the service DataSource, so the insert joins the surrounding business transaction.
+ */
+@RequiredArgsConstructor
+public class ProcessedEventRepository {
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * @return false if the event was already recorded for this consumer group
+     */
+    public boolean insertIfAbsent(String consumerGroup, String eventId) {
+        try {
+            jdbcTemplate.update("""
+                    INSERT INTO processed_events (consumer_group, event_id, processed_at)
+                    VALUES (?, ?, SYSUTCDATETIME())
+                    """, consumerGroup, eventId);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+    
+    public int deleteOlderThan(Duration retention) {
+        return jdbcTemplate.update(
+                "DELETE FROM processed_events WHERE processed_at < DATEADD(SECOND, ?, SYSUTCDATETIME())",
+                -retention.toSeconds());
+    }
+}
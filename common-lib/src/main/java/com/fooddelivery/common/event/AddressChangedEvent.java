@@ -0,0 +1,25 @@
+package com.fooddelivery.common.event;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Event published when a delivery address' coordinates change or the address is deleted
+ * Consumed by: Order Service (distance cache invalidation)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+public class AddressChangedEvent extends BaseEvent {
+    
+    private Long addressId;
+    private Long userId;
+    private BigDecimal latitude;
+    private BigDecimal longitude;
+    private boolean deleted;
+}
@@ -0,0 +1,22 @@
+package com.fooddelivery.common.event;
+
+import lombok.*;
+
+/**
+ * Event published on every courier location update, and when a courier profile is deleted
+ * Consumed by: Delivery Service (courier spatial index of every instance)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+public class CourierLocationUpdatedEvent extends BaseEvent {
+    
+    private Long courierId;
+    private Double latitude;
+    private Double longitude;
+    private boolean removed;
+}
@@ -0,0 +1,47 @@
+package com.fooddelivery.common.event;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Event published when a menu item is created, updated, deleted or its availability changes
+ * Consumed by: Order Service (local menu price snapshot)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+public class MenuItemChangedEvent extends BaseEvent {
+    
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String AVAILABILITY_CHANGED = "AVAILABILITY_CHANGED";
+    public static final String DELETED = "DELETED";
+    
+    private String changeType;
+    private Long menuItemId;
+    private Long restaurantId;
+    private String name;
+    private BigDecimal price;
+    private Boolean available;
+    
+    /**
+     * Monotonic per-item version (menu item updatedAt in epoch millis);
+     * consumers ignore changes older than what they already hold
+     */
+    private Long version;
+    
+    public boolean isDeleted() {
+        return DELETED.equals(changeType);
+    }
+    
+    public static long versionOf(LocalDateTime updatedAt) {
+        return updatedAt != null ? updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+    }
+}
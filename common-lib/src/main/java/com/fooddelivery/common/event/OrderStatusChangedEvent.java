@@ -4,7 +4,7 @@ import lombok.*;
 
 /**
  * Event published when order status changes
- * Consumed by: Notification Service
+ * Consumed by: Notification Service, Order Service (restaurant order board)
  */
 @Getter
 @Setter
@@ -17,6 +17,7 @@ public class OrderStatusChangedEvent extends BaseEvent {
     
     private Long orderId;
     private Long userId;
+    private Long restaurantId;
     private String oldStatus;
     private String newStatus;
     private Long changedBy;
@@ -0,0 +1,24 @@
+package com.fooddelivery.common.event;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Event published when a restaurant's coordinates change or the restaurant is deleted
+ * Consumed by: Order Service (distance cache invalidation)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+public class RestaurantLocationChangedEvent extends BaseEvent {
+    
+    private Long restaurantId;
+    private BigDecimal latitude;
+    private BigDecimal longitude;
+    private boolean deleted;
+}
@@ -0,0 +1,38 @@
+package com.fooddelivery.common.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Idempotency-Key beans.
+ * Services add @Import(IdempotencyConfig.class) to their SecurityConfig and list the
+ * endpoints to protect under app.idempotency.endpoints (e.g. "POST /api/orders").
+ */
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+    
+    /**
+     * Right after the Spring Security filter chain - keys are scoped to the authenticated user
+     */
+    public static final int FILTER_ORDER = SecurityProperties.DEFAULT_FILTER_ORDER + 1;
+    
+    @Bean
+    public IdempotencyStore idempotencyStore(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                                             IdempotencyProperties properties) {
+        return new IdempotencyStore(redisTemplate, objectMapper, properties);
+    }
+    
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore idempotencyStore,
+                                                                       ObjectMapper objectMapper,
+                                                                       IdempotencyProperties properties) {
+        FilterRegistrationBean<IdempotencyFilter> registration =
+                new FilterRegistrationBean<>(new IdempotencyFilter(idempotencyStore, objectMapper, properties));
+        registration.setOrder(FILTER_ORDER);
+        return registration;
+    }
+}
@@ -0,0 +1,252 @@
+package com.fooddelivery.common.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.common.dto.ErrorResponse;
+import com.fooddelivery.common.security.SecurityUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Idempotency-Key handling for the configured endpoints (app.idempotency.endpoints).
+ * <p>
+ * A request carrying the header is fingerprinted (method, URI, body) and claimed per user and
+ * key in {@link IdempotencyStore}. The first request runs and its response is stored; retries
+ * get that response replayed with {@code Idempotent-Replayed: true}, without touching the
+ * controller. Responses with status 5xx are not stored, so the client may retry them.
+ * Reusing a key for a different request is rejected with 422; a duplicate still waiting for
+ * the original after wait-timeout gets 409 and should retry later.
+ * Runs after the Spring Security filter chain, so keys are scoped to the authenticated user.
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+    
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+    private final List<Endpoint> endpoints;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    
+    public IdempotencyFilter(IdempotencyStore store, ObjectMapper objectMapper, IdempotencyProperties properties) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.endpoints = properties.getEndpoints().stream().map(Endpoint::parse).toList();
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!properties.isEnabled() || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return endpoints.stream().noneMatch(endpoint -> endpoint.method().equalsIgnoreCase(request.getMethod())
+                && pathMatcher.match(endpoint.pattern(), path));
+    }
+    
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > properties.getMaxKeyLength()) {
+            writeError(request, response, HttpStatus.BAD_REQUEST,
+                    IDEMPOTENCY_KEY_HEADER + " must be 1 to " + properties.getMaxKeyLength() + " characters");
+            return;
+        }
+        Long userId = currentUserId();
+        if (userId == null) {
+            // Unauthenticated - let the security rules reject it
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String fingerprint = fingerprint(cachedRequest);
+        String key = userId + ":" + idempotencyKey;
+        
+        IdempotencyStore.Outcome outcome = store.begin(key, fingerprint);
+        switch (outcome.type()) {
+            case ACQUIRED -> execute(cachedRequest, response, filterChain, key, fingerprint);
+            case REPLAY -> replay(response, outcome.response());
+            case MISMATCH -> writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+            case IN_PROGRESS -> {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                writeError(request, response, HttpStatus.CONFLICT,
+                        "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still being processed");
+            }
+            default -> filterChain.doFilter(cachedRequest, response);
+        }
+    }
+    
+    private void execute(CachedBodyRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String key, String fingerprint) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (wrapper.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                store.complete(key, StoredResponse.completed(
+                        fingerprint, wrapper.getStatus(), wrapper.getContentType(), wrapper.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.release(key);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+    
+    private void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        log.debug("Replaying idempotent response: status={}", stored.status());
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.body() != null) {
+            response.setContentLength(stored.body().length);
+            response.getOutputStream().write(stored.body());
+        }
+    }
+    
+    private void writeError(HttpServletRequest request, HttpServletResponse response,
+                            HttpStatus status, String message) throws IOException {
+        String correlationId = UUID.randomUUID().toString();
+        log.warn("Idempotency check rejected request: {} [correlationId={}]", message, correlationId);
+        
+        ErrorResponse error = ErrorResponse.of(
+            status.value(),
+            status.getReasonPhrase(),
+            message,
+            request.getRequestURI(),
+            correlationId
+        );
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+    
+    private static Long currentUserId() {
+        try {
+            return SecurityUtils.getCurrentUserId();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+    
+    private static String fingerprint(CachedBodyRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (request.getQueryString() != null) {
+                digest.update((byte) '?');
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            digest.update(request.body());
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    private record Endpoint(String method, String pattern) {
+        
+        static Endpoint parse(String endpoint) {
+            String[] parts = endpoint.trim().split("\\s+", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Idempotent endpoint must be 'METHOD /path', got: " + endpoint);
+            }
+            return new Endpoint(parts[0], parts[1]);
+        }
+    }
+    
+    /**
+     * Request whose body was read up front (for the fingerprint) and can be read again downstream
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        
+        private final byte[] body;
+        
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+        
+        byte[] body() {
+            return body;
+        }
+        
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+                
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+                
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+                
+                @Override
+                public int read() {
+                    return in.read();
+                }
+                
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+        
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.fooddelivery.common.idempotency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Idempotency-Key settings (app.idempotency)
+ */
+@ConfigurationProperties(prefix = "app.idempotency")
+@Getter
+@Setter
+public class IdempotencyProperties {
+    
+    private boolean enabled = true;
+    
+    /**
+     * Endpoints honouring the Idempotency-Key header, as "METHOD /path/pattern" (Ant-style),
+     * e.g. "POST /api/orders"
+     */
+    private List<String> endpoints = new ArrayList<>();
+    
+    /**
+     * How long a completed response is kept for replay
+     */
+    private Duration responseTtl = Duration.ofHours(24);
+    
+    /**
+     * How long an in-flight claim survives if its owner dies before completing
+     */
+    private Duration processingTtl = Duration.ofSeconds(30);
+    
+    /**
+     * How long a duplicate waits for the in-flight original before giving up with 409
+     */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+    
+    /**
+     * Redis poll interval while waiting on an original running on another instance
+     */
+    private Duration pollInterval = Duration.ofMillis(100);
+    
+    private int maxKeyLength = 255;
+}
@@ -0,0 +1,193 @@
+package com.fooddelivery.common.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Claims and completes idempotency keys.
+ * <p>
+ * The first request claims the key with SET NX (in-flight, short TTL), runs, and replaces the
+ * claim with its response (long TTL) - or deletes it if it failed, so a retry runs again.
+ * Duplicates arriving meanwhile wait: on the same instance they park on the original's future,
+ * across instances they poll Redis until the response appears or the wait times out.
+ * If Redis is unavailable requests run unprotected rather than fail.
+ */
+@Slf4j
+public class IdempotencyStore {
+    
+    private static final String KEY_PREFIX = "idempotency:";
+    
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+    private final Map<String, CompletableFuture<Outcome>> inFlight = new ConcurrentHashMap<>();
+    
+    public IdempotencyStore(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                            IdempotencyProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+    
+    /**
+     * Claim the key for a request with the given fingerprint, waiting (up to wait-timeout)
+     * if the same key is in flight. After {@link Outcome.Type#ACQUIRED} the caller must call
+     * {@link #complete} or {@link #release}.
+     */
+    public Outcome begin(String key, String fingerprint) {
+        String redisKey = KEY_PREFIX + key;
+        long deadline = System.nanoTime() + properties.getWaitTimeout().toNanos();
+        while (true) {
+            CompletableFuture<Outcome> mine = new CompletableFuture<>();
+            CompletableFuture<Outcome> leader = inFlight.putIfAbsent(redisKey, mine);
+            if (leader != null) {
+                Outcome outcome = await(leader, deadline);
+                if (outcome.type() == Outcome.Type.REPLAY) {
+                    return outcome.response().fingerprint().equals(fingerprint) ? outcome : Outcome.MISMATCH;
+                }
+                if (outcome.type() == Outcome.Type.IN_PROGRESS) {
+                    return outcome;
+                }
+                // Leader failed, hit Redis trouble or had another fingerprint - decide for ourselves
+                continue;
+            }
+            
+            Outcome outcome;
+            try {
+                outcome = claim(redisKey, fingerprint, deadline);
+            } catch (RuntimeException e) {
+                finish(redisKey, mine, Outcome.RELEASED);
+                throw e;
+            }
+            if (outcome.type() != Outcome.Type.ACQUIRED) {
+                finish(redisKey, mine, outcome);
+            }
+            return outcome;
+        }
+    }
+    
+    /**
+     * Store the response of an acquired key for replay and hand it to waiting duplicates
+     */
+    public void complete(String key, StoredResponse response) {
+        String redisKey = KEY_PREFIX + key;
+        try {
+            redisTemplate.opsForValue().set(redisKey, objectMapper.writeValueAsString(response), properties.getResponseTtl());
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to store idempotent response: key={}, error={}", key, e.getMessage());
+        }
+        CompletableFuture<Outcome> leader = inFlight.get(redisKey);
+        if (leader != null) {
+            finish(redisKey, leader, Outcome.replay(response));
+        }
+    }
+    
+    /**
+     * Drop the claim of an acquired key whose request failed, so that a retry runs again
+     */
+    public void release(String key) {
+        String redisKey = KEY_PREFIX + key;
+        try {
+            redisTemplate.delete(redisKey);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release idempotency key: key={}, error={}", key, e.getMessage());
+        }
+        CompletableFuture<Outcome> leader = inFlight.get(redisKey);
+        if (leader != null) {
+            finish(redisKey, leader, Outcome.RELEASED);
+        }
+    }
+    
+    private Outcome claim(String redisKey, String fingerprint, long deadline) {
+        while (true) {
+            try {
+                String claim = objectMapper.writeValueAsString(StoredResponse.inFlight(fingerprint));
+                if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(redisKey, claim, properties.getProcessingTtl()))) {
+                    return Outcome.ACQUIRED;
+                }
+                String value = redisTemplate.opsForValue().get(redisKey);
+                if (value != null) {
+                    StoredResponse existing = objectMapper.readValue(value, StoredResponse.class);
+                    if (!existing.fingerprint().equals(fingerprint)) {
+                        return Outcome.MISMATCH;
+                    }
+                    if (existing.completed()) {
+                        return Outcome.replay(existing);
+                    }
+                } else {
+                    // Claim expired between SET NX and GET - try to take it
+                    continue;
+                }
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.warn("Idempotency check failed, processing without it: key={}, error={}", redisKey, e.getMessage());
+                return Outcome.UNAVAILABLE;
+            }
+            
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return Outcome.IN_PROGRESS;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(Math.min(remaining, properties.getPollInterval().toNanos()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Outcome.IN_PROGRESS;
+            }
+        }
+    }
+    
+    private static Outcome await(CompletableFuture<Outcome> leader, long deadline) {
+        try {
+            return leader.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return Outcome.IN_PROGRESS;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Outcome.IN_PROGRESS;
+        } catch (ExecutionException e) {
+            return Outcome.RELEASED;
+        }
+    }
+    
+    private void finish(String redisKey, CompletableFuture<Outcome> future, Outcome outcome) {
+        inFlight.remove(redisKey, future);
+        future.complete(outcome);
+    }
+    
+    public record Outcome(Type type, StoredResponse response) {
+        
+        static final Outcome ACQUIRED = new Outcome(Type.ACQUIRED, null);
+        static final Outcome IN_PROGRESS = new Outcome(Type.IN_PROGRESS, null);
+        static final Outcome MISMATCH = new Outcome(Type.MISMATCH, null);
+        static final Outcome UNAVAILABLE = new Outcome(Type.UNAVAILABLE, null);
+        static final Outcome RELEASED = new Outcome(Type.RELEASED, null);
+        
+        static Outcome replay(StoredResponse response) {
+            return new Outcome(Type.REPLAY, response);
+        }
+        
+        public enum Type {
+            /** Caller owns the key and runs the request */
+            ACQUIRED,
+            /** Original finished - replay its response */
+            REPLAY,
+            /** Original still running after wait-timeout */
+            IN_PROGRESS,
+            /** Key already used for a different request */
+            MISMATCH,
+            /** Redis unavailable - run without idempotency */
+            UNAVAILABLE,
+            /** Original failed and dropped its claim (only seen by waiters) */
+            RELEASED
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.fooddelivery.common.idempotency;
+
+/**
+ * Redis value of an idempotency key: the request fingerprint and, once the original request
+ * finished, the response to replay
+ */
+public record StoredResponse(
+        String fingerprint,
+        boolean completed,
+        int status,
+        String contentType,
+        byte[] body
+) {
+    
+    static StoredResponse inFlight(String fingerprint) {
+        return new StoredResponse(fingerprint, false, 0, null, null);
+    }
+    
+    static StoredResponse completed(String fingerprint, int status, String contentType, byte[] body) {
+        return new StoredResponse(fingerprint, true, status, contentType, body);
+    }
+}
@@ -1,9 +1,16 @@
 package com.fooddelivery.common.kafka;
 
+import com.fooddelivery.common.kafka.parallel.ParallelConsumerProperties;
+import com.fooddelivery.common.kafka.parallel.ParallelKafkaConsumerFactory;
+import com.fooddelivery.common.kafka.retry.RetryTopicProperties;
+import com.fooddelivery.common.kafka.retry.RetryTopicsConfig;
+import com.fooddelivery.common.serde.EventDeserializer;
+import com.fooddelivery.common.serde.EventSerializer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
@@ -21,10 +28,29 @@ import java.util.Map;
 /**
  * Base Kafka consumer configuration with retry and DLQ support
  * Provides all necessary beans - services only need to add @EnableKafka
+ * <p>
+ * Two listener modes: {@code kafkaListenerContainerFactory} (default, one record per call)
+ * and {@link #BATCH_FACTORY} (whole poll per call, for consumers that amortize DB work
+ * across records). Batch listeners isolate a failing record by throwing
+ * {@link org.springframework.kafka.listener.BatchListenerFailedException} with its index:
+ * records before it are committed, the record itself is retried and then sent to DLQ.
+ * A third mode, {@link ParallelKafkaConsumerFactory}, processes records of one partition
+ * concurrently (ordered per key) for consumers whose throughput must exceed the partition count.
+ * <p>
+ * The container factories retry a failed record in place (blocking its partition) unless the
+ * exception is listed in app.kafka.retry.non-retryable. Record listeners that must not block
+ * get tiered retry topics through {@link RetryTopicsConfig}.
+ * <p>
+ * Values are read with {@link EventDeserializer}, which accepts both JSON and binary events,
+ * so producers can switch a topic to the binary format without a consumer change.
  */
+@EnableConfigurationProperties({ParallelConsumerProperties.class, RetryTopicProperties.class})
 public class BaseKafkaConsumerConfig {
     
+    public static final String BATCH_FACTORY = "batchKafkaListenerContainerFactory";
+    
     private static final int MAX_POLL_RECORDS = 10;
+    private static final int BATCH_MAX_POLL_RECORDS = 500;
     private static final int RETRY_ATTEMPTS = 3;
     private static final int RETRY_INTERVAL_MS = 2000;
     
@@ -34,6 +60,9 @@ public class BaseKafkaConsumerConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
     
+    @Value("${app.kafka.serde.schema-dir:${java.io.tmpdir}/food-delivery/schemas}")
+    private String schemaDir;
+    
     /**
      * Consumer configuration
      */
@@ -43,8 +72,9 @@ public class BaseKafkaConsumerConfig {
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
-        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, EventDeserializer.class);
         props.put(JsonDeserializer.TRUSTED_PACKAGES, "com.fooddelivery.common.event");
+        props.put(EventSerializer.SCHEMA_DIR_CONFIG, schemaDir);
         
         // Consumer settings
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
@@ -58,6 +88,15 @@ public class BaseKafkaConsumerConfig {
         return new DefaultKafkaConsumerFactory<>(consumerConfigs());
     }
     
+    /**
+     * Batch consumer configuration - larger polls so a backlog drains in few round trips
+     */
+    protected ConsumerFactory<String, Object> batchConsumerFactory() {
+        Map<String, Object> props = consumerConfigs();
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, BATCH_MAX_POLL_RECORDS);
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+    
     /**
      * Dead Letter Publishing Recoverer - sends failed messages to DLQ
      */
@@ -75,7 +114,7 @@ public class BaseKafkaConsumerConfig {
      */
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory(
-            DeadLetterPublishingRecoverer deadLetterPublishingRecoverer) {
+            DeadLetterPublishingRecoverer deadLetterPublishingRecoverer, RetryTopicProperties retryProperties) {
         ConcurrentKafkaListenerContainerFactory<String, Object> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
@@ -86,12 +125,48 @@ public class BaseKafkaConsumerConfig {
         
         // Error handler with retry and DLQ
         // Retry 3 times with 2s interval, then send to DLQ automatically
-        factory.setCommonErrorHandler(new DefaultErrorHandler(
-                deadLetterPublishingRecoverer,
-                new FixedBackOff(RETRY_INTERVAL_MS, RETRY_ATTEMPTS)
-        ));
+        factory.setCommonErrorHandler(errorHandler(deadLetterPublishingRecoverer, retryProperties));
+        
+        return factory;
+    }
+    
+    /**
+     * Batch listener container factory - listeners receive the whole poll as a list
+     */
+    @Bean(BATCH_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<String, Object> batchKafkaListenerContainerFactory(
+            DeadLetterPublishingRecoverer deadLetterPublishingRecoverer, RetryTopicProperties retryProperties) {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(batchConsumerFactory());
+        factory.setBatchListener(true);
+        
+        factory.getContainerProperties().setAckMode(
+                org.springframework.kafka.listener.ContainerProperties.AckMode.MANUAL);
+        
+        // Same retry/DLQ policy, applied to the record named by BatchListenerFailedException
+        factory.setCommonErrorHandler(errorHandler(deadLetterPublishingRecoverer, retryProperties));
         
         return factory;
     }
+    
+    /**
+     * Blocking retry then DLQ; non-retryable exceptions go to the DLQ on the first failure
+     */
+    private DefaultErrorHandler errorHandler(DeadLetterPublishingRecoverer recoverer,
+                                             RetryTopicProperties retryProperties) {
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer,
+                new FixedBackOff(RETRY_INTERVAL_MS, RETRY_ATTEMPTS));
+        retryProperties.getNonRetryable().forEach(errorHandler::addNotRetryableExceptions);
+        return errorHandler;
+    }
+    
+    /**
+     * Parallel consumers - records of a partition spread over key-ordered lanes
+     */
+    @Bean
+    public ParallelKafkaConsumerFactory parallelKafkaConsumerFactory(
+            DeadLetterPublishingRecoverer deadLetterPublishingRecoverer, ParallelConsumerProperties properties) {
+        return new ParallelKafkaConsumerFactory(batchConsumerFactory(), deadLetterPublishingRecoverer, properties);
+    }
 }
-
@@ -1,25 +1,42 @@
 package com.fooddelivery.common.kafka;
 
 import com.fooddelivery.common.event.BaseEvent;
-import lombok.RequiredArgsConstructor;
+import com.fooddelivery.common.kafka.publish.KafkaEventPublisher;
+import com.fooddelivery.common.outbox.OutboxEventWriter;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
 
-import java.util.concurrent.CompletableFuture;
+import java.util.List;
+import java.util.function.Function;
 
 /**
  * Base class for Kafka event producers
  * Provides common publishing logic with error handling
+ * 
+ * Producers created with an {@link OutboxEventWriter} stage events in the outbox table
+ * inside the caller's transaction; OutboxRelay sends them after commit. Without one, events
+ * are sent directly through the {@link KafkaEventPublisher}, which records send latency,
+ * errors and in-flight sends, and rejects or spills sends instead of blocking the caller.
  */
-@RequiredArgsConstructor
 @Slf4j
 public abstract class BaseKafkaEventProducer {
     
-    protected final KafkaTemplate<String, Object> kafkaTemplate;
+    protected final KafkaEventPublisher kafkaEventPublisher;
+    private final OutboxEventWriter outboxEventWriter;
+    
+    protected BaseKafkaEventProducer(KafkaEventPublisher kafkaEventPublisher) {
+        this(kafkaEventPublisher, null);
+    }
+    
+    protected BaseKafkaEventProducer(KafkaEventPublisher kafkaEventPublisher,
+                                     OutboxEventWriter outboxEventWriter) {
+        this.kafkaEventPublisher = kafkaEventPublisher;
+        this.outboxEventWriter = outboxEventWriter;
+    }
     
     /**
-     * Publish event to Kafka topic with error handling
+     * Publish event to Kafka topic with error handling.
+     * With an outbox configured this requires an active transaction.
+     * Failures of direct sends are counted and logged by the publisher.
      * 
      * @param topic Kafka topic name
      * @param key Message key (for partitioning)
@@ -27,20 +44,36 @@ public abstract class BaseKafkaEventProducer {
      * @param eventType Event type name (for logging)
      */
     protected void publishEvent(String topic, String key, BaseEvent event, String eventType) {
-        log.info("Publishing {}: eventId={}, key={}", eventType, event.getEventId(), key);
+        if (outboxEventWriter != null) {
+            outboxEventWriter.write(topic, key, event);
+            log.debug("{} staged for publishing: eventId={}, key={}", eventType, event.getEventId(), key);
+            return;
+        }
         
-        CompletableFuture<SendResult<String, Object>> future = 
-                kafkaTemplate.send(topic, key, event);
+        kafkaEventPublisher.publish(topic, key, event);
+    }
+    
+    /**
+     * Publish several events to one topic: one batched outbox insert, or (without outbox)
+     * all sends handed to the producer back to back so they share its batches
+     * 
+     * @param keyExtractor message key (for partitioning) of each event
+     */
+    protected <E extends BaseEvent> void publishAll(String topic, List<E> events,
+                                                    Function<? super E, String> keyExtractor, String eventType) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (outboxEventWriter != null) {
+            outboxEventWriter.writeAll(topic, events, keyExtractor);
+            log.debug("{} {} events staged for publishing", events.size(), eventType);
+            return;
+        }
         
-        future.whenComplete((result, ex) -> {
-            if (ex == null) {
-                log.info("{} published successfully: eventId={}, offset={}", 
-                         eventType, event.getEventId(), result.getRecordMetadata().offset());
-            } else {
-                log.error("Failed to publish {}: eventId={}, error={}", 
-                          eventType, event.getEventId(), ex.getMessage(), ex);
+        kafkaEventPublisher.publishAll(topic, events, keyExtractor).whenComplete((result, ex) -> {
+            if (ex != null) {
+                log.warn("Not all of {} {} events were published: {}", events.size(), eventType, ex.getMessage());
             }
         });
     }
 }
-
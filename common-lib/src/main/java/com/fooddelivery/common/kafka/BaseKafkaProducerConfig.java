@@ -1,5 +1,6 @@
 package com.fooddelivery.common.kafka;
 
+import com.fooddelivery.common.serde.EventSerializer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,7 +9,6 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -16,16 +16,29 @@ import java.util.Map;
 /**
  * Base Kafka producer configuration
  * Used directly - no need to extend in services
+ * <p>
+ * Values go through {@link EventSerializer}: JSON by default, the compact binary format
+ * for topics listed in {@code app.kafka.serde.binary-topics}.
  */
 @Configuration
 public class BaseKafkaProducerConfig {
     
     private static final int RETRY_ATTEMPTS = 3;
     private static final int LINGER_MS = 10;
+    private static final int MAX_BLOCK_MS = 5000;
     
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
     
+    @Value("${app.kafka.serde.binary-topics:}")
+    private String binaryTopics;
+    
+    @Value("${app.kafka.serde.schema-dir:${java.io.tmpdir}/food-delivery/schemas}")
+    private String schemaDir;
+    
+    @Value("${app.kafka.serde.compatibility:FULL}")
+    private String schemaCompatibility;
+    
     /**
      * Producer configuration
      */
@@ -33,7 +46,10 @@ public class BaseKafkaProducerConfig {
         Map<String, Object> props = new HashMap<>();
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, EventSerializer.class);
+        props.put(EventSerializer.BINARY_TOPICS_CONFIG, binaryTopics);
+        props.put(EventSerializer.SCHEMA_DIR_CONFIG, schemaDir);
+        props.put(EventSerializer.COMPATIBILITY_CONFIG, schemaCompatibility);
         
         // Reliability settings
         props.put(ProducerConfig.ACKS_CONFIG, "all");
@@ -44,6 +60,8 @@ public class BaseKafkaProducerConfig {
         props.put(ProducerConfig.BATCH_SIZE_CONFIG, 16384);
         props.put(ProducerConfig.LINGER_MS_CONFIG, LINGER_MS);
         props.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 33554432);
+        // Fail fast when the buffer is full instead of blocking the caller for a minute
+        props.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, MAX_BLOCK_MS);
         props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "snappy");
         
         return props;
@@ -10,7 +10,21 @@ public final class KafkaConsumerGroups {
     }
     
     public static final String ORDER_SERVICE = "order-service-group";
+    
+    /**
+     * Prefix for per-instance groups - every order-service instance needs every menu change
+     * (suffixed with app.kafka.instance-id, stable across restarts)
+     */
+    public static final String ORDER_SERVICE_MENU_CACHE = "order-service-menu-cache";
+    public static final String ORDER_SERVICE_GEO_CACHE = "order-service-geo-cache";
+    public static final String ORDER_SERVICE_ORDER_BOARD = "order-service-order-board";
     public static final String DELIVERY_SERVICE = "delivery-service-group";
+    
+    /**
+     * Prefix for per-instance groups - every delivery-service instance keeps its own courier index
+     * (suffixed with app.courier-index.instance-id, stable across restarts)
+     */
+    public static final String DELIVERY_SERVICE_COURIER_INDEX = "delivery-service-courier-index";
     public static final String NOTIFICATION_SERVICE = "notification-service-group";
 }
 
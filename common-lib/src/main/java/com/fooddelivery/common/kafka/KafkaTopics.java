@@ -14,6 +14,13 @@ public final class KafkaTopics {
     public static final String ORDER_CREATED = "order.created";
     public static final String ORDER_STATUS_CHANGED = "order.status.changed";
     
+    // Restaurant events
+    public static final String MENU_ITEM_CHANGED = "menu.item.changed";
+    public static final String RESTAURANT_LOCATION_CHANGED = "restaurant.location.changed";
+    
+    // User events
+    public static final String ADDRESS_CHANGED = "user.address.changed";
+    
     // Payment events
     public static final String PAYMENT_PROCESSED = "payment.processed";
     public static final String PAYMENT_FAILED = "payment.failed";
@@ -22,6 +29,9 @@ public final class KafkaTopics {
     public static final String DELIVERY_ASSIGNED = "delivery.assigned";
     public static final String DELIVERY_DELIVERED = "delivery.delivered";
     
+    // Courier events
+    public static final String COURIER_LOCATION_UPDATED = "courier.location.updated";
+    
     // Dead Letter Queue (DLQ)
     public static final String DLQ_SUFFIX = ".dlq";
     
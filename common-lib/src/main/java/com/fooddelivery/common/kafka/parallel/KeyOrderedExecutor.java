@@ -0,0 +1,85 @@
+package com.fooddelivery.common.kafka.parallel;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs tasks on virtual threads, one lane per key hash: tasks of one lane run one after
+ * another in submission order, different lanes run concurrently. A lane only holds a thread
+ * while it has work, so at most {@code laneCount} virtual threads exist at a time.
+ */
+@Slf4j
+final class KeyOrderedExecutor {
+    
+    private final Lane[] lanes;
+    private final ExecutorService executor;
+    
+    KeyOrderedExecutor(int laneCount, String name) {
+        if (laneCount <= 0) {
+            throw new IllegalArgumentException("laneCount must be positive");
+        }
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-lane-", 0).factory());
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane();
+        }
+    }
+    
+    void submit(Object key, Runnable task) {
+        int hash = key.hashCode();
+        lanes[Math.floorMod(hash ^ (hash >>> 16), lanes.length)].submit(task);
+    }
+    
+    void shutdown(Duration timeout) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private final class Lane {
+        
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private boolean scheduled;
+        
+        void submit(Runnable task) {
+            synchronized (this) {
+                tasks.add(task);
+                if (scheduled) {
+                    return;
+                }
+                scheduled = true;
+            }
+            executor.execute(this::drain);
+        }
+        
+        private void drain() {
+            while (true) {
+                Runnable task;
+                synchronized (this) {
+                    task = tasks.poll();
+                    if (task == null) {
+                        scheduled = false;
+                        return;
+                    }
+                }
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.error("Lane task failed: {}", e.getMessage(), e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.fooddelivery.common.kafka.parallel;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Parallel consumer settings (app.kafka.parallel)
+ */
+@ConfigurationProperties(prefix = "app.kafka.parallel")
+@Getter
+@Setter
+public class ParallelConsumerProperties {
+    
+    /**
+     * Worker lanes per consumer; records are hashed to a lane by key and each lane runs
+     * one record at a time, so this is also the maximum processing concurrency
+     */
+    private int lanes = 64;
+    
+    /**
+     * Records dispatched but not finished before the consumer pauses fetching
+     * (resumes at half); may be exceeded by up to one poll
+     */
+    private int maxInFlight = 1000;
+    
+    private Duration pollTimeout = Duration.ofMillis(500);
+    
+    /**
+     * How often the contiguous processed prefix of each partition is committed
+     */
+    private Duration commitInterval = Duration.ofSeconds(1);
+    
+    /**
+     * Handler attempts per record before it goes to the DLQ
+     */
+    private int maxAttempts = 3;
+    
+    /**
+     * Pause between attempts (only the record's lane waits)
+     */
+    private Duration retryBackoff = Duration.ofSeconds(2);
+    
+    /**
+     * How long in-flight records may take to finish on shutdown or partition revocation
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+}
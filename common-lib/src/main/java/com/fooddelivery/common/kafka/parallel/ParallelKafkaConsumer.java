@@ -0,0 +1,354 @@
+package com.fooddelivery.common.kafka.parallel;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.logging.LogFactory;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Consumer whose processing parallelism is not capped by the partition count.
+ * <p>
+ * One platform thread polls; every record is dispatched to a worker lane chosen by its key
+ * ({@link KeyOrderedExecutor}, virtual threads), so records with the same key (orderId) are
+ * processed one at a time in offset order while different keys of the same partition run
+ * concurrently. A slow record only holds up its own lane.
+ * <p>
+ * Offsets: records finish out of order, so per partition only the contiguous processed
+ * prefix is committed ({@link PartitionOffsets}), every commit interval, on revocation and on
+ * shutdown. After a crash the group resumes at the first unfinished record, so records finished
+ * above it are delivered again (at-least-once, as with the regular listeners - handlers
+ * dedupe by eventId).
+ * <p>
+ * Backpressure: when {@code maxInFlight} records are dispatched but unfinished, the assigned
+ * partitions are paused (the consumer keeps polling, so it stays in the group) and resumed
+ * at half. A failing record is retried in its lane and then handed to the recoverer (DLQ);
+ * records that fail deserialization go to the recoverer directly.
+ * <p>
+ * Created through {@link ParallelKafkaConsumerFactory} and declared as a bean, so Spring
+ * starts and stops it with the context.
+ */
+@Slf4j
+public class ParallelKafkaConsumer implements SmartLifecycle {
+
+    private static final LogAccessor LOG_ACCESSOR = new LogAccessor(LogFactory.getLog(ParallelKafkaConsumer.class));
+
+    private final String name;
+    private final String groupId;
+    private final Collection<String> topics;
+    private final ConsumerFactory<String, Object> consumerFactory;
+    private final RecordHandler handler;
+    private final ConsumerRecordRecoverer recoverer;
+    private final ParallelConsumerProperties properties;
+
+    /**
+     * Assigned partitions; only touched by the poll thread (rebalance callbacks run inside poll)
+     */
+    private final Map<TopicPartition, PartitionOffsets> partitions = new HashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile boolean running;
+    private Thread pollThread;
+    private KeyOrderedExecutor lanes;
+    private Consumer<String, Object> consumer;
+    private boolean paused;
+    private long nextCommitAt;
+
+    ParallelKafkaConsumer(String name, String groupId, Collection<String> topics,
+                          ConsumerFactory<String, Object> consumerFactory, RecordHandler handler,
+                          ConsumerRecordRecoverer recoverer, ParallelConsumerProperties properties) {
+        this.name = name;
+        this.groupId = groupId;
+        this.topics = List.copyOf(topics);
+        this.consumerFactory = consumerFactory;
+        this.handler = handler;
+        this.recoverer = recoverer;
+        this.properties = properties;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        lanes = new KeyOrderedExecutor(properties.getLanes(), name);
+        pollThread = Thread.ofPlatform().name("parallel-consumer-" + name).start(this::pollLoop);
+        log.info("Parallel consumer {} started: topics={}, group={}, lanes={}, maxInFlight={}",
+                 name, topics, groupId, properties.getLanes(), properties.getMaxInFlight());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            pollThread.join(properties.getShutdownTimeout().plus(properties.getPollTimeout()).toMillis() * 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private void pollLoop() {
+        consumer = consumerFactory.createConsumer(groupId, null, "-" + name);
+        try {
+            consumer.subscribe(topics, new RebalanceListener());
+            while (running) {
+                ConsumerRecords<String, Object> records = consumer.poll(properties.getPollTimeout());
+                for (ConsumerRecord<String, Object> record : records) {
+                    dispatch(record);
+                }
+                applyBackpressure();
+                commitIfDue();
+            }
+        } catch (Exception e) {
+            running = false;
+            log.error("Parallel consumer {} stopped on error: {}", name, e.getMessage(), e);
+        } finally {
+            shutdown();
+        }
+    }
+
+    private void dispatch(ConsumerRecord<String, Object> record) {
+        TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+        PartitionOffsets offsets = partitions.get(partition);
+        if (offsets == null) {
+            log.warn("Parallel consumer {} got a record of unassigned partition {}", name, partition);
+            return;
+        }
+        offsets.dispatched(record.offset());
+        inFlight.incrementAndGet();
+        Object laneKey = record.key() != null ? record.key() : partition;
+        lanes.submit(laneKey, () -> process(record, offsets));
+    }
+
+    private void process(ConsumerRecord<String, Object> record, PartitionOffsets offsets) {
+        try {
+            if (!offsets.begin()) {
+                return;
+            }
+            boolean processed = false;
+            try {
+                processed = handleWithRetries(record);
+            } finally {
+                offsets.finish(record.offset(), processed);
+            }
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return false if the record was abandoned because the consumer is stopping
+     */
+    private boolean handleWithRetries(ConsumerRecord<String, Object> record) {
+        DeserializationException deserializationError = SerializationUtils.getExceptionFromHeader(
+                record, SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, LOG_ACCESSOR);
+        if (deserializationError != null) {
+            return recover(record, deserializationError);
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                handler.handle(record);
+                return true;
+            } catch (Exception e) {
+                if (attempt >= properties.getMaxAttempts()) {
+                    log.error("Record failed after {} attempts: topic={}, partition={}, offset={}, error={}",
+                              attempt, record.topic(), record.partition(), record.offset(), e.getMessage());
+                    return recover(record, e);
+                }
+                log.warn("Record failed (attempt {}), retrying: topic={}, offset={}, error={}",
+                         attempt, record.topic(), record.offset(), e.getMessage());
+                if (!backOff()) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Hand the record to the recoverer, retrying until it succeeds - a record whose DLQ
+     * publish failed must not be committed
+     */
+    private boolean recover(ConsumerRecord<String, Object> record, Exception cause) {
+        while (true) {
+            try {
+                recoverer.accept(record, cause);
+                return true;
+            } catch (Exception e) {
+                log.error("Failed to recover record: topic={}, offset={}, error={}",
+                          record.topic(), record.offset(), e.getMessage());
+                if (!backOff()) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    private boolean backOff() {
+        if (!running) {
+            return false;
+        }
+        try {
+            Thread.sleep(properties.getRetryBackoff());
+            return running;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void applyBackpressure() {
+        int current = inFlight.get();
+        if (!paused && current >= properties.getMaxInFlight()) {
+            consumer.pause(consumer.assignment());
+            paused = true;
+            log.debug("Parallel consumer {} paused: {} records in flight", name, current);
+        } else if (paused && current <= properties.getMaxInFlight() / 2) {
+            consumer.resume(consumer.paused());
+            paused = false;
+            log.debug("Parallel consumer {} resumed: {} records in flight", name, current);
+        }
+    }
+
+    private void commitIfDue() {
+        long now = System.nanoTime();
+        if (now - nextCommitAt < 0) {
+            return;
+        }
+        nextCommitAt = now + properties.getCommitInterval().toNanos();
+
+        Map<TopicPartition, OffsetAndMetadata> commits = committable(partitions.keySet());
+        if (commits.isEmpty()) {
+            return;
+        }
+        consumer.commitAsync(commits, (committed, e) -> {
+            if (e != null) {
+                log.warn("Parallel consumer {} commit failed: {}", name, e.getMessage());
+                return;
+            }
+            committed.forEach((partition, offset) -> {
+                PartitionOffsets offsets = partitions.get(partition);
+                if (offsets != null) {
+                    offsets.committed(offset.offset());
+                }
+            });
+        });
+    }
+
+    private Map<TopicPartition, OffsetAndMetadata> committable(Collection<TopicPartition> candidates) {
+        Map<TopicPartition, OffsetAndMetadata> commits = new HashMap<>();
+        for (TopicPartition partition : candidates) {
+            PartitionOffsets offsets = partitions.get(partition);
+            long offset = offsets != null ? offsets.committable() : -1;
+            if (offset >= 0) {
+                commits.put(partition, new OffsetAndMetadata(offset));
+            }
+        }
+        return commits;
+    }
+
+    /**
+     * Stop taking new records of the partitions, wait for their running records and commit
+     * what is done; queued records of these partitions are skipped and stay uncommitted
+     */
+    private void release(Collection<TopicPartition> released) {
+        long deadline = System.nanoTime() + properties.getShutdownTimeout().toNanos();
+        for (TopicPartition partition : released) {
+            PartitionOffsets offsets = partitions.get(partition);
+            try {
+                if (offsets != null && !offsets.revokeAndAwait(deadline)) {
+                    log.warn("Parallel consumer {}: records of {} still running after timeout", name, partition);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        Map<TopicPartition, OffsetAndMetadata> commits = committable(released);
+        if (!commits.isEmpty()) {
+            try {
+                consumer.commitSync(commits);
+            } catch (Exception e) {
+                log.warn("Parallel consumer {} failed to commit released partitions: {}", name, e.getMessage());
+            }
+        }
+        released.forEach(partitions::remove);
+    }
+
+    private void shutdown() {
+        try {
+            long deadline = System.nanoTime() + properties.getShutdownTimeout().toNanos();
+            while (inFlight.get() > 0 && System.nanoTime() - deadline < 0) {
+                Thread.sleep(50);
+            }
+            release(List.copyOf(partitions.keySet()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            consumer.close();
+            lanes.shutdown(properties.getShutdownTimeout());
+            log.info("Parallel consumer {} stopped", name);
+        }
+    }
+
+    private final class RebalanceListener implements ConsumerRebalanceListener {
+
+        @Override
+        public void onPartitionsRevoked(Collection<TopicPartition> revoked) {
+            release(revoked);
+        }
+
+        @Override
+        public void onPartitionsLost(Collection<TopicPartition> lost) {
+            // already owned by another member: nothing can be committed, just stop working on them
+            for (TopicPartition partition : lost) {
+                PartitionOffsets offsets = partitions.remove(partition);
+                if (offsets != null) {
+                    try {
+                        offsets.revokeAndAwait(System.nanoTime());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onPartitionsAssigned(Collection<TopicPartition> assigned) {
+            for (TopicPartition partition : assigned) {
+                partitions.put(partition, new PartitionOffsets());
+            }
+            if (paused) {
+                consumer.pause(assigned);
+            }
+        }
+    }
+}
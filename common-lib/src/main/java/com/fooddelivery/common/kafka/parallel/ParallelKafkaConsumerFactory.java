@@ -0,0 +1,32 @@
+package com.fooddelivery.common.kafka.parallel;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+
+import java.util.Collection;
+
+/**
+ * Creates {@link ParallelKafkaConsumer}s sharing the service's consumer configuration,
+ * DLQ recoverer and app.kafka.parallel settings. Declare the result as a bean:
+ * <pre>
+ * &#64;Bean
+ * public ParallelKafkaConsumer notificationConsumer(ParallelKafkaConsumerFactory factory, NotificationEventConsumer handler) {
+ *     return factory.create("notifications", KafkaConsumerGroups.NOTIFICATION_SERVICE, List.of(...), handler);
+ * }
+ * </pre>
+ */
+@RequiredArgsConstructor
+public class ParallelKafkaConsumerFactory {
+    
+    private final ConsumerFactory<String, Object> consumerFactory;
+    private final ConsumerRecordRecoverer recoverer;
+    private final ParallelConsumerProperties properties;
+    
+    /**
+     * @param name used in thread names, client id and logs
+     */
+    public ParallelKafkaConsumer create(String name, String groupId, Collection<String> topics, RecordHandler handler) {
+        return new ParallelKafkaConsumer(name, groupId, topics, consumerFactory, handler, recoverer, properties);
+    }
+}
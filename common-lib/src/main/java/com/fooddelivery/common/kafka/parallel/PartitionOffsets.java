@@ -0,0 +1,74 @@
+package com.fooddelivery.common.kafka.parallel;
+
+import java.util.TreeSet;
+
+/**
+ * Offset bookkeeping of one assigned partition. Records finish out of order across lanes;
+ * the committable offset is the lowest one still pending (everything below it is done),
+ * or one past the highest dispatched offset when nothing is pending.
+ */
+final class PartitionOffsets {
+    
+    private final TreeSet<Long> pending = new TreeSet<>();
+    private long nextOffset = -1;
+    private long committed = -1;
+    private int running;
+    private boolean revoked;
+    
+    synchronized void dispatched(long offset) {
+        pending.add(offset);
+        nextOffset = offset + 1;
+    }
+    
+    /**
+     * Called by the worker before processing; false once the partition is revoked
+     * (the record is left pending for the next owner)
+     */
+    synchronized boolean begin() {
+        if (revoked) {
+            return false;
+        }
+        running++;
+        return true;
+    }
+    
+    /**
+     * @param processed false if the record was abandoned (shutdown mid-retry) and must stay uncommitted
+     */
+    synchronized void finish(long offset, boolean processed) {
+        running--;
+        if (processed) {
+            pending.remove(offset);
+        }
+        notifyAll();
+    }
+    
+    /**
+     * Offset to commit if it moved past the last commit, otherwise -1
+     */
+    synchronized long committable() {
+        long offset = pending.isEmpty() ? nextOffset : pending.first();
+        return offset > committed ? offset : -1;
+    }
+    
+    synchronized void committed(long offset) {
+        committed = Math.max(committed, offset);
+    }
+    
+    /**
+     * Stop starting new records of this partition and wait for the running ones
+     *
+     * @return false if records were still running at the deadline
+     */
+    synchronized boolean revokeAndAwait(long deadlineNanos) throws InterruptedException {
+        revoked = true;
+        while (running > 0) {
+            long remaining = deadlineNanos - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(Math.max(1, remaining / 1_000_000));
+        }
+        return true;
+    }
+}
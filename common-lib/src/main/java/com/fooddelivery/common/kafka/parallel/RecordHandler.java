@@ -0,0 +1,13 @@
+package com.fooddelivery.common.kafka.parallel;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+/**
+ * Processes one record for a {@link ParallelKafkaConsumer}.
+ * Throwing retries the record (in its lane) and finally sends it to the DLQ.
+ */
+@FunctionalInterface
+public interface RecordHandler {
+    
+    void handle(ConsumerRecord<String, Object> record) throws Exception;
+}
@@ -0,0 +1,22 @@
+package com.fooddelivery.common.kafka.publish;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.core.KafkaTemplate;
+
+/**
+ * Instrumented publisher bean; imported by OutboxConfig, so every producing service has it
+ */
+@EnableConfigurationProperties(EventPublisherProperties.class)
+public class EventPublisherConfig {
+
+    @Bean
+    public KafkaEventPublisher kafkaEventPublisher(KafkaTemplate<String, Object> kafkaTemplate,
+                                                   ObjectProvider<MeterRegistry> meterRegistry,
+                                                   EventPublisherProperties properties) {
+        return new KafkaEventPublisher(kafkaTemplate, meterRegistry.getIfAvailable(SimpleMeterRegistry::new), properties);
+    }
+}
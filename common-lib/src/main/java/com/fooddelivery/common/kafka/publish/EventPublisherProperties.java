@@ -0,0 +1,49 @@
+package com.fooddelivery.common.kafka.publish;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Event publisher settings (app.kafka.publisher)
+ */
+@ConfigurationProperties(prefix = "app.kafka.publisher")
+@Getter
+@Setter
+public class EventPublisherProperties {
+
+    /**
+     * Sends handed to the producer but not yet acknowledged; beyond this the overflow policy applies
+     */
+    private int maxInFlight = 5000;
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.SPILL;
+
+    /**
+     * Sends held in memory while at max in flight (SPILL); when full, sends are rejected
+     */
+    private int spillCapacity = 10000;
+
+    /**
+     * Fraction of successful sends logged at INFO (all of them at DEBUG)
+     */
+    private double logSampleRate = 0.01;
+
+    /**
+     * Failures are logged at most once per interval and topic, with the count of suppressed ones
+     */
+    private Duration errorLogInterval = Duration.ofSeconds(1);
+
+    public enum OverflowPolicy {
+        /**
+         * Fail the send at once with {@link PublishRejectedException}
+         */
+        REJECT,
+        /**
+         * Queue the send in memory (in order) and start it when an in-flight send completes
+         */
+        SPILL
+    }
+}
@@ -0,0 +1,274 @@
+package com.fooddelivery.common.kafka.publish;
+
+import com.fooddelivery.common.event.BaseEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Instrumented send path to Kafka, shared by the outbox relay and direct producers.
+ * <p>
+ * Metrics (tagged by topic): {@code kafka.publisher.send} timer from send to broker ack
+ * (outcome success/failure), {@code kafka.publisher.errors} (by root exception),
+ * {@code kafka.publisher.rejected}, and gauges {@code kafka.publisher.in.flight} and
+ * {@code kafka.publisher.spilled}.
+ * <p>
+ * At most {@code maxInFlight} sends are unacknowledged. Beyond that a send is either rejected
+ * at once or queued in memory ({@link EventPublisherProperties.OverflowPolicy}); queued sends
+ * start in order as acknowledgements come in, so callers never block on a full producer buffer.
+ * Successful sends are logged at a sample rate, failures at most once per interval and topic.
+ */
+@Slf4j
+public class KafkaEventPublisher {
+
+    private static final String METRIC_PREFIX = "kafka.publisher";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final EventPublisherProperties properties;
+    private final Map<String, TopicMeters> topicMeters = new ConcurrentHashMap<>();
+
+    /**
+     * Spilled sends; started one at a time by the drainer (not on the producer's I/O thread,
+     * which must never block on a full buffer)
+     */
+    private final Deque<PendingSend> spilled = new ArrayDeque<>();
+    private final ExecutorService spillDrainer = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("kafka-publisher-spill").daemon().factory());
+    private int inFlight;
+    private int draining;
+
+    public KafkaEventPublisher(KafkaTemplate<String, Object> kafkaTemplate, MeterRegistry meterRegistry,
+                               EventPublisherProperties properties) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        Gauge.builder(METRIC_PREFIX + ".in.flight", this, KafkaEventPublisher::inFlight)
+                .description("Sends awaiting broker acknowledgement")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".spilled", this, KafkaEventPublisher::spilled)
+                .description("Sends queued in memory at the in-flight limit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Send one event; never blocks on backpressure
+     *
+     * @return completes with the broker acknowledgement, or exceptionally with the send error
+     *         or {@link PublishRejectedException}
+     */
+    public CompletableFuture<SendResult<String, Object>> publish(String topic, String key, Object event) {
+        return publish(topic, key, event, properties.getOverflowPolicy());
+    }
+
+    /**
+     * Send one event with an overflow policy other than the configured one. Callers that retry
+     * on their own after a timeout (the outbox relay) pass REJECT: a spilled send may still go
+     * out after the caller gave up on it, and the retry would then duplicate it.
+     */
+    public CompletableFuture<SendResult<String, Object>> publish(String topic, String key, Object event,
+                                                                 EventPublisherProperties.OverflowPolicy overflowPolicy) {
+        PendingSend send = new PendingSend(topic, key, event, new CompletableFuture<>());
+        boolean rejected = false;
+        synchronized (this) {
+            if (inFlight < properties.getMaxInFlight() && spilled.isEmpty() && draining == 0) {
+                inFlight++;
+            } else if (overflowPolicy == EventPublisherProperties.OverflowPolicy.SPILL
+                    && spilled.size() < properties.getSpillCapacity()) {
+                spilled.addLast(send);
+                return send.result();
+            } else {
+                rejected = true;
+            }
+        }
+        if (rejected) {
+            reject(send);
+        } else {
+            start(send);
+        }
+        return send.result();
+    }
+
+    /**
+     * Send several events to one topic back to back (in list order), so they share producer batches
+     *
+     * @return completes when every send completed, exceptionally if any of them failed
+     */
+    public <E> CompletableFuture<Void> publishAll(String topic, List<E> events, Function<? super E, String> keyExtractor) {
+        CompletableFuture<?>[] sends = new CompletableFuture<?>[events.size()];
+        for (int i = 0; i < sends.length; i++) {
+            E event = events.get(i);
+            sends[i] = publish(topic, keyExtractor.apply(event), event);
+        }
+        return CompletableFuture.allOf(sends);
+    }
+
+    synchronized int inFlight() {
+        return inFlight;
+    }
+
+    synchronized int spilled() {
+        return spilled.size();
+    }
+
+    /**
+     * Stop draining; spilled sends that never started are failed
+     */
+    public void close() {
+        spillDrainer.shutdown();
+        List<PendingSend> abandoned;
+        synchronized (this) {
+            abandoned = List.copyOf(spilled);
+            spilled.clear();
+        }
+        if (!abandoned.isEmpty()) {
+            log.warn("Kafka publisher closed with {} spilled sends not started", abandoned.size());
+            abandoned.forEach(send -> send.result().completeExceptionally(
+                    new PublishRejectedException("Publisher closed before the send started")));
+        }
+    }
+
+    private void start(PendingSend send) {
+        TopicMeters meters = meters(send.topic());
+        long startNanos = System.nanoTime();
+        CompletableFuture<SendResult<String, Object>> future;
+        try {
+            future = kafkaTemplate.send(send.topic(), send.key(), send.event());
+        } catch (Exception e) {
+            // serialization error, buffer still full after max.block.ms, producer closed
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((result, ex) -> {
+            long latencyNanos = System.nanoTime() - startNanos;
+            released();
+            if (ex == null) {
+                meters.success().record(latencyNanos, TimeUnit.NANOSECONDS);
+                logSuccess(send, result, latencyNanos);
+                send.result().complete(result);
+            } else {
+                meters.failure().record(latencyNanos, TimeUnit.NANOSECONDS);
+                Throwable cause = NestedExceptionUtils.getMostSpecificCause(ex);
+                meterRegistry.counter(METRIC_PREFIX + ".errors",
+                        "topic", send.topic(), "exception", cause.getClass().getSimpleName()).increment();
+                logFailure(meters, send, cause.toString());
+                send.result().completeExceptionally(ex);
+            }
+        });
+    }
+
+    /**
+     * An in-flight send completed: its slot goes to the oldest spilled send, if any
+     */
+    private void released() {
+        PendingSend next;
+        synchronized (this) {
+            next = spilled.pollFirst();
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+            draining++;
+        }
+        try {
+            spillDrainer.execute(() -> {
+                try {
+                    start(next);
+                } finally {
+                    synchronized (this) {
+                        draining--;
+                    }
+                }
+            });
+        } catch (Exception e) {
+            // closed
+            synchronized (this) {
+                draining--;
+                inFlight--;
+            }
+            next.result().completeExceptionally(new PublishRejectedException("Publisher closed before the send started"));
+        }
+    }
+
+    private void reject(PendingSend send) {
+        TopicMeters meters = meters(send.topic());
+        meters.rejected().increment();
+        logFailure(meters, send, "rejected at max in flight (" + properties.getMaxInFlight() + ")");
+        send.result().completeExceptionally(new PublishRejectedException(
+                "Kafka publisher at max in flight, send to " + send.topic() + " rejected"));
+    }
+
+    private void logSuccess(PendingSend send, SendResult<String, Object> result, long latencyNanos) {
+        if (log.isDebugEnabled()
+                || (log.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < properties.getLogSampleRate())) {
+            String message = "Event published: topic={}, key={}, eventId={}, partition={}, offset={}, latencyMs={}";
+            Object[] fields = {send.topic(), send.key(), eventId(send.event()),
+                    result.getRecordMetadata().partition(), result.getRecordMetadata().offset(),
+                    TimeUnit.NANOSECONDS.toMillis(latencyNanos)};
+            if (log.isDebugEnabled()) {
+                log.debug(message, fields);
+            } else {
+                log.info(message, fields);
+            }
+        }
+    }
+
+    private void logFailure(TopicMeters meters, PendingSend send, String error) {
+        long now = System.nanoTime();
+        long next = meters.nextErrorLog().get();
+        if (now - next >= 0 && meters.nextErrorLog().compareAndSet(next, now + properties.getErrorLogInterval().toNanos())) {
+            log.error("Failed to publish event: topic={}, key={}, eventId={}, error={}, suppressedSinceLast={}",
+                      send.topic(), send.key(), eventId(send.event()), error, meters.suppressedErrors().getAndSet(0));
+        } else {
+            meters.suppressedErrors().incrementAndGet();
+        }
+    }
+
+    private TopicMeters meters(String topic) {
+        return topicMeters.computeIfAbsent(topic, t -> new TopicMeters(
+                sendTimer(t, "success"),
+                sendTimer(t, "failure"),
+                Counter.builder(METRIC_PREFIX + ".rejected").tag("topic", t)
+                        .description("Sends rejected at the in-flight limit").register(meterRegistry),
+                new AtomicLong(System.nanoTime()),
+                new AtomicLong()));
+    }
+
+    private Timer sendTimer(String topic, String outcome) {
+        return Timer.builder(METRIC_PREFIX + ".send")
+                .description("Time from send to broker acknowledgement")
+                .tag("topic", topic)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String eventId(Object event) {
+        return event instanceof BaseEvent baseEvent ? baseEvent.getEventId() : null;
+    }
+
+    private record PendingSend(String topic, String key, Object event,
+                               CompletableFuture<SendResult<String, Object>> result) {
+    }
+
+    private record TopicMeters(Timer success, Timer failure, Counter rejected,
+                               AtomicLong nextErrorLog, AtomicLong suppressedErrors) {
+    }
+}
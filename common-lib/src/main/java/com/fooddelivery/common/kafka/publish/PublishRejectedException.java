@@ -0,0 +1,11 @@
+package com.fooddelivery.common.kafka.publish;
+
+/**
+ * Send refused because the publisher is at its in-flight limit (and its spill queue is full)
+ */
+public class PublishRejectedException extends RuntimeException {
+
+    public PublishRejectedException(String message) {
+        super(message);
+    }
+}
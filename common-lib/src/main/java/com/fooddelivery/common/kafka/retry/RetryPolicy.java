@@ -0,0 +1,36 @@
+package com.fooddelivery.common.kafka.retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Effective retry settings of one listener (defaults merged with its overrides)
+ */
+record RetryPolicy(int attempts, Duration initialDelay, double multiplier, Duration maxDelay, double jitter,
+                   List<Class<? extends Exception>> nonRetryable) {
+
+    static RetryPolicy of(RetryTopicProperties properties, String listener) {
+        RetryTopicProperties.Listener overrides = properties.getListeners().get(listener);
+        if (overrides == null) {
+            overrides = new RetryTopicProperties.Listener();
+        }
+        List<Class<? extends Exception>> nonRetryable = new ArrayList<>(properties.getNonRetryable());
+        nonRetryable.addAll(overrides.getNonRetryable());
+        return new RetryPolicy(
+                overrides.getAttempts() != null ? overrides.getAttempts() : properties.getAttempts(),
+                overrides.getInitialDelay() != null ? overrides.getInitialDelay() : properties.getInitialDelay(),
+                overrides.getMultiplier() != null ? overrides.getMultiplier() : properties.getMultiplier(),
+                overrides.getMaxDelay() != null ? overrides.getMaxDelay() : properties.getMaxDelay(),
+                overrides.getJitter() != null ? overrides.getJitter() : properties.getJitter(),
+                List.copyOf(nonRetryable));
+    }
+
+    /**
+     * Nominal delay before the retry that follows failed delivery {@code attempt} (1 = main topic)
+     */
+    long delayMillis(int attempt) {
+        double delay = initialDelay.toMillis() * Math.pow(multiplier, Math.max(0, attempt - 1));
+        return (long) Math.min(delay, maxDelay.toMillis());
+    }
+}
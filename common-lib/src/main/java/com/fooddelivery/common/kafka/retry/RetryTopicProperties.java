@@ -0,0 +1,83 @@
+package com.fooddelivery.common.kafka.retry;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking retry settings (app.kafka.retry).
+ * The top-level values are the defaults; {@code listeners.<name>} overrides them for one
+ * listener, where {@code <name>} is the name passed to {@link RetryTopicsFactory#forListener}.
+ */
+@ConfigurationProperties(prefix = "app.kafka.retry")
+@Getter
+@Setter
+public class RetryTopicProperties {
+
+    /**
+     * Deliveries per record including the first one: 4 = main topic + 3 retry tiers, then DLQ
+     */
+    private int attempts = 4;
+
+    /**
+     * Delay of the first retry tier; each next tier multiplies it by {@code multiplier}
+     */
+    private Duration initialDelay = Duration.ofSeconds(5);
+
+    private double multiplier = 12.0;
+
+    /**
+     * Tier delays are capped here; further attempts reuse the last tier topic
+     */
+    private Duration maxDelay = Duration.ofMinutes(10);
+
+    /**
+     * Random spread of each retry's due time, as a fraction of the tier delay (0.2 = +/-20%),
+     * so records that failed together during an outage do not all come back at once
+     */
+    private double jitter = 0.2;
+
+    /**
+     * Exceptions (or causes) that go straight to the DLQ without retrying, in addition to
+     * Spring Kafka's defaults (deserialization and conversion errors).
+     * Also applied to the blocking retries of the default and batch container factories.
+     */
+    private List<Class<? extends Exception>> nonRetryable = new ArrayList<>(List.of(IllegalArgumentException.class));
+
+    /**
+     * Partitions of auto-created retry topics; records keep their partition when forwarded,
+     * so this must be at least the partition count of the main topic
+     */
+    private int topicPartitions = 1;
+
+    private Map<String, Listener> listeners = new HashMap<>();
+
+    /**
+     * Per-listener overrides; unset values fall back to the defaults above
+     */
+    @Getter
+    @Setter
+    public static class Listener {
+
+        private Integer attempts;
+
+        private Duration initialDelay;
+
+        private Double multiplier;
+
+        private Duration maxDelay;
+
+        private Double jitter;
+
+        /**
+         * Added to the default non-retryable exceptions
+         */
+        private List<Class<? extends Exception>> nonRetryable = new ArrayList<>();
+    }
+}
@@ -0,0 +1,75 @@
+package com.fooddelivery.common.kafka.retry;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.retrytopic.DeadLetterPublishingRecovererFactory;
+import org.springframework.kafka.retrytopic.DestinationTopic;
+import org.springframework.kafka.retrytopic.RetryTopicComponentFactory;
+import org.springframework.kafka.retrytopic.RetryTopicConfigurationSupport;
+import org.springframework.kafka.retrytopic.RetryTopicNamesProviderFactory;
+import org.springframework.kafka.retrytopic.SuffixingRetryTopicNamesProviderFactory.SuffixingRetryTopicNamesProvider;
+
+import java.util.function.Consumer;
+
+/**
+ * Non-blocking retries for record listeners.
+ * Services add @Import(RetryTopicsConfig.class) to their KafkaConfig and declare one bean per
+ * listener: {@code retryTopicsFactory.forListener("order-created", KafkaTopics.ORDER_CREATED)}.
+ * Listeners without such a bean keep the blocking retries of the container factory.
+ * <p>
+ * Needs a TaskScheduler bean (present with @EnableScheduling, e.g. through DedupeConfig).
+ * Not for batch listeners, which Spring Kafka's retry topics do not support.
+ */
+@EnableConfigurationProperties(RetryTopicProperties.class)
+public class RetryTopicsConfig extends RetryTopicConfigurationSupport {
+
+    private final ObjectProvider<RetryTopicsFactory> retryTopicsFactory;
+
+    public RetryTopicsConfig(ObjectProvider<RetryTopicsFactory> retryTopicsFactory) {
+        this.retryTopicsFactory = retryTopicsFactory;
+    }
+
+    @Bean
+    public RetryTopicsFactory retryTopicsFactory(RetryTopicProperties properties,
+                                                 KafkaTemplate<String, Object> kafkaTemplate) {
+        return new RetryTopicsFactory(properties, kafkaTemplate);
+    }
+
+    @Override
+    protected Consumer<DeadLetterPublishingRecovererFactory> configureDeadLetterPublishingContainerFactory() {
+        return factory -> factory.setHeadersFunction(
+                (record, exception) -> retryTopicsFactory.getObject().jitteredDueTime(record, exception));
+    }
+
+    @Override
+    protected RetryTopicComponentFactory createComponentFactory() {
+        return new RetryTopicComponentFactory() {
+            @Override
+            public RetryTopicNamesProviderFactory retryTopicNamesProviderFactory() {
+                return TierTopicNamesProvider::new;
+            }
+        };
+    }
+
+    /**
+     * Names tier topics by their delay ({@code .retry-5s}) rather than in milliseconds
+     */
+    private static final class TierTopicNamesProvider extends SuffixingRetryTopicNamesProvider {
+
+        private final DestinationTopic.Properties properties;
+
+        TierTopicNamesProvider(DestinationTopic.Properties properties) {
+            super(properties);
+            this.properties = properties;
+        }
+
+        @Override
+        public String getTopicName(String topic) {
+            return properties.isRetryTopic()
+                    ? RetryTopicsFactory.tierTopic(topic, properties.delay())
+                    : super.getTopicName(topic);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.fooddelivery.common.kafka.retry;
+
+import com.fooddelivery.common.kafka.KafkaTopics;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer.SingleRecordHeader;
+import org.springframework.kafka.retrytopic.RetryTopicConfiguration;
+import org.springframework.kafka.retrytopic.RetryTopicConfigurationBuilder;
+import org.springframework.kafka.retrytopic.RetryTopicHeaders;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Builds the retry topic configuration of a listener from {@link RetryTopicProperties}.
+ * <p>
+ * A failed record is forwarded to the next tier topic ({@code order.created.retry-5s},
+ * {@code .retry-1m}, {@code .retry-10m}) and the main partition moves on; a tier's consumer
+ * pauses its partition until the head record is due. After the last tier, or at once for a
+ * non-retryable exception, the record goes to the usual {@code .dlq} topic.
+ */
+public class RetryTopicsFactory {
+
+    static final String RETRY_SUFFIX = ".retry";
+
+    private final RetryTopicProperties properties;
+    private final KafkaOperations<String, Object> kafkaTemplate;
+    private final Map<String, RetryPolicy> policiesByTopic = new ConcurrentHashMap<>();
+
+    public RetryTopicsFactory(RetryTopicProperties properties, KafkaOperations<String, Object> kafkaTemplate) {
+        this.properties = properties;
+        this.kafkaTemplate = kafkaTemplate;
+    }
+
+    /**
+     * Retry topics for the listeners of {@code topics}, with the settings of
+     * {@code app.kafka.retry.listeners.<listener>}; declare the result as a bean
+     */
+    public RetryTopicConfiguration forListener(String listener, String... topics) {
+        RetryPolicy policy = RetryPolicy.of(properties, listener);
+        RetryTopicConfigurationBuilder builder = RetryTopicConfigurationBuilder.newInstance()
+                .includeTopics(List.of(topics))
+                .maxAttempts(policy.attempts())
+                .exponentialBackoff(policy.initialDelay().toMillis(), policy.multiplier(), policy.maxDelay().toMillis())
+                .useSingleTopicForSameIntervals()
+                .retryTopicSuffix(RETRY_SUFFIX)
+                .dltSuffix(KafkaTopics.DLQ_SUFFIX)
+                // the DLQ is inspected and replayed by hand, not consumed
+                .autoStartDltHandler(false)
+                .autoCreateTopicsWith(properties.getTopicPartitions(), (short) -1);
+        if (!policy.nonRetryable().isEmpty()) {
+            builder.notRetryOn(List.copyOf(policy.nonRetryable())).traversingCauses();
+        }
+        for (String topic : topics) {
+            policiesByTopic.put(topic, policy);
+        }
+        return builder.create(kafkaTemplate);
+    }
+
+    /**
+     * Due time header with jitter for a record being forwarded to its next tier; replaces the
+     * exact one written by Spring Kafka. Empty when the record is headed for the DLQ.
+     */
+    Headers jitteredDueTime(ConsumerRecord<?, ?> record, Exception exception) {
+        Headers headers = new RecordHeaders();
+        RetryPolicy policy = policiesByTopic.get(mainTopic(record.topic()));
+        int attempt = attempt(record);
+        if (policy == null || policy.jitter() <= 0 || attempt >= policy.attempts()) {
+            return headers;
+        }
+        long delay = policy.delayMillis(attempt);
+        long spread = (long) (delay * policy.jitter() * (2 * ThreadLocalRandom.current().nextDouble() - 1));
+        long due = System.currentTimeMillis() + delay + spread;
+        headers.add(new SingleRecordHeader(RetryTopicHeaders.DEFAULT_HEADER_BACKOFF_TIMESTAMP,
+                BigInteger.valueOf(due).toByteArray()));
+        return headers;
+    }
+
+    /**
+     * Tier topic name: {@code <topic>.retry-5s}, {@code .retry-1m}, ...
+     */
+    static String tierTopic(String topic, long delayMillis) {
+        return topic + RETRY_SUFFIX + "-" + tierName(delayMillis);
+    }
+
+    static String tierName(long delayMillis) {
+        if (delayMillis > 0 && delayMillis % 3_600_000 == 0) {
+            return delayMillis / 3_600_000 + "h";
+        }
+        if (delayMillis > 0 && delayMillis % 60_000 == 0) {
+            return delayMillis / 60_000 + "m";
+        }
+        if (delayMillis > 0 && delayMillis % 1_000 == 0) {
+            return delayMillis / 1_000 + "s";
+        }
+        return delayMillis + "ms";
+    }
+
+    private static String mainTopic(String topic) {
+        int tier = topic.lastIndexOf(RETRY_SUFFIX + "-");
+        return tier < 0 ? topic : topic.substring(0, tier);
+    }
+
+    /**
+     * Delivery number of the failed record: 1 on the main topic, then counted by Spring Kafka
+     */
+    private static int attempt(ConsumerRecord<?, ?> record) {
+        Header header = record.headers().lastHeader(RetryTopicHeaders.DEFAULT_HEADER_ATTEMPTS);
+        if (header == null) {
+            return 1;
+        }
+        byte[] value = header.value();
+        return value.length == Integer.BYTES ? ByteBuffer.wrap(value).getInt() : new BigInteger(value).intValue();
+    }
+}
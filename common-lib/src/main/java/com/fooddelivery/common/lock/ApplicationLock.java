@@ -0,0 +1,40 @@
+package com.fooddelivery.common.lock;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+/**
+ * Cluster-wide mutual exclusion through SQL Server application locks (sp_getapplock).
+ * Locks are owned by the current transaction and released on commit or rollback,
+ * so callers must run inside one.
+ */
+public final class ApplicationLock {
+    
+    private ApplicationLock() {
+    }
+    
+    /**
+     * Take the exclusive lock on {@code resource} without waiting
+     * 
+     * @return false if another transaction holds it
+     */
+    public static boolean tryAcquire(JdbcTemplate jdbcTemplate, String resource) {
+        return tryAcquire(jdbcTemplate, resource, Duration.ZERO);
+    }
+    
+    /**
+     * Take the exclusive lock on {@code resource}, waiting up to {@code timeout}
+     * 
+     * @return false if another transaction held it for longer than {@code timeout}
+     */
+    public static boolean tryAcquire(JdbcTemplate jdbcTemplate, String resource, Duration timeout) {
+        Integer result = jdbcTemplate.queryForObject("""
+                DECLARE @result INT;
+                EXEC @result = sp_getapplock @Resource = ?, @LockMode = 'Exclusive',
+                                             @LockOwner = 'Transaction', @LockTimeout = ?;
+                SELECT @result;
+                """, Integer.class, resource, timeout.toMillis());
+        return result != null && result >= 0;
+    }
+}
@@ -0,0 +1,45 @@
+package com.fooddelivery.common.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.common.kafka.publish.EventPublisherConfig;
+import com.fooddelivery.common.kafka.publish.KafkaEventPublisher;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Transactional outbox beans.
+ * Services that publish events from database transactions add @Import(OutboxConfig.class)
+ * to their KafkaConfig and include db/changelog/common/outbox-changelog.xml in their
+ * Liquibase master changelog.
+ * The relay sends through the instrumented {@link KafkaEventPublisher}.
+ */
+@EnableScheduling
+@Import(EventPublisherConfig.class)
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+    
+    @Bean
+    public OutboxRepository outboxRepository(JdbcTemplate jdbcTemplate) {
+        return new OutboxRepository(jdbcTemplate);
+    }
+    
+    @Bean
+    public OutboxEventWriter outboxEventWriter(OutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        return new OutboxEventWriter(outboxRepository, objectMapper);
+    }
+    
+    @Bean
+    public OutboxRelay outboxRelay(OutboxRepository outboxRepository,
+                                   KafkaEventPublisher kafkaEventPublisher,
+                                   ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager,
+                                   OutboxProperties properties) {
+        return new OutboxRelay(outboxRepository, kafkaEventPublisher, objectMapper,
+                new TransactionTemplate(transactionManager), properties);
+    }
+}
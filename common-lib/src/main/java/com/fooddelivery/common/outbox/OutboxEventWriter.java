@@ -0,0 +1,56 @@
+package com.fooddelivery.common.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.common.event.BaseEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Stages events in the outbox table as part of the caller's business transaction.
+ * The event becomes visible to the relay only when that transaction commits,
+ * so a rollback never leaves a phantom event behind.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxEventWriter {
+    
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void write(String topic, String key, BaseEvent event) {
+        outboxRepository.insert(topic, key, event.getEventId(), event.getEventType(),
+                event.getClass().getName(), serialize(event));
+        log.debug("{} staged in outbox: eventId={}, key={}", event.getEventType(), event.getEventId(), key);
+    }
+    
+    /**
+     * Stage several events for one topic with a single batched insert (kept in list order,
+     * so per-key ordering is preserved by the relay)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <E extends BaseEvent> void writeAll(String topic, List<E> events, Function<? super E, String> keyExtractor) {
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (E event : events) {
+            rows.add(new Object[]{topic, keyExtractor.apply(event), event.getEventId(), event.getEventType(),
+                    event.getClass().getName(), serialize(event)});
+        }
+        outboxRepository.insertAll(rows);
+        log.debug("{} events staged in outbox for {}", events.size(), topic);
+    }
+    
+    private String serialize(BaseEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + event.getEventType() + " for outbox", e);
+        }
+    }
+}
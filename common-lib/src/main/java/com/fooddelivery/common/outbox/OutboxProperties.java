@@ -0,0 +1,41 @@
+package com.fooddelivery.common.outbox;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Transactional outbox relay settings (app.outbox)
+ */
+@ConfigurationProperties(prefix = "app.outbox")
+@Getter
+@Setter
+public class OutboxProperties {
+    
+    /**
+     * Enables the background relay; staging into the outbox table is always on
+     */
+    private boolean relayEnabled = true;
+    
+    /**
+     * Maximum number of rows drained per relay pass
+     */
+    private int batchSize = 200;
+    
+    /**
+     * Delay between relay passes when the table has been drained
+     */
+    private Duration pollInterval = Duration.ofMillis(200);
+    
+    /**
+     * How long a relay pass waits for broker acknowledgements
+     */
+    private Duration sendTimeout = Duration.ofSeconds(10);
+    
+    /**
+     * Rows that failed this many times are parked for manual inspection
+     */
+    private int maxAttempts = 10;
+}
@@ -0,0 +1,15 @@
+package com.fooddelivery.common.outbox;
+
+/**
+ * Row of the outbox_events table waiting to be relayed to Kafka
+ */
+public record OutboxRecord(
+        long id,
+        String topic,
+        String messageKey,
+        String eventType,
+        String eventClass,
+        String payload,
+        int attempts
+) {
+}
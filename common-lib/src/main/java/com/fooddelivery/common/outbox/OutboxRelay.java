@@ -0,0 +1,191 @@
+package com.fooddelivery.common.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.common.event.BaseEvent;
+import com.fooddelivery.common.kafka.publish.EventPublisherProperties.OverflowPolicy;
+import com.fooddelivery.common.kafka.publish.KafkaEventPublisher;
+import com.fooddelivery.common.kafka.publish.PublishRejectedException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains committed outbox rows to Kafka in batches.
+ * 
+ * Rows of the same key are sent one after another, each only after the previous one
+ * was acknowledged, and the chain stops at the first failure - so a key is never
+ * delivered out of order. Different keys are sent concurrently. Delivered rows are
+ * deleted; failed rows stay for the next pass (at-least-once, consumers dedupe by eventId).
+ * Sends go through {@link KafkaEventPublisher}, which times them per topic. They never spill:
+ * at the publisher's in-flight limit a row is deferred to the next pass (without counting as
+ * an attempt) rather than queued to go out after this pass may already have given up on it.
+ * 
+ * A pass waits up to send-timeout for its chains. Chains still running after that keep
+ * their key: later passes skip the key's rows until the chain finishes, so rows are never
+ * sent twice concurrently or out of order, and acks that arrive late are applied by the
+ * next pass.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+    
+    private final OutboxRepository outboxRepository;
+    private final KafkaEventPublisher kafkaEventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+    
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    private final Set<Long> delivered = ConcurrentHashMap.newKeySet();
+    private final Map<Long, String> failed = new ConcurrentHashMap<>();
+    
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:200ms}")
+    public void relay() {
+        if (!properties.isRelayEnabled()) {
+            return;
+        }
+        
+        try {
+            Integer delivered;
+            do {
+                delivered = transactionTemplate.execute(status -> relayBatch());
+            } while (delivered != null && delivered == properties.getBatchSize());
+        } catch (Exception e) {
+            log.error("Outbox relay pass failed: {}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Relay one batch inside the current transaction.
+     * 
+     * @return number of rows delivered and removed from the outbox
+     */
+    int relayBatch() {
+        if (!outboxRepository.tryAcquireRelayLock()) {
+            log.debug("Outbox relay lock held by another instance, skipping pass");
+            return 0;
+        }
+        
+        List<OutboxRecord> batch = outboxRepository.findPendingBatch(
+                properties.getBatchSize(), properties.getMaxAttempts());
+        
+        // Rows are in id order, so once a key is held back all its later rows are too: the key's
+        // chain from an earlier pass is still running, or one of its rows failed but is not yet marked
+        Map<String, List<OutboxRecord>> byKey = new LinkedHashMap<>();
+        Set<String> heldBack = new HashSet<>();
+        for (OutboxRecord record : batch) {
+            String key = record.topic() + ':' + record.messageKey();
+            CompletableFuture<Void> running = inFlight.get(key);
+            boolean chainRunning = running != null && !running.isDone();
+            if (heldBack.contains(key) || chainRunning || failed.containsKey(record.id())) {
+                heldBack.add(key);
+            } else if (!delivered.contains(record.id())) {
+                // Rows acked after their pass timed out are skipped here and deleted below
+                byKey.computeIfAbsent(key, k -> new ArrayList<>()).add(record);
+            }
+        }
+        
+        CompletableFuture<?>[] chains = byKey.entrySet().stream()
+                .map(entry -> sendInOrder(entry.getKey(), entry.getValue()))
+                .toArray(CompletableFuture[]::new);
+        
+        try {
+            CompletableFuture.allOf(chains).get(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Outbox relay timed out waiting for broker acks on {} of {} keys, holding them back",
+                     Arrays.stream(chains).filter(chain -> !chain.isDone()).count(), chains.length);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // per-key failures are already recorded in 'failed'
+        }
+        
+        // Includes acks of chains from earlier passes that completed after their pass timed out
+        List<Long> deliveredIds = drain(delivered);
+        Map<Long, String> failedErrors = drain(failed);
+        outboxRepository.deleteByIds(deliveredIds);
+        outboxRepository.markFailed(failedErrors);
+        
+        if (!failedErrors.isEmpty()) {
+            log.warn("Outbox relay: {} rows delivered, {} failed", deliveredIds.size(), failedErrors.size());
+        } else if (!deliveredIds.isEmpty()) {
+            log.debug("Outbox relay: {} rows delivered", deliveredIds.size());
+        }
+        return deliveredIds.size();
+    }
+    
+    private CompletableFuture<Void> sendInOrder(String key, List<OutboxRecord> records) {
+        CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+        for (OutboxRecord record : records) {
+            chain = chain.thenCompose(ignored -> send(record)
+                    .whenComplete((result, ex) -> {
+                        if (ex == null) {
+                            delivered.add(record.id());
+                        } else if (ex instanceof PublishRejectedException) {
+                            // Never handed to the producer: not an attempt, the next pass sends it
+                            log.debug("Outbox row {} deferred, publisher at max in flight", record.id());
+                        } else {
+                            failed.put(record.id(), String.valueOf(ex.getMessage()));
+                            log.error("Failed to relay outbox row {} ({}), attempt {}: {}",
+                                      record.id(), record.eventType(), record.attempts() + 1, ex.getMessage());
+                        }
+                    })
+                    .thenApply(result -> null));
+        }
+        CompletableFuture<Void> registered = chain;
+        inFlight.put(key, registered);
+        registered.whenComplete((result, ex) -> inFlight.remove(key, registered));
+        return registered;
+    }
+    
+    private static List<Long> drain(Set<Long> ids) {
+        List<Long> drained = new ArrayList<>();
+        for (Long id : ids) {
+            if (ids.remove(id)) {
+                drained.add(id);
+            }
+        }
+        return drained;
+    }
+    
+    private static Map<Long, String> drain(Map<Long, String> errors) {
+        Map<Long, String> drained = new LinkedHashMap<>();
+        for (Long id : errors.keySet()) {
+            String error = errors.remove(id);
+            if (error != null) {
+                drained.put(id, error);
+            }
+        }
+        return drained;
+    }
+    
+    private CompletableFuture<?> send(OutboxRecord record) {
+        try {
+            BaseEvent event = deserialize(record);
+            return kafkaEventPublisher.publish(record.topic(), record.messageKey(), event, OverflowPolicy.REJECT);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    private BaseEvent deserialize(OutboxRecord record) throws Exception {
+        Class<?> type = Class.forName(record.eventClass());
+        if (!BaseEvent.class.isAssignableFrom(type)) {
+            throw new IllegalStateException("Outbox row " + record.id() + " is not a domain event: " + record.eventClass());
+        }
+        return (BaseEvent) objectMapper.readValue(record.payload(), type);
+    }
+}
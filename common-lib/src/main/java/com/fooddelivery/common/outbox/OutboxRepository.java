@@ -0,0 +1,102 @@
+package com.fooddelivery.common.outbox;
+
+import com.fooddelivery.common.lock.ApplicationLock;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC access to the outbox_events table.
+ * Uses the service DataSource, so inserts join the surrounding JPA transaction.
+ */
+@RequiredArgsConstructor
+public class OutboxRepository {
+    
+    private static final String RELAY_LOCK_RESOURCE = "outbox_events_relay";
+    private static final int MAX_ERROR_LENGTH = 500;
+    
+    private static final RowMapper<OutboxRecord> ROW_MAPPER = (rs, rowNum) -> new OutboxRecord(
+            rs.getLong("id"),
+            rs.getString("topic"),
+            rs.getString("message_key"),
+            rs.getString("event_type"),
+            rs.getString("event_class"),
+            rs.getString("payload"),
+            rs.getInt("attempts")
+    );
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public void insert(String topic, String messageKey, String eventId, String eventType,
+                       String eventClass, String payload) {
+        jdbcTemplate.update("""
+                INSERT INTO outbox_events (topic, message_key, event_id, event_type, event_class, payload, attempts, created_at)
+                VALUES (?, ?, ?, ?, ?, ?, 0, SYSUTCDATETIME())
+                """, topic, messageKey, eventId, eventType, eventClass, payload);
+    }
+    
+    /**
+     * Rows are {topic, message_key, event_id, event_type, event_class, payload}
+     */
+    public void insertAll(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO outbox_events (topic, message_key, event_id, event_type, event_class, payload, attempts, created_at)
+                VALUES (?, ?, ?, ?, ?, ?, 0, SYSUTCDATETIME())
+                """, rows);
+    }
+    
+    /**
+     * Oldest pending rows first, in id order. Identity ids are handed out on insert, not on commit,
+     * so a row can commit after rows with higher ids. The scan reads with READCOMMITTEDLOCK: it
+     * waits for such a row instead of skipping it (as a row-versioned read would), so a row that
+     * commits late is never overtaken by a later row of the same key.
+     */
+    public List<OutboxRecord> findPendingBatch(int batchSize, int maxAttempts) {
+        return jdbcTemplate.query("""
+                SELECT TOP (?) id, topic, message_key, event_type, event_class, payload, attempts
+                FROM outbox_events WITH (READCOMMITTEDLOCK)
+                WHERE attempts < ?
+                ORDER BY id
+                """, ROW_MAPPER, batchSize, maxAttempts);
+    }
+    
+    /**
+     * Transaction-scoped application lock so only one service instance relays at a time;
+     * concurrent relays would break per-key ordering. Returns immediately if the lock is held.
+     */
+    public boolean tryAcquireRelayLock() {
+        return ApplicationLock.tryAcquire(jdbcTemplate, RELAY_LOCK_RESOURCE);
+    }
+    
+    public void deleteByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("DELETE FROM outbox_events WHERE id = ?",
+                ids.stream().map(id -> new Object[]{id}).toList());
+    }
+    
+    public void markFailed(Map<Long, String> errorsById) {
+        if (errorsById.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("UPDATE outbox_events SET attempts = attempts + 1, last_error = ? WHERE id = ?",
+                errorsById.entrySet().stream()
+                        .map(e -> new Object[]{truncate(e.getValue()), e.getKey()})
+                        .toList());
+    }
+    
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,48 @@
+package com.fooddelivery.common.pagination;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset (seek) pagination over {@code (createdAt DESC, id DESC)}.
+ * <p>
+ * Repository methods take the decoded cursor and a {@link #limit(int)} pageable and return a
+ * {@link Slice}, so no COUNT query runs and every page is an index seek, whatever its depth:
+ * <pre>
+ * &#64;Query("SELECT p FROM Payment p WHERE p.userId = :userId " +
+ *        "AND (p.createdAt &lt; :createdAt OR (p.createdAt = :createdAt AND p.id &lt; :id)) " +
+ *        "ORDER BY p.createdAt DESC, p.id DESC")
+ * Slice&lt;Payment&gt; findPageByUserId(Long userId, LocalDateTime createdAt, Long id, Pageable limit);
+ * </pre>
+ */
+public final class CursorPagination {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private CursorPagination() {
+    }
+
+    /**
+     * Page size as a Pageable: always the first "page" of the seek query, unsorted
+     * (ordering lives in the query), clamped to {@link #MAX_PAGE_SIZE}
+     */
+    public static Pageable limit(int size) {
+        return PageRequest.ofSize(Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    }
+
+    /**
+     * Build the response page from a slice fetched with {@link #limit(int)}
+     */
+    public static <E, T> CursorPage<T> page(Slice<E> slice, Function<E, Cursor> cursorOf, Function<E, T> mapper) {
+        List<E> content = slice.getContent();
+        String nextCursor = slice.hasNext() && !content.isEmpty()
+                ? cursorOf.apply(content.get(content.size() - 1)).encode()
+                : null;
+        return new CursorPage<>(content.stream().map(mapper).toList(), nextCursor, nextCursor != null);
+    }
+}
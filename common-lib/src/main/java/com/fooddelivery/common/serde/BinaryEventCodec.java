@@ -0,0 +1,342 @@
+package com.fooddelivery.common.serde;
+
+import com.fooddelivery.common.event.BaseEvent;
+import com.fooddelivery.common.serde.EventSchema.SchemaField;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compact binary encoding of one event type, in the style of Avro single-object encoding:
+ * {@code C3 01}, the 8-byte little-endian fingerprint of the writer schema, then the field
+ * values in schema order with no names, tags or type information.
+ * Nullable fields carry one presence byte in front of the value.
+ * <p>
+ * The schema is derived from the event class (BaseEvent fields first, then each subclass's
+ * fields in declaration order). Decoding resolves the writer schema against the class:
+ * writer fields the class no longer has are skipped, fields the writer did not have are left
+ * null. Thread-safe; one instance per event class.
+ */
+public final class BinaryEventCodec<E extends BaseEvent> {
+
+    static final byte MAGIC_0 = (byte) 0xC3;
+    static final byte MAGIC_1 = 0x01;
+    static final int HEADER_LENGTH = 10;
+
+    private final Class<E> type;
+    private final Constructor<E> constructor;
+    private final EventSchema schema;
+    private final long fingerprint;
+    private final Field[] fields;
+    private final Map<Long, ReadStep[]> readPlans = new ConcurrentHashMap<>();
+
+    private BinaryEventCodec(Class<E> type) {
+        this.type = type;
+        try {
+            this.constructor = type.getDeclaredConstructor();
+            this.constructor.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(type.getName() + " has no no-arg constructor", e);
+        }
+
+        Deque<Class<?>> hierarchy = new ArrayDeque<>();
+        for (Class<?> c = type; c != null && BaseEvent.class.isAssignableFrom(c); c = c.getSuperclass()) {
+            hierarchy.addFirst(c);
+        }
+        List<Field> eventFields = new ArrayList<>();
+        List<SchemaField> schemaFields = new ArrayList<>();
+        for (Class<?> c : hierarchy) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())) {
+                    continue;
+                }
+                FieldType fieldType = FieldType.of(field.getType());
+                if (fieldType == null) {
+                    throw new IllegalArgumentException("Unsupported field type " + field.getType().getName()
+                            + " of " + c.getSimpleName() + "." + field.getName());
+                }
+                field.setAccessible(true);
+                eventFields.add(field);
+                schemaFields.add(new SchemaField(field.getName(), fieldType, !field.getType().isPrimitive()));
+            }
+        }
+        this.fields = eventFields.toArray(Field[]::new);
+        this.schema = new EventSchema(type.getSimpleName(), 0, schemaFields);
+        this.fingerprint = schema.fingerprint();
+    }
+
+    public static <E extends BaseEvent> BinaryEventCodec<E> of(Class<E> type) {
+        return new BinaryEventCodec<>(type);
+    }
+
+    /**
+     * Schema derived from the event class (version 0 until registered)
+     */
+    public EventSchema schema() {
+        return schema;
+    }
+
+    public Class<E> type() {
+        return type;
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length >= HEADER_LENGTH && data[0] == MAGIC_0 && data[1] == MAGIC_1;
+    }
+
+    /**
+     * Writer schema fingerprint of a binary message
+     */
+    public static long fingerprintOf(byte[] data) {
+        long fp = 0;
+        for (int i = HEADER_LENGTH - 1; i >= 2; i--) {
+            fp = (fp << 8) | (data[i] & 0xffL);
+        }
+        return fp;
+    }
+
+    public byte[] encode(E event) {
+        Encoder out = new Encoder();
+        out.header(fingerprint);
+        try {
+            for (int i = 0; i < fields.length; i++) {
+                SchemaField field = schema.fields().get(i);
+                Object value = fields[i].get(event);
+                if (field.nullable()) {
+                    if (value == null) {
+                        out.writeByte(0);
+                        continue;
+                    }
+                    out.writeByte(1);
+                }
+                out.write(field.type(), value);
+            }
+        } catch (IllegalAccessException e) {
+            throw new SerializationException("Cannot read fields of " + type.getSimpleName(), e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decode a binary message written with {@code writerSchema}
+     *
+     * @throws SerializationException if the message is truncated or the writer schema cannot be read into this class
+     */
+    public E decode(byte[] data, EventSchema writerSchema) {
+        ReadStep[] plan = readPlans.computeIfAbsent(writerSchema.fingerprint(), fp -> plan(writerSchema));
+        Decoder in = new Decoder(data, HEADER_LENGTH);
+        try {
+            E event = constructor.newInstance();
+            for (ReadStep step : plan) {
+                if (step.nullable() && in.readByte() == 0) {
+                    if (step.target() != null) {
+                        step.target().set(event, null);
+                    }
+                    continue;
+                }
+                Object value = in.read(step.writerType());
+                if (step.target() != null) {
+                    step.target().set(event, promote(value, step.writerType(), step.readerType()));
+                }
+            }
+            return event;
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new SerializationException("Truncated " + writerSchema.name() + " message", e);
+        } catch (ReflectiveOperationException e) {
+            throw new SerializationException("Cannot instantiate " + type.getSimpleName(), e);
+        }
+    }
+
+    private ReadStep[] plan(EventSchema writerSchema) {
+        List<String> problems = SchemaCompatibility.readProblems(schema, writerSchema);
+        if (!problems.isEmpty()) {
+            throw new SerializationException("Cannot read " + writerSchema.canonicalForm() + " into "
+                    + schema.canonicalForm() + ": " + String.join("; ", problems));
+        }
+        ReadStep[] plan = new ReadStep[writerSchema.fields().size()];
+        for (int i = 0; i < plan.length; i++) {
+            SchemaField writerField = writerSchema.fields().get(i);
+            SchemaField readerField = schema.field(writerField.name());
+            int readerIndex = readerField == null ? -1 : schema.fields().indexOf(readerField);
+            plan[i] = readerIndex < 0
+                    ? new ReadStep(writerField.type(), writerField.nullable(), null, null)
+                    : new ReadStep(writerField.type(), writerField.nullable(),
+                                   fields[readerIndex], schema.fields().get(readerIndex).type());
+        }
+        return plan;
+    }
+
+    private static Object promote(Object value, FieldType from, FieldType to) {
+        if (from == to) {
+            return value;
+        }
+        return switch (to) {
+            case LONG -> ((Integer) value).longValue();
+            case DOUBLE -> ((Number) value).doubleValue();
+            default -> throw new SerializationException("Cannot promote " + from + " to " + to);
+        };
+    }
+
+    /**
+     * @param target reader field, null if the reader no longer has it (value is skipped)
+     */
+    private record ReadStep(FieldType writerType, boolean nullable, Field target, FieldType readerType) {
+    }
+
+    private static final class Encoder {
+
+        private byte[] buffer = new byte[128];
+        private int position;
+
+        void header(long fingerprint) {
+            writeByte(MAGIC_0);
+            writeByte(MAGIC_1);
+            for (int i = 0; i < 8; i++) {
+                writeByte((int) (fingerprint >>> (8 * i)));
+            }
+        }
+
+        void write(FieldType fieldType, Object value) {
+            switch (fieldType) {
+                case BOOLEAN -> writeByte((Boolean) value ? 1 : 0);
+                case INT -> writeVarLong((Integer) value);
+                case LONG -> writeVarLong((Long) value);
+                case DOUBLE -> writeDouble((Double) value);
+                case STRING -> writeBytes(((String) value).getBytes(StandardCharsets.UTF_8));
+                case DECIMAL -> {
+                    BigDecimal decimal = (BigDecimal) value;
+                    writeVarLong(decimal.scale());
+                    writeBytes(decimal.unscaledValue().toByteArray());
+                }
+                case TIMESTAMP -> {
+                    LocalDateTime timestamp = (LocalDateTime) value;
+                    writeVarLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+                    writeVarLong(timestamp.getNano());
+                }
+            }
+        }
+
+        void writeByte(int b) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) b;
+        }
+
+        /**
+         * Zigzag varint: small magnitudes of either sign take few bytes
+         */
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            long n = (value << 1) ^ (value >> 63);
+            while ((n & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((n & 0x7F) | 0x80);
+                n >>>= 7;
+            }
+            buffer[position++] = (byte) n;
+        }
+
+        void writeDouble(double value) {
+            ensureCapacity(8);
+            long bits = Double.doubleToLongBits(value);
+            for (int i = 0; i < 8; i++) {
+                buffer[position++] = (byte) (bits >>> (8 * i));
+            }
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+
+    private static final class Decoder {
+
+        private final byte[] data;
+        private int position;
+
+        Decoder(byte[] data, int position) {
+            this.data = data;
+            this.position = position;
+        }
+
+        Object read(FieldType fieldType) {
+            return switch (fieldType) {
+                case BOOLEAN -> readByte() != 0;
+                case INT -> (int) readVarLong();
+                case LONG -> readVarLong();
+                case DOUBLE -> readDouble();
+                case STRING -> new String(readBytes(), StandardCharsets.UTF_8);
+                case DECIMAL -> {
+                    int scale = (int) readVarLong();
+                    yield new BigDecimal(new BigInteger(readBytes()), scale);
+                }
+                case TIMESTAMP -> {
+                    long epochSecond = readVarLong();
+                    yield LocalDateTime.ofEpochSecond(epochSecond, (int) readVarLong(), ZoneOffset.UTC);
+                }
+            };
+        }
+
+        byte readByte() {
+            return data[position++];
+        }
+
+        long readVarLong() {
+            long n = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (shift > 63) {
+                    throw new SerializationException("Malformed varint at offset " + position);
+                }
+                b = data[position++];
+                n |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return (n >>> 1) ^ -(n & 1);
+        }
+
+        double readDouble() {
+            long bits = 0;
+            for (int i = 0; i < 8; i++) {
+                bits |= (data[position++] & 0xffL) << (8 * i);
+            }
+            return Double.longBitsToDouble(bits);
+        }
+
+        byte[] readBytes() {
+            int length = (int) readVarLong();
+            if (length < 0 || length > data.length - position) {
+                throw new SerializationException("Malformed length " + length + " at offset " + position);
+            }
+            byte[] bytes = Arrays.copyOfRange(data, position, position + length);
+            position += length;
+            return bytes;
+        }
+    }
+}
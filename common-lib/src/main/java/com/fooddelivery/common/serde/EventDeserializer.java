@@ -0,0 +1,83 @@
+package com.fooddelivery.common.serde;
+
+import com.fooddelivery.common.event.BaseEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kafka value deserializer reading both event formats: binary messages (recognized by the
+ * {@link BinaryEventCodec} header) are decoded against their writer schema from the
+ * {@link FileSchemaRegistry}, anything else is handed to Spring's JsonDeserializer.
+ * Because the format is detected per record, a topic can be switched to binary on the producer
+ * side at any time once consumers run this deserializer, and records of both formats may be
+ * interleaved during the switch.
+ * <p>
+ * Binary messages only resolve to classes in {@code com.fooddelivery.common.event},
+ * the same trust boundary as the JSON consumer configuration.
+ */
+public class EventDeserializer implements Deserializer<Object> {
+
+    private static final String EVENT_PACKAGE = BaseEvent.class.getPackageName();
+
+    private final JsonDeserializer<Object> jsonDeserializer = new JsonDeserializer<>();
+    private final Map<String, BinaryEventCodec<?>> codecs = new ConcurrentHashMap<>();
+    private Path schemaDirectory = Path.of(EventSerializer.DEFAULT_SCHEMA_DIR);
+    private volatile FileSchemaRegistry registry;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.configure(configs, isKey);
+        schemaDirectory = EventSerializer.schemaDirectory(configs);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return BinaryEventCodec.isBinary(data) ? decode(data) : jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        return BinaryEventCodec.isBinary(data) ? decode(data) : jsonDeserializer.deserialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+
+    private BaseEvent decode(byte[] data) {
+        long fingerprint = BinaryEventCodec.fingerprintOf(data);
+        EventSchema writerSchema = registry().find(fingerprint);
+        if (writerSchema == null) {
+            throw new SerializationException("Unknown event schema fingerprint " + Long.toHexString(fingerprint));
+        }
+        return codecs.computeIfAbsent(writerSchema.name(), EventDeserializer::codecFor).decode(data, writerSchema);
+    }
+
+    private FileSchemaRegistry registry() {
+        FileSchemaRegistry current = registry;
+        if (current == null) {
+            current = FileSchemaRegistry.forDirectory(schemaDirectory);
+            registry = current;
+        }
+        return current;
+    }
+
+    private static BinaryEventCodec<?> codecFor(String eventName) {
+        try {
+            Class<?> type = Class.forName(EVENT_PACKAGE + "." + eventName);
+            if (!BaseEvent.class.isAssignableFrom(type)) {
+                throw new SerializationException(eventName + " is not a domain event");
+            }
+            return BinaryEventCodec.of(type.asSubclass(BaseEvent.class));
+        } catch (ClassNotFoundException e) {
+            throw new SerializationException("Unknown event type " + eventName, e);
+        }
+    }
+}
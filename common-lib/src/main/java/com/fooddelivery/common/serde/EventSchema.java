@@ -0,0 +1,76 @@
+package com.fooddelivery.common.serde;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Schema of one event type: its simple class name and the ordered fields as they appear on the wire.
+ * <p>
+ * The 64-bit fingerprint (CRC-64-AVRO over the canonical form) identifies the writer schema
+ * in every binary message; the version is only the registration order in the schema registry
+ * and is not part of the fingerprint.
+ */
+public record EventSchema(String name, int version, List<SchemaField> fields) {
+
+    private static final long FP_EMPTY = 0xc15d213aa4d7a795L;
+    private static final long[] FP_TABLE = new long[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            long fp = i;
+            for (int j = 0; j < 8; j++) {
+                fp = (fp >>> 1) ^ (FP_EMPTY & -(fp & 1L));
+            }
+            FP_TABLE[i] = fp;
+        }
+    }
+
+    public EventSchema {
+        fields = List.copyOf(fields);
+    }
+
+    public EventSchema withVersion(int version) {
+        return new EventSchema(name, version, fields);
+    }
+
+    public SchemaField field(String fieldName) {
+        for (SchemaField field : fields) {
+            if (field.name().equals(fieldName)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Canonical form, e.g. {@code OrderCreatedEvent{eventId:STRING?,orderId:LONG?,deleted:BOOLEAN}}
+     */
+    public String canonicalForm() {
+        StringBuilder canonical = new StringBuilder(name).append('{');
+        for (int i = 0; i < fields.size(); i++) {
+            SchemaField field = fields.get(i);
+            if (i > 0) {
+                canonical.append(',');
+            }
+            canonical.append(field.name()).append(':').append(field.type());
+            if (field.nullable()) {
+                canonical.append('?');
+            }
+        }
+        return canonical.append('}').toString();
+    }
+
+    public long fingerprint() {
+        long fp = FP_EMPTY;
+        for (byte b : canonicalForm().getBytes(StandardCharsets.UTF_8)) {
+            fp = (fp >>> 8) ^ FP_TABLE[(int) (fp ^ b) & 0xff];
+        }
+        return fp;
+    }
+
+    /**
+     * @param nullable false for primitive fields; a nullable field is read as null when the writer lacks it
+     */
+    public record SchemaField(String name, FieldType type, boolean nullable) {
+    }
+}
@@ -0,0 +1,114 @@
+package com.fooddelivery.common.serde;
+
+import com.fooddelivery.common.event.BaseEvent;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Kafka value serializer with a per-topic choice of format: events sent to a topic listed in
+ * {@link #BINARY_TOPICS_CONFIG} use the compact binary encoding ({@link BinaryEventCodec}),
+ * everything else goes through Spring's JsonSerializer as before.
+ * <p>
+ * The schema of each event type is registered in the {@link FileSchemaRegistry} on first use;
+ * an incompatible schema change makes every send of that type fail instead of producing
+ * events that consumers cannot read. Consumers must run {@link EventDeserializer} (which reads
+ * both formats) before a topic is switched to binary.
+ */
+public class EventSerializer implements Serializer<Object> {
+
+    /**
+     * Topics published in the binary format (comma-separated string or collection)
+     */
+    public static final String BINARY_TOPICS_CONFIG = "fooddelivery.serde.binary.topics";
+
+    /**
+     * Directory of the file schema registry
+     */
+    public static final String SCHEMA_DIR_CONFIG = "fooddelivery.serde.schema.dir";
+
+    /**
+     * {@link SchemaCompatibility} enforced when registering a new schema version, FULL by default
+     */
+    public static final String COMPATIBILITY_CONFIG = "fooddelivery.serde.schema.compatibility";
+
+    /**
+     * Machine-wide, so services started from different working directories share it
+     */
+    static final String DEFAULT_SCHEMA_DIR =
+            Path.of(System.getProperty("java.io.tmpdir"), "food-delivery", "schemas").toString();
+
+    private final JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+    private final Map<Class<?>, BinaryEventCodec<?>> codecs = new ConcurrentHashMap<>();
+    private Set<String> binaryTopics = Set.of();
+    private SchemaCompatibility compatibility = SchemaCompatibility.FULL;
+    private FileSchemaRegistry registry;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonSerializer.configure(configs, isKey);
+        binaryTopics = topics(configs.get(BINARY_TOPICS_CONFIG));
+        Object configuredCompatibility = configs.get(COMPATIBILITY_CONFIG);
+        if (configuredCompatibility != null && !configuredCompatibility.toString().isBlank()) {
+            compatibility = SchemaCompatibility.valueOf(configuredCompatibility.toString().trim().toUpperCase());
+        }
+        if (!binaryTopics.isEmpty()) {
+            registry = FileSchemaRegistry.forDirectory(schemaDirectory(configs));
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return serialize(topic, null, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data instanceof BaseEvent event && binaryTopics.contains(topic)) {
+            return encode(event);
+        }
+        return jsonSerializer.serialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E extends BaseEvent> byte[] encode(E event) {
+        BinaryEventCodec<E> codec = (BinaryEventCodec<E>) codecs.computeIfAbsent(event.getClass(), this::registeredCodec);
+        return codec.encode(event);
+    }
+
+    private BinaryEventCodec<?> registeredCodec(Class<?> type) {
+        BinaryEventCodec<?> codec = BinaryEventCodec.of(type.asSubclass(BaseEvent.class));
+        registry.register(codec.schema(), compatibility);
+        return codec;
+    }
+
+    static Path schemaDirectory(Map<String, ?> configs) {
+        Object directory = configs.get(SCHEMA_DIR_CONFIG);
+        return Path.of(directory == null || directory.toString().isBlank() ? DEFAULT_SCHEMA_DIR : directory.toString());
+    }
+
+    private static Set<String> topics(Object configured) {
+        if (configured instanceof Collection<?> topics) {
+            return topics.stream().map(Object::toString).map(String::trim).filter(t -> !t.isEmpty())
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+        if (configured == null) {
+            return Set.of();
+        }
+        return Arrays.stream(configured.toString().split(",")).map(String::trim).filter(t -> !t.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
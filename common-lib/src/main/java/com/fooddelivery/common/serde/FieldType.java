@@ -0,0 +1,53 @@
+package com.fooddelivery.common.serde;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Wire types of the binary event format.
+ *
+ * Integers are zigzag varints, doubles 8 bytes little-endian, strings UTF-8 with a varint
+ * length, decimals scale + unscaled two's-complement bytes, timestamps UTC epoch seconds + nanos.
+ */
+public enum FieldType {
+
+    BOOLEAN,
+    INT,
+    LONG,
+    DOUBLE,
+    STRING,
+    DECIMAL,
+    TIMESTAMP;
+
+    private static final Map<Class<?>, FieldType> JAVA_TYPES = Map.ofEntries(
+            Map.entry(boolean.class, BOOLEAN),
+            Map.entry(Boolean.class, BOOLEAN),
+            Map.entry(int.class, INT),
+            Map.entry(Integer.class, INT),
+            Map.entry(long.class, LONG),
+            Map.entry(Long.class, LONG),
+            Map.entry(double.class, DOUBLE),
+            Map.entry(Double.class, DOUBLE),
+            Map.entry(String.class, STRING),
+            Map.entry(BigDecimal.class, DECIMAL),
+            Map.entry(LocalDateTime.class, TIMESTAMP)
+    );
+
+    /**
+     * Wire type of an event field's Java type, null if the type is not supported
+     */
+    public static FieldType of(Class<?> javaType) {
+        return JAVA_TYPES.get(javaType);
+    }
+
+    /**
+     * Whether a value written as this type can be read into a field of {@code readerType}
+     * (same type, or a widening promotion as in Avro: int to long/double, long to double)
+     */
+    public boolean promotesTo(FieldType readerType) {
+        return this == readerType
+                || (this == INT && (readerType == LONG || readerType == DOUBLE))
+                || (this == LONG && readerType == DOUBLE);
+    }
+}
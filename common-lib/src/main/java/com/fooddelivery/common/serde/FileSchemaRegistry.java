@@ -0,0 +1,221 @@
+package com.fooddelivery.common.serde;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.SerializationException;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local stand-in for a schema registry: one JSON file per schema version,
+ * {@code <EventName>/v<N>.json}.
+ * <p>
+ * The versions known at build time ship with common-lib ({@code classpath:schemas/}), so every
+ * service reads events of the same common-lib release without any shared storage. Versions
+ * registered at runtime (an event class changed ahead of its shipped schema) are written to a
+ * directory that must be shared by producers and consumers (a mounted volume in containers).
+ * <p>
+ * Producers register the schema of each event type on first use; a schema that is not
+ * compatible with every registered version of its event type is rejected. Consumers resolve
+ * writer schemas by fingerprint and rescan the directory when they meet an unknown one; a
+ * fingerprint that is still unknown after a rescan is not looked for again until
+ * {@link #MISS_RETRY_INTERVAL} has passed, so a stream of unreadable records does not turn
+ * into a directory scan per record.
+ * Two instances registering the same new version race on creating the file; the loser
+ * reloads and retries, so a version number is never reused for a different schema.
+ * <p>
+ * One instance per directory per JVM ({@link #forDirectory(Path)}), shared by all
+ * serializers and deserializers.
+ */
+@Slf4j
+public class FileSchemaRegistry {
+
+    static final String SHIPPED_SCHEMAS = "classpath*:schemas/*/v*.json";
+    static final Duration MISS_RETRY_INTERVAL = Duration.ofSeconds(5);
+
+    private static final Map<Path, FileSchemaRegistry> REGISTRIES = new ConcurrentHashMap<>();
+    private static final int MAX_REGISTER_ATTEMPTS = 5;
+    private static final int MAX_REMEMBERED_MISSES = 10_000;
+
+    private final Path directory;
+    private final long missRetryNanos;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Long, EventSchema> byFingerprint = new ConcurrentHashMap<>();
+    private final Map<String, List<EventSchema>> byName = new ConcurrentHashMap<>();
+    /**
+     * Unknown fingerprints: System.nanoTime() of the rescan that last missed them
+     */
+    private final Map<Long, Long> misses = new ConcurrentHashMap<>();
+
+    FileSchemaRegistry(Path directory) {
+        this(directory, MISS_RETRY_INTERVAL);
+    }
+
+    FileSchemaRegistry(Path directory, Duration missRetryInterval) {
+        this.directory = directory;
+        this.missRetryNanos = missRetryInterval.toNanos();
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create schema registry directory " + directory, e);
+        }
+        loadShipped();
+        scan();
+    }
+
+    public static FileSchemaRegistry forDirectory(Path directory) {
+        return REGISTRIES.computeIfAbsent(directory.toAbsolutePath().normalize(), FileSchemaRegistry::new);
+    }
+
+    /**
+     * Register a schema (or find the identical registered one)
+     *
+     * @return the schema with its registered version
+     * @throws SerializationException if the schema breaks {@code compatibility} with a registered version
+     */
+    public synchronized EventSchema register(EventSchema schema, SchemaCompatibility compatibility) {
+        for (int attempt = 1; attempt <= MAX_REGISTER_ATTEMPTS; attempt++) {
+            EventSchema registered = byFingerprint.get(schema.fingerprint());
+            if (registered != null) {
+                return registered;
+            }
+
+            List<EventSchema> versions = byName.getOrDefault(schema.name(), List.of());
+            int latest = versions.isEmpty() ? 0 : versions.get(versions.size() - 1).version();
+            EventSchema candidate = schema.withVersion(latest + 1);
+            for (EventSchema existing : versions) {
+                List<String> problems = compatibility.check(candidate, existing);
+                if (!problems.isEmpty()) {
+                    throw new SerializationException(String.format("Schema %s is not %s compatible: %s",
+                            schema.canonicalForm(), compatibility, String.join("; ", problems)));
+                }
+            }
+
+            try {
+                write(candidate);
+                add(candidate);
+                log.info("Registered schema {} v{}: {}", candidate.name(), candidate.version(), candidate.canonicalForm());
+                return candidate;
+            } catch (FileAlreadyExistsException e) {
+                log.debug("Schema {} v{} registered concurrently, reloading", candidate.name(), candidate.version());
+                scan();
+            } catch (IOException e) {
+                throw new SerializationException("Failed to register schema " + schema.canonicalForm(), e);
+            }
+        }
+        throw new SerializationException("Gave up registering schema " + schema.canonicalForm()
+                + " after " + MAX_REGISTER_ATTEMPTS + " concurrent registrations");
+    }
+
+    /**
+     * Writer schema by fingerprint, null if no producer ever registered it
+     */
+    public EventSchema find(long fingerprint) {
+        EventSchema schema = byFingerprint.get(fingerprint);
+        if (schema != null || recentlyMissed(fingerprint)) {
+            return schema;
+        }
+        synchronized (this) {
+            schema = byFingerprint.get(fingerprint);
+            if (schema != null || recentlyMissed(fingerprint)) {
+                return schema;
+            }
+            scan();
+            schema = byFingerprint.get(fingerprint);
+            if (schema == null) {
+                if (misses.size() >= MAX_REMEMBERED_MISSES) {
+                    misses.clear();
+                }
+                misses.put(fingerprint, System.nanoTime());
+            }
+        }
+        return schema;
+    }
+
+    public List<EventSchema> versions(String name) {
+        return byName.getOrDefault(name, List.of());
+    }
+
+    private void write(EventSchema schema) throws IOException {
+        Path eventDirectory = Files.createDirectories(directory.resolve(schema.name()));
+        Path target = eventDirectory.resolve("v" + schema.version() + ".json");
+        Path temp = Files.createTempFile(eventDirectory, "v" + schema.version() + "-", ".tmp");
+        try {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), schema);
+            // no REPLACE_EXISTING: fails if another instance took this version first
+            Files.move(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private boolean recentlyMissed(long fingerprint) {
+        Long missedAt = misses.get(fingerprint);
+        return missedAt != null && System.nanoTime() - missedAt < missRetryNanos;
+    }
+
+    private void loadShipped() {
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(SHIPPED_SCHEMAS)) {
+                try (InputStream in = resource.getInputStream()) {
+                    EventSchema schema = objectMapper.readValue(in, EventSchema.class);
+                    if (!byFingerprint.containsKey(schema.fingerprint())) {
+                        add(schema);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load the event schemas shipped on the classpath", e);
+        }
+    }
+
+    private void scan() {
+        try (DirectoryStream<Path> eventDirectories = Files.newDirectoryStream(directory, Files::isDirectory)) {
+            for (Path eventDirectory : eventDirectories) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(eventDirectory, "v*.json")) {
+                    for (Path file : files) {
+                        load(file);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to scan schema registry directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private void load(Path file) {
+        try {
+            EventSchema schema = objectMapper.readValue(file.toFile(), EventSchema.class);
+            if (!byFingerprint.containsKey(schema.fingerprint())) {
+                add(schema);
+            }
+        } catch (IOException e) {
+            log.error("Skipping unreadable schema file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void add(EventSchema schema) {
+        byFingerprint.put(schema.fingerprint(), schema);
+        misses.remove(schema.fingerprint());
+        byName.compute(schema.name(), (name, versions) -> {
+            List<EventSchema> updated = versions == null ? new ArrayList<>() : new ArrayList<>(versions);
+            updated.add(schema);
+            updated.sort(Comparator.comparingInt(EventSchema::version));
+            return List.copyOf(updated);
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package com.fooddelivery.common.serde;
+
+import com.fooddelivery.common.serde.EventSchema.SchemaField;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compatibility rules enforced when a new schema version is registered, following Avro's
+ * schema resolution: the reader skips writer fields it does not know, a reader field missing
+ * from the writer is read as null (so it must be nullable), and a shared field must keep its
+ * type or be widened (int to long/double, long to double) and must not turn a nullable field
+ * into a primitive one.
+ */
+public enum SchemaCompatibility {
+
+    /**
+     * No checks
+     */
+    NONE,
+
+    /**
+     * Consumers on the new schema can read events written with every older schema
+     */
+    BACKWARD,
+
+    /**
+     * Consumers still on an older schema can read events written with the new one
+     */
+    FORWARD,
+
+    /**
+     * Both BACKWARD and FORWARD - producers and consumers can be upgraded in any order
+     */
+    FULL;
+
+    /**
+     * Problems that keep {@code candidate} from being registered next to {@code existing},
+     * empty if it is compatible
+     */
+    public List<String> check(EventSchema candidate, EventSchema existing) {
+        List<String> problems = new ArrayList<>();
+        if (this == BACKWARD || this == FULL) {
+            problems.addAll(readProblems(candidate, existing));
+        }
+        if (this == FORWARD || this == FULL) {
+            problems.addAll(readProblems(existing, candidate));
+        }
+        return problems;
+    }
+
+    /**
+     * Problems reading data written with {@code writer} into {@code reader}
+     */
+    static List<String> readProblems(EventSchema reader, EventSchema writer) {
+        List<String> problems = new ArrayList<>();
+        for (SchemaField readerField : reader.fields()) {
+            SchemaField writerField = writer.field(readerField.name());
+            if (writerField == null) {
+                if (!readerField.nullable()) {
+                    problems.add(String.format("v%d cannot read v%d: field '%s' is missing in the writer and is not nullable",
+                            reader.version(), writer.version(), readerField.name()));
+                }
+                continue;
+            }
+            if (!writerField.type().promotesTo(readerField.type())) {
+                problems.add(String.format("v%d cannot read v%d: field '%s' changed type from %s to %s",
+                        reader.version(), writer.version(), readerField.name(), writerField.type(), readerField.type()));
+            } else if (writerField.nullable() && !readerField.nullable()) {
+                problems.add(String.format("v%d cannot read v%d: field '%s' may be null in the writer",
+                        reader.version(), writer.version(), readerField.name()));
+            }
+        }
+        return problems;
+    }
+}
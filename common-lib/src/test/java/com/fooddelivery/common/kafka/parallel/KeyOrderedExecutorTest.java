@@ -0,0 +1,93 @@
+package com.fooddelivery.common.kafka.parallel;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyOrderedExecutorTest {
+
+    private final KeyOrderedExecutor executor = new KeyOrderedExecutor(4, "test");
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void submit_RunsTasksOfOneKeyInSubmissionOrder() throws InterruptedException {
+        int keys = 16;
+        int tasksPerKey = 50;
+        Map<String, List<Integer>> runs = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(keys * tasksPerKey);
+
+        for (int i = 0; i < tasksPerKey; i++) {
+            for (int k = 0; k < keys; k++) {
+                String key = "order-" + k;
+                int sequence = i;
+                executor.submit(key, () -> {
+                    if (ThreadLocalRandom.current().nextInt(10) == 0) {
+                        Thread.yield();
+                    }
+                    // lists are only appended by the key's own lane
+                    runs.computeIfAbsent(key, ignored -> new ArrayList<>()).add(sequence);
+                    done.countDown();
+                });
+            }
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(keys, runs.size());
+        runs.forEach((key, sequence) -> {
+            assertEquals(tasksPerKey, sequence.size(), key);
+            for (int i = 0; i < tasksPerKey; i++) {
+                assertEquals(i, sequence.get(i), key);
+            }
+        });
+    }
+
+    @Test
+    void submit_BlockedKeyDoesNotHoldUpOtherLanes() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch blockedRan = new CountDownLatch(1);
+        CountDownLatch otherRan = new CountDownLatch(1);
+        Object blockedKey = 0;
+        Object otherKey = 1;
+
+        executor.submit(blockedKey, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.submit(blockedKey, blockedRan::countDown);
+        executor.submit(otherKey, otherRan::countDown);
+
+        assertTrue(otherRan.await(5, TimeUnit.SECONDS));
+        assertEquals(1, blockedRan.getCount());
+        release.countDown();
+        assertTrue(blockedRan.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submit_FailingTaskDoesNotStopItsLane() throws InterruptedException {
+        CountDownLatch next = new CountDownLatch(1);
+
+        executor.submit("key", () -> {
+            throw new IllegalStateException("boom");
+        });
+        executor.submit("key", next::countDown);
+
+        assertTrue(next.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,182 @@
+package com.fooddelivery.common.kafka.parallel;
+
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParallelKafkaConsumerTest {
+
+    private static final String TOPIC = "orders";
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+
+    @Mock
+    private ConsumerFactory<String, Object> consumerFactory;
+
+    @Mock
+    private ConsumerRecordRecoverer recoverer;
+
+    private final ListeningMockConsumer consumer = new ListeningMockConsumer();
+    private ParallelKafkaConsumer parallelConsumer;
+
+    @AfterEach
+    void tearDown() {
+        if (parallelConsumer != null) {
+            parallelConsumer.stop();
+        }
+    }
+
+    @Test
+    void recordsOfOneKey_AreHandledInOffsetOrder() {
+        Map<String, Queue<Long>> handled = new ConcurrentHashMap<>();
+        start(record -> {
+            Thread.sleep(record.offset() % 3);
+            handled.computeIfAbsent(record.key(), key -> new ConcurrentLinkedQueue<>()).add(record.offset());
+        });
+
+        int records = 60;
+        deliver(records, offset -> "order-" + offset % 4);
+
+        await(() -> committedOffset() == records);
+        assertEquals(4, handled.size());
+        handled.forEach((key, offsets) -> {
+            List<Long> inOrder = List.copyOf(offsets);
+            assertEquals(records / 4, inOrder.size(), key);
+            for (int i = 1; i < inOrder.size(); i++) {
+                assertTrue(inOrder.get(i - 1) < inOrder.get(i), key + " handled out of order: " + inOrder);
+            }
+        });
+    }
+
+    @Test
+    void commit_StopsBelowLowestUnfinishedRecord() {
+        CountDownLatch release = new CountDownLatch(1);
+        Set<Long> handled = ConcurrentHashMap.newKeySet();
+        start(record -> {
+            if (record.offset() == 1) {
+                release.await();
+            }
+            handled.add(record.offset());
+        });
+
+        // offset 1 blocks its lane; 0, 2 and 3 have other keys and finish first
+        deliver(4, offset -> "order-" + offset);
+
+        await(() -> handled.containsAll(Set.of(0L, 2L, 3L)));
+        await(() -> committedOffset() == 1);
+        sleep(Duration.ofMillis(100));
+        assertEquals(1, committedOffset());
+
+        release.countDown();
+        await(() -> committedOffset() == 4);
+        verifyNoInteractions(recoverer);
+    }
+
+    @Test
+    void failingRecord_IsRecoveredAndCommitted() throws Exception {
+        start(record -> {
+            throw new IllegalStateException("boom");
+        });
+
+        deliver(1, offset -> "order-1");
+
+        await(() -> committedOffset() == 1);
+        verify(recoverer).accept(argThat(record -> record.offset() == 0), any(IllegalStateException.class));
+    }
+
+    private void start(RecordHandler handler) {
+        ParallelConsumerProperties properties = new ParallelConsumerProperties();
+        properties.setLanes(8);
+        properties.setPollTimeout(Duration.ofMillis(10));
+        properties.setCommitInterval(Duration.ofMillis(10));
+        properties.setMaxAttempts(2);
+        properties.setRetryBackoff(Duration.ofMillis(10));
+        properties.setShutdownTimeout(Duration.ofSeconds(1));
+        when(consumerFactory.createConsumer(eq("group"), isNull(), eq("-test"))).thenReturn(consumer);
+        parallelConsumer = new ParallelKafkaConsumer("test", "group", List.of(TOPIC),
+                consumerFactory, handler, recoverer, properties);
+        parallelConsumer.start();
+    }
+
+    private void deliver(int count, OffsetKey key) {
+        consumer.schedulePollTask(() -> {
+            consumer.rebalance(List.of(PARTITION));
+            consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+            consumer.listener.onPartitionsAssigned(List.of(PARTITION));
+            for (long offset = 0; offset < count; offset++) {
+                consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, offset, key.of(offset), "event-" + offset));
+            }
+        });
+    }
+
+    private long committedOffset() {
+        OffsetAndMetadata committed = consumer.committed(Set.of(PARTITION)).get(PARTITION);
+        return committed == null ? -1 : committed.offset();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() - deadline > 0) {
+                fail("Condition not met within 10s");
+            }
+            sleep(Duration.ofMillis(5));
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface OffsetKey {
+        String of(long offset);
+    }
+
+    /**
+     * MockConsumer does not call the rebalance listener itself
+     */
+    private static final class ListeningMockConsumer extends MockConsumer<String, Object> {
+
+        private volatile ConsumerRebalanceListener listener;
+
+        ListeningMockConsumer() {
+            super(OffsetResetStrategy.EARLIEST);
+        }
+
+        @Override
+        public synchronized void subscribe(Collection<String> topics, ConsumerRebalanceListener listener) {
+            this.listener = listener;
+            super.subscribe(topics, listener);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.fooddelivery.common.kafka.parallel;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionOffsetsTest {
+
+    @Test
+    void committable_StopsAtLowestUnfinishedOffset() {
+        PartitionOffsets offsets = dispatched(10, 11, 12, 13, 14);
+
+        finish(offsets, 12);
+        finish(offsets, 13);
+        assertEquals(10, offsets.committable());
+
+        finish(offsets, 10);
+        assertEquals(11, offsets.committable());
+
+        finish(offsets, 11);
+        assertEquals(14, offsets.committable());
+
+        finish(offsets, 14);
+        assertEquals(15, offsets.committable());
+    }
+
+    @Test
+    void committable_OnlyWhenPastLastCommit() {
+        PartitionOffsets offsets = dispatched(0, 1);
+        finish(offsets, 1);
+        assertEquals(0, offsets.committable());
+
+        offsets.committed(0);
+        assertEquals(-1, offsets.committable());
+
+        finish(offsets, 0);
+        assertEquals(2, offsets.committable());
+        offsets.committed(2);
+        assertEquals(-1, offsets.committable());
+    }
+
+    @Test
+    void finish_AbandonedRecordStaysUncommitted() {
+        PartitionOffsets offsets = dispatched(0, 1);
+        assertTrue(offsets.begin());
+        offsets.finish(0, false);
+        finish(offsets, 1);
+
+        assertEquals(0, offsets.committable());
+    }
+
+    @Test
+    void revokeAndAwait_StopsNewRecordsAndWaitsForRunningOnes() throws InterruptedException {
+        PartitionOffsets offsets = dispatched(0, 1);
+        assertTrue(offsets.begin());
+
+        assertFalse(offsets.revokeAndAwait(System.nanoTime() + 1_000_000));
+        assertFalse(offsets.begin());
+
+        offsets.finish(0, true);
+        assertTrue(offsets.revokeAndAwait(System.nanoTime()));
+        assertEquals(1, offsets.committable());
+    }
+
+    private static PartitionOffsets dispatched(long... dispatched) {
+        PartitionOffsets offsets = new PartitionOffsets();
+        for (long offset : dispatched) {
+            offsets.dispatched(offset);
+        }
+        return offsets;
+    }
+
+    private static void finish(PartitionOffsets offsets, long offset) {
+        assertTrue(offsets.begin());
+        offsets.finish(offset, true);
+    }
+}
@@ -0,0 +1,110 @@
+package com.fooddelivery.common.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fooddelivery.common.event.CourierLocationUpdatedEvent;
+import com.fooddelivery.common.kafka.publish.EventPublisherProperties.OverflowPolicy;
+import com.fooddelivery.common.kafka.publish.KafkaEventPublisher;
+import com.fooddelivery.common.kafka.publish.PublishRejectedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private KafkaEventPublisher kafkaEventPublisher;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        OutboxProperties properties = new OutboxProperties();
+        properties.setSendTimeout(Duration.ofMillis(50));
+        relay = new OutboxRelay(outboxRepository, kafkaEventPublisher,
+                new ObjectMapper().registerModule(new JavaTimeModule()), null, properties);
+        when(outboxRepository.tryAcquireRelayLock()).thenReturn(true);
+    }
+
+    @Test
+    void relayBatch_TimedOutKeyIsHeldBackUntilAcked() {
+        OutboxRecord first = record(1, "a");
+        OutboxRecord second = record(2, "a");
+        OutboxRecord other = record(3, "b");
+        CompletableFuture<SendResult<String, Object>> slowAck = new CompletableFuture<>();
+        when(outboxRepository.findPendingBatch(anyInt(), anyInt())).thenReturn(List.of(first, second, other));
+        when(kafkaEventPublisher.publish(eq("topic"), eq("a"), any(), eq(OverflowPolicy.REJECT))).thenReturn(slowAck);
+        when(kafkaEventPublisher.publish(eq("topic"), eq("b"), any(), eq(OverflowPolicy.REJECT)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertEquals(1, relay.relayBatch());
+        verify(outboxRepository).deleteByIds(List.of(3L));
+
+        // Key "a" is still in flight: its rows are neither sent again nor deleted
+        when(outboxRepository.findPendingBatch(anyInt(), anyInt())).thenReturn(List.of(first, second));
+        assertEquals(0, relay.relayBatch());
+        verify(kafkaEventPublisher, times(1)).publish(eq("topic"), eq("a"), any(), eq(OverflowPolicy.REJECT));
+
+        // The late ack completes the chain; the next pass deletes both rows without resending them
+        when(kafkaEventPublisher.publish(eq("topic"), eq("a"), any(), eq(OverflowPolicy.REJECT)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        slowAck.complete(null);
+        assertEquals(2, relay.relayBatch());
+        verify(outboxRepository).deleteByIds(List.of(1L, 2L));
+        verify(kafkaEventPublisher, times(2)).publish(eq("topic"), eq("a"), any(), eq(OverflowPolicy.REJECT));
+    }
+
+    @Test
+    void relayBatch_FailureStopsKeyChain() {
+        OutboxRecord first = record(1, "a");
+        OutboxRecord second = record(2, "a");
+        when(outboxRepository.findPendingBatch(anyInt(), anyInt())).thenReturn(List.of(first, second));
+        when(kafkaEventPublisher.publish(eq("topic"), eq("a"), any(), eq(OverflowPolicy.REJECT)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        assertEquals(0, relay.relayBatch());
+
+        verify(kafkaEventPublisher, times(1)).publish(any(), any(), any(), any());
+        verify(outboxRepository).markFailed(argThat(errors -> errors.keySet().equals(Set.of(1L))));
+    }
+
+    @Test
+    void relayBatch_RejectedAtInFlightLimit_IsDeferredWithoutAnAttempt() {
+        OutboxRecord first = record(1, "a");
+        OutboxRecord second = record(2, "a");
+        when(outboxRepository.findPendingBatch(anyInt(), anyInt())).thenReturn(List.of(first, second));
+        when(kafkaEventPublisher.publish(eq("topic"), eq("a"), any(), eq(OverflowPolicy.REJECT)))
+                .thenReturn(CompletableFuture.failedFuture(new PublishRejectedException("at max in flight")));
+
+        assertEquals(0, relay.relayBatch());
+        verify(outboxRepository).markFailed(Map.of());
+
+        // Nothing holds the key back: the next pass sends both rows in order
+        when(kafkaEventPublisher.publish(eq("topic"), eq("a"), any(), eq(OverflowPolicy.REJECT)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        assertEquals(2, relay.relayBatch());
+        verify(outboxRepository).deleteByIds(List.of(1L, 2L));
+    }
+
+    private static OutboxRecord record(long id, String key) {
+        return new OutboxRecord(id, "topic", key, "CourierLocationUpdated",
+                CourierLocationUpdatedEvent.class.getName(), "{\"courierId\":" + id + "}", 0);
+    }
+}
@@ -0,0 +1,92 @@
+package com.fooddelivery.common.serde;
+
+import com.fooddelivery.common.event.BaseEvent;
+import com.fooddelivery.common.event.OrderCreatedEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryEventCodecTest {
+
+    @Test
+    void encode_DecodeRoundTrips() {
+        BinaryEventCodec<OrderCreatedEvent> codec = BinaryEventCodec.of(OrderCreatedEvent.class);
+        OrderCreatedEvent event = OrderCreatedEvent.builder()
+                .orderId(42L)
+                .userId(-7L)
+                .restaurantId(3L)
+                .totalAmount(new BigDecimal("123.45"))
+                .pickupLatitude(52.2297)
+                .deliveryLongitude(-21.0122)
+                .build();
+
+        byte[] data = codec.encode(event);
+
+        assertTrue(BinaryEventCodec.isBinary(data));
+        assertEquals(codec.schema().fingerprint(), BinaryEventCodec.fingerprintOf(data));
+        OrderCreatedEvent decoded = codec.decode(data, codec.schema());
+        assertEquals(event.getEventId(), decoded.getEventId());
+        assertEquals(event.getTimestamp(), decoded.getTimestamp());
+        assertEquals(event.getEventType(), decoded.getEventType());
+        assertEquals(42L, decoded.getOrderId());
+        assertEquals(-7L, decoded.getUserId());
+        assertEquals(new BigDecimal("123.45"), decoded.getTotalAmount());
+        assertEquals(52.2297, decoded.getPickupLatitude());
+        assertEquals(-21.0122, decoded.getDeliveryLongitude());
+        assertNull(decoded.getDeliveryAddressId());
+        assertNull(decoded.getPickupLongitude());
+    }
+
+    @Test
+    void decode_OlderWriter_SkipsRemovedFieldsPromotesAndLeavesAddedFieldsNull() {
+        BinaryEventCodec<PlacedV1> writer = BinaryEventCodec.of(PlacedV1.class);
+        BinaryEventCodec<PlacedV2> reader = BinaryEventCodec.of(PlacedV2.class);
+        PlacedV1 event = new PlacedV1();
+        event.orderId = 42L;
+        event.note = "no onions";
+        event.quantity = 3;
+
+        PlacedV2 decoded = reader.decode(writer.encode(event), writer.schema());
+
+        assertEquals(event.getEventId(), decoded.getEventId());
+        assertEquals(42L, decoded.orderId);
+        assertEquals(3L, decoded.quantity);
+        assertNull(decoded.channel);
+    }
+
+    @Test
+    void decode_IncompatibleWriter_Throws() {
+        BinaryEventCodec<PlacedV2> writer = BinaryEventCodec.of(PlacedV2.class);
+        BinaryEventCodec<PlacedV1> reader = BinaryEventCodec.of(PlacedV1.class);
+
+        // long quantity cannot be narrowed back to int
+        SerializationException e = assertThrows(SerializationException.class,
+                () -> reader.decode(writer.encode(new PlacedV2()), writer.schema()));
+        assertTrue(e.getMessage().contains("quantity"), e.getMessage());
+    }
+
+    @Test
+    void decode_Truncated_Throws() {
+        BinaryEventCodec<OrderCreatedEvent> codec = BinaryEventCodec.of(OrderCreatedEvent.class);
+        byte[] data = codec.encode(OrderCreatedEvent.builder().orderId(1L).build());
+
+        assertThrows(SerializationException.class,
+                () -> codec.decode(Arrays.copyOf(data, data.length - 3), codec.schema()));
+    }
+
+    static class PlacedV1 extends BaseEvent {
+        Long orderId;
+        String note;
+        int quantity;
+    }
+
+    static class PlacedV2 extends BaseEvent {
+        Long orderId;
+        long quantity;
+        String channel;
+    }
+}
@@ -0,0 +1,97 @@
+package com.fooddelivery.common.serde;
+
+import com.fooddelivery.common.event.BaseEvent;
+import com.fooddelivery.common.serde.EventSchema.SchemaField;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSchemaRegistryTest {
+
+    private static final SchemaField ORDER_ID = new SchemaField("orderId", FieldType.LONG, true);
+    private static final EventSchema V1 = new EventSchema("OrderPlaced", 0, List.of(ORDER_ID));
+    private static final EventSchema V2 = new EventSchema("OrderPlaced", 0,
+            List.of(ORDER_ID, new SchemaField("note", FieldType.STRING, true)));
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void register_AssignsVersionsAndIsIdempotent() {
+        FileSchemaRegistry registry = new FileSchemaRegistry(directory);
+
+        assertEquals(1, registry.register(V1, SchemaCompatibility.FULL).version());
+        assertEquals(2, registry.register(V2, SchemaCompatibility.FULL).version());
+        assertEquals(1, registry.register(V1, SchemaCompatibility.FULL).version());
+        assertTrue(Files.exists(directory.resolve("OrderPlaced/v2.json")));
+        assertEquals(2, registry.find(V2.fingerprint()).version());
+    }
+
+    @Test
+    void register_IncompatibleSchema_IsRejected() {
+        FileSchemaRegistry registry = new FileSchemaRegistry(directory);
+        registry.register(V1, SchemaCompatibility.FULL);
+        EventSchema breaking = new EventSchema("OrderPlaced", 0,
+                List.of(ORDER_ID, new SchemaField("quantity", FieldType.INT, false)));
+
+        assertThrows(SerializationException.class, () -> registry.register(breaking, SchemaCompatibility.FULL));
+        assertEquals(1, registry.versions("OrderPlaced").size());
+        assertFalse(Files.exists(directory.resolve("OrderPlaced/v2.json")));
+    }
+
+    @Test
+    void find_SchemaRegisteredByAnotherInstance_IsFoundOnRescan() {
+        FileSchemaRegistry consumer = new FileSchemaRegistry(directory, Duration.ZERO);
+        FileSchemaRegistry producer = new FileSchemaRegistry(directory);
+
+        assertNull(consumer.find(V1.fingerprint()));
+        producer.register(V1, SchemaCompatibility.FULL);
+
+        assertEquals(1, consumer.find(V1.fingerprint()).version());
+    }
+
+    @Test
+    void find_UnknownFingerprint_IsNotRescannedWithinRetryInterval() {
+        FileSchemaRegistry consumer = new FileSchemaRegistry(directory);
+        FileSchemaRegistry producer = new FileSchemaRegistry(directory);
+
+        assertNull(consumer.find(V1.fingerprint()));
+        producer.register(V1, SchemaCompatibility.FULL);
+
+        assertNull(consumer.find(V1.fingerprint()));
+    }
+
+    @Test
+    void shippedSchemas_CoverEveryEventClass() {
+        FileSchemaRegistry registry = new FileSchemaRegistry(directory);
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AssignableTypeFilter(BaseEvent.class));
+        Set<BeanDefinition> events = scanner.findCandidateComponents(BaseEvent.class.getPackageName());
+
+        assertFalse(events.isEmpty());
+        for (BeanDefinition event : events) {
+            EventSchema schema = BinaryEventCodec.of(eventClass(event.getBeanClassName())).schema();
+            assertNotNull(registry.find(schema.fingerprint()), () -> "No schema shipped for " + schema.canonicalForm()
+                    + "; add it to common-lib/src/main/resources/schemas/" + schema.name() + "/");
+        }
+    }
+
+    private static Class<? extends BaseEvent> eventClass(String className) {
+        try {
+            return Class.forName(className).asSubclass(BaseEvent.class);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
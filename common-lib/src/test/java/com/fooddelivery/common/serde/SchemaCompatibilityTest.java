@@ -0,0 +1,73 @@
+package com.fooddelivery.common.serde;
+
+import com.fooddelivery.common.serde.EventSchema.SchemaField;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaCompatibilityTest {
+
+    private static final SchemaField ORDER_ID = new SchemaField("orderId", FieldType.LONG, true);
+    private static final EventSchema V1 = schema(1, ORDER_ID, new SchemaField("quantity", FieldType.INT, false));
+
+    @Test
+    void addingNullableField_IsFullyCompatible() {
+        EventSchema v2 = schema(2, ORDER_ID, new SchemaField("quantity", FieldType.INT, false),
+                new SchemaField("note", FieldType.STRING, true));
+
+        assertEquals(List.of(), SchemaCompatibility.FULL.check(v2, V1));
+    }
+
+    @Test
+    void addingPrimitiveField_BreaksBackward() {
+        EventSchema v2 = schema(2, ORDER_ID, new SchemaField("quantity", FieldType.INT, false),
+                new SchemaField("priority", FieldType.BOOLEAN, false));
+
+        assertEquals(1, SchemaCompatibility.BACKWARD.check(v2, V1).size());
+        assertEquals(List.of(), SchemaCompatibility.FORWARD.check(v2, V1));
+    }
+
+    @Test
+    void removingPrimitiveField_BreaksForward() {
+        EventSchema v2 = schema(2, ORDER_ID);
+
+        assertEquals(List.of(), SchemaCompatibility.BACKWARD.check(v2, V1));
+        List<String> problems = SchemaCompatibility.FORWARD.check(v2, V1);
+        assertEquals(1, problems.size());
+        assertTrue(problems.get(0).contains("'quantity'"), problems.get(0));
+    }
+
+    @Test
+    void wideningType_IsBackwardButNotForward() {
+        EventSchema v2 = schema(2, ORDER_ID, new SchemaField("quantity", FieldType.LONG, false));
+
+        assertEquals(List.of(), SchemaCompatibility.BACKWARD.check(v2, V1));
+        assertEquals(1, SchemaCompatibility.FORWARD.check(v2, V1).size());
+        assertEquals(1, SchemaCompatibility.FULL.check(v2, V1).size());
+    }
+
+    @Test
+    void changingType_IsRejected() {
+        EventSchema v2 = schema(2, new SchemaField("orderId", FieldType.STRING, true),
+                new SchemaField("quantity", FieldType.INT, false));
+
+        assertEquals(2, SchemaCompatibility.FULL.check(v2, V1).size());
+        assertEquals(List.of(), SchemaCompatibility.NONE.check(v2, V1));
+    }
+
+    @Test
+    void primitiveFieldBecomingNullable_BreaksForward() {
+        EventSchema v2 = schema(2, ORDER_ID, new SchemaField("quantity", FieldType.INT, true));
+
+        assertEquals(List.of(), SchemaCompatibility.BACKWARD.check(v2, V1));
+        List<String> problems = SchemaCompatibility.FORWARD.check(v2, V1);
+        assertEquals(1, problems.size());
+        assertTrue(problems.get(0).contains("may be null"), problems.get(0));
+    }
+
+    private static EventSchema schema(int version, SchemaField... fields) {
+        return new EventSchema("OrderPlaced", version, List.of(fields));
+    }
+}
@@ -1,6 +1,9 @@
 dependencies {
     implementation(project(":common-lib"))
     
+    // WebSocket (courier location stream)
+    implementation("org.springframework.boot:spring-boot-starter-websocket")
+    
     // Lombok
     compileOnly("org.projectlombok:lombok")
     annotationProcessor("org.projectlombok:lombok")
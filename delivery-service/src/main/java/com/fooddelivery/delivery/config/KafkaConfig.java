@@ -1,18 +1,34 @@
 package com.fooddelivery.delivery.config;
 
+import com.fooddelivery.common.dedupe.DedupeConfig;
 import com.fooddelivery.common.kafka.BaseKafkaConsumerConfig;
+import com.fooddelivery.common.kafka.KafkaTopics;
+import com.fooddelivery.common.kafka.retry.RetryTopicsConfig;
+import com.fooddelivery.common.kafka.retry.RetryTopicsFactory;
+import com.fooddelivery.common.outbox.OutboxConfig;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.retrytopic.RetryTopicConfiguration;
 
 /**
  * Kafka configuration for delivery-service
- * Produces: delivery.assigned, delivery.delivered
- * Consumes: order.created
+ * Produces: delivery.assigned, delivery.delivered (via transactional outbox),
+ *           courier.location.updated (direct)
+ * Consumes: order.created (failures retried through order.created.retry-* tier topics),
+ *           courier.location.updated (per-instance group, feeds the courier spatial index)
  */
 @Configuration
 @EnableKafka
-@Import(BaseKafkaConsumerConfig.class)
+@Import({BaseKafkaConsumerConfig.class, OutboxConfig.class, DedupeConfig.class, RetryTopicsConfig.class})
 public class KafkaConfig {
+    
+    /**
+     * order.created keeps flowing while a downstream outage makes deliveries fail
+     */
+    @Bean
+    public RetryTopicConfiguration orderCreatedRetryTopics(RetryTopicsFactory retryTopicsFactory) {
+        return retryTopicsFactory.forListener("order-created", KafkaTopics.ORDER_CREATED);
+    }
 }
-
@@ -0,0 +1,31 @@
+package com.fooddelivery.delivery.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Courier location ingestion settings (app.location-ingestion)
+ */
+@ConfigurationProperties(prefix = "app.location-ingestion")
+@Getter
+@Setter
+public class LocationIngestionProperties {
+
+    /**
+     * Delay between flushes to Redis and the courier location stream; bounds what they lose on a crash
+     */
+    private Duration redisFlushInterval = Duration.ofMillis(250);
+
+    /**
+     * Delay between flushes to the DB; bounds how far DB positions fall behind (and roll back on a crash)
+     */
+    private Duration dbFlushInterval = Duration.ofSeconds(10);
+
+    /**
+     * Couriers per GEOADD command and per JDBC batch
+     */
+    private int batchSize = 500;
+}
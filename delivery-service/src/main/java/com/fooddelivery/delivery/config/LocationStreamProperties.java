@@ -0,0 +1,56 @@
+package com.fooddelivery.delivery.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Courier location WebSocket settings (app.location-stream)
+ */
+@ConfigurationProperties(prefix = "app.location-stream")
+@Getter
+@Setter
+public class LocationStreamProperties {
+
+    /**
+     * Ping interval hinted to couriers with an active delivery (customers watch them move)
+     */
+    private Duration deliveringInterval = Duration.ofSeconds(2);
+
+    /**
+     * Ping interval hinted to available couriers (assignment needs a recent position)
+     */
+    private Duration availableInterval = Duration.ofSeconds(5);
+
+    /**
+     * Ping interval hinted to offline couriers or couriers on a break
+     */
+    private Duration idleInterval = Duration.ofSeconds(60);
+
+    /**
+     * Hinted intervals are multiplied by this while location ingestion is behind
+     */
+    private int backoffFactor = 4;
+
+    /**
+     * Delay between re-evaluations of each connection's hint
+     */
+    private Duration hintRefreshInterval = Duration.ofSeconds(5);
+
+    /**
+     * Connections without a frame for this long are closed; must exceed the longest hinted interval
+     */
+    private Duration sessionIdleTimeout = Duration.ofMinutes(5);
+
+    /**
+     * How long a send to one slow client may block before its connection is closed
+     */
+    private Duration sendTimeLimit = Duration.ofSeconds(5);
+
+    /**
+     * Bytes queued for one slow client before its connection is closed
+     */
+    private int sendBufferSizeLimit = 1024;
+}
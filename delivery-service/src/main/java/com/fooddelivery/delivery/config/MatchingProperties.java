@@ -0,0 +1,53 @@
+package com.fooddelivery.delivery.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Batch courier matching settings (app.matching)
+ */
+@ConfigurationProperties(prefix = "app.matching")
+@Getter
+@Setter
+public class MatchingProperties {
+
+    /**
+     * Enables the periodic matching tick; the retry-assignments endpoint runs it on demand regardless
+     */
+    private boolean enabled = true;
+
+    /**
+     * Delay between matching ticks
+     */
+    private Duration interval = Duration.ofSeconds(5);
+
+    /**
+     * Couriers farther than this from the pickup point are not considered
+     */
+    private double radiusKm = 10.0;
+
+    /**
+     * Candidate couriers kept per delivery (the cheapest ones); keeps the problem sparse at peak
+     */
+    private int maxCandidatesPerDelivery = 20;
+
+    /**
+     * Oldest pending deliveries matched per tick
+     */
+    private int maxBatchSize = 500;
+
+    /**
+     * Most deliveries solved as one assignment problem; larger connected components are solved
+     * in chunks of this size, oldest deliveries first, so one dense area can't stall a tick
+     */
+    private int maxComponentSize = 100;
+
+    /**
+     * How long a tick waits for the assignment lock to commit its matches (the matching itself
+     * runs before the lock is taken)
+     */
+    private Duration commitLockTimeout = Duration.ofSeconds(2);
+}
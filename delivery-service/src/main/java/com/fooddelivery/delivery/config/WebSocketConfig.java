@@ -0,0 +1,46 @@
+package com.fooddelivery.delivery.config;
+
+import com.fooddelivery.delivery.websocket.CourierLocationHandshakeInterceptor;
+import com.fooddelivery.delivery.websocket.CourierLocationSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+
+/**
+ * WebSocket endpoints of delivery service
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    public static final String COURIER_LOCATION_STREAM_PATH = "/api/couriers/me/location/stream";
+
+    /**
+     * Location frames are 9 bytes; anything much larger is not a client of this endpoint
+     */
+    private static final int MAX_MESSAGE_BUFFER_SIZE = 64;
+
+    private final CourierLocationSocketHandler courierLocationSocketHandler;
+    private final CourierLocationHandshakeInterceptor courierLocationHandshakeInterceptor;
+    private final LocationStreamProperties locationStreamProperties;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(courierLocationSocketHandler, COURIER_LOCATION_STREAM_PATH)
+                .addInterceptors(courierLocationHandshakeInterceptor);
+    }
+
+    @Bean
+    public ServletServerContainerFactoryBean webSocketContainer() {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxBinaryMessageBufferSize(MAX_MESSAGE_BUFFER_SIZE);
+        container.setMaxTextMessageBufferSize(MAX_MESSAGE_BUFFER_SIZE);
+        container.setMaxSessionIdleTimeout(locationStreamProperties.getSessionIdleTimeout().toMillis());
+        return container;
+    }
+}
@@ -69,7 +69,7 @@ public class CourierController {
     }
     
     /**
-     * Update courier location
+     * Update courier location (apps that ping continuously use the location stream, see WebSocketConfig)
      */
     @PostMapping("/me/location")
     @PreAuthorize("hasRole('COURIER')")
@@ -1,9 +1,11 @@
 package com.fooddelivery.delivery.controller;
 
+import com.fooddelivery.common.pagination.CursorPage;
 import com.fooddelivery.delivery.dto.CreateDeliveryRequestDTO;
 import com.fooddelivery.delivery.dto.DeliveryRatingDTO;
 import com.fooddelivery.delivery.dto.DeliveryResponseDTO;
 import com.fooddelivery.delivery.enums.DeliveryStatus;
+import com.fooddelivery.delivery.service.CourierMatchingService;
 import com.fooddelivery.delivery.service.DeliveryService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +26,7 @@ import org.springframework.web.bind.annotation.*;
 public class DeliveryController {
     
     private final DeliveryService deliveryService;
+    private final CourierMatchingService courierMatchingService;
     
     /**
      * Create delivery (from order-service)
@@ -55,10 +58,11 @@ public class DeliveryController {
      */
     @GetMapping("/courier/{courierId}")
     @PreAuthorize("hasAnyRole('COURIER', 'ADMIN')")
-    public Page<DeliveryResponseDTO> getDeliveriesForCourier(
+    public CursorPage<DeliveryResponseDTO> getDeliveriesForCourier(
             @PathVariable Long courierId,
-            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
-        return deliveryService.getDeliveriesForCourier(courierId, pageable);
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return deliveryService.getDeliveriesForCourier(courierId, cursor, size);
     }
     
     /**
@@ -113,13 +117,13 @@ public class DeliveryController {
     }
     
     /**
-     * Retry pending assignments (admin/system action)
+     * Retry pending assignments now (admin/system action); same as a batch matching tick
      */
     @PostMapping("/retry-assignments")
     @PreAuthorize("hasRole('ADMIN')")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void retryPendingAssignments() {
-        deliveryService.retryPendingAssignments();
+        courierMatchingService.matchPendingDeliveries();
     }
 }
 
@@ -0,0 +1,67 @@
+package com.fooddelivery.delivery.kafka;
+
+import com.fooddelivery.common.event.CourierLocationUpdatedEvent;
+import com.fooddelivery.common.kafka.KafkaConsumerGroups;
+import com.fooddelivery.common.kafka.KafkaTopics;
+import com.fooddelivery.delivery.service.CourierSpatialIndex;
+import com.fooddelivery.delivery.service.CourierStateRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the local courier spatial index in step with locations reported through any instance
+ * Consumes: courier.location.updated
+ * 
+ * Per-instance consumer groups: every instance holds its own index. Updates made through this
+ * instance arrive here too and are ignored by the index as already applied.
+ * 
+ * The group is named after app.courier-index.instance-id, which stays the same across restarts,
+ * so a restarted instance rejoins its group instead of leaving an abandoned one behind. The index
+ * is rebuilt from the DB on startup, so partitions seen for the first time since startup are read
+ * from their end rather than replaying what the group missed while the instance was down.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CourierLocationEventConsumer implements ConsumerSeekAware {
+    
+    private final CourierSpatialIndex courierSpatialIndex;
+    private final CourierStateRegistry courierStateRegistry;
+    private final Set<TopicPartition> seenPartitions = ConcurrentHashMap.newKeySet();
+    
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        List<TopicPartition> firstSeen = assignments.keySet().stream()
+                .filter(seenPartitions::add)
+                .toList();
+        if (!firstSeen.isEmpty()) {
+            callback.seekToEnd(firstSeen);
+        }
+    }
+    
+    @KafkaListener(
+        topics = KafkaTopics.COURIER_LOCATION_UPDATED,
+        groupId = KafkaConsumerGroups.DELIVERY_SERVICE_COURIER_INDEX + "-${app.courier-index.instance-id}",
+        properties = {"auto.offset.reset=latest"}
+    )
+    public void handleLocationUpdated(CourierLocationUpdatedEvent event, Acknowledgment ack) {
+        log.debug("Received CourierLocationUpdatedEvent: courierId={}, removed={}", 
+                  event.getCourierId(), event.isRemoved());
+        
+        courierSpatialIndex.apply(event);
+        if (!event.isRemoved()) {
+            courierStateRegistry.locationUpdated(event.getCourierId(), event.getLatitude(), event.getLongitude());
+        }
+        ack.acknowledge();
+    }
+}
@@ -0,0 +1,48 @@
+package com.fooddelivery.delivery.kafka;
+
+import com.fooddelivery.common.event.CourierLocationUpdatedEvent;
+import com.fooddelivery.common.kafka.BaseKafkaEventProducer;
+import com.fooddelivery.common.kafka.KafkaTopics;
+import com.fooddelivery.common.kafka.publish.KafkaEventPublisher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Kafka event producer for courier locations
+ * Sent directly rather than through the outbox: every update supersedes the previous one,
+ * so a lost event is repaired by the courier's next location ping.
+ */
+@Component
+@Slf4j
+public class CourierLocationEventProducer extends BaseKafkaEventProducer {
+    
+    public CourierLocationEventProducer(KafkaEventPublisher kafkaEventPublisher) {
+        super(kafkaEventPublisher);
+    }
+    
+    /**
+     * Publish courier location updated (or courier removed) event
+     */
+    public void publishLocationUpdated(CourierLocationUpdatedEvent event) {
+        publishEvent(
+            KafkaTopics.COURIER_LOCATION_UPDATED,
+            event.getCourierId().toString(),
+            event,
+            "CourierLocationUpdatedEvent"
+        );
+    }
+    
+    /**
+     * Publish the location events of one ingestion flush
+     */
+    public void publishLocationsUpdated(List<CourierLocationUpdatedEvent> events) {
+        publishAll(
+            KafkaTopics.COURIER_LOCATION_UPDATED,
+            events,
+            event -> event.getCourierId().toString(),
+            "CourierLocationUpdatedEvent"
+        );
+    }
+}
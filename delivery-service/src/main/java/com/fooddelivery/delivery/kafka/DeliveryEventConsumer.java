@@ -1,5 +1,6 @@
 package com.fooddelivery.delivery.kafka;
 
+import com.fooddelivery.common.dedupe.EventDeduplicator;
 import com.fooddelivery.common.event.OrderCreatedEvent;
 import com.fooddelivery.common.kafka.KafkaConsumerGroups;
 import com.fooddelivery.common.kafka.KafkaTopics;
@@ -14,6 +15,7 @@ import org.springframework.stereotype.Component;
 /**
  * Kafka event consumer for delivery-service
  * Consumes: order.created
+ * Redeliveries are skipped by EventDeduplicator (processed_events tier enabled)
  */
 @Component
 @RequiredArgsConstructor
@@ -21,6 +23,7 @@ import org.springframework.stereotype.Component;
 public class DeliveryEventConsumer {
     
     private final DeliveryService deliveryService;
+    private final EventDeduplicator eventDeduplicator;
     
     @KafkaListener(topics = KafkaTopics.ORDER_CREATED, groupId = KafkaConsumerGroups.DELIVERY_SERVICE)
     public void handleOrderCreated(OrderCreatedEvent event, Acknowledgment ack) {
@@ -37,7 +40,8 @@ public class DeliveryEventConsumer {
                 null
             );
             
-            deliveryService.createDeliveryFromEvent(request, event.getUserId());
+            eventDeduplicator.runOnce(KafkaConsumerGroups.DELIVERY_SERVICE, event,
+                () -> deliveryService.createDeliveryFromEvent(request, event.getUserId()));
             ack.acknowledge();
             
         } catch (Exception e) {
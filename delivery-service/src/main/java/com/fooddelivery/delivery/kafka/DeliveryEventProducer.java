@@ -4,19 +4,20 @@ import com.fooddelivery.common.event.DeliveryAssignedEvent;
 import com.fooddelivery.common.event.DeliveryDeliveredEvent;
 import com.fooddelivery.common.kafka.BaseKafkaEventProducer;
 import com.fooddelivery.common.kafka.KafkaTopics;
+import com.fooddelivery.common.kafka.publish.KafkaEventPublisher;
+import com.fooddelivery.common.outbox.OutboxEventWriter;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 /**
- * Kafka event producer for delivery events
+ * Kafka event producer for delivery events (staged through the transactional outbox)
  */
 @Component
 @Slf4j
 public class DeliveryEventProducer extends BaseKafkaEventProducer {
     
-    public DeliveryEventProducer(KafkaTemplate<String, Object> kafkaTemplate) {
-        super(kafkaTemplate);
+    public DeliveryEventProducer(KafkaEventPublisher kafkaEventPublisher, OutboxEventWriter outboxEventWriter) {
+        super(kafkaEventPublisher, outboxEventWriter);
     }
     
     /**
@@ -0,0 +1,31 @@
+package com.fooddelivery.delivery.repository;
+
+import com.fooddelivery.common.lock.ApplicationLock;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+
+/**
+ * Cluster-wide lock around courier assignment (SQL Server application lock owned by the
+ * current transaction, released on commit or rollback). Keeps the batch matcher and the
+ * immediate assignment of new deliveries from giving the same courier two deliveries.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AssignmentLockRepository {
+
+    private static final String LOCK_RESOURCE = "delivery-courier-assignment";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Must run inside a transaction
+     *
+     * @return false if another transaction held the lock for longer than {@code timeout}
+     */
+    public boolean tryAcquire(Duration timeout) {
+        return ApplicationLock.tryAcquire(jdbcTemplate, LOCK_RESOURCE, timeout);
+    }
+}
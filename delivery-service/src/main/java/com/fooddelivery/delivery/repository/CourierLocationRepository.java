@@ -0,0 +1,41 @@
+package com.fooddelivery.delivery.repository;
+
+import com.fooddelivery.delivery.service.CourierLocationPing;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Batched writes of courier positions (JDBC batch updates, bypassing the JPA entity)
+ */
+@Repository
+@RequiredArgsConstructor
+public class CourierLocationRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Older positions than the stored one are skipped, so a late flush never moves a courier back
+     */
+    public void updateLocations(List<CourierLocationPing> pings, int batchSize) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("""
+                UPDATE couriers
+                SET current_latitude = ?, current_longitude = ?, last_location_update = ?, updated_at = ?
+                WHERE id = ? AND deleted_at IS NULL
+                  AND (last_location_update IS NULL OR last_location_update < ?)
+                """, pings, batchSize, (statement, ping) -> {
+            Timestamp recordedAt = Timestamp.valueOf(ping.recordedAt());
+            statement.setDouble(1, ping.latitude());
+            statement.setDouble(2, ping.longitude());
+            statement.setTimestamp(3, recordedAt);
+            statement.setTimestamp(4, now);
+            statement.setLong(5, ping.courierId());
+            statement.setTimestamp(6, recordedAt);
+        });
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +20,12 @@ public interface CourierRepository extends JpaRepository<Courier, Long> {
     @Query("SELECT c FROM Courier c WHERE c.id = :id AND c.deletedAt IS NULL")
     Optional<Courier> findActiveById(@Param("id") Long id);
     
+    /**
+     * All non-deleted couriers (courier registry rebuild)
+     */
+    @Query("SELECT c FROM Courier c WHERE c.deletedAt IS NULL")
+    List<Courier> findAllActive();
+    
     /**
      * Find courier by user ID
      */
@@ -35,6 +42,17 @@ public interface CourierRepository extends JpaRepository<Courier, Long> {
            "AND c.currentLongitude IS NOT NULL")
     List<Courier> findAvailableCouriers();
     
+    /**
+     * The given couriers that are still available with a known location
+     */
+    @Query("SELECT c FROM Courier c " +
+           "WHERE c.id IN :ids " +
+           "AND c.status = 'AVAILABLE' " +
+           "AND c.deletedAt IS NULL " +
+           "AND c.currentLatitude IS NOT NULL " +
+           "AND c.currentLongitude IS NOT NULL")
+    List<Courier> findAvailableCouriersByIdIn(@Param("ids") Collection<Long> ids);
+    
     /**
      * Find couriers by status
      */
@@ -4,11 +4,14 @@ import com.fooddelivery.delivery.entity.Delivery;
 import com.fooddelivery.delivery.enums.DeliveryStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,10 +24,17 @@ public interface DeliveryRepository extends JpaRepository<Delivery, Long> {
     Optional<Delivery> findByOrderId(Long orderId);
     
     /**
-     * Find deliveries by courier ID
+     * Keyset page of a courier's deliveries, newest first (see CursorPagination)
      */
-    @Query("SELECT d FROM Delivery d WHERE d.courier.id = :courierId ORDER BY d.createdAt DESC")
-    Page<Delivery> findByCourierId(@Param("courierId") Long courierId, Pageable pageable);
+    @Query("SELECT d FROM Delivery d WHERE d.courier.id = :courierId " +
+           "AND (d.createdAt < :createdAt OR (d.createdAt = :createdAt AND d.id < :id)) " +
+           "ORDER BY d.createdAt DESC, d.id DESC")
+    Slice<Delivery> findPageByCourierId(
+            @Param("courierId") Long courierId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable limit
+    );
     
     /**
      * Find active delivery for courier (in progress)
@@ -42,6 +52,37 @@ public interface DeliveryRepository extends JpaRepository<Delivery, Long> {
            "ORDER BY d.createdAt ASC")
     List<Delivery> findPendingDeliveries();
     
+    /**
+     * Oldest pending deliveries, at most {@code limit.getPageSize()}
+     */
+    @Query("SELECT d FROM Delivery d " +
+           "WHERE d.status = 'PENDING' " +
+           "ORDER BY d.createdAt ASC")
+    List<Delivery> findPendingDeliveries(Pageable limit);
+    
+    /**
+     * Couriers that currently have a delivery in progress
+     */
+    @Query("SELECT DISTINCT d.courier.id FROM Delivery d " +
+           "WHERE d.status IN ('ASSIGNED', 'IN_TRANSIT')")
+    List<Long> findCourierIdsWithActiveDelivery();
+    
+    /**
+     * Which of the given couriers currently have a delivery in progress
+     */
+    @Query("SELECT DISTINCT d.courier.id FROM Delivery d " +
+           "WHERE d.courier.id IN :courierIds " +
+           "AND d.status IN ('ASSIGNED', 'IN_TRANSIT')")
+    List<Long> findCourierIdsWithActiveDelivery(@Param("courierIds") Collection<Long> courierIds);
+    
+    /**
+     * The given deliveries that are still pending
+     */
+    @Query("SELECT d FROM Delivery d " +
+           "WHERE d.id IN :ids " +
+           "AND d.status = 'PENDING'")
+    List<Delivery> findPendingDeliveriesByIdIn(@Param("ids") Collection<Long> ids);
+    
     /**
      * Find deliveries by status
      */
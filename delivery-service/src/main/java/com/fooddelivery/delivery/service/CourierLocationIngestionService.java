@@ -0,0 +1,172 @@
+package com.fooddelivery.delivery.service;
+
+import com.fooddelivery.common.event.CourierLocationUpdatedEvent;
+import com.fooddelivery.delivery.config.LocationIngestionProperties;
+import com.fooddelivery.delivery.entity.Courier;
+import com.fooddelivery.delivery.exception.CourierNotFoundException;
+import com.fooddelivery.delivery.kafka.CourierLocationEventProducer;
+import com.fooddelivery.delivery.repository.CourierLocationRepository;
+import com.fooddelivery.delivery.repository.CourierRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Courier location pings, coalesced per courier.
+ * <p>
+ * A ping only touches memory: the local spatial index and courier registry right away, and one
+ * last-write-wins slot per courier in each outgoing buffer. Every redis-flush-interval the buffered
+ * positions go to Redis (pipelined GEOADDs) and to the courier location stream; every
+ * db-flush-interval they go to the DB as one JDBC batch update. A courier costs one write per
+ * flush instead of one per ping, and the DB is touched far less often than Redis.
+ * <p>
+ * Loss on a crash is bounded by the flush intervals: Redis and other instances miss at most the
+ * last redis-flush-interval of positions, the DB at most the last db-flush-interval. Positions of a
+ * failed flush stay buffered for the next one; a buffer never holds more than one per courier.
+ * Everything buffered is flushed on shutdown.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CourierLocationIngestionService {
+
+    /**
+     * Redis flushes missed in a row before the service reports itself behind
+     */
+    private static final int BEHIND_AFTER_FLUSHES = 4;
+
+    private final CourierRepository courierRepository;
+    private final CourierLocationRepository courierLocationRepository;
+    private final LocationTrackingService locationTrackingService;
+    private final CourierSpatialIndex courierSpatialIndex;
+    private final CourierStateRegistry courierStateRegistry;
+    private final CourierLocationEventProducer courierLocationEventProducer;
+    private final LocationIngestionProperties properties;
+
+    private final Map<Long, Long> courierIdByUserId = new ConcurrentHashMap<>();
+    private final Map<Long, CourierLocationPing> pendingStream = new ConcurrentHashMap<>();
+    private final Map<Long, CourierLocationPing> pendingRedis = new ConcurrentHashMap<>();
+    private final Map<Long, CourierLocationPing> pendingDb = new ConcurrentHashMap<>();
+    private volatile long lastRedisFlushNanos = System.nanoTime();
+
+    /**
+     * Buffer the location of the courier profile of {@code userId}
+     */
+    public void accept(Long userId, Double latitude, Double longitude) {
+        CourierLocationPing ping = new CourierLocationPing(
+                courierIdOf(userId), latitude, longitude, LocalDateTime.now());
+
+        courierSpatialIndex.update(ping.courierId(), latitude, longitude,
+                                   CourierSpatialIndex.locationVersion(ping.recordedAt()));
+        courierStateRegistry.locationUpdated(ping.courierId(), latitude, longitude);
+
+        pendingStream.merge(ping.courierId(), ping, CourierLocationPing::latest);
+        pendingRedis.merge(ping.courierId(), ping, CourierLocationPing::latest);
+        pendingDb.merge(ping.courierId(), ping, CourierLocationPing::latest);
+    }
+
+    /**
+     * Drop a deleted courier's cached id and buffered positions
+     */
+    public void forgetCourier(Long userId, Long courierId) {
+        courierIdByUserId.remove(userId);
+        pendingStream.remove(courierId);
+        pendingRedis.remove(courierId);
+        pendingDb.remove(courierId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.location-ingestion.redis-flush-interval:250ms}")
+    public void flushToRedis() {
+        // Sends are asynchronous; the publisher counts and logs failures
+        List<CourierLocationPing> stream = List.copyOf(pendingStream.values());
+        if (!stream.isEmpty()) {
+            courierLocationEventProducer.publishLocationsUpdated(stream.stream().map(this::toEvent).toList());
+            acknowledge(pendingStream, stream);
+        }
+
+        List<CourierLocationPing> batch = List.copyOf(pendingRedis.values());
+        if (batch.isEmpty()) {
+            lastRedisFlushNanos = System.nanoTime();
+            return;
+        }
+        try {
+            locationTrackingService.updateCourierLocations(batch, properties.getBatchSize());
+            acknowledge(pendingRedis, batch);
+            lastRedisFlushNanos = System.nanoTime();
+        } catch (Exception e) {
+            log.warn("Location flush to Redis failed, keeping {} courier positions: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.location-ingestion.db-flush-interval:10s}")
+    public void flushToDb() {
+        List<CourierLocationPing> batch = List.copyOf(pendingDb.values());
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            courierLocationRepository.updateLocations(batch, properties.getBatchSize());
+            acknowledge(pendingDb, batch);
+            log.debug("Flushed {} courier positions to the DB", batch.size());
+        } catch (Exception e) {
+            log.warn("Location flush to DB failed, keeping {} courier positions: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Redis flushes have been failing for several intervals; senders should slow down
+     */
+    public boolean isBehind() {
+        long sinceFlush = System.nanoTime() - lastRedisFlushNanos;
+        return sinceFlush > properties.getRedisFlushInterval().toNanos() * BEHIND_AFTER_FLUSHES;
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushToRedis();
+        flushToDb();
+    }
+
+    /**
+     * Courier profile id of {@code userId}, cached until the courier is deleted
+     *
+     * @throws CourierNotFoundException if the user has no courier profile
+     */
+    public Long courierIdOf(Long userId) {
+        Long courierId = courierIdByUserId.get(userId);
+        if (courierId != null) {
+            return courierId;
+        }
+        courierId = courierRepository.findByUserId(userId)
+                .map(Courier::getId)
+                .orElseThrow(() -> new CourierNotFoundException("Courier profile not found"));
+        courierIdByUserId.put(userId, courierId);
+        return courierId;
+    }
+
+    /**
+     * Remove flushed pings, keeping any newer one that arrived during the flush
+     */
+    private static void acknowledge(Map<Long, CourierLocationPing> pending, List<CourierLocationPing> flushed) {
+        for (CourierLocationPing ping : flushed) {
+            pending.remove(ping.courierId(), ping);
+        }
+    }
+
+    private CourierLocationUpdatedEvent toEvent(CourierLocationPing ping) {
+        CourierLocationUpdatedEvent event = CourierLocationUpdatedEvent.builder()
+                .courierId(ping.courierId())
+                .latitude(ping.latitude())
+                .longitude(ping.longitude())
+                .build();
+        event.setTimestamp(ping.recordedAt());
+        return event;
+    }
+}
@@ -0,0 +1,16 @@
+package com.fooddelivery.delivery.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * One courier location report, as buffered by CourierLocationIngestionService
+ */
+public record CourierLocationPing(Long courierId, Double latitude, Double longitude, LocalDateTime recordedAt) {
+
+    /**
+     * Last write wins; pings from other threads may arrive out of order
+     */
+    static CourierLocationPing latest(CourierLocationPing a, CourierLocationPing b) {
+        return b.recordedAt().isBefore(a.recordedAt()) ? a : b;
+    }
+}
@@ -0,0 +1,324 @@
+package com.fooddelivery.delivery.service;
+
+import com.fooddelivery.delivery.config.MatchingProperties;
+import com.fooddelivery.delivery.entity.Courier;
+import com.fooddelivery.delivery.entity.Delivery;
+import com.fooddelivery.delivery.repository.AssignmentLockRepository;
+import com.fooddelivery.delivery.repository.CourierRepository;
+import com.fooddelivery.delivery.repository.DeliveryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Global batch matching of pending deliveries to available couriers.
+ * <p>
+ * Each tick takes the oldest pending deliveries and all assignable couriers, keeps for every
+ * delivery the couriers within the search radius (cheapest first, capped), splits this sparse
+ * bipartite graph into connected components and solves each one (in chunks of at most
+ * max-component-size deliveries) as a min-cost assignment ({@link MinCostAssignment}). The cost of a pair is 1 - courier score; leaving a delivery
+ * unassigned costs more than any reshuffle of the others, so as many deliveries as possible
+ * are assigned first and the total score is maximized among those - where per-delivery greedy
+ * picks can give a courier to the wrong delivery and leave others unassigned.
+ * <p>
+ * The matching runs in a read-only transaction without the assignment lock, so immediate
+ * assignments of new deliveries never wait for the solver. The lock is then taken only to
+ * commit: matched deliveries and couriers are read again, pairs whose delivery is no longer
+ * pending or whose courier was taken meanwhile are dropped (the next tick retries them), and
+ * the remaining assignments and their DeliveryAssignedEvents commit in one short transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CourierMatchingService {
+
+    private static final double KM_PER_DEGREE_LATITUDE = 111.32;
+    private static final double METERS_IN_KM = 1000.0;
+    private static final int UNMATCHED = -1;
+
+    private final DeliveryRepository deliveryRepository;
+    private final CourierRepository courierRepository;
+    private final DeliveryAssignmentService assignmentService;
+    private final DeliveryService deliveryService;
+    private final LocationTrackingService locationTrackingService;
+    private final AssignmentLockRepository assignmentLockRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MatchingProperties properties;
+
+    @Scheduled(fixedDelayString = "${app.matching.interval:5s}")
+    public void matchOnSchedule() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            matchPendingDeliveries();
+        } catch (Exception e) {
+            log.error("Batch courier matching failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Run one matching pass now
+     *
+     * @return number of deliveries assigned
+     */
+    public int matchPendingDeliveries() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        List<Pair> matched = readOnly.execute(status -> matchBatch());
+        if (matched == null || matched.isEmpty()) {
+            return 0;
+        }
+        Integer assigned = new TransactionTemplate(transactionManager).execute(status -> commit(matched));
+        return assigned != null ? assigned : 0;
+    }
+
+    private List<Pair> matchBatch() {
+        List<Delivery> pending = deliveryRepository.findPendingDeliveries(
+                PageRequest.of(0, properties.getMaxBatchSize()));
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+        List<Courier> couriers = assignmentService.findAssignableCouriers();
+        if (couriers.isEmpty()) {
+            log.info("Batch matching: {} pending deliveries, no courier available", pending.size());
+            return List.of();
+        }
+
+        int[] match = match(pending, couriers);
+
+        List<Pair> matched = new ArrayList<>();
+        for (int i = 0; i < match.length; i++) {
+            if (match[i] != UNMATCHED) {
+                matched.add(new Pair(pending.get(i).getId(), couriers.get(match[i]).getId()));
+            }
+        }
+        log.debug("Batch matching: {} of {} pending deliveries matched, {} couriers available",
+                  matched.size(), pending.size(), couriers.size());
+        return matched;
+    }
+
+    /**
+     * Assign the matched pairs that are still valid, under the assignment lock
+     */
+    private int commit(List<Pair> matched) {
+        if (!assignmentLockRepository.tryAcquire(properties.getCommitLockTimeout())) {
+            log.warn("Assignment lock busy, {} matched deliveries left for the next matching pass", matched.size());
+            return 0;
+        }
+
+        Map<Long, Delivery> pending = new HashMap<>();
+        deliveryRepository.findPendingDeliveriesByIdIn(matched.stream().map(Pair::deliveryId).toList())
+                .forEach(delivery -> pending.put(delivery.getId(), delivery));
+        Map<Long, Courier> assignable = new HashMap<>();
+        assignmentService.findAssignableCouriers(matched.stream().map(Pair::courierId).toList())
+                .forEach(courier -> assignable.put(courier.getId(), courier));
+
+        List<Delivery> assignedDeliveries = new ArrayList<>();
+        List<Courier> assignedCouriers = new ArrayList<>();
+        for (Pair pair : matched) {
+            Delivery delivery = pending.get(pair.deliveryId());
+            Courier courier = assignable.get(pair.courierId());
+            if (delivery == null || courier == null) {
+                continue;
+            }
+            assignmentService.assign(delivery, courier);
+            assignedDeliveries.add(delivery);
+            assignedCouriers.add(courier);
+        }
+        deliveryRepository.saveAll(assignedDeliveries);
+        courierRepository.saveAll(assignedCouriers);
+        assignedDeliveries.forEach(deliveryService::publishDeliveryAssignedEvent);
+
+        log.info("Batch matching: {} deliveries assigned, {} matches dropped as no longer valid",
+                 assignedDeliveries.size(), matched.size() - assignedDeliveries.size());
+        return assignedDeliveries.size();
+    }
+
+    /**
+     * Min-cost matching of deliveries to couriers within the search radius
+     *
+     * @return index of the courier matched to each delivery, or -1
+     */
+    int[] match(List<Delivery> deliveries, List<Courier> couriers) {
+        List<List<Candidate>> candidates = candidates(deliveries, couriers);
+
+        // Connected components of the delivery-courier graph are independent problems
+        int deliveryCount = deliveries.size();
+        UnionFind components = new UnionFind(deliveryCount + couriers.size());
+        for (int i = 0; i < deliveryCount; i++) {
+            for (Candidate candidate : candidates.get(i)) {
+                components.union(i, deliveryCount + candidate.courier());
+            }
+        }
+        Map<Integer, List<Integer>> deliveriesByComponent = new HashMap<>();
+        for (int i = 0; i < deliveryCount; i++) {
+            if (!candidates.get(i).isEmpty()) {
+                deliveriesByComponent.computeIfAbsent(components.find(i), root -> new ArrayList<>()).add(i);
+            }
+        }
+
+        int[] match = new int[deliveryCount];
+        Arrays.fill(match, UNMATCHED);
+        boolean[] taken = new boolean[couriers.size()];
+        int maxComponentSize = properties.getMaxComponentSize();
+        for (List<Integer> component : deliveriesByComponent.values()) {
+            // Deliveries are indexed oldest first; later chunks only get the couriers left over
+            for (int from = 0; from < component.size(); from += maxComponentSize) {
+                List<Integer> chunk = component.subList(from, Math.min(from + maxComponentSize, component.size()));
+                solveComponent(chunk, candidates, taken, match);
+            }
+        }
+        return match;
+    }
+
+    /**
+     * Rows: the component's deliveries. Columns: its couriers, then one "unassigned" column per
+     * delivery. Pair costs are in [0, 1], so an unassigned cost above the row count makes any
+     * extra assignment worth more than the cost change it forces on the others.
+     */
+    private void solveComponent(List<Integer> deliveryIndexes, List<List<Candidate>> candidates,
+                                boolean[] taken, int[] match) {
+        Map<Integer, Integer> columnOfCourier = new HashMap<>();
+        List<Integer> courierOfColumn = new ArrayList<>();
+        for (int deliveryIndex : deliveryIndexes) {
+            for (Candidate candidate : candidates.get(deliveryIndex)) {
+                if (taken[candidate.courier()]) {
+                    continue;
+                }
+                columnOfCourier.computeIfAbsent(candidate.courier(), courier -> {
+                    courierOfColumn.add(courier);
+                    return courierOfColumn.size() - 1;
+                });
+            }
+        }
+
+        int rows = deliveryIndexes.size();
+        int courierColumns = courierOfColumn.size();
+        double unassignedCost = rows + 1.0;
+        double noEdgeCost = 2 * unassignedCost;
+        double[][] cost = new double[rows][courierColumns + rows];
+        for (int row = 0; row < rows; row++) {
+            Arrays.fill(cost[row], 0, courierColumns, noEdgeCost);
+            Arrays.fill(cost[row], courierColumns, courierColumns + rows, unassignedCost);
+            for (Candidate candidate : candidates.get(deliveryIndexes.get(row))) {
+                Integer column = columnOfCourier.get(candidate.courier());
+                if (column != null) {
+                    cost[row][column] = candidate.cost();
+                }
+            }
+        }
+
+        int[] columns = MinCostAssignment.solve(cost);
+        for (int row = 0; row < rows; row++) {
+            int column = columns[row];
+            if (column < courierColumns && cost[row][column] < unassignedCost) {
+                int courier = courierOfColumn.get(column);
+                match[deliveryIndexes.get(row)] = courier;
+                taken[courier] = true;
+            }
+        }
+    }
+
+    /**
+     * Couriers within the radius of each delivery's pickup point, cheapest first. Couriers are
+     * sorted by latitude so each delivery only scans the latitude band of its radius.
+     */
+    private List<List<Candidate>> candidates(List<Delivery> deliveries, List<Courier> couriers) {
+        Integer[] byLatitude = new Integer[couriers.size()];
+        for (int j = 0; j < byLatitude.length; j++) {
+            byLatitude[j] = j;
+        }
+        Arrays.sort(byLatitude, Comparator.comparingDouble(j -> couriers.get(j).getCurrentLatitude()));
+        double[] latitudes = new double[byLatitude.length];
+        for (int k = 0; k < byLatitude.length; k++) {
+            latitudes[k] = couriers.get(byLatitude[k]).getCurrentLatitude();
+        }
+
+        double radiusMeters = properties.getRadiusKm() * METERS_IN_KM;
+        double latitudeBand = properties.getRadiusKm() / KM_PER_DEGREE_LATITUDE;
+        List<List<Candidate>> candidates = new ArrayList<>(deliveries.size());
+        for (Delivery delivery : deliveries) {
+            List<Candidate> nearby = new ArrayList<>();
+            Double pickupLat = delivery.getPickupLatitude();
+            Double pickupLon = delivery.getPickupLongitude();
+            if (pickupLat != null && pickupLon != null) {
+                double longitudeBand = latitudeBand / Math.max(Math.cos(Math.toRadians(pickupLat)), 0.01);
+                for (int k = lowerBound(latitudes, pickupLat - latitudeBand);
+                     k < latitudes.length && latitudes[k] <= pickupLat + latitudeBand; k++) {
+                    Courier courier = couriers.get(byLatitude[k]);
+                    if (Math.abs(courier.getCurrentLongitude() - pickupLon) > longitudeBand) {
+                        continue;
+                    }
+                    double distance = locationTrackingService.calculateDistance(
+                            courier.getCurrentLatitude(), courier.getCurrentLongitude(), pickupLat, pickupLon);
+                    if (distance <= radiusMeters) {
+                        double score = assignmentService.calculateCourierScore(courier, pickupLat, pickupLon);
+                        nearby.add(new Candidate(byLatitude[k], 1.0 - score));
+                    }
+                }
+                nearby.sort(Comparator.comparingDouble(Candidate::cost));
+                if (nearby.size() > properties.getMaxCandidatesPerDelivery()) {
+                    nearby = new ArrayList<>(nearby.subList(0, properties.getMaxCandidatesPerDelivery()));
+                }
+            }
+            candidates.add(nearby);
+        }
+        return candidates;
+    }
+
+    private static int lowerBound(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record Candidate(int courier, double cost) {
+    }
+
+    private record Pair(Long deliveryId, Long courierId) {
+    }
+
+    private static final class UnionFind {
+
+        private final int[] parent;
+
+        UnionFind(int size) {
+            parent = new int[size];
+            for (int i = 0; i < size; i++) {
+                parent[i] = i;
+            }
+        }
+
+        int find(int node) {
+            while (parent[node] != node) {
+                parent[node] = parent[parent[node]];
+                node = parent[node];
+            }
+            return node;
+        }
+
+        void union(int a, int b) {
+            parent[find(a)] = find(b);
+        }
+    }
+}
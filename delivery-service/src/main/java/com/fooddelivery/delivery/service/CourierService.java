@@ -1,5 +1,6 @@
 package com.fooddelivery.delivery.service;
 
+import com.fooddelivery.common.event.CourierLocationUpdatedEvent;
 import com.fooddelivery.common.security.SecurityUtils;
 import com.fooddelivery.delivery.dto.CourierRequestDTO;
 import com.fooddelivery.delivery.dto.CourierResponseDTO;
@@ -8,6 +9,7 @@ import com.fooddelivery.delivery.entity.Courier;
 import com.fooddelivery.delivery.enums.CourierStatus;
 import com.fooddelivery.delivery.exception.CourierAlreadyExistsException;
 import com.fooddelivery.delivery.exception.CourierNotFoundException;
+import com.fooddelivery.delivery.kafka.CourierLocationEventProducer;
 import com.fooddelivery.delivery.mapper.CourierMapper;
 import com.fooddelivery.delivery.repository.CourierRepository;
 import lombok.RequiredArgsConstructor;
@@ -24,7 +26,10 @@ public class CourierService {
     
     private final CourierRepository courierRepository;
     private final CourierMapper courierMapper;
-    private final LocationTrackingService locationTrackingService;
+    private final CourierStateRegistry courierStateRegistry;
+    private final CourierSpatialIndex courierSpatialIndex;
+    private final CourierLocationEventProducer courierLocationEventProducer;
+    private final CourierLocationIngestionService courierLocationIngestionService;
     
     /**
      * Register new courier
@@ -40,6 +45,7 @@ public class CourierService {
         
         try {
             Courier saved = courierRepository.save(courier);
+            courierStateRegistry.courierUpdated(saved);
             log.info("Courier registered with id: {}", saved.getId());
             return courierMapper.toResponse(saved);
             
@@ -96,30 +102,20 @@ public class CourierService {
         
         courier.updateStatus(newStatus);
         Courier updated = courierRepository.save(courier);
+        courierStateRegistry.courierUpdated(updated);
         
         return courierMapper.toResponse(updated);
     }
     
     /**
-     * Update courier location (stores in both Redis and DB)
+     * Update courier location (buffered; written to Redis, the location stream and the DB in batches)
      */
-    @Transactional
     public void updateLocation(LocationUpdateDTO location) {
-        Courier courier = getCurrentUserCourier();
-        
-        // Update in Redis for real-time tracking (async)
-        locationTrackingService.updateCourierLocation(
-            courier.getId(), 
-            location.latitude(), 
+        courierLocationIngestionService.accept(
+            SecurityUtils.getCurrentUserId(),
+            location.latitude(),
             location.longitude()
         );
-        
-        // Update in DB for reference
-        courier.updateLocation(location.latitude(), location.longitude());
-        courierRepository.save(courier);
-        
-        log.debug("Courier {} location updated: ({}, {})", 
-                  courier.getId(), location.latitude(), location.longitude());
     }
     
     /**
@@ -151,6 +147,15 @@ public class CourierService {
         
         courier.softDelete();
         courierRepository.save(courier);
+        courierStateRegistry.courierRemoved(courier.getId());
+        courierLocationIngestionService.forgetCourier(courier.getUserId(), courier.getId());
+        
+        CourierLocationUpdatedEvent event = CourierLocationUpdatedEvent.builder()
+                .courierId(courier.getId())
+                .removed(true)
+                .build();
+        courierSpatialIndex.apply(event);
+        courierLocationEventProducer.publishLocationUpdated(event);
         
         log.info("Courier profile soft deleted: {}", courier.getId());
     }
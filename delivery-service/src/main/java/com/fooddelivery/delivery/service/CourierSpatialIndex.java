@@ -0,0 +1,236 @@
+package com.fooddelivery.delivery.service;
+
+import com.fooddelivery.common.event.CourierLocationUpdatedEvent;
+import com.fooddelivery.delivery.entity.Courier;
+import com.fooddelivery.delivery.repository.CourierRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+/**
+ * In-process spatial index of courier positions: a uniform grid of {@value #CELL_DEGREES} degree
+ * cells (a fixed-precision geohash, about 1.1 km north-south) holding the couriers in each cell.
+ * <p>
+ * Nearest-neighbour queries scan rings of cells around the query point, nearest first, and apply
+ * the caller's filter to every courier in range, so busy couriers never take the places of free
+ * ones. Scanning stops once k matches are found and no unscanned cell can hold a closer courier,
+ * or no cell within the radius is left.
+ * <p>
+ * Filled from the DB on startup, then kept current by location updates made on this instance and
+ * by the courier location stream of all instances. Updates carry the time of the location, so
+ * late or replayed ones never move a courier back.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CourierSpatialIndex {
+
+    static final double CELL_DEGREES = 0.01;
+    private static final int ROWS = (int) Math.round(180 / CELL_DEGREES);
+    private static final int COLUMNS = (int) Math.round(360 / CELL_DEGREES);
+    private static final double EARTH_RADIUS_METERS = 6371000.0;
+    private static final double CELL_HEIGHT_METERS = Math.toRadians(CELL_DEGREES) * EARTH_RADIUS_METERS;
+    private static final double METERS_IN_KM = 1000.0;
+
+    private final CourierRepository courierRepository;
+
+    private final Map<Long, Position> positions = new ConcurrentHashMap<>();
+    private final Map<Long, Map<Long, Position>> cells = new ConcurrentHashMap<>();
+
+    /**
+     * Version of a location taken at {@code time}; newer versions win
+     */
+    public static long locationVersion(LocalDateTime time) {
+        return time == null ? 0 : time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            int indexed = 0;
+            for (Courier courier : courierRepository.findAllActive()) {
+                if (courier.getCurrentLatitude() != null && courier.getCurrentLongitude() != null) {
+                    update(courier.getId(), courier.getCurrentLatitude(), courier.getCurrentLongitude(),
+                           locationVersion(courier.getLastLocationUpdate()));
+                    indexed++;
+                }
+            }
+            log.info("Courier spatial index built: {} couriers with a location", indexed);
+        } catch (Exception e) {
+            log.warn("Courier spatial index build failed, relying on location updates: {}", e.getMessage());
+        }
+    }
+
+    public void apply(CourierLocationUpdatedEvent event) {
+        long version = locationVersion(event.getTimestamp());
+        if (event.isRemoved()) {
+            remove(event.getCourierId(), version);
+        } else {
+            update(event.getCourierId(), event.getLatitude(), event.getLongitude(), version);
+        }
+    }
+
+    public void update(long courierId, double latitude, double longitude, long version) {
+        long cell = cellOf(row(latitude), column(longitude));
+        positions.compute(courierId, (id, current) -> {
+            if (current != null && current.version() > version) {
+                return current;
+            }
+            Position next = new Position(id, latitude, longitude, Math.cos(Math.toRadians(latitude)), cell, version);
+            if (current != null && current.cell() != cell) {
+                removeFromCell(current);
+            }
+            cells.compute(cell, (key, members) -> {
+                Map<Long, Position> cellMembers = members != null ? members : new ConcurrentHashMap<>();
+                cellMembers.put(id, next);
+                return cellMembers;
+            });
+            return next;
+        });
+    }
+
+    public void remove(long courierId, long version) {
+        positions.computeIfPresent(courierId, (id, current) -> {
+            if (current.version() > version) {
+                return current;
+            }
+            removeFromCell(current);
+            return null;
+        });
+    }
+
+    public int size() {
+        return positions.size();
+    }
+
+    /**
+     * Up to {@code k} couriers within the radius that pass the filter
+     *
+     * @param filter tested on courier ids, only for couriers that would make the current top k
+     * @return courier ids, nearest first
+     */
+    public List<Long> nearest(double latitude, double longitude, double radiusKm, int k, LongPredicate filter) {
+        double radiusMeters = radiusKm * METERS_IN_KM;
+        Query query = new Query(latitude, longitude, Math.cos(Math.toRadians(latitude)),
+                                haversineTerm(radiusMeters), k, filter);
+        int centerRow = row(latitude);
+        int centerColumn = column(longitude);
+        PriorityQueue<Neighbor> best = new PriorityQueue<>(k + 1,
+                Comparator.comparingDouble(Neighbor::haversine).reversed());
+
+        for (int ring = 0; ring <= COLUMNS / 2; ring++) {
+            // Every cell of this ring is at least ring - 1 whole cells away
+            double ringDistance = Math.max(ring - 1, 0) * minCellSizeMeters(latitude, ring);
+            if (ringDistance > radiusMeters
+                    || (best.size() == k && haversineTerm(ringDistance) >= best.peek().haversine())) {
+                break;
+            }
+            for (int row = centerRow - ring; row <= centerRow + ring; row++) {
+                if (row < 0 || row >= ROWS) {
+                    continue;
+                }
+                boolean edgeRow = row == centerRow - ring || row == centerRow + ring;
+                int step = edgeRow ? 1 : Math.max(2 * ring, 1);
+                for (int column = centerColumn - ring; column <= centerColumn + ring; column += step) {
+                    Map<Long, Position> members = cells.get(cellOf(row, Math.floorMod(column, COLUMNS)));
+                    if (members != null) {
+                        collect(members, query, best);
+                    }
+                }
+            }
+        }
+
+        List<Long> nearest = new ArrayList<>(best.size());
+        best.stream()
+                .sorted(Comparator.comparingDouble(Neighbor::haversine))
+                .forEach(neighbor -> nearest.add(neighbor.courierId()));
+        return nearest;
+    }
+
+    /**
+     * Couriers are compared on the haversine term sin^2(dLat/2) + cos(lat1) cos(lat2) sin^2(dLon/2),
+     * which grows with the distance; the latitude part alone rules out couriers in far rows
+     */
+    private static void collect(Map<Long, Position> members, Query query, PriorityQueue<Neighbor> best) {
+        for (Position position : members.values()) {
+            // Within the radius while filling up, then strictly closer than the current k-th
+            boolean full = best.size() == query.k();
+            double limit = full ? best.peek().haversine() : query.radiusHaversine();
+            double sinLat = Math.sin(Math.toRadians(position.latitude() - query.latitude()) / 2);
+            double haversine = sinLat * sinLat;
+            if (haversine > limit) {
+                continue;
+            }
+            double sinLon = Math.sin(Math.toRadians(position.longitude() - query.longitude()) / 2);
+            haversine += query.cosLatitude() * position.cosLatitude() * sinLon * sinLon;
+            if (full ? haversine >= limit : haversine > limit) {
+                continue;
+            }
+            if (!query.filter().test(position.courierId())) {
+                continue;
+            }
+            best.add(new Neighbor(position.courierId(), haversine));
+            if (best.size() > query.k()) {
+                best.poll();
+            }
+        }
+    }
+
+    private void removeFromCell(Position position) {
+        cells.computeIfPresent(position.cell(), (key, members) -> {
+            members.remove(position.courierId());
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    /**
+     * Cells narrow towards the poles; the narrowest one a ring can reach bounds its distance
+     */
+    private static double minCellSizeMeters(double latitude, int ring) {
+        double farthestLatitude = Math.min(Math.abs(latitude) + (ring + 1) * CELL_DEGREES, 90.0);
+        return CELL_HEIGHT_METERS * Math.min(1.0, Math.cos(Math.toRadians(farthestLatitude)));
+    }
+
+    private static int row(double latitude) {
+        return Math.min((int) Math.floor((latitude + 90) / CELL_DEGREES), ROWS - 1);
+    }
+
+    private static int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), COLUMNS);
+    }
+
+    private static long cellOf(int row, int column) {
+        return (long) row * COLUMNS + column;
+    }
+
+    /**
+     * Haversine term of a distance (inverse of the formula in LocationTrackingService)
+     */
+    private static double haversineTerm(double distanceMeters) {
+        double sin = Math.sin(Math.min(distanceMeters / EARTH_RADIUS_METERS, Math.PI) / 2);
+        return sin * sin;
+    }
+
+    private record Position(long courierId, double latitude, double longitude, double cosLatitude,
+                            long cell, long version) {
+    }
+
+    private record Query(double latitude, double longitude, double cosLatitude, double radiusHaversine,
+                         int k, LongPredicate filter) {
+    }
+
+    private record Neighbor(long courierId, double haversine) {
+    }
+}
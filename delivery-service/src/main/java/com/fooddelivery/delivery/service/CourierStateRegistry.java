@@ -0,0 +1,150 @@
+package com.fooddelivery.delivery.service;
+
+import com.fooddelivery.delivery.entity.Courier;
+import com.fooddelivery.delivery.enums.CourierStatus;
+import com.fooddelivery.delivery.repository.CourierRepository;
+import com.fooddelivery.delivery.repository.DeliveryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory assignment state of every active courier (status, rating, deliveries, active delivery
+ * and last known location) keyed by courier id, so assignment filters and scores nearby couriers
+ * without DB round trips.
+ * Updated by the courier and delivery write paths once their transaction commits, rebuilt on
+ * startup and re-synced on a fixed interval (to pick up writes made through other instances).
+ * <p>
+ * A hint, not the source of truth: the courier picked from it is re-read and checked before assignment.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CourierStateRegistry {
+
+    private final CourierRepository courierRepository;
+    private final DeliveryRepository deliveryRepository;
+
+    private final Map<Long, CourierState> states = new ConcurrentHashMap<>();
+
+    public Optional<CourierState> find(Long courierId) {
+        return Optional.ofNullable(states.get(courierId));
+    }
+
+    public int size() {
+        return states.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.courier-registry.resync-interval:1m}",
+               fixedDelayString = "${app.courier-registry.resync-interval:1m}")
+    public void resync() {
+        try {
+            Set<Long> withActiveDelivery = new HashSet<>(deliveryRepository.findCourierIdsWithActiveDelivery());
+            List<Courier> couriers = courierRepository.findAllActive();
+            Map<Long, CourierState> next = new HashMap<>(couriers.size() * 2);
+            for (Courier courier : couriers) {
+                next.put(courier.getId(), CourierState.of(courier, withActiveDelivery.contains(courier.getId())));
+            }
+            states.keySet().retainAll(next.keySet());
+            next.forEach((courierId, loaded) -> states.merge(courierId, loaded, CourierState::keepLocationOf));
+            log.debug("Courier registry re-synced: {} couriers", next.size());
+        } catch (Exception e) {
+            log.warn("Courier registry re-sync failed, keeping {} cached couriers: {}", states.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Courier profile, status, rating or location changed; the active delivery flag is kept
+     */
+    public void courierUpdated(Courier courier) {
+        Long courierId = courier.getId();
+        CourierState state = CourierState.of(courier, false);
+        afterCommit(() -> states.merge(courierId, state, (current, updated) ->
+                CourierState.keepLocationOf(current, updated.withActiveDelivery(current.hasActiveDelivery()))));
+    }
+
+    /**
+     * Courier took a delivery or finished (or lost) its current one
+     */
+    public void activeDeliveryChanged(Courier courier, boolean hasActiveDelivery) {
+        Long courierId = courier.getId();
+        CourierState state = CourierState.of(courier, hasActiveDelivery);
+        afterCommit(() -> states.merge(courierId, state, CourierState::keepLocationOf));
+    }
+
+    /**
+     * Location reported by a ping or through the courier location stream. Positions in the DB lag
+     * behind these (batched writes), so updates from entities keep the location already known.
+     */
+    public void locationUpdated(Long courierId, Double latitude, Double longitude) {
+        states.computeIfPresent(courierId, (id, state) -> state.withLocation(latitude, longitude));
+    }
+
+    public void courierRemoved(Long courierId) {
+        afterCommit(() -> states.remove(courierId));
+    }
+
+    /**
+     * Apply once the surrounding transaction commits, so the registry never sees rolled back changes
+     */
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    /**
+     * Snapshot of the courier fields assignment looks at
+     */
+    public record CourierState(CourierStatus status,
+                               double averageRating,
+                               int totalDeliveries,
+                               boolean hasActiveDelivery,
+                               Double latitude,
+                               Double longitude) {
+
+        static CourierState of(Courier courier, boolean hasActiveDelivery) {
+            return new CourierState(
+                    courier.getStatus(),
+                    courier.getAverageRating(),
+                    courier.getTotalDeliveries(),
+                    hasActiveDelivery,
+                    courier.getCurrentLatitude(),
+                    courier.getCurrentLongitude());
+        }
+
+        CourierState withActiveDelivery(boolean activeDelivery) {
+            return new CourierState(status, averageRating, totalDeliveries, activeDelivery, latitude, longitude);
+        }
+
+        CourierState withLocation(Double newLatitude, Double newLongitude) {
+            return new CourierState(status, averageRating, totalDeliveries, hasActiveDelivery,
+                                    newLatitude, newLongitude);
+        }
+
+        static CourierState keepLocationOf(CourierState current, CourierState loaded) {
+            return current.latitude() != null ? loaded.withLocation(current.latitude(), current.longitude()) : loaded;
+        }
+    }
+}
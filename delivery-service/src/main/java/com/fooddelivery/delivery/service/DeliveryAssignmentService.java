@@ -3,16 +3,23 @@ package com.fooddelivery.delivery.service;
 import com.fooddelivery.delivery.entity.Courier;
 import com.fooddelivery.delivery.enums.CourierStatus;
 import com.fooddelivery.delivery.entity.Delivery;
+import com.fooddelivery.delivery.repository.AssignmentLockRepository;
 import com.fooddelivery.delivery.repository.CourierRepository;
 import com.fooddelivery.delivery.repository.DeliveryRepository;
+import com.fooddelivery.delivery.service.CourierStateRegistry.CourierState;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service for intelligent delivery assignment to couriers
@@ -40,9 +47,14 @@ public class DeliveryAssignmentService {
     private final CourierRepository courierRepository;
     private final DeliveryRepository deliveryRepository;
     private final LocationTrackingService locationTrackingService;
+    private final AssignmentLockRepository assignmentLockRepository;
+    private final CourierStateRegistry courierStateRegistry;
+    private final CourierSpatialIndex courierSpatialIndex;
     
     private static final double MAX_SEARCH_RADIUS_KM = 10.0; // 10km radius
+    private static final int MAX_NEARBY_COURIERS = 10;
     private static final double MIN_RATING = 3.0; // Minimum courier rating
+    private static final Duration ASSIGNMENT_LOCK_TIMEOUT = Duration.ofSeconds(5);
     
     /**
      * Automatically assign the best available courier to delivery
@@ -53,6 +65,12 @@ public class DeliveryAssignmentService {
     public boolean assignCourierToDelivery(Delivery delivery) {
         log.info("Attempting to assign courier to delivery: {}", delivery.getId());
         
+        if (!assignmentLockRepository.tryAcquire(ASSIGNMENT_LOCK_TIMEOUT)) {
+            // Left pending - the batch matcher picks it up on its next tick
+            log.warn("Assignment lock busy, delivery {} left for batch matching", delivery.getId());
+            return false;
+        }
+        
         // Find best courier
         Optional<Courier> bestCourier = findBestCourier(
             delivery.getPickupLatitude(),
@@ -65,10 +83,22 @@ public class DeliveryAssignmentService {
         }
         
         Courier courier = bestCourier.get();
+        assign(delivery, courier);
         
-        // Assign courier and update statuses
+        deliveryRepository.save(delivery);
+        courierRepository.save(courier);
+        
+        log.info("Courier {} assigned to delivery {}", courier.getId(), delivery.getId());
+        return true;
+    }
+    
+    /**
+     * Assign courier and update statuses and estimates (caller saves both entities)
+     */
+    void assign(Delivery delivery, Courier courier) {
         delivery.assignCourier(courier);
         courier.updateStatus(CourierStatus.BUSY);
+        courierStateRegistry.activeDeliveryChanged(courier, true);
         
         // Calculate estimated distance and time
         Double distance = locationTrackingService.calculateDistance(
@@ -80,49 +110,76 @@ public class DeliveryAssignmentService {
         
         delivery.setEstimatedDistanceMeters(distance.intValue());
         delivery.setEstimatedTimeMinutes(calculateEstimatedTime(distance));
-        
-        deliveryRepository.save(delivery);
-        courierRepository.save(courier);
-        
-        log.info("Courier {} assigned to delivery {}", courier.getId(), delivery.getId());
-        return true;
+    }
+    
+    /**
+     * All couriers that could take a delivery now, with two queries in total
+     * (used by batch matching)
+     */
+    List<Courier> findAssignableCouriers() {
+        Set<Long> busyCourierIds = new HashSet<>(deliveryRepository.findCourierIdsWithActiveDelivery());
+        return courierRepository.findAvailableCouriers().stream()
+                .filter(courier -> !busyCourierIds.contains(courier.getId()))
+                .filter(this::meetsRatingThreshold)
+                .toList();
+    }
+    
+    /**
+     * The given couriers that can still take a delivery, read again (batch matching
+     * re-validates its proposed assignments under the assignment lock)
+     */
+    List<Courier> findAssignableCouriers(Collection<Long> courierIds) {
+        Set<Long> busyCourierIds = new HashSet<>(deliveryRepository.findCourierIdsWithActiveDelivery(courierIds));
+        return courierRepository.findAvailableCouriersByIdIn(courierIds).stream()
+                .filter(courier -> !busyCourierIds.contains(courier.getId()))
+                .filter(this::meetsRatingThreshold)
+                .toList();
     }
     
     /**
      * Find best courier using intelligent algorithm
      */
     private Optional<Courier> findBestCourier(Double pickupLat, Double pickupLon) {
-        // Step 1: Get nearby couriers from Redis (fastest, real-time)
-        List<Long> nearbyCourierIds = locationTrackingService.findNearestCouriers(
-            pickupLat, 
-            pickupLon, 
-            MAX_SEARCH_RADIUS_KM
-        );
-        
-        if (nearbyCourierIds.isEmpty()) {
-            log.debug("No couriers found in Redis within radius");
+        if (courierSpatialIndex.size() == 0) {
+            log.debug("No courier locations indexed");
             // Fallback: get all available couriers from DB
             return findBestCourierFromDb();
         }
         
-        // Step 2: Filter available couriers from DB
-        List<Courier> availableCouriers = nearbyCourierIds.stream()
-                .map(courierRepository::findActiveById)
-                .flatMap(Optional::stream)
-                .filter(this::isCourierAvailable)
-                .toList();
+        // Step 1: Nearest available couriers from the in-process spatial index, filtered during
+        // the search so busy couriers don't crowd out free ones
+        List<Long> nearbyCourierIds = courierSpatialIndex.nearest(
+            pickupLat,
+            pickupLon,
+            MAX_SEARCH_RADIUS_KM,
+            MAX_NEARBY_COURIERS,
+            courierId -> courierStateRegistry.find(courierId).filter(this::isCourierAvailable).isPresent()
+        );
         
-        if (availableCouriers.isEmpty()) {
+        // Step 2: Score nearby couriers from the in-memory registry (no DB round trips)
+        List<Candidate> candidates = new ArrayList<>(nearbyCourierIds.size());
+        for (Long courierId : nearbyCourierIds) {
+            courierStateRegistry.find(courierId)
+                    .ifPresent(state -> candidates.add(
+                        new Candidate(courierId, calculateCourierScore(state, pickupLat, pickupLon))));
+        }
+        
+        if (candidates.isEmpty()) {
             log.debug("No available couriers found in nearby list");
             return Optional.empty();
         }
         
-        // Step 3: Score and select best courier
-        return availableCouriers.stream()
-                .max((c1, c2) -> Double.compare(
-                    calculateCourierScore(c1, pickupLat, pickupLon),
-                    calculateCourierScore(c2, pickupLat, pickupLon)
-                ));
+        // Step 3: Confirm the best candidate against the DB (the registry may lag other instances)
+        candidates.sort(Comparator.comparingDouble(Candidate::score).reversed());
+        for (Candidate candidate : candidates) {
+            Optional<Courier> courier = courierRepository.findActiveById(candidate.courierId())
+                    .filter(this::isCourierAvailable);
+            if (courier.isPresent()) {
+                return courier;
+            }
+            log.debug("Courier {} no longer available, registry entry is stale", candidate.courierId());
+        }
+        return Optional.empty();
     }
     
     /**
@@ -151,7 +208,7 @@ public class DeliveryAssignmentService {
         }
         
         // Check rating threshold
-        if (courier.getAverageRating() < MIN_RATING && courier.getTotalDeliveries() > 10) {
+        if (!meetsRatingThreshold(courier)) {
             return false;
         }
         
@@ -160,6 +217,22 @@ public class DeliveryAssignmentService {
         return activeDelivery.isEmpty();
     }
     
+    private boolean isCourierAvailable(CourierState courier) {
+        return courier.status() == CourierStatus.AVAILABLE
+                && courier.latitude() != null
+                && courier.longitude() != null
+                && meetsRatingThreshold(courier.averageRating(), courier.totalDeliveries())
+                && !courier.hasActiveDelivery();
+    }
+    
+    private boolean meetsRatingThreshold(Courier courier) {
+        return meetsRatingThreshold(courier.getAverageRating(), courier.getTotalDeliveries());
+    }
+    
+    private boolean meetsRatingThreshold(double averageRating, int totalDeliveries) {
+        return averageRating >= MIN_RATING || totalDeliveries <= 10;
+    }
+    
     /**
      * Calculate courier score for assignment priority
      * Higher score = better candidate
@@ -167,18 +240,28 @@ public class DeliveryAssignmentService {
      * - Distance (closer is better)
      * - Rating (higher is better)
      * - Experience (more deliveries is better)
+     * Package-private for the benchmarks module.
      */
-    private double calculateCourierScore(Courier courier, Double pickupLat, Double pickupLon) {
+    double calculateCourierScore(Courier courier, Double pickupLat, Double pickupLon) {
+        return calculateCourierScore(courier.getCurrentLatitude(), courier.getCurrentLongitude(),
+                                     courier.getAverageRating(), courier.getTotalDeliveries(),
+                                     pickupLat, pickupLon);
+    }
+    
+    private double calculateCourierScore(CourierState courier, Double pickupLat, Double pickupLon) {
+        return calculateCourierScore(courier.latitude(), courier.longitude(),
+                                     courier.averageRating(), courier.totalDeliveries(),
+                                     pickupLat, pickupLon);
+    }
+    
+    private double calculateCourierScore(Double courierLat, Double courierLon,
+                                         double averageRating, int totalDeliveries,
+                                         Double pickupLat, Double pickupLon) {
         // Distance score (inverse - closer is better)
-        double distance = locationTrackingService.calculateDistance(
-            courier.getCurrentLatitude(),
-            courier.getCurrentLongitude(),
-            pickupLat,
-            pickupLon
-        );
+        double distance = locationTrackingService.calculateDistance(courierLat, courierLon, pickupLat, pickupLon);
         double distanceScore = 1.0 / (1.0 + (distance / METERS_IN_KM));
-        double ratingScore = courier.getAverageRating() / MAX_RATING;
-        double experienceScore = Math.min(courier.getTotalDeliveries(), MAX_EXPERIENCE_DELIVERIES) / (double) MAX_EXPERIENCE_DELIVERIES;
+        double ratingScore = averageRating / MAX_RATING;
+        double experienceScore = Math.min(totalDeliveries, MAX_EXPERIENCE_DELIVERIES) / (double) MAX_EXPERIENCE_DELIVERIES;
         
         return (distanceScore * WEIGHT_DISTANCE) +
                (ratingScore * WEIGHT_RATING) +
@@ -192,5 +275,8 @@ public class DeliveryAssignmentService {
         
         return timeMinutes + BUFFER_TIME_MINUTES;
     }
+    
+    private record Candidate(Long courierId, double score) {
+    }
 }
 
@@ -1,5 +1,8 @@
 package com.fooddelivery.delivery.service;
 
+import com.fooddelivery.common.pagination.Cursor;
+import com.fooddelivery.common.pagination.CursorPage;
+import com.fooddelivery.common.pagination.CursorPagination;
 import com.fooddelivery.delivery.dto.CreateDeliveryRequestDTO;
 import com.fooddelivery.delivery.dto.DeliveryRatingDTO;
 import com.fooddelivery.delivery.dto.DeliveryResponseDTO;
@@ -29,6 +32,7 @@ public class DeliveryService {
     private final DeliveryMapper deliveryMapper;
     private final DeliveryAssignmentService assignmentService;
     private final com.fooddelivery.delivery.kafka.DeliveryEventProducer deliveryEventProducer;
+    private final CourierStateRegistry courierStateRegistry;
     
     /**
      * Create new delivery request
@@ -90,9 +94,12 @@ public class DeliveryService {
      * Get deliveries for courier
      */
     @Transactional(readOnly = true)
-    public Page<DeliveryResponseDTO> getDeliveriesForCourier(Long courierId, Pageable pageable) {
-        return deliveryRepository.findByCourierId(courierId, pageable)
-                .map(deliveryMapper::toResponse);
+    public CursorPage<DeliveryResponseDTO> getDeliveriesForCourier(Long courierId, String cursor, int size) {
+        Cursor position = Cursor.decode(cursor);
+        return CursorPagination.page(
+                deliveryRepository.findPageByCourierId(courierId, position.createdAt(), position.id(), CursorPagination.limit(size)),
+                delivery -> new Cursor(delivery.getCreatedAt(), delivery.getId()),
+                deliveryMapper::toResponse);
     }
     
     /**
@@ -224,6 +231,7 @@ public class DeliveryService {
         // Update courier rating separately (separation of concerns)
         if (delivery.getCourier() != null) {
             delivery.getCourier().updateRating(ratingDTO.rating().doubleValue());
+            courierStateRegistry.courierUpdated(delivery.getCourier());
         }
         
         Delivery updated = deliveryRepository.save(delivery);
@@ -233,30 +241,13 @@ public class DeliveryService {
         return deliveryMapper.toResponse(updated);
     }
     
-    /**
-     * Retry assignment for pending deliveries
-     */
-    @Transactional
-    public void retryPendingAssignments() {
-        List<Delivery> pendingDeliveries = deliveryRepository.findPendingDeliveries();
-        
-        log.info("Retrying assignment for {} pending deliveries", pendingDeliveries.size());
-        
-        for (Delivery delivery : pendingDeliveries) {
-            boolean assigned = assignmentService.assignCourierToDelivery(delivery);
-            if (assigned) {
-                log.info("Pending delivery {} assigned to courier {}", 
-                         delivery.getId(), delivery.getCourier().getId());
-            }
-        }
-    }
-    
     /**
      * Helper: Release courier (set back to AVAILABLE)
      */
     private void releaseCourier(Delivery delivery) {
         if (delivery.getCourier() != null) {
             delivery.getCourier().updateStatus(CourierStatus.AVAILABLE);
+            courierStateRegistry.activeDeliveryChanged(delivery.getCourier(), false);
         }
     }
     
@@ -269,40 +260,32 @@ public class DeliveryService {
     }
     
     /**
-     * Publish DeliveryAssignedEvent to Kafka
+     * Stage DeliveryAssignedEvent in the outbox (joins the caller's transaction)
      */
-    private void publishDeliveryAssignedEvent(Delivery delivery) {
-        try {
-            com.fooddelivery.common.event.DeliveryAssignedEvent event = com.fooddelivery.common.event.DeliveryAssignedEvent.builder()
-                    .deliveryId(delivery.getId())
-                    .orderId(delivery.getOrderId())
-                    .courierId(delivery.getCourier().getId())
-                    .userId(delivery.getUserId())
-                    .estimatedTimeMinutes(delivery.getEstimatedTimeMinutes())
-                    .build();
-            
-            deliveryEventProducer.publishDeliveryAssigned(event);
-        } catch (Exception e) {
-            log.error("Failed to publish DeliveryAssignedEvent for delivery {}", delivery.getId(), e);
-        }
+    void publishDeliveryAssignedEvent(Delivery delivery) {
+        com.fooddelivery.common.event.DeliveryAssignedEvent event = com.fooddelivery.common.event.DeliveryAssignedEvent.builder()
+                .deliveryId(delivery.getId())
+                .orderId(delivery.getOrderId())
+                .courierId(delivery.getCourier().getId())
+                .userId(delivery.getUserId())
+                .estimatedTimeMinutes(delivery.getEstimatedTimeMinutes())
+                .build();
+        
+        deliveryEventProducer.publishDeliveryAssigned(event);
     }
     
     /**
-     * Publish DeliveryDeliveredEvent to Kafka
+     * Stage DeliveryDeliveredEvent in the outbox (joins the caller's transaction)
      */
     private void publishDeliveryDeliveredEvent(Delivery delivery) {
-        try {
-            com.fooddelivery.common.event.DeliveryDeliveredEvent event = com.fooddelivery.common.event.DeliveryDeliveredEvent.builder()
-                    .deliveryId(delivery.getId())
-                    .orderId(delivery.getOrderId())
-                    .courierId(delivery.getCourier().getId())
-                    .userId(delivery.getUserId())
-                    .build();
-            
-            deliveryEventProducer.publishDeliveryDelivered(event);
-        } catch (Exception e) {
-            log.error("Failed to publish DeliveryDeliveredEvent for delivery {}", delivery.getId(), e);
-        }
+        com.fooddelivery.common.event.DeliveryDeliveredEvent event = com.fooddelivery.common.event.DeliveryDeliveredEvent.builder()
+                .deliveryId(delivery.getId())
+                .orderId(delivery.getOrderId())
+                .courierId(delivery.getCourier().getId())
+                .userId(delivery.getUserId())
+                .build();
+        
+        deliveryEventProducer.publishDeliveryDelivered(event);
     }
 }
 
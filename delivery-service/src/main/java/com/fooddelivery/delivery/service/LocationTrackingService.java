@@ -8,11 +8,16 @@ import org.springframework.data.geo.GeoResults;
 import org.springframework.data.geo.Point;
 import org.springframework.data.geo.Metrics;
 import org.springframework.data.redis.connection.RedisGeoCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -56,6 +61,33 @@ public class LocationTrackingService {
         }
     }
     
+    /**
+     * Write many courier locations in one pipelined round trip: a GEOADD per {@code batchSize}
+     * couriers and a single EXPIRE. Failures are thrown, so the caller can keep the locations.
+     */
+    public void updateCourierLocations(Collection<CourierLocationPing> pings, int batchSize) {
+        byte[] key = COURIER_LOCATION_KEY.getBytes(StandardCharsets.UTF_8);
+        
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            Map<byte[], Point> batch = new HashMap<>();
+            for (CourierLocationPing ping : pings) {
+                batch.put(ping.courierId().toString().getBytes(StandardCharsets.UTF_8),
+                          new Point(ping.longitude(), ping.latitude()));
+                if (batch.size() == batchSize) {
+                    connection.geoCommands().geoAdd(key, batch);
+                    batch = new HashMap<>();
+                }
+            }
+            if (!batch.isEmpty()) {
+                connection.geoCommands().geoAdd(key, batch);
+            }
+            connection.keyCommands().expire(key, TimeUnit.HOURS.toSeconds(LOCATION_TTL_HOURS));
+            return null;
+        });
+        
+        log.debug("Updated locations for {} couriers", pings.size());
+    }
+    
     /**
      * Find nearest available couriers within radius
      * 
@@ -0,0 +1,50 @@
+package com.fooddelivery.delivery.websocket;
+
+import com.fooddelivery.common.security.SecurityUtils;
+import com.fooddelivery.delivery.exception.CourierNotFoundException;
+import com.fooddelivery.delivery.service.CourierLocationIngestionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.Map;
+
+/**
+ * Authenticates the location stream once per connection. The handshake has already passed the JWT
+ * filter; this checks the courier role and resolves the courier profile, which the connection then
+ * keeps for its lifetime.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourierLocationHandshakeInterceptor implements HandshakeInterceptor {
+
+    private final CourierLocationIngestionService courierLocationIngestionService;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        if (!SecurityUtils.hasRole("COURIER")) {
+            response.setStatusCode(HttpStatus.FORBIDDEN);
+            return false;
+        }
+        Long userId = SecurityUtils.getCurrentUserId();
+        try {
+            attributes.put(CourierLocationSocketHandler.COURIER_ID_ATTRIBUTE,
+                           courierLocationIngestionService.courierIdOf(userId));
+        } catch (CourierNotFoundException e) {
+            response.setStatusCode(HttpStatus.NOT_FOUND);
+            return false;
+        }
+        attributes.put(CourierLocationSocketHandler.USER_ID_ATTRIBUTE, userId);
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+}
@@ -0,0 +1,168 @@
+package com.fooddelivery.delivery.websocket;
+
+import com.fooddelivery.delivery.config.LocationStreamProperties;
+import com.fooddelivery.delivery.enums.CourierStatus;
+import com.fooddelivery.delivery.exception.CourierNotFoundException;
+import com.fooddelivery.delivery.service.CourierLocationIngestionService;
+import com.fooddelivery.delivery.service.CourierStateRegistry;
+import com.fooddelivery.delivery.service.CourierStateRegistry.CourierState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Courier location stream: one long-lived connection per courier app instead of one HTTP request
+ * per ping. The connection is authenticated once, on the handshake; each location frame then goes
+ * straight to the same ingestion path as {@code POST /api/couriers/me/location}.
+ * <p>
+ * The server decides how often a courier pings: it sends a rate hint on connect and whenever the
+ * wanted interval changes (courier status, active delivery, ingestion falling behind). Frames
+ * arriving faster than half the hinted interval are dropped, and the hint is sent again.
+ * Slow clients cannot hold up the server: sends are bounded in time and buffered bytes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CourierLocationSocketHandler extends BinaryWebSocketHandler {
+
+    static final String USER_ID_ATTRIBUTE = "userId";
+    static final String COURIER_ID_ATTRIBUTE = "courierId";
+
+    private final CourierLocationIngestionService courierLocationIngestionService;
+    private final CourierStateRegistry courierStateRegistry;
+    private final LocationStreamProperties properties;
+
+    private final Map<String, CourierConnection> connections = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        WebSocketSession concurrentSession = new ConcurrentWebSocketSessionDecorator(
+                session,
+                (int) properties.getSendTimeLimit().toMillis(),
+                properties.getSendBufferSizeLimit());
+        CourierConnection connection = new CourierConnection(
+                concurrentSession,
+                (Long) session.getAttributes().get(USER_ID_ATTRIBUTE),
+                (Long) session.getAttributes().get(COURIER_ID_ATTRIBUTE));
+        connections.put(session.getId(), connection);
+        sendHint(connection, hintFor(connection.courierId));
+        log.debug("Courier {} location stream opened", connection.courierId);
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws IOException {
+        CourierConnection connection = connections.get(session.getId());
+        if (connection == null) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        if (now - connection.lastAcceptedNanos < connection.hint.toNanos() / 2) {
+            connection.dropped++;
+            if (now - connection.lastHintNanos >= connection.hint.toNanos()) {
+                sendHint(connection, connection.hint);
+            }
+            return;
+        }
+
+        LocationFrames.Location location;
+        try {
+            location = LocationFrames.readLocation(message.getPayload());
+        } catch (IllegalArgumentException e) {
+            session.close(CloseStatus.BAD_DATA.withReason(e.getMessage()));
+            return;
+        }
+        try {
+            courierLocationIngestionService.accept(connection.userId, location.latitude(), location.longitude());
+            connection.lastAcceptedNanos = now;
+        } catch (CourierNotFoundException e) {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("Courier profile not found"));
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.debug("Location stream transport error on session {}: {}", session.getId(), exception.getMessage());
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        CourierConnection connection = connections.remove(session.getId());
+        if (connection != null) {
+            log.debug("Courier {} location stream closed ({}), {} frames dropped for arriving early",
+                      connection.courierId, status, connection.dropped);
+        }
+    }
+
+    /**
+     * Re-evaluate every connection's ping interval and send the ones that changed
+     */
+    @Scheduled(fixedDelayString = "${app.location-stream.hint-refresh-interval:5s}")
+    public void refreshHints() {
+        for (CourierConnection connection : connections.values()) {
+            Duration hint = hintFor(connection.courierId);
+            if (!hint.equals(connection.hint)) {
+                sendHint(connection, hint);
+            }
+        }
+    }
+
+    Duration hintFor(Long courierId) {
+        Duration interval = courierStateRegistry.find(courierId)
+                .map(this::intervalFor)
+                .orElse(properties.getIdleInterval());
+        return courierLocationIngestionService.isBehind()
+                ? interval.multipliedBy(properties.getBackoffFactor())
+                : interval;
+    }
+
+    private Duration intervalFor(CourierState state) {
+        if (state.hasActiveDelivery() || state.status() == CourierStatus.BUSY) {
+            return properties.getDeliveringInterval();
+        }
+        if (state.status() == CourierStatus.AVAILABLE) {
+            return properties.getAvailableInterval();
+        }
+        return properties.getIdleInterval();
+    }
+
+    private void sendHint(CourierConnection connection, Duration hint) {
+        connection.hint = hint;
+        connection.lastHintNanos = System.nanoTime();
+        try {
+            connection.session.sendMessage(new BinaryMessage(LocationFrames.rateHint(hint)));
+        } catch (Exception e) {
+            // The decorator closes connections that exceed the send limits
+            log.debug("Rate hint to courier {} failed: {}", connection.courierId, e.getMessage());
+        }
+    }
+
+    private static final class CourierConnection {
+
+        private final WebSocketSession session;
+        private final Long userId;
+        private final Long courierId;
+        private volatile Duration hint = Duration.ZERO;
+        private volatile long lastHintNanos;
+        private volatile long lastAcceptedNanos;
+        private long dropped;
+
+        private CourierConnection(WebSocketSession session, Long userId, Long courierId) {
+            this.session = session;
+            this.userId = userId;
+            this.courierId = courierId;
+            this.lastAcceptedNanos = System.nanoTime() - Long.MAX_VALUE / 2;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.fooddelivery.delivery.websocket;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+
+/**
+ * Binary frames of the courier location WebSocket, big-endian, one type byte first:
+ * <ul>
+ *   <li>{@code 0x01} location, client to server: latitude and longitude as int32 in 1e-7 degrees (9 bytes)</li>
+ *   <li>{@code 0x02} rate hint, server to client: ping interval as uint32 milliseconds (5 bytes)</li>
+ * </ul>
+ * 1e-7 degrees is about 1 cm, well below GPS accuracy.
+ */
+public final class LocationFrames {
+
+    static final byte LOCATION = 0x01;
+    static final byte RATE_HINT = 0x02;
+    static final int LOCATION_LENGTH = 9;
+    static final int RATE_HINT_LENGTH = 5;
+
+    private static final double E7 = 1e7;
+    private static final long MAX_UINT32 = 0xFFFFFFFFL;
+
+    private LocationFrames() {
+    }
+
+    public static ByteBuffer location(double latitude, double longitude) {
+        return ByteBuffer.allocate(LOCATION_LENGTH)
+                .put(LOCATION)
+                .putInt((int) Math.round(latitude * E7))
+                .putInt((int) Math.round(longitude * E7))
+                .flip();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the frame is not a location frame or is out of range
+     */
+    public static Location readLocation(ByteBuffer frame) {
+        if (frame.remaining() != LOCATION_LENGTH || frame.get(frame.position()) != LOCATION) {
+            throw new IllegalArgumentException("Not a location frame");
+        }
+        int offset = frame.position() + 1;
+        double latitude = frame.getInt(offset) / E7;
+        double longitude = frame.getInt(offset + Integer.BYTES) / E7;
+        if (latitude < -90.0 || latitude > 90.0 || longitude < -180.0 || longitude > 180.0) {
+            throw new IllegalArgumentException("Location out of range");
+        }
+        return new Location(latitude, longitude);
+    }
+
+    public static ByteBuffer rateHint(Duration interval) {
+        return ByteBuffer.allocate(RATE_HINT_LENGTH)
+                .put(RATE_HINT)
+                .putInt((int) Math.min(interval.toMillis(), MAX_UINT32))
+                .flip();
+    }
+
+    public static Duration readRateHint(ByteBuffer frame) {
+        if (frame.remaining() != RATE_HINT_LENGTH || frame.get(frame.position()) != RATE_HINT) {
+            throw new IllegalArgumentException("Not a rate hint frame");
+        }
+        return Duration.ofMillis(Integer.toUnsignedLong(frame.getInt(frame.position() + 1)));
+    }
+
+    public record Location(double latitude, double longitude) {
+    }
+}
@@ -0,0 +1,140 @@
+package com.fooddelivery.delivery.service;
+
+import com.fooddelivery.delivery.config.MatchingProperties;
+import com.fooddelivery.delivery.entity.Courier;
+import com.fooddelivery.delivery.entity.Delivery;
+import com.fooddelivery.delivery.enums.CourierStatus;
+import com.fooddelivery.delivery.enums.DeliveryStatus;
+import com.fooddelivery.delivery.repository.AssignmentLockRepository;
+import com.fooddelivery.delivery.repository.CourierRepository;
+import com.fooddelivery.delivery.repository.DeliveryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CourierMatchingServiceTest {
+
+    private static final double METERS_PER_DEGREE = 111_320.0;
+
+    @Mock
+    private DeliveryRepository deliveryRepository;
+
+    @Mock
+    private CourierRepository courierRepository;
+
+    @Mock
+    private DeliveryAssignmentService assignmentService;
+
+    @Mock
+    private DeliveryService deliveryService;
+
+    @Mock
+    private LocationTrackingService locationTrackingService;
+
+    @Mock
+    private AssignmentLockRepository assignmentLockRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MatchingProperties properties = new MatchingProperties();
+    private CourierMatchingService matchingService;
+
+    @BeforeEach
+    void setUp() {
+        matchingService = new CourierMatchingService(deliveryRepository, courierRepository, assignmentService,
+                deliveryService, locationTrackingService, assignmentLockRepository, transactionManager, properties);
+        lenient().when(locationTrackingService.calculateDistance(anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+                .thenAnswer(invocation -> Math.abs((Double) invocation.getArgument(0)
+                        - (Double) invocation.getArgument(2)) * METERS_PER_DEGREE);
+        lenient().when(assignmentService.calculateCourierScore(any(), anyDouble(), anyDouble())).thenReturn(0.5);
+    }
+
+    @Test
+    void matchPendingDeliveries_TakesLockOnlyToCommitAndDropsCourierTakenMeanwhile() {
+        // Two areas about 111km apart, one delivery and one courier in each
+        Delivery north = delivery(1L, 53.0);
+        Delivery south = delivery(2L, 52.0);
+        Courier northCourier = courier(10L, 53.0);
+        Courier southCourier = courier(20L, 52.0);
+        when(deliveryRepository.findPendingDeliveries(any(Pageable.class))).thenReturn(List.of(north, south));
+        when(assignmentService.findAssignableCouriers()).thenReturn(List.of(northCourier, southCourier));
+        when(assignmentLockRepository.tryAcquire(properties.getCommitLockTimeout())).thenReturn(true);
+        when(deliveryRepository.findPendingDeliveriesByIdIn(List.of(1L, 2L))).thenReturn(List.of(north, south));
+        // The south courier got an immediate assignment while the batch was being matched
+        when(assignmentService.findAssignableCouriers(List.of(10L, 20L))).thenReturn(List.of(northCourier));
+
+        assertEquals(1, matchingService.matchPendingDeliveries());
+
+        InOrder inOrder = inOrder(assignmentService, assignmentLockRepository);
+        inOrder.verify(assignmentService).findAssignableCouriers();
+        inOrder.verify(assignmentLockRepository).tryAcquire(properties.getCommitLockTimeout());
+        inOrder.verify(assignmentService).assign(north, northCourier);
+        verify(assignmentService, never()).assign(south, southCourier);
+        verify(deliveryService).publishDeliveryAssignedEvent(north);
+        verify(deliveryService, never()).publishDeliveryAssignedEvent(south);
+    }
+
+    @Test
+    void matchPendingDeliveries_LockBusy_AssignsNothing() {
+        when(deliveryRepository.findPendingDeliveries(any(Pageable.class))).thenReturn(List.of(delivery(1L, 52.0)));
+        when(assignmentService.findAssignableCouriers()).thenReturn(List.of(courier(10L, 52.0)));
+        when(assignmentLockRepository.tryAcquire(any(Duration.class))).thenReturn(false);
+
+        assertEquals(0, matchingService.matchPendingDeliveries());
+
+        verify(assignmentService, never()).assign(any(), any());
+        verifyNoInteractions(deliveryService);
+    }
+
+    @Test
+    void match_OversizedComponent_IsSolvedInChunksWithoutReusingCouriers() {
+        properties.setMaxComponentSize(2);
+        List<Delivery> deliveries = IntStream.rangeClosed(1, 5).mapToObj(id -> delivery((long) id, 52.0)).toList();
+        List<Courier> couriers = IntStream.rangeClosed(1, 3).mapToObj(id -> courier((long) id, 52.0)).toList();
+
+        int[] match = matchingService.match(deliveries, couriers);
+
+        // The two oldest deliveries come first; the third courier goes to the next chunk
+        assertNotEquals(-1, match[0]);
+        assertNotEquals(-1, match[1]);
+        int[] assigned = Arrays.stream(match).filter(courier -> courier != -1).toArray();
+        assertEquals(3, assigned.length);
+        assertEquals(3, Arrays.stream(assigned).distinct().count());
+    }
+
+    private static Delivery delivery(Long id, double latitude) {
+        Delivery delivery = new Delivery();
+        delivery.setId(id);
+        delivery.setOrderId(id);
+        delivery.setStatus(DeliveryStatus.PENDING);
+        delivery.setPickupLatitude(latitude);
+        delivery.setPickupLongitude(21.0);
+        return delivery;
+    }
+
+    private static Courier courier(Long id, double latitude) {
+        Courier courier = new Courier();
+        courier.setId(id);
+        courier.setStatus(CourierStatus.AVAILABLE);
+        courier.setCurrentLatitude(latitude);
+        courier.setCurrentLongitude(21.0);
+        return courier;
+    }
+}
@@ -0,0 +1,77 @@
+package com.fooddelivery.delivery.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourierSpatialIndexTest {
+
+    private static final double CENTER_LAT = 52.2297;
+    private static final double CENTER_LON = 21.0122;
+
+    private final CourierSpatialIndex index = new CourierSpatialIndex(null);
+    private final LocationTrackingService locationTrackingService = new LocationTrackingService(null);
+
+    @Test
+    void nearest_MatchesBruteForce() {
+        Random random = new Random(42);
+        int couriers = 2000;
+        double[][] positions = new double[couriers][];
+        boolean[] available = new boolean[couriers];
+        for (int i = 0; i < couriers; i++) {
+            positions[i] = new double[]{
+                CENTER_LAT + random.nextDouble(-0.2, 0.2),
+                CENTER_LON + random.nextDouble(-0.3, 0.3)
+            };
+            available[i] = random.nextInt(5) == 0;
+            index.update(i, positions[i][0], positions[i][1], 1);
+        }
+
+        for (int query = 0; query < 100; query++) {
+            double lat = CENTER_LAT + random.nextDouble(-0.2, 0.2);
+            double lon = CENTER_LON + random.nextDouble(-0.3, 0.3);
+
+            List<Long> nearest = index.nearest(lat, lon, 5.0, 10, courierId -> available[(int) courierId]);
+
+            List<Long> expected = LongStream.range(0, couriers)
+                    .filter(i -> available[(int) i])
+                    .filter(i -> distance(lat, lon, positions[(int) i]) <= 5000.0)
+                    .boxed()
+                    .sorted(Comparator.comparingDouble(i -> distance(lat, lon, positions[i.intValue()])))
+                    .limit(10)
+                    .toList();
+            assertEquals(expected, nearest);
+        }
+    }
+
+    @Test
+    void update_MovesCourierAndIgnoresOlderVersions() {
+        index.update(1L, CENTER_LAT, CENTER_LON, 10);
+        index.update(1L, CENTER_LAT + 0.5, CENTER_LON, 20);
+        index.update(1L, CENTER_LAT, CENTER_LON, 15);
+
+        assertTrue(index.nearest(CENTER_LAT, CENTER_LON, 10.0, 10, courierId -> true).isEmpty());
+        assertEquals(List.of(1L), index.nearest(CENTER_LAT + 0.5, CENTER_LON, 10.0, 10, courierId -> true));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void remove_IgnoresOlderVersions() {
+        index.update(1L, CENTER_LAT, CENTER_LON, 10);
+        index.remove(1L, 5);
+        assertEquals(1, index.size());
+
+        index.remove(1L, 10);
+        assertEquals(0, index.size());
+        assertTrue(index.nearest(CENTER_LAT, CENTER_LON, 10.0, 10, courierId -> true).isEmpty());
+    }
+
+    private double distance(double lat, double lon, double[] position) {
+        return locationTrackingService.calculateDistance(lat, lon, position[0], position[1]);
+    }
+}
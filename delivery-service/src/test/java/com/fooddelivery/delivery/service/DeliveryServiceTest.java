@@ -37,6 +37,9 @@ class DeliveryServiceTest {
     @Mock
     private DeliveryEventProducer eventProducer;
 
+    @Mock
+    private CourierStateRegistry courierStateRegistry;
+
     @InjectMocks
     private DeliveryService deliveryService;
 
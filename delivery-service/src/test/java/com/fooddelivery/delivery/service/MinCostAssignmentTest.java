@@ -0,0 +1,86 @@
+package com.fooddelivery.delivery.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinCostAssignmentTest {
+
+    @Test
+    void solve_BeatsGreedy() {
+        // Greedy row by row takes (0,0)=0.1 and then (1,1)=0.9; the optimum is 0.2 + 0.2
+        double[][] cost = {
+                {0.1, 0.2},
+                {0.2, 0.9}
+        };
+
+        int[] assignment = MinCostAssignment.solve(cost);
+
+        assertArrayEquals(new int[]{1, 0}, assignment);
+    }
+
+    @Test
+    void solve_MoreColumnsThanRows() {
+        double[][] cost = {
+                {5, 1, 9},
+                {5, 2, 9}
+        };
+
+        int[] assignment = MinCostAssignment.solve(cost);
+
+        assertEquals(1, assignment[0]);
+        assertEquals(0, assignment[1]);
+    }
+
+    @Test
+    void solve_MatchesBruteForce() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            int rows = 1 + random.nextInt(5);
+            int columns = rows + random.nextInt(3);
+            double[][] cost = new double[rows][columns];
+            for (double[] row : cost) {
+                for (int j = 0; j < columns; j++) {
+                    row[j] = random.nextDouble();
+                }
+            }
+
+            int[] assignment = MinCostAssignment.solve(cost);
+
+            assertEquals(rows, assignment.length);
+            assertEquals(rows, Arrays.stream(assignment).distinct().count());
+            assertEquals(bruteForce(cost, 0, new boolean[columns]), total(cost, assignment), 1e-9);
+        }
+    }
+
+    @Test
+    void solve_MoreRowsThanColumns_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> MinCostAssignment.solve(new double[][]{{1}, {2}}));
+    }
+
+    private static double total(double[][] cost, int[] assignment) {
+        double total = 0;
+        for (int i = 0; i < assignment.length; i++) {
+            total += cost[i][assignment[i]];
+        }
+        return total;
+    }
+
+    private static double bruteForce(double[][] cost, int row, boolean[] used) {
+        if (row == cost.length) {
+            return 0;
+        }
+        double best = Double.POSITIVE_INFINITY;
+        for (int j = 0; j < used.length; j++) {
+            if (!used[j]) {
+                used[j] = true;
+                best = Math.min(best, cost[row][j] + bruteForce(cost, row + 1, used));
+                used[j] = false;
+            }
+        }
+        return best;
+    }
+}
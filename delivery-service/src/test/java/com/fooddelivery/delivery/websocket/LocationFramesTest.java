@@ -0,0 +1,52 @@
+package com.fooddelivery.delivery.websocket;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocationFramesTest {
+
+    @Test
+    void location_RoundTrips() {
+        ByteBuffer frame = LocationFrames.location(52.2297123, -21.0122456);
+
+        assertEquals(LocationFrames.LOCATION_LENGTH, frame.remaining());
+        LocationFrames.Location location = LocationFrames.readLocation(frame);
+        assertEquals(52.2297123, location.latitude(), 1e-9);
+        assertEquals(-21.0122456, location.longitude(), 1e-9);
+    }
+
+    @Test
+    void location_Extremes() {
+        LocationFrames.Location location = LocationFrames.readLocation(LocationFrames.location(-90.0, 180.0));
+
+        assertEquals(-90.0, location.latitude());
+        assertEquals(180.0, location.longitude());
+    }
+
+    @Test
+    void readLocation_OutOfRange_Throws() {
+        ByteBuffer frame = LocationFrames.location(90.5, 0.0);
+
+        assertThrows(IllegalArgumentException.class, () -> LocationFrames.readLocation(frame));
+    }
+
+    @Test
+    void readLocation_WrongTypeOrLength_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> LocationFrames.readLocation(LocationFrames.rateHint(Duration.ofSeconds(5))));
+        assertThrows(IllegalArgumentException.class,
+                     () -> LocationFrames.readLocation(ByteBuffer.wrap(new byte[]{LocationFrames.LOCATION, 1, 2})));
+    }
+
+    @Test
+    void rateHint_RoundTrips() {
+        ByteBuffer frame = LocationFrames.rateHint(Duration.ofSeconds(60));
+
+        assertEquals(LocationFrames.RATE_HINT_LENGTH, frame.remaining());
+        assertEquals(Duration.ofSeconds(60), LocationFrames.readRateHint(frame));
+    }
+}
@@ -0,0 +1,73 @@
+// Load benchmark for restaurant-service GET /api/menu-items/batch
+//
+// Run (services on the host):
+//   docker compose --profile load-test run --rm k6 run /scripts/menu-items-batch.js
+// Override target / id range:
+//   -e BASE_URL=http://host.docker.internal:8082 -e MAX_ITEM_ID=500
+//
+// Two scenarios: a cold phase with wide id spread (mostly DB IN-query path)
+// followed by a hot phase over a small id set (per-item Redis cache path).
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://host.docker.internal:8082';
+const MAX_ITEM_ID = parseInt(__ENV.MAX_ITEM_ID || '500');
+const HOT_ITEM_IDS = parseInt(__ENV.HOT_ITEM_IDS || '20');
+const ITEMS_PER_ORDER = parseInt(__ENV.ITEMS_PER_ORDER || '4');
+
+const batchLatency = new Trend('menu_items_batch_latency', true);
+
+export const options = {
+    scenarios: {
+        cold: {
+            executor: 'constant-arrival-rate',
+            exec: 'cold',
+            rate: 500,
+            timeUnit: '1s',
+            duration: '30s',
+            preAllocatedVUs: 50,
+            maxVUs: 200,
+        },
+        hot: {
+            executor: 'constant-arrival-rate',
+            exec: 'hot',
+            startTime: '35s',
+            rate: 2000,
+            timeUnit: '1s',
+            duration: '60s',
+            preAllocatedVUs: 100,
+            maxVUs: 400,
+        },
+    },
+    thresholds: {
+        'http_req_failed': ['rate<0.01'],
+        'menu_items_batch_latency{scenario:hot}': ['p(99)<25'],
+        'menu_items_batch_latency{scenario:cold}': ['p(99)<100'],
+    },
+};
+
+function randomIds(range) {
+    const ids = new Set();
+    while (ids.size < ITEMS_PER_ORDER) {
+        ids.add(1 + Math.floor(Math.random() * range));
+    }
+    return Array.from(ids).join(',');
+}
+
+function lookup(range) {
+    const res = http.get(`${BASE_URL}/api/menu-items/batch?ids=${randomIds(range)}`);
+    batchLatency.add(res.timings.duration);
+    check(res, {
+        'status is 200': (r) => r.status === 200,
+        'typed payload': (r) => r.json('items') !== undefined,
+    });
+}
+
+export function cold() {
+    lookup(MAX_ITEM_ID);
+}
+
+export function hot() {
+    lookup(HOT_ITEM_IDS);
+}
@@ -1,18 +1,38 @@
 package com.fooddelivery.notification.config;
 
+import com.fooddelivery.common.dedupe.DedupeConfig;
 import com.fooddelivery.common.kafka.BaseKafkaConsumerConfig;
+import com.fooddelivery.common.kafka.KafkaConsumerGroups;
+import com.fooddelivery.common.kafka.KafkaTopics;
+import com.fooddelivery.common.kafka.parallel.ParallelKafkaConsumer;
+import com.fooddelivery.common.kafka.parallel.ParallelKafkaConsumerFactory;
+import com.fooddelivery.notification.kafka.NotificationEventConsumer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.kafka.annotation.EnableKafka;
 
+import java.util.List;
+
 /**
  * Kafka configuration for notification-service
- * Consumes: order.created, order.status.changed, payment.processed, payment.failed,
+ * Consumes: order.created, payment.processed, payment.failed,
  *           delivery.assigned, delivery.delivered
+ * <p>
+ * One parallel consumer for all topics: records are processed concurrently per key (orderId),
+ * beyond the partition count of the topics.
  */
 @Configuration
 @EnableKafka
-@Import(BaseKafkaConsumerConfig.class)
+@Import({BaseKafkaConsumerConfig.class, DedupeConfig.class})
 public class KafkaConfig {
+    
+    @Bean
+    public ParallelKafkaConsumer notificationEventsConsumer(ParallelKafkaConsumerFactory parallelKafkaConsumerFactory,
+                                                            NotificationEventConsumer notificationEventConsumer) {
+        return parallelKafkaConsumerFactory.create("notifications", KafkaConsumerGroups.NOTIFICATION_SERVICE,
+                List.of(KafkaTopics.ORDER_CREATED, KafkaTopics.PAYMENT_PROCESSED, KafkaTopics.PAYMENT_FAILED,
+                        KafkaTopics.DELIVERY_ASSIGNED, KafkaTopics.DELIVERY_DELIVERED),
+                notificationEventConsumer);
+    }
 }
-
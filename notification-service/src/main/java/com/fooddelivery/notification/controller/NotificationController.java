@@ -1,14 +1,11 @@
 package com.fooddelivery.notification.controller;
 
+import com.fooddelivery.common.pagination.CursorPage;
 import com.fooddelivery.notification.dto.NotificationResponseDTO;
 import com.fooddelivery.notification.dto.SendNotificationRequestDTO;
 import com.fooddelivery.notification.service.NotificationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
@@ -42,9 +39,10 @@ public class NotificationController {
      * Shows all sent EMAIL and SMS notifications (audit trail)
      */
     @GetMapping("/my")
-    public Page<NotificationResponseDTO> getMyNotifications(
-            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
-        return notificationService.getMyNotifications(pageable);
+    public CursorPage<NotificationResponseDTO> getMyNotifications(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return notificationService.getMyNotifications(cursor, size);
     }
     
     /**
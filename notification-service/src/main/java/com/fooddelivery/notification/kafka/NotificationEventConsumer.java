@@ -1,36 +1,53 @@
 package com.fooddelivery.notification.kafka;
 
+import com.fooddelivery.common.dedupe.EventDeduplicator;
 import com.fooddelivery.common.event.*;
 import com.fooddelivery.common.kafka.KafkaConsumerGroups;
-import com.fooddelivery.common.kafka.KafkaTopics;
+import com.fooddelivery.common.kafka.parallel.RecordHandler;
 import com.fooddelivery.notification.dto.SendNotificationRequestDTO;
 import com.fooddelivery.notification.enums.NotificationChannel;
 import com.fooddelivery.notification.enums.NotificationType;
 import com.fooddelivery.notification.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.support.Acknowledgment;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.stereotype.Component;
 
 /**
  * Kafka event consumer for notification-service
  * Listens to all events to send appropriate notifications
+ * <p>
+ * Runs on a parallel consumer (see KafkaConfig): notifications are sent synchronously in
+ * the record's lane, so a slow mail server delays only the orders hashed to that lane, and
+ * an offset is committed only after its notification went out.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class NotificationEventConsumer {
+public class NotificationEventConsumer implements RecordHandler {
     
     private final NotificationService notificationService;
+    private final EventDeduplicator eventDeduplicator;
     
-    @KafkaListener(topics = KafkaTopics.ORDER_CREATED, groupId = KafkaConsumerGroups.NOTIFICATION_SERVICE)
-    public void handleOrderCreated(OrderCreatedEvent event, Acknowledgment ack) {
+    @Override
+    public void handle(ConsumerRecord<String, Object> record) {
+        switch (record.value()) {
+            case OrderCreatedEvent event -> handleOrderCreated(event);
+            case PaymentProcessedEvent event -> handlePaymentProcessed(event);
+            case PaymentFailedEvent event -> handlePaymentFailed(event);
+            case DeliveryAssignedEvent event -> handleDeliveryAssigned(event);
+            case DeliveryDeliveredEvent event -> handleDeliveryDelivered(event);
+            case null, default -> log.warn("Ignoring unexpected record on {}: offset={}, type={}", record.topic(),
+                    record.offset(), record.value() == null ? null : record.value().getClass().getSimpleName());
+        }
+    }
+    
+    private void handleOrderCreated(OrderCreatedEvent event) {
         try {
             log.info("Received OrderCreatedEvent: orderId={}, eventId={}", 
                      event.getOrderId(), event.getEventId());
             
-            sendNotification(
+            sendOnce(event,
                 event.getUserId(),
                 NotificationType.ORDER_CREATED,
                 "Order Confirmed - #" + event.getOrderId(),
@@ -38,22 +55,18 @@ public class NotificationEventConsumer {
                              "We'll notify you when it's ready for delivery.",
                              event.getOrderId(), event.getTotalAmount())
             );
-            
-            ack.acknowledge();
-            
         } catch (Exception e) {
             log.error("Error handling OrderCreatedEvent: orderId={}", event.getOrderId(), e);
             throw e;
         }
     }
     
-    @KafkaListener(topics = KafkaTopics.PAYMENT_PROCESSED, groupId = KafkaConsumerGroups.NOTIFICATION_SERVICE)
-    public void handlePaymentProcessed(PaymentProcessedEvent event, Acknowledgment ack) {
+    private void handlePaymentProcessed(PaymentProcessedEvent event) {
         try {
             log.info("Received PaymentProcessedEvent: paymentId={}, orderId={}", 
                      event.getPaymentId(), event.getOrderId());
             
-            sendNotification(
+            sendOnce(event,
                 event.getUserId(),
                 NotificationType.PAYMENT_PROCESSED,
                 "Payment Confirmed - Order #" + event.getOrderId(),
@@ -61,22 +74,18 @@ public class NotificationEventConsumer {
                              "Transaction ID: %s",
                              event.getAmount(), event.getOrderId(), event.getTransactionId())
             );
-            
-            ack.acknowledge();
-            
         } catch (Exception e) {
             log.error("Error handling PaymentProcessedEvent: paymentId={}", event.getPaymentId(), e);
             throw e;
         }
     }
     
-    @KafkaListener(topics = KafkaTopics.PAYMENT_FAILED, groupId = KafkaConsumerGroups.NOTIFICATION_SERVICE)
-    public void handlePaymentFailed(PaymentFailedEvent event, Acknowledgment ack) {
+    private void handlePaymentFailed(PaymentFailedEvent event) {
         try {
             log.info("Received PaymentFailedEvent: paymentId={}, orderId={}", 
                      event.getPaymentId(), event.getOrderId());
             
-            sendNotification(
+            sendOnce(event,
                 event.getUserId(),
                 NotificationType.PAYMENT_FAILED,
                 "Payment Failed - Order #" + event.getOrderId(),
@@ -84,22 +93,18 @@ public class NotificationEventConsumer {
                              "Please try again or use a different payment method.",
                              event.getAmount(), event.getOrderId(), event.getErrorMessage())
             );
-            
-            ack.acknowledge();
-            
         } catch (Exception e) {
             log.error("Error handling PaymentFailedEvent: paymentId={}", event.getPaymentId(), e);
             throw e;
         }
     }
     
-    @KafkaListener(topics = KafkaTopics.DELIVERY_ASSIGNED, groupId = KafkaConsumerGroups.NOTIFICATION_SERVICE)
-    public void handleDeliveryAssigned(DeliveryAssignedEvent event, Acknowledgment ack) {
+    private void handleDeliveryAssigned(DeliveryAssignedEvent event) {
         try {
             log.info("Received DeliveryAssignedEvent: deliveryId={}, courierId={}", 
                      event.getDeliveryId(), event.getCourierId());
             
-            sendNotification(
+            sendOnce(event,
                 event.getUserId(),
                 NotificationType.DELIVERY_ASSIGNED,
                 "Courier Assigned - Order #" + event.getOrderId(),
@@ -107,22 +112,18 @@ public class NotificationEventConsumer {
                              "Estimated delivery time: %d minutes.",
                              event.getOrderId(), event.getEstimatedTimeMinutes())
             );
-            
-            ack.acknowledge();
-            
         } catch (Exception e) {
             log.error("Error handling DeliveryAssignedEvent: deliveryId={}", event.getDeliveryId(), e);
             throw e;
         }
     }
     
-    @KafkaListener(topics = KafkaTopics.DELIVERY_DELIVERED, groupId = KafkaConsumerGroups.NOTIFICATION_SERVICE)
-    public void handleDeliveryDelivered(DeliveryDeliveredEvent event, Acknowledgment ack) {
+    private void handleDeliveryDelivered(DeliveryDeliveredEvent event) {
         try {
             log.info("Received DeliveryDeliveredEvent: deliveryId={}, orderId={}", 
                      event.getDeliveryId(), event.getOrderId());
             
-            sendNotification(
+            sendOnce(event,
                 event.getUserId(),
                 NotificationType.DELIVERY_DELIVERED,
                 "Order Delivered - #" + event.getOrderId(),
@@ -130,15 +131,20 @@ public class NotificationEventConsumer {
                              "We hope you enjoy your meal. Please rate your experience.",
                              event.getOrderId())
             );
-            
-            ack.acknowledge();
-            
         } catch (Exception e) {
             log.error("Error handling DeliveryDeliveredEvent: deliveryId={}", event.getDeliveryId(), e);
             throw e;
         }
     }
     
+    /**
+     * Send unless this event was already handled - redeliveries must not email the user twice
+     */
+    private void sendOnce(BaseEvent event, Long userId, NotificationType type, String subject, String content) {
+        eventDeduplicator.runOnce(KafkaConsumerGroups.NOTIFICATION_SERVICE, event,
+            () -> sendNotification(userId, type, subject, content));
+    }
+    
     private void sendNotification(Long userId, NotificationType type, String subject, String content) {
         SendNotificationRequestDTO notification = new SendNotificationRequestDTO(
             userId,
@@ -150,6 +156,6 @@ public class NotificationEventConsumer {
             null
         );
         
-        notificationService.sendNotificationAsync(notification);
+        notificationService.sendNotification(notification);
     }
 }
@@ -1,8 +1,8 @@
 package com.fooddelivery.notification.repository;
 
 import com.fooddelivery.notification.entity.Notification;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,9 +15,17 @@ import java.util.List;
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     
     /**
-     * Find notification history by user ID (for audit/tracking)
+     * Keyset page of a user's notification history, newest first (see CursorPagination)
      */
-    Page<Notification> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    Slice<Notification> findPageByUserId(
+            @Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable limit
+    );
 
     /**
      * Find failed notifications that can be retried
@@ -1,5 +1,8 @@
 package com.fooddelivery.notification.service;
 
+import com.fooddelivery.common.pagination.Cursor;
+import com.fooddelivery.common.pagination.CursorPage;
+import com.fooddelivery.common.pagination.CursorPagination;
 import com.fooddelivery.notification.dto.NotificationResponseDTO;
 import com.fooddelivery.notification.dto.SendNotificationRequestDTO;
 import com.fooddelivery.notification.entity.Notification;
@@ -8,8 +11,6 @@ import com.fooddelivery.notification.mapper.NotificationMapper;
 import com.fooddelivery.notification.repository.NotificationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -35,6 +36,14 @@ public class NotificationService {
     @Async("notificationExecutor")
     @Transactional
     public void sendNotificationAsync(SendNotificationRequestDTO request) {
+        sendNotification(request);
+    }
+    
+    /**
+     * Send on the caller's thread (Kafka consumer lanes, which provide their own concurrency)
+     */
+    @Transactional
+    public void sendNotification(SendNotificationRequestDTO request) {
         log.info("Processing notification: type={}, channel={}, userId={}", 
                  request.type(), request.channel(), request.userId());
         
@@ -93,10 +102,13 @@ public class NotificationService {
      * Get notification history for current user
      */
     @Transactional(readOnly = true)
-    public Page<NotificationResponseDTO> getMyNotifications(Pageable pageable) {
+    public CursorPage<NotificationResponseDTO> getMyNotifications(String cursor, int size) {
         Long userId = com.fooddelivery.common.security.SecurityUtils.getCurrentUserId();
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable)
-                .map(notificationMapper::toResponse);
+        Cursor position = Cursor.decode(cursor);
+        return CursorPagination.page(
+                notificationRepository.findPageByUserId(userId, position.createdAt(), position.id(), CursorPagination.limit(size)),
+                notification -> new Cursor(notification.getCreatedAt(), notification.getId()),
+                notificationMapper::toResponse);
     }
     
     /**
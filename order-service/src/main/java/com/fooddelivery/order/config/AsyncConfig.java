@@ -0,0 +1,32 @@
+package com.fooddelivery.order.config;
+
+import com.fooddelivery.common.config.BaseAsyncConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * Configuration for async operations (remote lookups during order creation)
+ * Lookups are pure blocking I/O against restaurant-service and user-service,
+ * so they run on virtual threads instead of a bounded platform pool:
+ * - Concurrency limit: 200 (caps in-flight remote calls per instance)
+ * Order board sends (blocking writes to tablet connections) also run on virtual threads,
+ * unbounded: each subscriber has at most one send task, and submitters must never block.
+ * The lookup executor is a standalone bean used by name; the default @Async executor is left as is.
+ */
+@Configuration
+public class AsyncConfig extends BaseAsyncConfig {
+    
+    private static final int LOOKUP_CONCURRENCY_LIMIT = 200;
+    
+    @Bean(name = "lookupExecutor")
+    public AsyncTaskExecutor lookupExecutor() {
+        return createVirtualThreadExecutor("order-lookup-", LOOKUP_CONCURRENCY_LIMIT);
+    }
+    
+    @Bean(name = "orderBoardExecutor")
+    public AsyncTaskExecutor orderBoardExecutor() {
+        return createVirtualThreadExecutor("order-board-", SimpleAsyncTaskExecutor.UNBOUNDED_CONCURRENCY);
+    }
+}
@@ -5,6 +5,8 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Component
 @ConfigurationProperties(prefix = "app.services")
 @Getter
@@ -20,6 +22,17 @@ public class ExternalServicesProperties {
         private String baseUrl = "http://restaurant-service";
         private String restaurantsEndpoint = "/api/restaurants";
         private String menuItemsBatchEndpoint = "/api/menu-items/batch";
+        private String menuSnapshotEndpoint = "/api/menu-items/snapshot";
+        
+        /**
+         * Page size used when bootstrapping the local menu snapshot
+         */
+        private int menuSnapshotPageSize = 1000;
+        
+        /**
+         * Deadline for a single lookup call during order creation
+         */
+        private Duration lookupTimeout = Duration.ofMillis(1500);
     }
     
     @Getter
@@ -27,6 +40,11 @@ public class ExternalServicesProperties {
     public static class UserService {
         private String baseUrl = "http://user-service";
         private String addressesEndpoint = "/api/addresses";
+        
+        /**
+         * Deadline for a single lookup call during order creation
+         */
+        private Duration lookupTimeout = Duration.ofMillis(1500);
     }
 }
 
@@ -1,18 +1,20 @@
 package com.fooddelivery.order.config;
 
+import com.fooddelivery.common.dedupe.DedupeConfig;
 import com.fooddelivery.common.kafka.BaseKafkaConsumerConfig;
+import com.fooddelivery.common.outbox.OutboxConfig;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.kafka.annotation.EnableKafka;
 
 /**
  * Kafka configuration for order-service
- * Produces: order.created, order.status.changed
+ * Produces: order.created, order.status.changed (via transactional outbox)
  * Consumes: payment.processed, payment.failed, delivery.delivered
  */
 @Configuration
 @EnableKafka
-@Import(BaseKafkaConsumerConfig.class)
+@Import({BaseKafkaConsumerConfig.class, OutboxConfig.class, DedupeConfig.class})
 public class KafkaConfig {
 }
 
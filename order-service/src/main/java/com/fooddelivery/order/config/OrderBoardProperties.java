@@ -0,0 +1,37 @@
+package com.fooddelivery.order.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.order-board")
+@Getter
+@Setter
+public class OrderBoardProperties {
+
+    /**
+     * Changes to the same restaurant within one interval are pushed as a single batch
+     */
+    private Duration flushInterval = Duration.ofMillis(250);
+
+    /**
+     * Comment line sent to idle streams so proxies keep them open and dead clients are detected
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * Pushed batches kept per restaurant for Last-Event-ID resume
+     */
+    private int replayBufferSize = 256;
+
+    /**
+     * Events queued for one subscriber before it is closed as too slow (it resumes on reconnect)
+     */
+    private int maxPendingEvents = 100;
+
+    private Duration emitterTimeout = Duration.ofMinutes(30);
+}
@@ -6,6 +6,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 
 @Configuration
 @ConfigurationProperties(prefix = "app.pricing")
@@ -17,5 +18,22 @@ public class PricingProperties {
     private BigDecimal deliveryFeePerKm = new BigDecimal("0.50");
     private Integer basePreparationTime = 20;
     private Integer deliveryTimePerKm = 3;
+    
+    /**
+     * Road distance is estimated as great-circle distance times this detour factor
+     */
+    private double routeFactor = 1.3;
+    
+    /**
+     * Local restaurant/address coordinate cache (invalidated by location change events)
+     */
+    private int locationCacheSize = 20_000;
+    private Duration locationCacheTtl = Duration.ofHours(6);
+    
+    /**
+     * Local (restaurantId, addressId) distance cache
+     */
+    private int routeCacheSize = 50_000;
+    private Duration routeCacheTtl = Duration.ofHours(6);
 }
 
@@ -0,0 +1,37 @@
+package com.fooddelivery.order.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.promo")
+@Getter
+@Setter
+public class PromoProperties {
+
+    /**
+     * Full reload of the in-memory promo code index (picks up changes made on other instances)
+     */
+    private Duration indexRefreshInterval = Duration.ofSeconds(30);
+
+    /**
+     * How long a usage reservation is held before the sweeper gives it back
+     */
+    private Duration reservationTtl = Duration.ofMinutes(2);
+
+    private Duration reservationSweepInterval = Duration.ofSeconds(30);
+
+    /**
+     * How often promo_codes.current_uses is reconciled from promo_code_usage
+     */
+    private Duration usageSyncInterval = Duration.ofSeconds(30);
+
+    /**
+     * Redis usage counters outlive the promo code validity window by this much
+     */
+    private Duration counterRetention = Duration.ofDays(1);
+}
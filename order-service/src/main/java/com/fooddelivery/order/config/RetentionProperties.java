@@ -0,0 +1,51 @@
+package com.fooddelivery.order.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.retention")
+@Getter
+@Setter
+public class RetentionProperties {
+
+    /**
+     * Enables the nightly archiver; archived orders stay readable either way
+     */
+    private boolean archiveEnabled = true;
+
+    /**
+     * Delivered/cancelled orders older than this are moved out of the database
+     */
+    private Duration archiveAfter = Duration.ofDays(180);
+
+    /**
+     * Directory holding the gzip JSON-lines archive files
+     */
+    private String archiveDir = "./data/order-archive";
+
+    /**
+     * Orders per archive file (and per archiving transaction)
+     */
+    private int batchSize = 500;
+
+    private String archiveCron = "0 0 3 * * *";
+
+    /**
+     * Monthly partitions kept created ahead of the current month
+     */
+    private int partitionsAhead = 3;
+
+    private String partitionMaintenanceCron = "0 30 2 * * *";
+
+    /**
+     * Archived orders kept in memory after a lookup
+     */
+    private int lookupCacheSize = 1000;
+
+    private Duration lookupCacheTtl = Duration.ofMinutes(10);
+}
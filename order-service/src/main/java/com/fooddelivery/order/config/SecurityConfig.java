@@ -2,9 +2,12 @@ package com.fooddelivery.order.config;
 
 import com.fooddelivery.common.config.BaseSecurityConfig;
 import com.fooddelivery.common.filter.JwtAuthenticationFilter;
+import com.fooddelivery.common.idempotency.IdempotencyConfig;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -14,6 +17,7 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
+@Import(IdempotencyConfig.class)
 @EnableWebSecurity
 @EnableMethodSecurity
 @RequiredArgsConstructor
@@ -27,6 +31,8 @@ public class SecurityConfig extends BaseSecurityConfig {
             .csrf(AbstractHttpConfigurer::disable)
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // SSE (order board) completion/timeout re-dispatches carry no JWT; the stream itself was authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers(getPublicEndpoints()).permitAll()
                 .requestMatchers(getCommonPublicEndpoints()).permitAll()
                 .anyRequest().authenticated()
@@ -1,17 +1,17 @@
 package com.fooddelivery.order.controller;
 
+import com.fooddelivery.common.pagination.CursorPage;
 import com.fooddelivery.order.dto.*;
+import com.fooddelivery.order.service.OrderBoardService;
 import com.fooddelivery.order.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -23,6 +23,7 @@ import java.util.List;
 public class OrderController {
     
     private final OrderService orderService;
+    private final OrderBoardService orderBoardService;
     
     /**
      * Create new order
@@ -45,16 +46,17 @@ public class OrderController {
      * Get current user's orders
      */
     @GetMapping("/my-orders")
-    public Page<OrderResponseDTO> getMyOrders(
-            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
-        return orderService.getUserOrders(pageable);
+    public CursorPage<OrderSummaryResponseDTO> getMyOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return orderService.getUserOrders(cursor, size);
     }
     
     /**
      * Get active orders for current user
      */
     @GetMapping("/my-orders/active")
-    public List<OrderResponseDTO> getMyActiveOrders() {
+    public List<OrderSummaryResponseDTO> getMyActiveOrders() {
         return orderService.getActiveOrdersByUser();
     }
     
@@ -63,10 +65,11 @@ public class OrderController {
      */
     @GetMapping("/restaurant/{restaurantId}")
     @PreAuthorize("hasRole('RESTAURANT_OWNER')")
-    public Page<OrderResponseDTO> getRestaurantOrders(
+    public CursorPage<OrderSummaryResponseDTO> getRestaurantOrders(
             @PathVariable Long restaurantId,
-            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
-        return orderService.getRestaurantOrders(restaurantId, pageable);
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return orderService.getRestaurantOrders(restaurantId, cursor, size);
     }
     
     /**
@@ -74,10 +77,23 @@ public class OrderController {
      */
     @GetMapping("/restaurant/{restaurantId}/active")
     @PreAuthorize("hasRole('RESTAURANT_OWNER')")
-    public List<OrderResponseDTO> getRestaurantActiveOrders(@PathVariable Long restaurantId) {
+    public List<OrderSummaryResponseDTO> getRestaurantActiveOrders(@PathVariable Long restaurantId) {
         return orderService.getActiveOrdersByRestaurant(restaurantId);
     }
     
+    /**
+     * Live order board for restaurant tablets (server-sent events)
+     * Sends a "snapshot" of active orders, then "orders" batches as they change.
+     * Reconnects with Last-Event-ID resume where they left off.
+     */
+    @GetMapping(value = "/restaurant/{restaurantId}/board", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('RESTAURANT_OWNER')")
+    public SseEmitter streamRestaurantBoard(
+            @PathVariable Long restaurantId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return orderBoardService.subscribe(restaurantId, lastEventId);
+    }
+    
     /**
      * Update order status
      */
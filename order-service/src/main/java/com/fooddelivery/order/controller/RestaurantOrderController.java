@@ -1,14 +1,15 @@
 package com.fooddelivery.order.controller;
 
+import com.fooddelivery.common.pagination.CursorPage;
+import com.fooddelivery.order.dto.BulkUpdateOrderStatusDTO;
 import com.fooddelivery.order.dto.OrderResponseDTO;
+import com.fooddelivery.order.dto.OrderStatusChangeResultDTO;
+import com.fooddelivery.order.dto.OrderSummaryResponseDTO;
 import com.fooddelivery.order.dto.UpdateOrderStatusDTO;
 import com.fooddelivery.order.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.web.PageableDefault;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -33,18 +34,19 @@ public class RestaurantOrderController {
      * Get all orders for the restaurant
      */
     @GetMapping
-    public Page<OrderResponseDTO> getRestaurantOrders(
+    public CursorPage<OrderSummaryResponseDTO> getRestaurantOrders(
             @RequestParam Long restaurantId,
-            @PageableDefault(size = 20, sort = "createdAt") Pageable pageable) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         log.info("Restaurant owner fetching orders for restaurant: {}", restaurantId);
-        return orderService.getRestaurantOrders(restaurantId, pageable);
+        return orderService.getRestaurantOrders(restaurantId, cursor, size);
     }
 
     /**
      * Get active orders for the restaurant
      */
     @GetMapping("/active")
-    public List<OrderResponseDTO> getActiveOrders(@RequestParam Long restaurantId) {
+    public List<OrderSummaryResponseDTO> getActiveOrders(@RequestParam Long restaurantId) {
         log.info("Restaurant owner fetching active orders for restaurant: {}", restaurantId);
         return orderService.getActiveOrdersByRestaurant(restaurantId);
     }
@@ -60,6 +62,20 @@ public class RestaurantOrderController {
         return orderService.updateOrderStatus(orderId, request);
     }
 
+    /**
+     * Advance several orders of the restaurant at once (kitchen tablets).
+     * Returns one result per requested change, in request order; rejected entries do not
+     * prevent the others from being applied.
+     */
+    @PatchMapping("/status")
+    public List<OrderStatusChangeResultDTO> bulkUpdateOrderStatus(
+            @RequestParam Long restaurantId,
+            @Valid @RequestBody BulkUpdateOrderStatusDTO request) {
+        log.info("Restaurant owner updating {} order statuses for restaurant: {}",
+                 request.changes().size(), restaurantId);
+        return orderService.bulkUpdateOrderStatus(restaurantId, request);
+    }
+
     /**
      * Get order details
      */
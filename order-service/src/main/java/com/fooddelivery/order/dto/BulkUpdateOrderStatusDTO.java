@@ -0,0 +1,17 @@
+package com.fooddelivery.order.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Several status transitions for one restaurant, applied in list order
+ * (the same order may appear more than once, e.g. READY then PICKED_UP)
+ */
+public record BulkUpdateOrderStatusDTO(
+    @NotEmpty(message = "At least one status change is required")
+    @Size(max = 100, message = "At most 100 status changes per request")
+    List<@Valid OrderStatusChangeDTO> changes
+) {}
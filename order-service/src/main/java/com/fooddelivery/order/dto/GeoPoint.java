@@ -0,0 +1,23 @@
+package com.fooddelivery.order.dto;
+
+import java.util.Map;
+
+/**
+ * Latitude/longitude pair in decimal degrees
+ */
+public record GeoPoint(double latitude, double longitude) {
+    
+    /**
+     * Read coordinates from a restaurant-service / user-service JSON response
+     * 
+     * @return point, or null when either coordinate is missing
+     */
+    public static GeoPoint fromResponse(Map<String, Object> response) {
+        if (response == null
+                || !(response.get("latitude") instanceof Number latitude)
+                || !(response.get("longitude") instanceof Number longitude)) {
+            return null;
+        }
+        return new GeoPoint(latitude.doubleValue(), longitude.doubleValue());
+    }
+}
@@ -0,0 +1,11 @@
+package com.fooddelivery.order.dto;
+
+import java.util.List;
+
+/**
+ * Response of restaurant-service GET /api/menu-items/batch
+ */
+public record MenuItemBatchResponseDTO(
+    List<MenuItemSnapshotDTO> items,
+    List<Long> missingIds
+) {}
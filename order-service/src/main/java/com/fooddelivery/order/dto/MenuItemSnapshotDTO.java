@@ -0,0 +1,14 @@
+package com.fooddelivery.order.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Menu item name/price snapshot as returned by restaurant-service batch lookup
+ */
+public record MenuItemSnapshotDTO(
+    Long id,
+    Long restaurantId,
+    String name,
+    BigDecimal price,
+    Boolean isAvailable
+) {}
@@ -0,0 +1,11 @@
+package com.fooddelivery.order.dto;
+
+import java.util.List;
+
+/**
+ * Response of restaurant-service GET /api/menu-items/snapshot; nextAfterId is null on the last page
+ */
+public record MenuItemSnapshotPageDTO(
+    List<MenuItemVersionDTO> items,
+    Long nextAfterId
+) {}
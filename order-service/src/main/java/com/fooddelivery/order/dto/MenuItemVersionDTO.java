@@ -0,0 +1,16 @@
+package com.fooddelivery.order.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Menu item snapshot row as returned by restaurant-service GET /api/menu-items/snapshot
+ */
+public record MenuItemVersionDTO(
+    Long id,
+    Long restaurantId,
+    String name,
+    BigDecimal price,
+    Boolean isAvailable,
+    LocalDateTime updatedAt
+) {}
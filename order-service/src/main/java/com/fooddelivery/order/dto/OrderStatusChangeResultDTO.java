@@ -0,0 +1,23 @@
+package com.fooddelivery.order.dto;
+
+import com.fooddelivery.order.enums.OrderStatus;
+
+/**
+ * Outcome of one entry of a bulk status update (same position as in the request)
+ */
+public record OrderStatusChangeResultDTO(
+    Long orderId,
+    boolean updated,
+    OrderStatus oldStatus,
+    OrderStatus newStatus,
+    String error
+) {
+    
+    public static OrderStatusChangeResultDTO updated(Long orderId, OrderStatus oldStatus, OrderStatus newStatus) {
+        return new OrderStatusChangeResultDTO(orderId, true, oldStatus, newStatus, null);
+    }
+    
+    public static OrderStatusChangeResultDTO rejected(Long orderId, OrderStatus currentStatus, String error) {
+        return new OrderStatusChangeResultDTO(orderId, false, currentStatus, null, error);
+    }
+}
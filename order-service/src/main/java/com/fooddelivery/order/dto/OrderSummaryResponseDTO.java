@@ -0,0 +1,25 @@
+package com.fooddelivery.order.dto;
+
+import com.fooddelivery.order.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record OrderSummaryResponseDTO(
+    Long id,
+    Long userId,
+    Long restaurantId,
+    Long deliveryAddressId,
+    OrderStatus status,
+    BigDecimal subtotal,
+    BigDecimal deliveryFee,
+    BigDecimal discount,
+    BigDecimal totalAmount,
+    String promoCode,
+    Integer itemCount,
+    String itemsPreview,
+    Integer estimatedDeliveryTime,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt,
+    LocalDateTime deliveredAt
+) {}
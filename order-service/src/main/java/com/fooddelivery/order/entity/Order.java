@@ -96,6 +96,13 @@ public class Order {
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
     private List<OrderHistory> history = new ArrayList<>();
     
+    /**
+     * Optimistic lock - conditional status updates bump it as well
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
     @Column(nullable = false, updatable = false, columnDefinition = "DATETIME2 DEFAULT GETDATE()")
     private LocalDateTime createdAt;
     
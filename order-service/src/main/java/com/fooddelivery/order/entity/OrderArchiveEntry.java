@@ -0,0 +1,68 @@
+package com.fooddelivery.order.entity;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Where an archived order lives: one row per order moved out of the orders table by OrderArchiver
+ */
+@Entity
+@Table(name = "order_archive_index", indexes = {
+    @Index(name = "idx_order_archive_index_user", columnList = "userId")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(of = "orderId")
+public class OrderArchiveEntry implements Persistable<Long> {
+
+    @Id
+    private Long orderId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    /**
+     * Archive file path relative to app.retention.archive-dir
+     */
+    @Column(nullable = false, length = 500)
+    private String archiveFile;
+
+    @Column(nullable = false, columnDefinition = "DATETIME2")
+    private LocalDateTime archivedAt;
+
+    /**
+     * The id is assigned from the order, so tell Spring Data to persist instead of merge
+     */
+    @Transient
+    private boolean isNew = true;
+
+    public OrderArchiveEntry(Long orderId, Long userId, String archiveFile, LocalDateTime archivedAt) {
+        this.orderId = orderId;
+        this.userId = userId;
+        this.archiveFile = archiveFile;
+        this.archivedAt = archivedAt;
+    }
+
+    @Override
+    public Long getId() {
+        return orderId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,107 @@
+package com.fooddelivery.order.entity;
+
+import com.fooddelivery.order.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized read model of an order for list screens (one row per order, no joins).
+ * Written in the same transaction as every order state transition by OrderSummaryProjector.
+ * Rows are kept when OrderArchiver moves the order itself out of the database.
+ */
+@Entity
+@Table(name = "order_summary", indexes = {
+    @Index(name = "idx_order_summary_user_created", columnList = "userId,createdAt"),
+    @Index(name = "idx_order_summary_restaurant_created", columnList = "restaurantId,createdAt"),
+    @Index(name = "idx_order_summary_restaurant_status", columnList = "restaurantId,status")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(of = "orderId")
+public class OrderSummary implements Persistable<Long> {
+
+    @Id
+    private Long orderId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long restaurantId;
+
+    @Column(nullable = false)
+    private Long deliveryAddressId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal subtotal;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal deliveryFee;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal discount;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(length = 50)
+    private String promoCode;
+
+    /**
+     * Total quantity across all order items
+     */
+    @Column(nullable = false)
+    private Integer itemCount;
+
+    /**
+     * Short human-readable item list, e.g. "2x Margherita, 1x Cola"
+     */
+    @Column(length = 255)
+    private String itemsPreview;
+
+    @Column
+    private Integer estimatedDeliveryTime;
+
+    @Column(nullable = false, columnDefinition = "DATETIME2")
+    private LocalDateTime createdAt;
+
+    @Column(columnDefinition = "DATETIME2")
+    private LocalDateTime updatedAt;
+
+    @Column(columnDefinition = "DATETIME2")
+    private LocalDateTime deliveredAt;
+
+    /**
+     * The id is assigned from the order, so tell Spring Data to persist instead of merge
+     */
+    @Transient
+    private boolean isNew = true;
+
+    @Override
+    public Long getId() {
+        return orderId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "promo_code_usage", indexes = {
     @Index(name = "idx_usage_user_promo", columnList = "userId,promoCodeId"),
-    @Index(name = "idx_usage_order", columnList = "orderId")
+    @Index(name = "idx_usage_order", columnList = "orderId"),
+    @Index(name = "idx_usage_reservation_token", columnList = "reservationToken")
 })
 @Getter
 @Setter
@@ -35,6 +36,12 @@ public class PromoCodeUsage {
     @Column(nullable = false)
     private Long orderId;
 
+    /**
+     * Token of the Redis usage reservation this redemption was taken under
+     */
+    @Column(length = 36)
+    private String reservationToken;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime usedAt;
 
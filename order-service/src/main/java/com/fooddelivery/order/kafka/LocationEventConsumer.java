@@ -0,0 +1,72 @@
+package com.fooddelivery.order.kafka;
+
+import com.fooddelivery.common.event.AddressChangedEvent;
+import com.fooddelivery.common.event.RestaurantLocationChangedEvent;
+import com.fooddelivery.common.kafka.KafkaConsumerGroups;
+import com.fooddelivery.common.kafka.KafkaTopics;
+import com.fooddelivery.order.service.DistanceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Invalidates locally cached coordinates and route distances
+ * Consumes: restaurant.location.changed, user.address.changed
+ * 
+ * Per-instance consumer groups: every instance holds its own cache. The group is named after
+ * app.kafka.instance-id, which stays the same across restarts, so a restarted instance rejoins
+ * it instead of leaving an abandoned one behind. The cache starts empty, so partitions seen for
+ * the first time since startup are read from their end.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LocationEventConsumer implements ConsumerSeekAware {
+    
+    private final DistanceService distanceService;
+    private final Set<TopicPartition> seenPartitions = ConcurrentHashMap.newKeySet();
+    
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        List<TopicPartition> firstSeen = assignments.keySet().stream()
+                .filter(seenPartitions::add)
+                .toList();
+        if (!firstSeen.isEmpty()) {
+            callback.seekToEnd(firstSeen);
+        }
+    }
+    
+    @KafkaListener(
+        topics = KafkaTopics.RESTAURANT_LOCATION_CHANGED,
+        groupId = KafkaConsumerGroups.ORDER_SERVICE_GEO_CACHE + "-${app.kafka.instance-id}",
+        properties = {"auto.offset.reset=latest"}
+    )
+    public void handleRestaurantLocationChanged(RestaurantLocationChangedEvent event, Acknowledgment ack) {
+        log.debug("Received RestaurantLocationChangedEvent: restaurantId={}, deleted={}", 
+                  event.getRestaurantId(), event.isDeleted());
+        
+        distanceService.evictRestaurant(event.getRestaurantId());
+        ack.acknowledge();
+    }
+    
+    @KafkaListener(
+        topics = KafkaTopics.ADDRESS_CHANGED,
+        groupId = KafkaConsumerGroups.ORDER_SERVICE_GEO_CACHE + "-${app.kafka.instance-id}",
+        properties = {"auto.offset.reset=latest"}
+    )
+    public void handleAddressChanged(AddressChangedEvent event, Acknowledgment ack) {
+        log.debug("Received AddressChangedEvent: addressId={}, deleted={}", event.getAddressId(), event.isDeleted());
+        
+        distanceService.evictAddress(event.getAddressId());
+        ack.acknowledge();
+    }
+}
@@ -0,0 +1,66 @@
+package com.fooddelivery.order.kafka;
+
+import com.fooddelivery.common.event.MenuItemChangedEvent;
+import com.fooddelivery.common.kafka.KafkaConsumerGroups;
+import com.fooddelivery.common.kafka.KafkaTopics;
+import com.fooddelivery.order.service.MenuSnapshotCache;
+import com.fooddelivery.order.service.MenuSnapshotLoader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the local menu snapshot current
+ * Consumes: menu.item.changed
+ * 
+ * Each instance uses its own consumer group (every instance needs every change), named after
+ * app.kafka.instance-id so a restarted instance rejoins it instead of leaving an abandoned one
+ * behind. Partitions seen for the first time since startup are read from their end - anything
+ * older is covered by the snapshot bootstrap, which starts only once those end offsets are fixed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MenuItemEventConsumer implements ConsumerSeekAware {
+    
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final MenuSnapshotLoader menuSnapshotLoader;
+    private final Set<TopicPartition> seenPartitions = ConcurrentHashMap.newKeySet();
+    
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        List<TopicPartition> firstSeen = assignments.keySet().stream()
+                .filter(seenPartitions::add)
+                .toList();
+        if (firstSeen.isEmpty()) {
+            return;
+        }
+        callback.seekToEnd(firstSeen);
+        // seekToEnd is lazy; a relative seek reads the position now, so every change published
+        // from here on reaches the listener even if the snapshot fetch below misses it
+        firstSeen.forEach(partition -> callback.seekRelative(partition.topic(), partition.partition(), 0, true));
+        menuSnapshotLoader.listenerPositioned();
+    }
+    
+    @KafkaListener(
+        topics = KafkaTopics.MENU_ITEM_CHANGED,
+        groupId = KafkaConsumerGroups.ORDER_SERVICE_MENU_CACHE + "-${app.kafka.instance-id}",
+        properties = {"auto.offset.reset=latest"}
+    )
+    public void handleMenuItemChanged(MenuItemChangedEvent event, Acknowledgment ack) {
+        log.debug("Received MenuItemChangedEvent: menuItemId={}, changeType={}, version={}", 
+                  event.getMenuItemId(), event.getChangeType(), event.getVersion());
+        
+        menuSnapshotCache.apply(event);
+        ack.acknowledge();
+    }
+}
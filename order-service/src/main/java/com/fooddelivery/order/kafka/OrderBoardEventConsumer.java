@@ -0,0 +1,69 @@
+package com.fooddelivery.order.kafka;
+
+import com.fooddelivery.common.event.OrderCreatedEvent;
+import com.fooddelivery.common.event.OrderStatusChangedEvent;
+import com.fooddelivery.common.kafka.KafkaConsumerGroups;
+import com.fooddelivery.common.kafka.KafkaTopics;
+import com.fooddelivery.order.service.OrderBoardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Feeds the restaurant order board
+ * Consumes: order.created, order.status.changed
+ * 
+ * Per-instance consumer groups: a tablet may be connected to any instance. The group is named
+ * after app.kafka.instance-id, which stays the same across restarts, so a restarted instance
+ * rejoins it instead of leaving an abandoned one behind. Boards live in memory and tablets
+ * reload a snapshot on reconnect, so partitions seen for the first time since startup are read
+ * from their end.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderBoardEventConsumer implements ConsumerSeekAware {
+    
+    private final OrderBoardService orderBoardService;
+    private final Set<TopicPartition> seenPartitions = ConcurrentHashMap.newKeySet();
+    
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        List<TopicPartition> firstSeen = assignments.keySet().stream()
+                .filter(seenPartitions::add)
+                .toList();
+        if (!firstSeen.isEmpty()) {
+            callback.seekToEnd(firstSeen);
+        }
+    }
+    
+    @KafkaListener(
+        topics = KafkaTopics.ORDER_CREATED,
+        groupId = KafkaConsumerGroups.ORDER_SERVICE_ORDER_BOARD + "-${app.kafka.instance-id}",
+        properties = {"auto.offset.reset=latest"}
+    )
+    public void handleOrderCreated(OrderCreatedEvent event, Acknowledgment ack) {
+        orderBoardService.orderChanged(event.getRestaurantId(), event.getOrderId());
+        ack.acknowledge();
+    }
+    
+    @KafkaListener(
+        topics = KafkaTopics.ORDER_STATUS_CHANGED,
+        groupId = KafkaConsumerGroups.ORDER_SERVICE_ORDER_BOARD + "-${app.kafka.instance-id}",
+        properties = {"auto.offset.reset=latest"}
+    )
+    public void handleOrderStatusChanged(OrderStatusChangedEvent event, Acknowledgment ack) {
+        log.debug("Order board update: orderId={}, {} -> {}", event.getOrderId(), event.getOldStatus(), event.getNewStatus());
+        orderBoardService.orderChanged(event.getRestaurantId(), event.getOrderId());
+        ack.acknowledge();
+    }
+}
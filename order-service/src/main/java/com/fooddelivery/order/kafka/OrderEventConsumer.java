@@ -1,74 +1,147 @@
 package com.fooddelivery.order.kafka;
 
+import com.fooddelivery.common.dedupe.EventDeduplicator;
+import com.fooddelivery.common.event.BaseEvent;
 import com.fooddelivery.common.event.DeliveryDeliveredEvent;
 import com.fooddelivery.common.event.PaymentFailedEvent;
 import com.fooddelivery.common.event.PaymentProcessedEvent;
+import com.fooddelivery.common.kafka.BaseKafkaConsumerConfig;
 import com.fooddelivery.common.kafka.KafkaConsumerGroups;
 import com.fooddelivery.common.kafka.KafkaTopics;
 import com.fooddelivery.order.enums.OrderStatus;
+import com.fooddelivery.order.exception.InvalidOrderStateException;
+import com.fooddelivery.order.exception.OrderNotFoundException;
 import com.fooddelivery.order.service.OrderService;
+import com.fooddelivery.order.service.OrderService.StatusUpdate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Kafka event consumer for order-service
  * Consumes: payment.processed, payment.failed, delivery.delivered
+ * <p>
+ * Batch listener: a whole poll is applied with one order query and one transaction.
+ * Records that can never apply (undeserializable, unknown order, invalid transition) go
+ * straight to DLQ without holding up the rest. Orders moved by a concurrent transition are
+ * re-checked within the batch, so a conflict on one order does not affect the others. Only if the
+ * batch transaction itself fails are the records replayed one by one through the compare-and-set
+ * path, and the first one that still fails is handed to the container error handler (retry, then
+ * DLQ) with everything before it committed.
+ * Redelivered events already applied by this group are dropped up front (EventDeduplicator
+ * cache tiers); the status guard covers anything the caches miss.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class OrderEventConsumer {
-    
+
     private final OrderService orderService;
-    
-    @KafkaListener(topics = KafkaTopics.PAYMENT_PROCESSED, groupId = KafkaConsumerGroups.ORDER_SERVICE)
-    public void handlePaymentProcessed(PaymentProcessedEvent event, Acknowledgment ack) {
-        try {
-            log.info("Received PaymentProcessedEvent: orderId={}, paymentId={}, eventId={}", 
-                     event.getOrderId(), event.getPaymentId(), event.getEventId());
-            
-            orderService.updateOrderStatusByEvent(event.getOrderId(), OrderStatus.CONFIRMED);
-            ack.acknowledge();
-            
-        } catch (Exception e) {
-            log.error("Error handling PaymentProcessedEvent: orderId={}, error={}", 
-                      event.getOrderId(), e.getMessage(), e);
-            throw e;
+    private final DeadLetterPublishingRecoverer deadLetterPublishingRecoverer;
+    private final EventDeduplicator eventDeduplicator;
+
+    @KafkaListener(
+            topics = {KafkaTopics.PAYMENT_PROCESSED, KafkaTopics.PAYMENT_FAILED, KafkaTopics.DELIVERY_DELIVERED},
+            groupId = KafkaConsumerGroups.ORDER_SERVICE,
+            containerFactory = BaseKafkaConsumerConfig.BATCH_FACTORY
+    )
+    public void handleOrderEvents(List<ConsumerRecord<String, Object>> records, Acknowledgment ack) {
+        List<ConsumerRecord<String, Object>> accepted = new ArrayList<>(records.size());
+        List<Integer> positions = new ArrayList<>(records.size());
+        List<StatusUpdate> updates = new ArrayList<>(records.size());
+
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, Object> record = records.get(i);
+            if (record.value() instanceof BaseEvent event && isDuplicate(event)) {
+                continue;
+            }
+            StatusUpdate update = toStatusUpdate(record.value());
+            if (update == null) {
+                deadLetter(record, new IllegalArgumentException(
+                        "Unreadable or unsupported event on topic " + record.topic()));
+                continue;
+            }
+            accepted.add(record);
+            positions.add(i);
+            updates.add(update);
+        }
+
+        if (!updates.isEmpty()) {
+            try {
+                Map<Integer, RuntimeException> rejected = orderService.applyStatusUpdatesByEvent(updates);
+                rejected.forEach((index, e) -> deadLetter(accepted.get(index), e));
+                accepted.forEach(this::markProcessed);
+            } catch (Exception e) {
+                log.warn("Batch of {} order events failed, applying one by one: {}", updates.size(), e.getMessage());
+                applyIndividually(accepted, positions, updates);
+            }
         }
+
+        ack.acknowledge();
     }
-    
-    @KafkaListener(topics = KafkaTopics.PAYMENT_FAILED, groupId = KafkaConsumerGroups.ORDER_SERVICE)
-    public void handlePaymentFailed(PaymentFailedEvent event, Acknowledgment ack) {
-        try {
-            log.info("Received PaymentFailedEvent: orderId={}, paymentId={}, reason={}, eventId={}", 
-                     event.getOrderId(), event.getPaymentId(), event.getErrorMessage(), event.getEventId());
-            
-            orderService.cancelOrderByEvent(event.getOrderId(), "Payment failed: " + event.getErrorMessage());
-            ack.acknowledge();
-            
-        } catch (Exception e) {
-            log.error("Error handling PaymentFailedEvent: orderId={}, error={}", 
-                      event.getOrderId(), e.getMessage(), e);
-            throw e;
+
+    private void applyIndividually(List<ConsumerRecord<String, Object>> accepted, List<Integer> positions,
+                                   List<StatusUpdate> updates) {
+        for (int i = 0; i < updates.size(); i++) {
+            try {
+                orderService.applyStatusUpdateByEvent(updates.get(i));
+                markProcessed(accepted.get(i));
+            } catch (OrderNotFoundException | InvalidOrderStateException e) {
+                deadLetter(accepted.get(i), e);
+            } catch (Exception e) {
+                log.error("Error handling order event: orderId={}, error={}",
+                          updates.get(i).orderId(), e.getMessage(), e);
+                throw new BatchListenerFailedException("Order event failed", e, positions.get(i));
+            }
         }
     }
-    
-    @KafkaListener(topics = KafkaTopics.DELIVERY_DELIVERED, groupId = KafkaConsumerGroups.ORDER_SERVICE)
-    public void handleDeliveryDelivered(DeliveryDeliveredEvent event, Acknowledgment ack) {
-        try {
-            log.info("Received DeliveryDeliveredEvent: orderId={}, deliveryId={}, eventId={}", 
-                     event.getOrderId(), event.getDeliveryId(), event.getEventId());
-            
-            orderService.updateOrderStatusByEvent(event.getOrderId(), OrderStatus.DELIVERED);
-            ack.acknowledge();
-            
-        } catch (Exception e) {
-            log.error("Error handling DeliveryDeliveredEvent: orderId={}, error={}", 
-                      event.getOrderId(), e.getMessage(), e);
-            throw e;
+
+    private boolean isDuplicate(BaseEvent event) {
+        if (eventDeduplicator.isProcessed(KafkaConsumerGroups.ORDER_SERVICE, event.getEventId())) {
+            log.debug("Skipping duplicate {}: eventId={}", event.getEventType(), event.getEventId());
+            return true;
+        }
+        return false;
+    }
+
+    private void markProcessed(ConsumerRecord<String, Object> record) {
+        if (record.value() instanceof BaseEvent event) {
+            eventDeduplicator.markProcessed(KafkaConsumerGroups.ORDER_SERVICE, event.getEventId());
+        }
+    }
+
+    private void deadLetter(ConsumerRecord<String, Object> record, Exception e) {
+        log.error("Sending order event to DLQ: topic={}, offset={}, error={}",
+                  record.topic(), record.offset(), e.getMessage());
+        deadLetterPublishingRecoverer.accept(record, e);
+    }
+
+    private static StatusUpdate toStatusUpdate(Object event) {
+        if (event instanceof PaymentProcessedEvent processed) {
+            log.debug("Received PaymentProcessedEvent: orderId={}, paymentId={}, eventId={}",
+                      processed.getOrderId(), processed.getPaymentId(), processed.getEventId());
+            return new StatusUpdate(processed.getOrderId(), OrderStatus.CONFIRMED, "Status updated from event");
+        }
+        if (event instanceof PaymentFailedEvent failed) {
+            log.debug("Received PaymentFailedEvent: orderId={}, paymentId={}, reason={}, eventId={}",
+                      failed.getOrderId(), failed.getPaymentId(), failed.getErrorMessage(), failed.getEventId());
+            return new StatusUpdate(failed.getOrderId(), OrderStatus.CANCELLED,
+                                    "Payment failed: " + failed.getErrorMessage());
+        }
+        if (event instanceof DeliveryDeliveredEvent delivered) {
+            log.debug("Received DeliveryDeliveredEvent: orderId={}, deliveryId={}, eventId={}",
+                      delivered.getOrderId(), delivered.getDeliveryId(), delivered.getEventId());
+            return new StatusUpdate(delivered.getOrderId(), OrderStatus.DELIVERED, "Status updated from event");
         }
+        return null;
     }
 }
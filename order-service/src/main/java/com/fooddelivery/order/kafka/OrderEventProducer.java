@@ -4,19 +4,22 @@ import com.fooddelivery.common.event.OrderCreatedEvent;
 import com.fooddelivery.common.event.OrderStatusChangedEvent;
 import com.fooddelivery.common.kafka.BaseKafkaEventProducer;
 import com.fooddelivery.common.kafka.KafkaTopics;
+import com.fooddelivery.common.kafka.publish.KafkaEventPublisher;
+import com.fooddelivery.common.outbox.OutboxEventWriter;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
- * Kafka event producer for order events
+ * Kafka event producer for order events (staged through the transactional outbox)
  */
 @Component
 @Slf4j
 public class OrderEventProducer extends BaseKafkaEventProducer {
     
-    public OrderEventProducer(KafkaTemplate<String, Object> kafkaTemplate) {
-        super(kafkaTemplate);
+    public OrderEventProducer(KafkaEventPublisher kafkaEventPublisher, OutboxEventWriter outboxEventWriter) {
+        super(kafkaEventPublisher, outboxEventWriter);
     }
     
     /**
@@ -42,4 +45,16 @@ public class OrderEventProducer extends BaseKafkaEventProducer {
             "OrderStatusChangedEvent"
         );
     }
+    
+    /**
+     * Publish order status changed events of a bulk transition as one batch
+     */
+    public void publishOrderStatusChangedAll(List<OrderStatusChangedEvent> events) {
+        publishAll(
+            KafkaTopics.ORDER_STATUS_CHANGED,
+            events,
+            event -> event.getOrderId().toString(),
+            "OrderStatusChangedEvent"
+        );
+    }
 }
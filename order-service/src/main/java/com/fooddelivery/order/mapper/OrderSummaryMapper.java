@@ -0,0 +1,14 @@
+package com.fooddelivery.order.mapper;
+
+import com.fooddelivery.order.dto.OrderSummaryResponseDTO;
+import com.fooddelivery.order.entity.OrderSummary;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface OrderSummaryMapper {
+
+    @Mapping(target = "id", source = "orderId")
+    OrderSummaryResponseDTO toResponse(OrderSummary orderSummary);
+}
@@ -4,6 +4,7 @@ import com.fooddelivery.order.entity.OrderHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,5 +14,9 @@ public interface OrderHistoryRepository extends JpaRepository<OrderHistory, Long
      * Find history entries for a specific order, ordered by time
      */
     List<OrderHistory> findByOrderIdOrderByChangedAtDesc(Long orderId);
+    
+    /**
+     * History of several orders in one query
+     */
+    List<OrderHistory> findByOrderIdIn(Collection<Long> orderIds);
 }
-
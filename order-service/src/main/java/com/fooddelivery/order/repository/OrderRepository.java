@@ -2,13 +2,14 @@ package com.fooddelivery.order.repository;
 
 import com.fooddelivery.order.entity.Order;
 import com.fooddelivery.order.enums.OrderStatus;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,41 +17,79 @@ import java.util.Optional;
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
     /**
-     * Find orders by user ID with pagination
+     * Find order with items eagerly loaded
      */
-    Page<Order> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
-    
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id = :orderId")
+    Optional<Order> findByIdWithItems(@Param("orderId") Long orderId);
+
     /**
-     * Find orders by restaurant ID with pagination
+     * Find orders with items eagerly loaded (one query for a whole batch of ids)
      */
-    Page<Order> findByRestaurantIdOrderByCreatedAtDesc(Long restaurantId, Pageable pageable);
-    
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id IN :orderIds")
+    List<Order> findAllByIdWithItems(@Param("orderIds") Collection<Long> orderIds);
+
     /**
-     * Find active orders for a user (not delivered or cancelled)
+     * Oldest completed orders created before the cutoff (archiving candidates)
      */
-    @Query("SELECT o FROM Order o WHERE o.userId = :userId " +
-           "AND o.status NOT IN :statuses " +
-           "ORDER BY o.createdAt DESC")
-    List<Order> findActiveOrdersByUser(
-        @Param("userId") Long userId,
-        @Param("statuses") List<OrderStatus> statuses
+    @Query("SELECT o.id FROM Order o WHERE o.status IN :statuses AND o.createdAt < :cutoff ORDER BY o.id")
+    List<Long> findArchivableIds(
+        @Param("statuses") Collection<OrderStatus> statuses,
+        @Param("cutoff") LocalDateTime cutoff,
+        Pageable limit
     );
-    
+
     /**
-     * Find active orders for a restaurant (not delivered or cancelled)
+     * Current status only (used to explain a rejected conditional update)
      */
-    @Query("SELECT o FROM Order o WHERE o.restaurantId = :restaurantId " +
-           "AND o.status NOT IN :statuses " +
-           "ORDER BY o.createdAt DESC")
-    List<Order> findActiveOrdersByRestaurant(
-        @Param("restaurantId") Long restaurantId,
-        @Param("statuses") List<OrderStatus> statuses
+    @Query("SELECT o.status FROM Order o WHERE o.id = :orderId")
+    Optional<OrderStatus> findStatusById(@Param("orderId") Long orderId);
+
+    /**
+     * Just the columns a status transition needs, without loading the orders
+     */
+    @Query("SELECT o.id AS id, o.userId AS userId, o.restaurantId AS restaurantId, o.status AS status, " +
+           "o.promoCode AS promoCode FROM Order o WHERE o.id IN :orderIds")
+    List<StatusRow> findStatusRowsByIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Compare-and-set status transition in one statement: the row is updated only while its
+     * status is one of {@code fromStatuses}, and the pre-update status plus the fields needed
+     * for the status event come back through OUTPUT. Empty when the guard did not match.
+     * Concurrent transitions serialize on the row lock, so none of them is lost.
+     */
+    @Query(value = "UPDATE orders SET status = :newStatus, updated_at = :now, version = version + 1, " +
+                   "delivered_at = CASE WHEN :newStatus = 'DELIVERED' THEN :now ELSE delivered_at END " +
+                   "OUTPUT deleted.status AS oldStatus, inserted.user_id AS userId, " +
+                   "inserted.restaurant_id AS restaurantId, inserted.promo_code AS promoCode, " +
+                   "inserted.delivered_at AS deliveredAt " +
+                   "WHERE id = :orderId AND status IN (:fromStatuses)",
+           nativeQuery = true)
+    Optional<StatusTransition> transitionStatus(
+        @Param("orderId") Long orderId,
+        @Param("newStatus") String newStatus,
+        @Param("fromStatuses") Collection<String> fromStatuses,
+        @Param("now") LocalDateTime now
     );
 
     /**
-     * Find order with items eagerly loaded
+     * Row returned by {@link #findStatusRowsByIdIn}
      */
-    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id = :orderId")
-    Optional<Order> findByIdWithItems(@Param("orderId") Long orderId);
-}
+    interface StatusRow {
+        Long getId();
+        Long getUserId();
+        Long getRestaurantId();
+        OrderStatus getStatus();
+        String getPromoCode();
+    }
 
+    /**
+     * Row returned by {@link #transitionStatus}
+     */
+    interface StatusTransition {
+        String getOldStatus();
+        Long getUserId();
+        Long getRestaurantId();
+        String getPromoCode();
+        LocalDateTime getDeliveredAt();
+    }
+}
@@ -0,0 +1,151 @@
+package com.fooddelivery.order.repository;
+
+import com.fooddelivery.order.enums.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JDBC batch statements for bulk status transitions (one round trip per statement kind
+ * instead of one per order). Shares the JPA transaction through the service DataSource.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderStatusBatchRepository {
+    
+    /**
+     * Ids per IN list, well below the SQL Server limit of 2100 parameters per statement
+     */
+    private static final int MAX_IN_LIST = 1000;
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Guarded status updates: each row is updated only while it still has {@code fromStatus}
+     *
+     * @return per change, whether the guard matched (false = the order changed concurrently)
+     */
+    public boolean[] updateStatuses(List<StatusChange> changes, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        int[] counts = jdbcTemplate.batchUpdate("""
+                UPDATE orders
+                SET status = ?, updated_at = ?, version = version + 1,
+                    delivered_at = CASE WHEN ? = 'DELIVERED' THEN ? ELSE delivered_at END
+                WHERE id = ? AND status = ?
+                """, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        StatusChange change = changes.get(i);
+                        ps.setString(1, change.toStatus().name());
+                        ps.setTimestamp(2, timestamp);
+                        ps.setString(3, change.toStatus().name());
+                        ps.setTimestamp(4, timestamp);
+                        ps.setLong(5, change.orderId());
+                        ps.setString(6, change.fromStatus().name());
+                    }
+                    
+                    @Override
+                    public int getBatchSize() {
+                        return changes.size();
+                    }
+                });
+        
+        boolean[] applied = new boolean[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            applied[i] = counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO;
+        }
+        return applied;
+    }
+    
+    /**
+     * Guarded status updates as set-based statements: one
+     * {@code UPDATE ... WHERE id IN (...) AND status = expected} per distinct (from, to) pair
+     *
+     * @return ids of the orders that were updated; the others changed concurrently
+     */
+    public Set<Long> updateStatusesInBulk(List<StatusChange> changes, LocalDateTime now) {
+        Map<Transition, List<Long>> byTransition = new LinkedHashMap<>();
+        for (StatusChange change : changes) {
+            byTransition.computeIfAbsent(new Transition(change.fromStatus(), change.toStatus()), t -> new ArrayList<>())
+                    .add(change.orderId());
+        }
+        
+        Timestamp timestamp = Timestamp.valueOf(now);
+        Set<Long> updated = new HashSet<>();
+        byTransition.forEach((transition, orderIds) -> {
+            for (int from = 0; from < orderIds.size(); from += MAX_IN_LIST) {
+                List<Long> chunk = orderIds.subList(from, Math.min(from + MAX_IN_LIST, orderIds.size()));
+                List<Object> args = new ArrayList<>(chunk.size() + 5);
+                args.add(transition.toStatus().name());
+                args.add(timestamp);
+                args.add(transition.toStatus().name());
+                args.add(timestamp);
+                args.addAll(chunk);
+                args.add(transition.fromStatus().name());
+                updated.addAll(jdbcTemplate.queryForList("""
+                        UPDATE orders
+                        SET status = ?, updated_at = ?, version = version + 1,
+                            delivered_at = CASE WHEN ? = 'DELIVERED' THEN ? ELSE delivered_at END
+                        OUTPUT inserted.id
+                        WHERE id IN (%s) AND status = ?
+                        """.formatted(String.join(", ", Collections.nCopies(chunk.size(), "?"))),
+                        Long.class, args.toArray()));
+            }
+        });
+        return updated;
+    }
+    
+    public void insertHistory(List<HistoryEntry> entries, LocalDateTime now) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Timestamp timestamp = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO order_history (order_id, status, changed_by, comment, changed_at)
+                VALUES (?, ?, ?, ?, ?)
+                """, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        HistoryEntry entry = entries.get(i);
+                        ps.setLong(1, entry.orderId());
+                        ps.setString(2, entry.status().name());
+                        ps.setLong(3, entry.changedBy());
+                        if (entry.comment() != null) {
+                            ps.setString(4, entry.comment());
+                        } else {
+                            ps.setNull(4, Types.VARCHAR);
+                        }
+                        ps.setTimestamp(5, timestamp);
+                    }
+                    
+                    @Override
+                    public int getBatchSize() {
+                        return entries.size();
+                    }
+                });
+    }
+    
+    public record StatusChange(Long orderId, OrderStatus fromStatus, OrderStatus toStatus) {
+    }
+    
+    private record Transition(OrderStatus fromStatus, OrderStatus toStatus) {
+    }
+    
+    public record HistoryEntry(Long orderId, OrderStatus status, Long changedBy, String comment) {
+    }
+}
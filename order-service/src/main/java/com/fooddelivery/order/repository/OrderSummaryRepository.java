@@ -0,0 +1,73 @@
+package com.fooddelivery.order.repository;
+
+import com.fooddelivery.order.entity.OrderSummary;
+import com.fooddelivery.order.enums.OrderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, Long> {
+
+    /**
+     * Keyset page of a user's orders, newest first (see CursorPagination)
+     */
+    @Query("SELECT s FROM OrderSummary s WHERE s.userId = :userId " +
+           "AND (s.createdAt < :createdAt OR (s.createdAt = :createdAt AND s.orderId < :id)) " +
+           "ORDER BY s.createdAt DESC, s.orderId DESC")
+    Slice<OrderSummary> findPageByUserId(
+        @Param("userId") Long userId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable limit
+    );
+
+    /**
+     * Keyset page of a restaurant's orders, newest first (see CursorPagination)
+     */
+    @Query("SELECT s FROM OrderSummary s WHERE s.restaurantId = :restaurantId " +
+           "AND (s.createdAt < :createdAt OR (s.createdAt = :createdAt AND s.orderId < :id)) " +
+           "ORDER BY s.createdAt DESC, s.orderId DESC")
+    Slice<OrderSummary> findPageByRestaurantId(
+        @Param("restaurantId") Long restaurantId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable limit
+    );
+
+    @Query("SELECT s FROM OrderSummary s WHERE s.userId = :userId " +
+           "AND s.status NOT IN :statuses " +
+           "ORDER BY s.createdAt DESC")
+    List<OrderSummary> findActiveByUser(
+        @Param("userId") Long userId,
+        @Param("statuses") List<OrderStatus> statuses
+    );
+
+    @Query("SELECT s FROM OrderSummary s WHERE s.restaurantId = :restaurantId " +
+           "AND s.status NOT IN :statuses " +
+           "ORDER BY s.createdAt DESC")
+    List<OrderSummary> findActiveByRestaurant(
+        @Param("restaurantId") Long restaurantId,
+        @Param("statuses") List<OrderStatus> statuses
+    );
+
+    /**
+     * Apply a status transition without loading the row
+     */
+    @Modifying
+    @Query("UPDATE OrderSummary s SET s.status = :status, s.updatedAt = :updatedAt, " +
+           "s.deliveredAt = :deliveredAt WHERE s.orderId = :orderId")
+    int updateStatus(
+        @Param("orderId") Long orderId,
+        @Param("status") OrderStatus status,
+        @Param("updatedAt") LocalDateTime updatedAt,
+        @Param("deliveredAt") LocalDateTime deliveredAt
+    );
+}
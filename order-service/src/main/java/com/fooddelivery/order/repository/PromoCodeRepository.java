@@ -2,29 +2,56 @@ package com.fooddelivery.order.repository;
 
 import com.fooddelivery.order.entity.PromoCode;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.List;
 
 @Repository
 public interface PromoCodeRepository extends JpaRepository<PromoCode, Long> {
 
     /**
-     * Find active and valid promo code
+     * Load promo codes that are active now or will become active (feeds PromoCodeIndex)
      */
-    @Query("SELECT p FROM PromoCode p WHERE UPPER(p.code) = UPPER(:code) " +
-           "AND p.active = true " +
+    @Query("SELECT p FROM PromoCode p WHERE p.active = true " +
            "AND p.deletedAt IS NULL " +
-           "AND p.validFrom <= :now " +
            "AND p.validUntil >= :now")
-    Optional<PromoCode> findActiveByCode(@Param("code") String code, @Param("now") LocalDateTime now);
+    List<PromoCode> findAllActive(@Param("now") LocalDateTime now);
 
     /**
      * Check if promo code exists
      */
     boolean existsByCodeIgnoreCase(String code);
-}
 
+    /**
+     * Reset current_uses from the usage rows. Also takes the row lock, which serializes
+     * DB-only redemptions of the same code until the surrounding transaction ends.
+     */
+    @Modifying
+    @Query(value = "UPDATE promo_codes SET current_uses = " +
+                   "(SELECT COUNT(*) FROM promo_code_usage u WHERE u.promo_code_id = :id) " +
+                   "WHERE id = :id", nativeQuery = true)
+    int recountUsage(@Param("id") Long id);
+
+    /**
+     * Compare-and-set increment: only succeeds while the code is under its total limit
+     */
+    @Modifying
+    @Query("UPDATE PromoCode p SET p.currentUses = p.currentUses + 1 " +
+           "WHERE p.id = :id AND (p.maxTotalUses IS NULL OR p.currentUses < p.maxTotalUses)")
+    int incrementUsageIfAvailable(@Param("id") Long id);
+
+    /**
+     * Reconcile current_uses of all live promo codes with promo_code_usage
+     */
+    @Modifying
+    @Query(value = "UPDATE p SET p.current_uses = COALESCE(u.cnt, 0) " +
+                   "FROM promo_codes p " +
+                   "LEFT JOIN (SELECT promo_code_id, COUNT(*) AS cnt FROM promo_code_usage GROUP BY promo_code_id) u " +
+                   "ON u.promo_code_id = p.id " +
+                   "WHERE p.deleted_at IS NULL AND p.current_uses <> COALESCE(u.cnt, 0)", nativeQuery = true)
+    int syncUsageCounters();
+}
@@ -2,8 +2,13 @@ package com.fooddelivery.order.repository;
 
 import com.fooddelivery.order.entity.PromoCodeUsage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface PromoCodeUsageRepository extends JpaRepository<PromoCodeUsage, Long> {
 
@@ -11,5 +16,17 @@ public interface PromoCodeUsageRepository extends JpaRepository<PromoCodeUsage,
      * Count how many times a user has used a specific promo code
      */
     int countByUserIdAndPromoCodeId(Long userId, Long promoCodeId);
-}
 
+    /**
+     * Count all redemptions of a promo code (seeds the Redis counter)
+     */
+    long countByPromoCodeId(Long promoCodeId);
+
+    List<PromoCodeUsage> findByOrderId(Long orderId);
+
+    /**
+     * Which of the given reservation tokens belong to committed redemptions
+     */
+    @Query("SELECT u.reservationToken FROM PromoCodeUsage u WHERE u.reservationToken IN :tokens")
+    List<String> findReservationTokensIn(@Param("tokens") Collection<String> tokens);
+}
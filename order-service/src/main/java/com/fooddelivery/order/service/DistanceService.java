@@ -0,0 +1,100 @@
+package com.fooddelivery.order.service;
+
+import com.fooddelivery.common.cache.BoundedTtlCache;
+import com.fooddelivery.order.config.PricingProperties;
+import com.fooddelivery.order.dto.GeoPoint;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Distance engine for delivery pricing and ETA.
+ * 
+ * Keeps restaurant and address coordinates in bounded local caches (TTL as a safety net,
+ * restaurant.location.changed / user.address.changed events for prompt invalidation) and
+ * memoizes the computed distance per (restaurantId, addressId) route.
+ * Distance is the great-circle (haversine) distance scaled by a road detour factor.
+ */
+@Service
+@Slf4j
+public class DistanceService {
+    
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    
+    private final PricingProperties pricingProperties;
+    private final BoundedTtlCache<Long, GeoPoint> restaurantLocations;
+    private final BoundedTtlCache<Long, GeoPoint> addressLocations;
+    private final BoundedTtlCache<RouteKey, Double> routeDistances;
+    
+    public DistanceService(PricingProperties pricingProperties) {
+        this.pricingProperties = pricingProperties;
+        this.restaurantLocations = new BoundedTtlCache<>(
+                pricingProperties.getLocationCacheSize(), pricingProperties.getLocationCacheTtl());
+        this.addressLocations = new BoundedTtlCache<>(
+                pricingProperties.getLocationCacheSize(), pricingProperties.getLocationCacheTtl());
+        this.routeDistances = new BoundedTtlCache<>(
+                pricingProperties.getRouteCacheSize(), pricingProperties.getRouteCacheTtl());
+    }
+    
+    public GeoPoint getCachedRestaurantLocation(Long restaurantId) {
+        return restaurantLocations.get(restaurantId);
+    }
+    
+    public GeoPoint getCachedAddressLocation(Long addressId) {
+        return addressLocations.get(addressId);
+    }
+    
+    public void cacheRestaurantLocation(Long restaurantId, GeoPoint location) {
+        if (location != null) {
+            restaurantLocations.put(restaurantId, location);
+        }
+    }
+    
+    public void cacheAddressLocation(Long addressId, GeoPoint location) {
+        if (location != null) {
+            addressLocations.put(addressId, location);
+        }
+    }
+    
+    public void evictRestaurant(long restaurantId) {
+        restaurantLocations.invalidate(restaurantId);
+        routeDistances.invalidateIf(route -> route.restaurantId() == restaurantId);
+        log.debug("Evicted cached location and routes for restaurant {}", restaurantId);
+    }
+    
+    public void evictAddress(long addressId) {
+        addressLocations.invalidate(addressId);
+        routeDistances.invalidateIf(route -> route.addressId() == addressId);
+        log.debug("Evicted cached location and routes for address {}", addressId);
+    }
+    
+    /**
+     * Road distance for a route, computed at most once per (restaurantId, addressId) while cached
+     * 
+     * @return distance in km, or null when either endpoint has no coordinates
+     */
+    public Double routeDistanceKm(Long restaurantId, Long addressId, GeoPoint pickup, GeoPoint dropoff) {
+        RouteKey key = new RouteKey(restaurantId, addressId);
+        Double cached = routeDistances.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        if (pickup == null || dropoff == null) {
+            return null;
+        }
+        
+        double distanceKm = haversineKm(pickup, dropoff) * pricingProperties.getRouteFactor();
+        routeDistances.put(key, distanceKm);
+        return distanceKm;
+    }
+    
+    static double haversineKm(GeoPoint from, GeoPoint to) {
+        double dLat = Math.toRadians(to.latitude() - from.latitude());
+        double dLon = Math.toRadians(to.longitude() - from.longitude());
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(from.latitude())) * Math.cos(Math.toRadians(to.latitude()))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+    
+    private record RouteKey(long restaurantId, long addressId) {}
+}
@@ -0,0 +1,120 @@
+package com.fooddelivery.order.service;
+
+import com.fooddelivery.order.config.ExternalServicesProperties;
+import com.fooddelivery.order.dto.MenuItemBatchResponseDTO;
+import com.fooddelivery.order.dto.MenuItemSnapshotDTO;
+import com.fooddelivery.order.dto.MenuItemSnapshotPageDTO;
+import com.fooddelivery.order.exception.InvalidOrderDataException;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Blocking HTTP client for restaurant-service and user-service lookups.
+ * Kept as a separate bean so Resilience4j proxies apply to every call
+ * (annotations on private methods of the caller are never intercepted).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExternalServicesClient {
+    
+    private final RestTemplate restTemplate;
+    private final ExternalServicesProperties servicesProperties;
+    
+    @CircuitBreaker(name = "restaurantService", fallbackMethod = "fetchMenuItemsFallback")
+    @Retry(name = "restaurantService")
+    public Map<Long, MenuItemSnapshotDTO> fetchMenuItems(List<Long> menuItemIds) {
+        try {
+            String url = servicesProperties.getRestaurant().getBaseUrl() + 
+                         servicesProperties.getRestaurant().getMenuItemsBatchEndpoint() + 
+                         "?ids=" + String.join(",", menuItemIds.stream().map(String::valueOf).toList());
+            
+            log.debug("Fetching menu items from: {}", url);
+            
+            MenuItemBatchResponseDTO response = restTemplate.getForObject(url, MenuItemBatchResponseDTO.class);
+            if (response == null || response.items() == null) {
+                return Map.of();
+            }
+            
+            return response.items().stream()
+                    .collect(Collectors.toMap(MenuItemSnapshotDTO::id, Function.identity()));
+        } catch (Exception e) {
+            log.error("Failed to fetch menu items data", e);
+            throw new InvalidOrderDataException("Failed to fetch menu items data");
+        }
+    }
+    
+    private Map<Long, MenuItemSnapshotDTO> fetchMenuItemsFallback(List<Long> menuItemIds, Exception e) {
+        log.error("Circuit breaker fallback: Failed to fetch menu items data after retries", e);
+        throw new InvalidOrderDataException("Restaurant service is temporarily unavailable. Please try again later.");
+    }
+    
+    /**
+     * One page of the full menu snapshot; failures propagate so the loader retries later
+     */
+    @CircuitBreaker(name = "restaurantService")
+    @Retry(name = "restaurantService")
+    public MenuItemSnapshotPageDTO fetchMenuSnapshotPage(long afterId, int limit) {
+        String url = servicesProperties.getRestaurant().getBaseUrl() + 
+                     servicesProperties.getRestaurant().getMenuSnapshotEndpoint() + 
+                     "?afterId=" + afterId + "&limit=" + limit;
+        
+        MenuItemSnapshotPageDTO page = restTemplate.getForObject(url, MenuItemSnapshotPageDTO.class);
+        return page != null ? page : new MenuItemSnapshotPageDTO(List.of(), null);
+    }
+    
+    @CircuitBreaker(name = "restaurantService", fallbackMethod = "fetchRestaurantFallback")
+    @Retry(name = "restaurantService")
+    public Map<String, Object> fetchRestaurant(Long restaurantId) {
+        try {
+            String url = servicesProperties.getRestaurant().getBaseUrl() + 
+                         servicesProperties.getRestaurant().getRestaurantsEndpoint() + 
+                         "/" + restaurantId;
+            
+            @SuppressWarnings("unchecked")
+            Map<String, Object> response = restTemplate.getForObject(url, Map.class);
+            
+            return response != null ? response : Map.of();
+        } catch (Exception e) {
+            log.error("Failed to fetch restaurant data for restaurant {}", restaurantId, e);
+            return Map.of();
+        }
+    }
+    
+    private Map<String, Object> fetchRestaurantFallback(Long restaurantId, Exception e) {
+        log.warn("Circuit breaker fallback: Using empty restaurant data for restaurant {}", restaurantId);
+        return Map.of();
+    }
+    
+    @CircuitBreaker(name = "userService", fallbackMethod = "fetchAddressFallback")
+    @Retry(name = "userService")
+    public Map<String, Object> fetchAddress(Long addressId) {
+        try {
+            String url = servicesProperties.getUser().getBaseUrl() + 
+                         servicesProperties.getUser().getAddressesEndpoint() + 
+                         "/" + addressId;
+            
+            @SuppressWarnings("unchecked")
+            Map<String, Object> response = restTemplate.getForObject(url, Map.class);
+            
+            return response != null ? response : Map.of();
+        } catch (Exception e) {
+            log.error("Failed to fetch address data for address {}", addressId, e);
+            return Map.of();
+        }
+    }
+    
+    private Map<String, Object> fetchAddressFallback(Long addressId, Exception e) {
+        log.warn("Circuit breaker fallback: Using empty address data for address {}", addressId);
+        return Map.of();
+    }
+}
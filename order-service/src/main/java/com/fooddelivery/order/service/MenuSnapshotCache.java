@@ -0,0 +1,213 @@
+package com.fooddelivery.order.service;
+
+import com.fooddelivery.common.event.MenuItemChangedEvent;
+import com.fooddelivery.order.dto.MenuItemSnapshotDTO;
+import com.fooddelivery.order.dto.MenuItemVersionDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * In-memory copy of menu item names, prices and availability, keyed by primitive menu item id.
+ * 
+ * Fed by menu.item.changed events and bootstrapped from the restaurant-service snapshot.
+ * Every entry carries the item version (updatedAt millis) and older writes are dropped, so
+ * the bootstrap and the event stream can interleave in any order. Deleted items stay as
+ * tombstones so a late snapshot row cannot resurrect them.
+ * 
+ * Reads are lock-free (optimistic StampedLock read over an open-addressing long[] table);
+ * writes are rare and serialized.
+ */
+@Component
+@Slf4j
+public class MenuSnapshotCache {
+    
+    private static final int INITIAL_CAPACITY = 1 << 12;
+    
+    private final StampedLock lock = new StampedLock();
+    private volatile Table table = new Table(INITIAL_CAPACITY);
+    private volatile boolean bootstrapped;
+    
+    /**
+     * Resolve menu items locally.
+     * 
+     * @return hits keyed by id; deleted items are known-absent and reported in neither map nor misses
+     */
+    public Lookup lookup(Collection<Long> menuItemIds) {
+        Map<Long, MenuItemSnapshotDTO> hits = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        
+        for (Long id : menuItemIds) {
+            Entry entry = id != null ? get(id) : null;
+            if (entry == null) {
+                misses.add(id);
+            } else if (!entry.deleted()) {
+                hits.put(id, entry.toSnapshot(id));
+            }
+        }
+        return new Lookup(hits, misses);
+    }
+    
+    public void apply(MenuItemChangedEvent event) {
+        if (event.getMenuItemId() == null) {
+            return;
+        }
+        Entry entry = event.isDeleted()
+                ? Entry.tombstone(event.getRestaurantId(), event.getVersion())
+                : new Entry(event.getRestaurantId(), event.getName(), event.getPrice(),
+                            Boolean.TRUE.equals(event.getAvailable()), false, versionOrZero(event.getVersion()));
+        put(event.getMenuItemId(), entry, false);
+    }
+    
+    public void apply(MenuItemVersionDTO row) {
+        put(row.id(), new Entry(row.restaurantId(), row.name(), row.price(), Boolean.TRUE.equals(row.isAvailable()),
+                                false, MenuItemChangedEvent.versionOf(row.updatedAt())), false);
+    }
+    
+    /**
+     * Remember an item fetched remotely on a miss; never overrides an entry from events or the snapshot
+     */
+    public void putIfAbsent(MenuItemSnapshotDTO snapshot) {
+        put(snapshot.id(), new Entry(snapshot.restaurantId(), snapshot.name(), snapshot.price(),
+                                     Boolean.TRUE.equals(snapshot.isAvailable()), false, 0L), true);
+    }
+    
+    public boolean isBootstrapped() {
+        return bootstrapped;
+    }
+    
+    public void markBootstrapped() {
+        bootstrapped = true;
+    }
+    
+    public int size() {
+        return table.size;
+    }
+    
+    private Entry get(long id) {
+        long stamp = lock.tryOptimisticRead();
+        Entry entry = table.find(id);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                entry = table.find(id);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return entry;
+    }
+    
+    private void put(Long id, Entry entry, boolean onlyIfAbsent) {
+        if (id == null || id <= 0) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            int slot = current.slotOf(id);
+            Entry existing = current.values[slot];
+            if (existing != null && (onlyIfAbsent || existing.version() > entry.version())) {
+                return;
+            }
+            if (existing == null && current.size + 1 > current.keys.length >> 1) {
+                current = current.resize();
+                table = current;
+                slot = current.slotOf(id);
+            }
+            current.store(slot, id, entry);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    private static long versionOrZero(Long version) {
+        return version != null ? version : 0L;
+    }
+    
+    /**
+     * Result of a local lookup
+     */
+    public record Lookup(Map<Long, MenuItemSnapshotDTO> hits, List<Long> misses) {}
+    
+    private record Entry(Long restaurantId, String name, BigDecimal price, boolean available,
+                         boolean deleted, long version) {
+        
+        static Entry tombstone(Long restaurantId, Long version) {
+            return new Entry(restaurantId, null, null, false, true, versionOrZero(version));
+        }
+        
+        MenuItemSnapshotDTO toSnapshot(long id) {
+            return new MenuItemSnapshotDTO(id, restaurantId, name, price, available);
+        }
+    }
+    
+    /**
+     * Linear-probing table; key 0 marks an empty slot (ids are positive), load factor at most 1/2.
+     * Keys and values live in one object so an optimistic reader never mixes two generations.
+     */
+    private static final class Table {
+        
+        final long[] keys;
+        final Entry[] values;
+        int size;
+        
+        Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Entry[capacity];
+        }
+        
+        Entry find(long id) {
+            int mask = keys.length - 1;
+            for (int i = mix(id) & mask; ; i = (i + 1) & mask) {
+                long key = keys[i];
+                if (key == id) {
+                    return values[i];
+                }
+                if (key == 0) {
+                    return null;
+                }
+            }
+        }
+        
+        int slotOf(long id) {
+            int mask = keys.length - 1;
+            int i = mix(id) & mask;
+            while (keys[i] != 0 && keys[i] != id) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+        
+        void store(int slot, long id, Entry entry) {
+            if (keys[slot] == 0) {
+                size++;
+            }
+            // value first: a concurrent optimistic reader that sees the key is re-validated anyway
+            values[slot] = entry;
+            keys[slot] = id;
+        }
+        
+        Table resize() {
+            Table bigger = new Table(keys.length << 1);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0) {
+                    bigger.store(bigger.slotOf(keys[i]), keys[i], values[i]);
+                }
+            }
+            return bigger;
+        }
+        
+        private static int mix(long id) {
+            long h = id * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.fooddelivery.order.service;
+
+import com.fooddelivery.order.config.ExternalServicesProperties;
+import com.fooddelivery.order.dto.MenuItemSnapshotPageDTO;
+import com.fooddelivery.order.dto.MenuItemVersionDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+/**
+ * Bootstraps the local menu snapshot from restaurant-service once the menu.item.changed
+ * listener has fixed its position (see MenuItemEventConsumer): changes published after that
+ * reach the listener, so none can fall between the snapshot fetch and the stream. Retried on
+ * a fixed delay until the first complete pass succeeds; until then order creation simply falls
+ * back to remote lookups for misses.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MenuSnapshotLoader {
+    
+    private final ExternalServicesClient externalServicesClient;
+    private final ExternalServicesProperties servicesProperties;
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final TaskScheduler taskScheduler;
+    
+    private volatile boolean listenerPositioned;
+    
+    /**
+     * Called once the listener's partitions are positioned; starts the first bootstrap attempt
+     */
+    public void listenerPositioned() {
+        if (!listenerPositioned) {
+            listenerPositioned = true;
+            taskScheduler.schedule(this::bootstrapIfNeeded, Instant.now());
+        }
+    }
+    
+    @Scheduled(initialDelayString = "${app.services.restaurant.menu-snapshot-retry-interval:60s}",
+               fixedDelayString = "${app.services.restaurant.menu-snapshot-retry-interval:60s}")
+    public synchronized void bootstrapIfNeeded() {
+        if (!listenerPositioned || menuSnapshotCache.isBootstrapped()) {
+            return;
+        }
+        
+        int pageSize = servicesProperties.getRestaurant().getMenuSnapshotPageSize();
+        long afterId = 0L;
+        int loaded = 0;
+        try {
+            while (true) {
+                MenuItemSnapshotPageDTO page = externalServicesClient.fetchMenuSnapshotPage(afterId, pageSize);
+                for (MenuItemVersionDTO row : page.items()) {
+                    menuSnapshotCache.apply(row);
+                }
+                loaded += page.items().size();
+                if (page.nextAfterId() == null) {
+                    break;
+                }
+                afterId = page.nextAfterId();
+            }
+            menuSnapshotCache.markBootstrapped();
+            log.info("Menu snapshot bootstrapped: {} items loaded, {} cached", loaded, menuSnapshotCache.size());
+        } catch (Exception e) {
+            log.warn("Menu snapshot bootstrap failed after {} items, will retry: {}", loaded, e.getMessage());
+        }
+    }
+}
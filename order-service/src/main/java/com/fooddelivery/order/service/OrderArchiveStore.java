@@ -0,0 +1,242 @@
+package com.fooddelivery.order.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fooddelivery.common.cache.BoundedTtlCache;
+import com.fooddelivery.order.config.RetentionProperties;
+import com.fooddelivery.order.entity.Order;
+import com.fooddelivery.order.entity.OrderHistory;
+import com.fooddelivery.order.entity.OrderItem;
+import com.fooddelivery.order.enums.OrderStatus;
+import com.fooddelivery.order.repository.OrderArchiveEntryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compressed local archive of completed orders.
+ * <p>
+ * Each archiving batch becomes one gzip JSON-lines file ({@code yyyy/MM/orders-<firstId>-<lastId>-<millis>.jsonl.gz},
+ * one order with its items and history per line); order_archive_index maps every archived order id to
+ * its file. Lookups stream the file until the order is found and keep the result in a small
+ * in-process cache, so a customer re-opening an old order does not re-read the file.
+ */
+@Component
+@Slf4j
+public class OrderArchiveStore {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader archivedOrderReader;
+    private final OrderArchiveEntryRepository archiveEntryRepository;
+    private final Path archiveRoot;
+    private final BoundedTtlCache<Long, ArchivedOrder> lookupCache;
+
+    public OrderArchiveStore(ObjectMapper objectMapper,
+                             OrderArchiveEntryRepository archiveEntryRepository,
+                             RetentionProperties properties) {
+        this.objectMapper = objectMapper;
+        this.archivedOrderReader = objectMapper.readerFor(ArchivedOrder.class);
+        this.archiveEntryRepository = archiveEntryRepository;
+        this.archiveRoot = Paths.get(properties.getArchiveDir()).toAbsolutePath().normalize();
+        this.lookupCache = new BoundedTtlCache<>(properties.getLookupCacheSize(), properties.getLookupCacheTtl());
+    }
+
+    /**
+     * Write one batch to a new archive file (written to a temp file and moved into place,
+     * so a crash never leaves a truncated archive behind)
+     *
+     * @return file path relative to the archive root, as stored in order_archive_index
+     */
+    public String write(List<ArchivedOrder> orders) throws IOException {
+        LocalDate today = LocalDate.now();
+        Path directory = archiveRoot.resolve(String.format("%04d/%02d", today.getYear(), today.getMonthValue()));
+        Files.createDirectories(directory);
+
+        String fileName = String.format("orders-%d-%d-%d.jsonl.gz",
+                orders.get(0).id(), orders.get(orders.size() - 1).id(), System.currentTimeMillis());
+        Path target = directory.resolve(fileName);
+        Path temp = directory.resolve(fileName + ".tmp");
+
+        try (Writer writer = new OutputStreamWriter(
+                new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temp))), StandardCharsets.UTF_8)) {
+            for (ArchivedOrder order : orders) {
+                writer.write(objectMapper.writeValueAsString(order));
+                writer.write('\n');
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        return archiveRoot.relativize(target).toString().replace('\\', '/');
+    }
+
+    /**
+     * Archived order by id, empty if the order was never archived
+     */
+    public Optional<ArchivedOrder> find(Long orderId) {
+        ArchivedOrder cached = lookupCache.get(orderId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return archiveEntryRepository.findById(orderId)
+                .flatMap(entry -> read(entry.getArchiveFile(), orderId));
+    }
+
+    private Optional<ArchivedOrder> read(String archiveFile, Long orderId) {
+        Path file = archiveRoot.resolve(archiveFile).normalize();
+        if (!file.startsWith(archiveRoot)) {
+            log.error("Archive path {} escapes the archive root, ignoring", archiveFile);
+            return Optional.empty();
+        }
+        try (InputStream in = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file)));
+             MappingIterator<ArchivedOrder> orders = archivedOrderReader.readValues(in)) {
+            while (orders.hasNext()) {
+                ArchivedOrder order = orders.next();
+                if (orderId.equals(order.id())) {
+                    lookupCache.put(orderId, order);
+                    return Optional.of(order);
+                }
+            }
+            log.warn("Order {} not found in archive file {}", orderId, archiveFile);
+        } catch (NoSuchFileException e) {
+            log.error("Archive file {} for order {} is missing", archiveFile, orderId);
+        } catch (IOException e) {
+            log.error("Failed to read archive file {} for order {}: {}", archiveFile, orderId, e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    public record ArchivedOrder(
+        Long id,
+        Long userId,
+        Long restaurantId,
+        Long deliveryAddressId,
+        OrderStatus status,
+        BigDecimal subtotal,
+        BigDecimal deliveryFee,
+        BigDecimal discount,
+        BigDecimal totalAmount,
+        String promoCode,
+        String specialInstructions,
+        Integer estimatedDeliveryTime,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime deliveredAt,
+        List<ArchivedItem> items,
+        List<ArchivedHistory> history
+    ) {
+
+        public static ArchivedOrder of(Order order, List<OrderHistory> history) {
+            return new ArchivedOrder(
+                order.getId(), order.getUserId(), order.getRestaurantId(), order.getDeliveryAddressId(),
+                order.getStatus(), order.getSubtotal(), order.getDeliveryFee(), order.getDiscount(),
+                order.getTotalAmount(), order.getPromoCode(), order.getSpecialInstructions(),
+                order.getEstimatedDeliveryTime(), order.getCreatedAt(), order.getUpdatedAt(), order.getDeliveredAt(),
+                order.getItems().stream().map(ArchivedItem::of).toList(),
+                history.stream().map(ArchivedHistory::of).toList());
+        }
+
+        /**
+         * Detached, read-only Order rebuilt from the archive (for mapping to response DTOs)
+         */
+        public Order toOrder() {
+            Order order = new Order();
+            order.setId(id);
+            order.setUserId(userId);
+            order.setRestaurantId(restaurantId);
+            order.setDeliveryAddressId(deliveryAddressId);
+            order.setStatus(status);
+            order.setSubtotal(subtotal);
+            order.setDeliveryFee(deliveryFee);
+            order.setDiscount(discount);
+            order.setTotalAmount(totalAmount);
+            order.setPromoCode(promoCode);
+            order.setSpecialInstructions(specialInstructions);
+            order.setEstimatedDeliveryTime(estimatedDeliveryTime);
+            order.setCreatedAt(createdAt);
+            order.setUpdatedAt(updatedAt);
+            order.setDeliveredAt(deliveredAt);
+            items.forEach(item -> {
+                OrderItem orderItem = item.toOrderItem();
+                orderItem.setOrder(order);
+                order.getItems().add(orderItem);
+            });
+            history.forEach(entry -> {
+                OrderHistory orderHistory = entry.toOrderHistory();
+                orderHistory.setOrder(order);
+                order.getHistory().add(orderHistory);
+            });
+            return order;
+        }
+    }
+
+    public record ArchivedItem(
+        Long id,
+        Long menuItemId,
+        String menuItemName,
+        Integer quantity,
+        BigDecimal price,
+        BigDecimal subtotal,
+        String specialInstructions
+    ) {
+
+        static ArchivedItem of(OrderItem item) {
+            return new ArchivedItem(item.getId(), item.getMenuItemId(), item.getMenuItemName(), item.getQuantity(),
+                    item.getPrice(), item.getSubtotal(), item.getSpecialInstructions());
+        }
+
+        OrderItem toOrderItem() {
+            OrderItem item = new OrderItem();
+            item.setId(id);
+            item.setMenuItemId(menuItemId);
+            item.setMenuItemName(menuItemName);
+            item.setQuantity(quantity);
+            item.setPrice(price);
+            item.setSubtotal(subtotal);
+            item.setSpecialInstructions(specialInstructions);
+            return item;
+        }
+    }
+
+    public record ArchivedHistory(
+        Long id,
+        OrderStatus status,
+        Long changedBy,
+        String comment,
+        LocalDateTime changedAt
+    ) {
+
+        static ArchivedHistory of(OrderHistory history) {
+            return new ArchivedHistory(history.getId(), history.getStatus(), history.getChangedBy(),
+                    history.getComment(), history.getChangedAt());
+        }
+
+        OrderHistory toOrderHistory() {
+            OrderHistory history = new OrderHistory();
+            history.setId(id);
+            history.setStatus(status);
+            history.setChangedBy(changedBy);
+            history.setComment(comment);
+            history.setChangedAt(changedAt);
+            return history;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.fooddelivery.order.service;
+
+import com.fooddelivery.common.lock.ApplicationLock;
+import com.fooddelivery.order.config.RetentionProperties;
+import com.fooddelivery.order.entity.Order;
+import com.fooddelivery.order.entity.OrderArchiveEntry;
+import com.fooddelivery.order.entity.OrderHistory;
+import com.fooddelivery.order.enums.OrderStatus;
+import com.fooddelivery.order.repository.OrderArchiveEntryRepository;
+import com.fooddelivery.order.repository.OrderHistoryRepository;
+import com.fooddelivery.order.repository.OrderRepository;
+import com.fooddelivery.order.service.OrderArchiveStore.ArchivedOrder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Moves completed orders older than app.retention.archive-after out of the database.
+ * <p>
+ * Per batch, in one transaction: load orders with items and history, write them to one
+ * archive file, index them in order_archive_index and delete them (items and history go
+ * with them via ON DELETE CASCADE). Summary rows stay, so archived orders are still listed;
+ * their details are then read back from the archive. If the transaction rolls back the
+ * file is left orphaned and the orders are archived again by the next run.
+ * Only one instance archives at a time (transaction-scoped application lock).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderArchiver {
+
+    private static final List<OrderStatus> COMPLETED_STATUSES = List.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+    private static final String ARCHIVER_LOCK_RESOURCE = "order_archiver";
+    private static final int LOCK_NOT_ACQUIRED = -1;
+
+    private final OrderRepository orderRepository;
+    private final OrderHistoryRepository orderHistoryRepository;
+    private final OrderArchiveEntryRepository archiveEntryRepository;
+    private final OrderArchiveStore archiveStore;
+    private final RetentionProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Scheduled(cron = "${app.retention.archive-cron:0 0 3 * * *}")
+    public void archiveCompletedOrders() {
+        if (!properties.isArchiveEnabled()) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getArchiveAfter());
+        int total = 0;
+        while (true) {
+            Integer archived = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            if (archived == null || archived == LOCK_NOT_ACQUIRED) {
+                log.debug("Order archiving skipped - another instance holds the archiver lock");
+                break;
+            }
+            total += archived;
+            if (archived < properties.getBatchSize()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Archived {} completed orders created before {}", total, cutoff);
+        }
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        if (!ApplicationLock.tryAcquire(jdbcTemplate, ARCHIVER_LOCK_RESOURCE)) {
+            return LOCK_NOT_ACQUIRED;
+        }
+        List<Long> orderIds = orderRepository.findArchivableIds(
+                COMPLETED_STATUSES, cutoff, PageRequest.ofSize(properties.getBatchSize()));
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, List<OrderHistory>> historyByOrder = orderHistoryRepository.findByOrderIdIn(orderIds).stream()
+                .collect(Collectors.groupingBy(entry -> entry.getOrder().getId()));
+        List<ArchivedOrder> archived = orderRepository.findAllByIdWithItems(orderIds).stream()
+                .sorted(Comparator.comparing(Order::getId))
+                .map(order -> ArchivedOrder.of(order, historyByOrder.getOrDefault(order.getId(), List.of())))
+                .toList();
+
+        String archiveFile;
+        try {
+            archiveFile = archiveStore.write(archived);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write order archive", e);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        archiveEntryRepository.saveAll(archived.stream()
+                .map(order -> new OrderArchiveEntry(order.id(), order.userId(), archiveFile, now))
+                .toList());
+        orderRepository.deleteAllByIdInBatch(orderIds);
+        log.debug("Archived {} orders to {}", archived.size(), archiveFile);
+        return archived.size();
+    }
+}
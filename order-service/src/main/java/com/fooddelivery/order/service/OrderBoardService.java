@@ -0,0 +1,340 @@
+package com.fooddelivery.order.service;
+
+import com.fooddelivery.order.config.OrderBoardProperties;
+import com.fooddelivery.order.dto.OrderSummaryResponseDTO;
+import com.fooddelivery.order.entity.OrderSummary;
+import com.fooddelivery.order.enums.OrderStatus;
+import com.fooddelivery.order.mapper.OrderSummaryMapper;
+import com.fooddelivery.order.repository.OrderSummaryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Live order board for restaurant tablets (server-sent events).
+ * <p>
+ * Order created/status-changed events mark orders dirty per restaurant; every flush interval
+ * the dirty orders are loaded from order_summary in one query and pushed as one batch per
+ * restaurant, so a burst of transitions on a board costs a single push.
+ * Restaurants that never had a subscriber on this instance are ignored entirely.
+ * <p>
+ * Sends never block the scheduler: under the board lock events are only queued per
+ * subscriber, and each queue is drained in order on the order board executor. A subscriber
+ * that falls more than max-pending-events behind is closed and resumes on reconnect.
+ * <p>
+ * Event ids are {@code <instanceId>:<sequence>}. A reconnect with Last-Event-ID gets the
+ * missed batches replayed from a bounded buffer; if the id is unknown (other instance,
+ * buffer overrun, restart) it gets a fresh snapshot of active orders instead.
+ */
+@Service
+@Slf4j
+public class OrderBoardService {
+
+    public static final String SNAPSHOT_EVENT = "snapshot";
+    public static final String ORDERS_EVENT = "orders";
+
+    private static final List<OrderStatus> TERMINAL_STATUSES = List.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final OrderSummaryMapper orderSummaryMapper;
+    private final OrderBoardProperties properties;
+    private final Executor orderBoardExecutor;
+
+    private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+    private final Map<Long, Board> boards = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> dirtyOrders = new ConcurrentHashMap<>();
+
+    public OrderBoardService(
+            OrderSummaryRepository orderSummaryRepository,
+            OrderSummaryMapper orderSummaryMapper,
+            OrderBoardProperties properties,
+            @Qualifier("orderBoardExecutor") Executor orderBoardExecutor) {
+        this.orderSummaryRepository = orderSummaryRepository;
+        this.orderSummaryMapper = orderSummaryMapper;
+        this.properties = properties;
+        this.orderBoardExecutor = orderBoardExecutor;
+    }
+
+    public SseEmitter subscribe(Long restaurantId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getEmitterTimeout().toMillis());
+        // Created before the snapshot is loaded, so changes made meanwhile are recorded and replayed
+        Board board = boards.computeIfAbsent(restaurantId, id -> new Board(instanceId, id, properties.getReplayBufferSize()));
+
+        long resumeAfter = parseSequence(lastEventId);
+        long snapshotSequence = board.lastSequence();
+        List<OrderSummaryResponseDTO> snapshot = board.canReplayFrom(resumeAfter) ? null : loadActiveOrders(restaurantId);
+
+        emitter.onCompletion(() -> unsubscribe(restaurantId, emitter));
+        emitter.onTimeout(() -> unsubscribe(restaurantId, emitter));
+        emitter.onError(e -> unsubscribe(restaurantId, emitter));
+
+        Subscriber subscriber = new Subscriber(emitter, orderBoardExecutor, properties.getMaxPendingEvents());
+        if (snapshot == null) {
+            board.attach(subscriber, resumeAfter, null);
+        } else {
+            board.attach(subscriber, snapshotSequence, snapshot);
+        }
+        log.debug("Order board subscriber added: restaurantId={}, resumed={}", restaurantId, snapshot == null);
+        return emitter;
+    }
+
+    /**
+     * Called for every order created/status-changed event. Recorded for every board, also while
+     * it has no subscribers, so the replay buffer stays complete for tablets that resume.
+     */
+    public void orderChanged(Long restaurantId, Long orderId) {
+        if (restaurantId == null || orderId == null) {
+            return;
+        }
+        if (!boards.containsKey(restaurantId)) {
+            return;
+        }
+        dirtyOrders.computeIfAbsent(restaurantId, id -> ConcurrentHashMap.newKeySet()).add(orderId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.order-board.flush-interval:250ms}")
+    public void flush() {
+        if (dirtyOrders.isEmpty()) {
+            return;
+        }
+        Set<Long> orderIds = new HashSet<>();
+        for (Long restaurantId : List.copyOf(dirtyOrders.keySet())) {
+            Set<Long> dirty = dirtyOrders.remove(restaurantId);
+            if (dirty != null) {
+                orderIds.addAll(dirty);
+            }
+        }
+        if (orderIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            Map<Long, List<OrderSummaryResponseDTO>> byRestaurant = orderSummaryRepository.findAllById(orderIds).stream()
+                    .collect(Collectors.groupingBy(OrderSummary::getRestaurantId,
+                            Collectors.mapping(orderSummaryMapper::toResponse, Collectors.toList())));
+            byRestaurant.forEach((restaurantId, orders) -> {
+                Board board = boards.get(restaurantId);
+                if (board != null) {
+                    board.publish(orders);
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Order board flush failed for {} orders: {}", orderIds.size(), e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.order-board.heartbeat-interval:15s}")
+    public void heartbeat() {
+        boards.values().forEach(Board::heartbeat);
+    }
+
+    public int subscriberCount() {
+        return boards.values().stream().mapToInt(Board::size).sum();
+    }
+
+    /**
+     * Boards are kept after the last subscriber leaves (they only cost their replay buffer),
+     * so a tablet reconnecting after a network blip can still resume
+     */
+    private void unsubscribe(Long restaurantId, SseEmitter emitter) {
+        Board board = boards.get(restaurantId);
+        if (board != null) {
+            board.detach(emitter);
+        }
+    }
+
+    private List<OrderSummaryResponseDTO> loadActiveOrders(Long restaurantId) {
+        return orderSummaryRepository.findActiveByRestaurant(restaurantId, TERMINAL_STATUSES).stream()
+                .map(orderSummaryMapper::toResponse)
+                .toList();
+    }
+
+    private long parseSequence(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(instanceId + ":")) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(instanceId.length() + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private record Batch(long sequence, String eventId, List<OrderSummaryResponseDTO> orders) {
+    }
+
+    /**
+     * Subscribers and replay buffer of one restaurant. Events are queued to subscribers under
+     * the board lock, so a subscriber never sees batches out of order or before its snapshot.
+     */
+    private static final class Board {
+
+        private final String instanceId;
+        private final Long restaurantId;
+        private final int replayBufferSize;
+        private final List<Subscriber> subscribers = new ArrayList<>();
+        private final Deque<Batch> replay = new ArrayDeque<>();
+        private long sequence;
+
+        Board(String instanceId, Long restaurantId, int replayBufferSize) {
+            this.instanceId = instanceId;
+            this.restaurantId = restaurantId;
+            this.replayBufferSize = replayBufferSize;
+        }
+
+        synchronized long lastSequence() {
+            return sequence;
+        }
+
+        synchronized boolean canReplayFrom(long afterSequence) {
+            if (afterSequence < 0 || afterSequence > sequence) {
+                return false;
+            }
+            return afterSequence == sequence || (!replay.isEmpty() && replay.peekFirst().sequence() <= afterSequence + 1);
+        }
+
+        /**
+         * Register the subscriber and bring it up to date: the snapshot (if any) followed by every
+         * batch published after {@code afterSequence}
+         */
+        synchronized void attach(Subscriber subscriber, long afterSequence, List<OrderSummaryResponseDTO> snapshot) {
+            boolean queued = true;
+            if (snapshot != null) {
+                queued = subscriber.enqueue(
+                        SseEmitter.event().id(instanceId + ":" + afterSequence).name(SNAPSHOT_EVENT).data(snapshot));
+            }
+            for (Batch batch : replay) {
+                if (queued && batch.sequence() > afterSequence) {
+                    queued = subscriber.enqueue(
+                            SseEmitter.event().id(batch.eventId()).name(ORDERS_EVENT).data(batch.orders()));
+                }
+            }
+            if (queued) {
+                subscribers.add(subscriber);
+            } else {
+                subscriber.close();
+            }
+        }
+
+        synchronized void detach(SseEmitter emitter) {
+            subscribers.removeIf(subscriber -> subscriber.emitter() == emitter);
+        }
+
+        synchronized void publish(List<OrderSummaryResponseDTO> orders) {
+            sequence++;
+            Batch batch = new Batch(sequence, instanceId + ":" + sequence, orders);
+            replay.addLast(batch);
+            while (replay.size() > replayBufferSize) {
+                replay.removeFirst();
+            }
+            sendToAll(SseEmitter.event().id(batch.eventId()).name(ORDERS_EVENT).data(orders));
+        }
+
+        synchronized void heartbeat() {
+            sendToAll(SseEmitter.event().comment("ping"));
+        }
+
+        synchronized int size() {
+            return subscribers.size();
+        }
+
+        private void sendToAll(SseEmitter.SseEventBuilder event) {
+            subscribers.removeIf(subscriber -> {
+                if (subscriber.enqueue(event)) {
+                    return false;
+                }
+                log.debug("Dropping order board subscriber for restaurant {}: closed or too far behind", restaurantId);
+                subscriber.close();
+                return true;
+            });
+        }
+    }
+
+    /**
+     * One tablet connection: a bounded queue of events, drained in order by at most one
+     * executor task at a time, so a slow connection only ever holds up itself
+     */
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Executor executor;
+        private final int maxPendingEvents;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, Executor executor, int maxPendingEvents) {
+            this.emitter = emitter;
+            this.executor = executor;
+            this.maxPendingEvents = maxPendingEvents;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        /**
+         * @return false if the subscriber is closed or has too many events queued
+         */
+        boolean enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed || pendingCount.incrementAndGet() > maxPendingEvents) {
+                return false;
+            }
+            pending.add(event);
+            scheduleDrain();
+            return true;
+        }
+
+        void close() {
+            if (!closed) {
+                closed = true;
+                executor.execute(emitter::complete);
+            }
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Order board subscriber send failed: {}", e.getMessage());
+                close();
+            } finally {
+                draining.set(false);
+            }
+            // An event queued after the last poll but before draining was reset
+            if (!closed && !pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.fooddelivery.order.service;
+
+import com.fooddelivery.order.config.ExternalServicesProperties;
+import com.fooddelivery.order.dto.CreateOrderRequestDTO;
+import com.fooddelivery.order.dto.GeoPoint;
+import com.fooddelivery.order.dto.MenuItemSnapshotDTO;
+import com.fooddelivery.order.dto.OrderItemRequestDTO;
+import com.fooddelivery.order.exception.InvalidOrderDataException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Fans out the remote lookups needed to create an order (menu items, restaurant, address)
+ * in parallel on the lookup executor, each bounded by its own deadline.
+ * Runs before the order transaction opens, so no DB connection is held while waiting.
+ * Menu items are resolved from the local snapshot first; only misses go to restaurant-service.
+ * Restaurant and address coordinates come from DistanceService's local cache when present.
+ */
+@Service
+@Slf4j
+public class OrderLookupService {
+    
+    private final ExternalServicesClient externalServicesClient;
+    private final ExternalServicesProperties servicesProperties;
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final DistanceService distanceService;
+    private final Executor lookupExecutor;
+    
+    public OrderLookupService(
+            ExternalServicesClient externalServicesClient,
+            ExternalServicesProperties servicesProperties,
+            MenuSnapshotCache menuSnapshotCache,
+            DistanceService distanceService,
+            @Qualifier("lookupExecutor") Executor lookupExecutor) {
+        this.externalServicesClient = externalServicesClient;
+        this.servicesProperties = servicesProperties;
+        this.menuSnapshotCache = menuSnapshotCache;
+        this.distanceService = distanceService;
+        this.lookupExecutor = lookupExecutor;
+    }
+    
+    /**
+     * Fetch all data required for order creation.
+     * Menu items are mandatory - failure or timeout rejects the order.
+     * Restaurant and address coordinates only feed pricing and the OrderCreatedEvent,
+     * so they degrade to null (default distance) instead of failing the order.
+     */
+    public OrderLookups fetchOrderLookups(CreateOrderRequestDTO request) {
+        List<Long> menuItemIds = request.items().stream()
+                .map(OrderItemRequestDTO::menuItemId)
+                .toList();
+        
+        Duration restaurantTimeout = servicesProperties.getRestaurant().getLookupTimeout();
+        Duration userTimeout = servicesProperties.getUser().getLookupTimeout();
+        
+        CompletableFuture<Map<Long, MenuItemSnapshotDTO>> menuItemsFuture = resolveMenuItems(menuItemIds, restaurantTimeout);
+        
+        CompletableFuture<GeoPoint> pickupFuture = resolveLocation(
+                "restaurant", request.restaurantId(),
+                distanceService.getCachedRestaurantLocation(request.restaurantId()),
+                () -> externalServicesClient.fetchRestaurant(request.restaurantId()),
+                restaurantTimeout, distanceService::cacheRestaurantLocation);
+        
+        CompletableFuture<GeoPoint> dropoffFuture = resolveLocation(
+                "address", request.deliveryAddressId(),
+                distanceService.getCachedAddressLocation(request.deliveryAddressId()),
+                () -> externalServicesClient.fetchAddress(request.deliveryAddressId()),
+                userTimeout, distanceService::cacheAddressLocation);
+        
+        return new OrderLookups(
+            awaitMenuItems(menuItemsFuture),
+            pickupFuture.join(),
+            dropoffFuture.join()
+        );
+    }
+    
+    private CompletableFuture<Map<Long, MenuItemSnapshotDTO>> resolveMenuItems(List<Long> menuItemIds, Duration timeout) {
+        MenuSnapshotCache.Lookup local = menuSnapshotCache.lookup(menuItemIds);
+        if (local.misses().isEmpty()) {
+            return CompletableFuture.completedFuture(local.hits());
+        }
+        
+        log.debug("Menu snapshot: {} hits, {} misses fetched remotely", local.hits().size(), local.misses().size());
+        return CompletableFuture
+                .supplyAsync(() -> externalServicesClient.fetchMenuItems(local.misses()), lookupExecutor)
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApply(remote -> {
+                    remote.values().forEach(menuSnapshotCache::putIfAbsent);
+                    Map<Long, MenuItemSnapshotDTO> merged = new HashMap<>(local.hits());
+                    merged.putAll(remote);
+                    return merged;
+                });
+    }
+    
+    /**
+     * Cached coordinates complete immediately; otherwise fetch remotely within the deadline and remember them
+     */
+    private CompletableFuture<GeoPoint> resolveLocation(String lookup, Long id, GeoPoint cached,
+                                                        Supplier<Map<String, Object>> fetch, Duration timeout,
+                                                        BiConsumer<Long, GeoPoint> cacheWriter) {
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return CompletableFuture
+                .supplyAsync(() -> GeoPoint.fromResponse(fetch.get()), lookupExecutor)
+                .completeOnTimeout(null, timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(ex -> degraded(lookup, id, ex))
+                .thenApply(location -> {
+                    cacheWriter.accept(id, location);
+                    return location;
+                });
+    }
+    
+    private Map<Long, MenuItemSnapshotDTO> awaitMenuItems(
+            CompletableFuture<Map<Long, MenuItemSnapshotDTO>> menuItemsFuture) {
+        try {
+            return menuItemsFuture.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof InvalidOrderDataException invalidOrderData) {
+                throw invalidOrderData;
+            }
+            if (cause instanceof TimeoutException) {
+                log.error("Menu items lookup exceeded deadline of {}", 
+                          servicesProperties.getRestaurant().getLookupTimeout());
+                throw new InvalidOrderDataException("Restaurant service is temporarily unavailable. Please try again later.");
+            }
+            log.error("Failed to fetch menu items data", cause);
+            throw new InvalidOrderDataException("Failed to fetch menu items data");
+        }
+    }
+    
+    private GeoPoint degraded(String lookup, Long id, Throwable ex) {
+        log.warn("Lookup of {} {} failed, continuing without it: {}", lookup, id, ex.getMessage());
+        return null;
+    }
+    
+    /**
+     * Result of the parallel lookups for a single order; pickup/dropoff are null when unknown
+     */
+    public record OrderLookups(
+        Map<Long, MenuItemSnapshotDTO> menuItems,
+        GeoPoint pickup,
+        GeoPoint dropoff
+    ) {}
+}
@@ -0,0 +1,102 @@
+package com.fooddelivery.order.service;
+
+import com.fooddelivery.order.config.RetentionProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Keeps the monthly partition functions of orders and order_history rolling:
+ * creates the partitions for the next few months ahead of time (so new rows never pile up
+ * in the open-ended last partition) and merges away months that the archiver has emptied.
+ * Splits and merges only ever touch empty partitions, so they are metadata operations.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderPartitionMaintainer {
+
+    private static final List<PartitionedTable> TABLES = List.of(
+        new PartitionedTable("orders", "PF_OrdersByMonth", "PS_OrdersByMonth"),
+        new PartitionedTable("order_history", "PF_OrderHistoryByMonth", "PS_OrderHistoryByMonth")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RetentionProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.retention.partition-maintenance-cron:0 30 2 * * *}")
+    public void maintainPartitions() {
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        LocalDate horizon = currentMonth.plusMonths(properties.getPartitionsAhead());
+        LocalDate mergeBefore = LocalDate.now().minus(properties.getArchiveAfter()).withDayOfMonth(1).minusMonths(1);
+
+        for (PartitionedTable table : TABLES) {
+            try {
+                addUpcomingMonths(table, horizon);
+                mergeEmptyMonths(table, mergeBefore);
+            } catch (Exception e) {
+                log.warn("Partition maintenance failed for {}: {}", table.name(), e.getMessage());
+            }
+        }
+    }
+
+    private void addUpcomingMonths(PartitionedTable table, LocalDate horizon) {
+        List<Boundary> boundaries = boundaries(table);
+        if (boundaries.isEmpty()) {
+            return;
+        }
+        LocalDate last = boundaries.get(boundaries.size() - 1).value();
+        for (LocalDate month = last.plusMonths(1); !month.isAfter(horizon); month = month.plusMonths(1)) {
+            jdbcTemplate.execute("ALTER PARTITION SCHEME " + table.scheme() + " NEXT USED [PRIMARY]");
+            jdbcTemplate.execute("ALTER PARTITION FUNCTION " + table.function() + "() SPLIT RANGE ('" + month + "')");
+            log.info("Added partition {} to {}", month, table.name());
+        }
+    }
+
+    /**
+     * Merge boundaries before the cutoff whose left-hand partition is empty
+     */
+    private void mergeEmptyMonths(PartitionedTable table, LocalDate mergeBefore) {
+        for (Boundary boundary : boundaries(table)) {
+            if (!boundary.value().isBefore(mergeBefore)) {
+                break;
+            }
+            if (boundary.rowsBelow() == 0) {
+                jdbcTemplate.execute("ALTER PARTITION FUNCTION " + table.function()
+                        + "() MERGE RANGE ('" + boundary.value() + "')");
+                log.info("Merged empty partition below {} in {}", boundary.value(), table.name());
+            }
+        }
+    }
+
+    private List<Boundary> boundaries(PartitionedTable table) {
+        return jdbcTemplate.query("""
+                SELECT CAST(prv.value AS DATETIME2) AS boundary, ISNULL(p.rows, 0) AS rows_below
+                FROM sys.partition_functions pf
+                JOIN sys.partition_range_values prv ON prv.function_id = pf.function_id
+                LEFT JOIN sys.partitions p ON p.object_id = OBJECT_ID(?)
+                                          AND p.index_id IN (0, 1)
+                                          AND p.partition_number = prv.boundary_id
+                WHERE pf.name = ?
+                ORDER BY prv.boundary_id
+                """,
+                (rs, rowNum) -> new Boundary(
+                        rs.getTimestamp("boundary").toLocalDateTime().toLocalDate(),
+                        rs.getLong("rows_below")),
+                table.name(), table.function());
+    }
+
+    private record PartitionedTable(String name, String function, String scheme) {
+    }
+
+    private record Boundary(LocalDate value, long rowsBelow) {
+    }
+}
@@ -1,61 +1,106 @@
 package com.fooddelivery.order.service;
 
 import com.fooddelivery.common.event.OrderCreatedEvent;
+import com.fooddelivery.common.pagination.Cursor;
+import com.fooddelivery.common.pagination.CursorPage;
+import com.fooddelivery.common.pagination.CursorPagination;
 import com.fooddelivery.common.security.SecurityUtils;
-import com.fooddelivery.order.config.ExternalServicesProperties;
 import com.fooddelivery.order.dto.*;
 import com.fooddelivery.order.entity.Order;
+import com.fooddelivery.order.entity.OrderHistory;
 import com.fooddelivery.order.entity.OrderItem;
+import com.fooddelivery.order.entity.OrderSummary;
 import com.fooddelivery.order.enums.OrderStatus;
 import com.fooddelivery.order.exception.InvalidOrderDataException;
+import com.fooddelivery.order.exception.InvalidOrderStateException;
 import com.fooddelivery.order.exception.OrderNotFoundException;
 import com.fooddelivery.order.exception.UnauthorizedOrderAccessException;
 import com.fooddelivery.order.mapper.OrderHistoryMapper;
 import com.fooddelivery.order.mapper.OrderMapper;
+import com.fooddelivery.order.mapper.OrderSummaryMapper;
 import com.fooddelivery.order.repository.OrderHistoryRepository;
 import com.fooddelivery.order.repository.OrderRepository;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import io.github.resilience4j.retry.annotation.Retry;
+import com.fooddelivery.order.repository.OrderStatusBatchRepository;
+import com.fooddelivery.order.repository.OrderSummaryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OrderService {
     
+    /**
+     * order_history.changed_by for transitions driven by other services' events
+     */
+    private static final Long SYSTEM_USER_ID = 0L;
+    
+    /**
+     * Guarded bulk updates per event batch before a batch whose orders keep changing gives up
+     */
+    private static final int MAX_BATCH_STATUS_ATTEMPTS = 3;
+    
     private final OrderRepository orderRepository;
     private final OrderHistoryRepository orderHistoryRepository;
+    private final OrderStatusBatchRepository orderStatusBatchRepository;
     private final OrderMapper orderMapper;
     private final OrderHistoryMapper orderHistoryMapper;
     private final OrderStateMachine stateMachine;
     private final PricingService pricingService;
     private final PromoCodeService promoCodeService;
-    private final RestTemplate restTemplate;
-    private final ExternalServicesProperties servicesProperties;
+    private final OrderLookupService orderLookupService;
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final OrderSummaryMapper orderSummaryMapper;
+    private final OrderSummaryProjector orderSummaryProjector;
+    private final OrderArchiveStore orderArchiveStore;
+    private final TransactionTemplate transactionTemplate;
     private final com.fooddelivery.order.kafka.OrderEventProducer orderEventProducer;
     
     /**
-     * Create new order
+     * Status change requested by an incoming event
+     */
+    public record StatusUpdate(Long orderId, OrderStatus status, String comment) {
+    }
+    
+    /**
+     * Create new order.
+     * Remote lookups run in parallel before the transaction opens, so no DB connection
+     * is held while waiting on restaurant-service and user-service.
+     * OrderCreatedEvent is staged in the outbox within the same transaction.
      */
-    @Transactional
     public OrderResponseDTO createOrder(CreateOrderRequestDTO request) {
         Long userId = SecurityUtils.getCurrentUserId();
         log.info("Creating order for user: {} at restaurant: {}", userId, request.restaurantId());
         
         validateCreateOrderRequest(request);
         
-        MenuItemsData menuItemsData = fetchMenuItemsData(request.items());
+        OrderLookupService.OrderLookups lookups = orderLookupService.fetchOrderLookups(request);
+        
+        Order savedOrder = transactionTemplate.execute(status -> persistOrder(request, userId, lookups));
         
+        return orderMapper.toResponse(savedOrder);
+    }
+    
+    private Order persistOrder(CreateOrderRequestDTO request, Long userId, OrderLookupService.OrderLookups lookups) {
         Order order = new Order();
         order.setUserId(userId);
         order.setRestaurantId(request.restaurantId());
@@ -65,56 +110,66 @@ public class OrderService {
         order.setStatus(OrderStatus.CREATED);
         
         for (OrderItemRequestDTO itemRequest : request.items()) {
-            Map<String, Object> menuItemData = menuItemsData.items().get(itemRequest.menuItemId());
-            if (menuItemData == null) {
+            MenuItemSnapshotDTO menuItem = lookups.menuItems().get(itemRequest.menuItemId());
+            if (menuItem == null) {
                 throw new InvalidOrderDataException("Menu item not found: " + itemRequest.menuItemId());
             }
+            if (!request.restaurantId().equals(menuItem.restaurantId())) {
+                throw new InvalidOrderDataException(
+                    "Menu item " + itemRequest.menuItemId() + " does not belong to restaurant " + request.restaurantId());
+            }
+            if (!Boolean.TRUE.equals(menuItem.isAvailable())) {
+                throw new InvalidOrderDataException("Menu item is not available: " + menuItem.name());
+            }
             
             OrderItem orderItem = new OrderItem();
             orderItem.setMenuItemId(itemRequest.menuItemId());
-            orderItem.setMenuItemName((String) menuItemData.get("name"));
+            orderItem.setMenuItemName(menuItem.name());
             orderItem.setQuantity(itemRequest.quantity());
-            orderItem.setPrice(BigDecimal.valueOf(((Number) menuItemData.get("price")).doubleValue()));
+            orderItem.setPrice(menuItem.price());
             orderItem.setSpecialInstructions(itemRequest.specialInstructions());
             
             order.addItem(orderItem);
         }
         
-        BigDecimal deliveryFee = pricingService.calculateDeliveryFee(
-            request.restaurantId(), 
-            request.deliveryAddressId()
+        PricingService.DeliveryQuote quote = pricingService.quote(
+            request.restaurantId(),
+            request.deliveryAddressId(),
+            lookups.pickup(),
+            lookups.dropoff()
         );
+        BigDecimal deliveryFee = quote.deliveryFee();
         order.setDeliveryFee(deliveryFee);
         
         com.fooddelivery.order.entity.PromoCode promoCode = null;
+        PromoCodeService.PromoReservation promoReservation = null;
         if (request.promoCode() != null && !request.promoCode().isBlank()) {
             promoCode = promoCodeService.validatePromoCode(request.promoCode(), userId, order.getSubtotal());
             BigDecimal discount = promoCodeService.calculateDiscount(promoCode, order.getSubtotal(), deliveryFee);
+            order.setPromoCode(promoCode.getCode());
             order.setDiscount(discount);
+            promoReservation = promoCodeService.reserveUsage(promoCode, userId);
         } else {
             order.setDiscount(BigDecimal.ZERO);
         }
         
         order.calculateTotal();
         
-        Integer estimatedTime = pricingService.calculateEstimatedDeliveryTime(
-            request.restaurantId(),
-            request.deliveryAddressId()
-        );
-        order.setEstimatedDeliveryTime(estimatedTime);
+        order.setEstimatedDeliveryTime(quote.estimatedDeliveryTime());
         
         order.addHistory(OrderStatus.CREATED, userId, "Order created");
         
         Order savedOrder = orderRepository.save(order);
         log.info("Order created with id: {}", savedOrder.getId());
+        orderSummaryProjector.orderCreated(savedOrder);
         
         if (promoCode != null) {
-            promoCodeService.recordUsage(promoCode, userId, savedOrder.getId());
+            promoCodeService.recordUsage(promoCode, promoReservation, savedOrder.getId());
         }
-
-        publishOrderCreatedEvent(savedOrder);
         
-        return orderMapper.toResponse(savedOrder);
+        publishOrderCreatedEvent(savedOrder, lookups);
+        
+        return savedOrder;
     }
     
     /**
@@ -137,33 +192,48 @@ public class OrderService {
         return orderMapper.toResponse(order);
     }
 
+    /**
+     * List screens are served from the order_summary projection: one row per order, no joins
+     */
     @Transactional(readOnly = true)
-    public Page<OrderResponseDTO> getUserOrders(Pageable pageable) {
+    public CursorPage<OrderSummaryResponseDTO> getUserOrders(String cursor, int size) {
         Long userId = SecurityUtils.getCurrentUserId();
-        return orderRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable)
-                .map(orderMapper::toResponse);
+        Cursor position = Cursor.decode(cursor);
+        return CursorPagination.page(
+            orderSummaryRepository.findPageByUserId(
+                userId, position.createdAt(), position.id(), CursorPagination.limit(size)),
+            OrderService::cursorOf,
+            orderSummaryMapper::toResponse);
     }
 
     @Transactional(readOnly = true)
-    public Page<OrderResponseDTO> getRestaurantOrders(Long restaurantId, Pageable pageable) {
-        return orderRepository.findByRestaurantIdOrderByCreatedAtDesc(restaurantId, pageable)
-                .map(orderMapper::toResponse);
+    public CursorPage<OrderSummaryResponseDTO> getRestaurantOrders(Long restaurantId, String cursor, int size) {
+        Cursor position = Cursor.decode(cursor);
+        return CursorPagination.page(
+            orderSummaryRepository.findPageByRestaurantId(
+                restaurantId, position.createdAt(), position.id(), CursorPagination.limit(size)),
+            OrderService::cursorOf,
+            orderSummaryMapper::toResponse);
+    }
+
+    private static Cursor cursorOf(OrderSummary summary) {
+        return new Cursor(summary.getCreatedAt(), summary.getOrderId());
     }
 
     @Transactional(readOnly = true)
-    public List<OrderResponseDTO> getActiveOrdersByUser() {
+    public List<OrderSummaryResponseDTO> getActiveOrdersByUser() {
         Long userId = SecurityUtils.getCurrentUserId();
-        return orderRepository.findActiveOrdersByUser(userId, List.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED))
+        return orderSummaryRepository.findActiveByUser(userId, List.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED))
                 .stream()
-                .map(orderMapper::toResponse)
+                .map(orderSummaryMapper::toResponse)
                 .toList();
     }
 
     @Transactional(readOnly = true)
-    public List<OrderResponseDTO> getActiveOrdersByRestaurant(Long restaurantId) {
-        return orderRepository.findActiveOrdersByRestaurant(restaurantId, List.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED))
+    public List<OrderSummaryResponseDTO> getActiveOrdersByRestaurant(Long restaurantId) {
+        return orderSummaryRepository.findActiveByRestaurant(restaurantId, List.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED))
                 .stream()
-                .map(orderMapper::toResponse)
+                .map(orderSummaryMapper::toResponse)
                 .toList();
     }
 
@@ -172,19 +242,10 @@ public class OrderService {
         Long currentUserId = SecurityUtils.getCurrentUserId();
         log.info("Updating order {} status to {}", orderId, request.status());
         
-        Order order = findOrderById(orderId);
-        OrderStatus oldStatus = order.getStatus();
-        
-        stateMachine.validateTransition(order.getStatus(), request.status());
-        
-        order.addHistory(request.status(), currentUserId, request.comment());
-        
-        Order updated = orderRepository.save(order);
+        transitionStatus(orderId, request.status(), currentUserId, request.comment());
         log.info("Order {} status updated to {}", orderId, request.status());
         
-        publishOrderStatusChangedEvent(updated, oldStatus, currentUserId);
-        
-        return orderMapper.toResponse(updated);
+        return orderMapper.toResponse(findOrderById(orderId));
     }
     
     /**
@@ -194,17 +255,8 @@ public class OrderService {
     public void updateOrderStatusByEvent(Long orderId, OrderStatus newStatus) {
         log.info("Updating order {} status to {} from event", orderId, newStatus);
         
-        Order order = findOrderById(orderId);
-        OrderStatus oldStatus = order.getStatus();
-        
-        stateMachine.validateTransition(order.getStatus(), newStatus);
-        
-        order.addHistory(newStatus, null, "Status updated from event");
-        
-        orderRepository.save(order);
+        transitionStatus(orderId, newStatus, null, "Status updated from event");
         log.info("Order {} status updated to {} from event", orderId, newStatus);
-        
-        publishOrderStatusChangedEvent(order, oldStatus, null);
     }
     
     /**
@@ -214,12 +266,210 @@ public class OrderService {
     public void cancelOrderByEvent(Long orderId, String reason) {
         log.info("Cancelling order {} from event: {}", orderId, reason);
         
-        Order order = findOrderById(orderId);
+        transitionStatus(orderId, OrderStatus.CANCELLED, null, reason);
+        log.info("Order {} cancelled from event", orderId);
+    }
+    
+    /**
+     * Apply a single event-driven status update (internal use by Kafka consumers)
+     */
+    @Transactional
+    public void applyStatusUpdateByEvent(StatusUpdate update) {
+        transitionStatus(update.orderId(), update.status(), null, update.comment());
+    }
+    
+    /**
+     * Apply a batch of event-driven status updates in one transaction (internal use by Kafka consumers).
+     * <p>
+     * Only the status columns of the affected orders are read (one query, no items). Transitions
+     * are validated in record order, so several updates for the same order within a batch chain
+     * correctly, and every order is then moved from its read status to its final one with guarded
+     * bulk updates ({@code WHERE id IN (...) AND status = expected}, one statement per distinct
+     * status pair), followed by one batched history insert and one batch of status events.
+     * Orders whose guard did not match changed concurrently since they were read: only those are
+     * read again and re-validated against their new status, the rest of the batch stays applied.
+     * Updates that cannot be applied (unknown order, invalid transition) are skipped and
+     * returned keyed by their position; everything else commits together.
+     *
+     * @throws OptimisticLockingFailureException if orders still change concurrently after
+     *                                           {@value #MAX_BATCH_STATUS_ATTEMPTS} attempts
+     */
+    @Transactional
+    public Map<Integer, RuntimeException> applyStatusUpdatesByEvent(List<StatusUpdate> updates) {
+        Map<Long, List<Integer>> positionsByOrder = new LinkedHashMap<>();
+        for (int i = 0; i < updates.size(); i++) {
+            positionsByOrder.computeIfAbsent(updates.get(i).orderId(), id -> new ArrayList<>()).add(i);
+        }
         
-        order.addHistory(OrderStatus.CANCELLED, null, reason);
+        LocalDateTime now = LocalDateTime.now();
+        Map<Integer, RuntimeException> rejected = new TreeMap<>();
+        List<OrderStatusBatchRepository.HistoryEntry> history = new ArrayList<>();
+        List<com.fooddelivery.common.event.OrderStatusChangedEvent> events = new ArrayList<>();
+        int appliedOrders = 0;
+        Set<Long> pending = positionsByOrder.keySet();
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            if (attempt > MAX_BATCH_STATUS_ATTEMPTS) {
+                throw new OptimisticLockingFailureException(pending.size()
+                        + " orders of the batch kept changing concurrently");
+            }
+            Map<Long, OrderRepository.StatusRow> rows = orderRepository.findStatusRowsByIdIn(pending).stream()
+                    .collect(Collectors.toMap(OrderRepository.StatusRow::getId, Function.identity()));
+            
+            Map<Long, OrderStatus> finalStatus = new LinkedHashMap<>();
+            for (Long orderId : pending) {
+                OrderRepository.StatusRow row = rows.get(orderId);
+                OrderStatus status = row == null ? null : row.getStatus();
+                for (int position : positionsByOrder.get(orderId)) {
+                    StatusUpdate update = updates.get(position);
+                    if (row == null) {
+                        rejected.put(position, new OrderNotFoundException("Order not found with id: " + orderId));
+                    } else if (!stateMachine.isValidTransition(status, update.status())) {
+                        rejected.put(position, new InvalidOrderStateException(
+                                String.format("Invalid status transition from %s to %s", status, update.status())));
+                    } else {
+                        rejected.remove(position);
+                        status = update.status();
+                        finalStatus.put(orderId, status);
+                    }
+                }
+            }
+            if (finalStatus.isEmpty()) {
+                break;
+            }
+            
+            Set<Long> moved = orderStatusBatchRepository.updateStatusesInBulk(finalStatus.entrySet().stream()
+                    .map(e -> new OrderStatusBatchRepository.StatusChange(
+                            e.getKey(), rows.get(e.getKey()).getStatus(), e.getValue()))
+                    .toList(), now);
+            for (Long orderId : moved) {
+                OrderRepository.StatusRow row = rows.get(orderId);
+                OrderStatus oldStatus = row.getStatus();
+                for (int position : positionsByOrder.get(orderId)) {
+                    if (rejected.containsKey(position)) {
+                        continue;
+                    }
+                    StatusUpdate update = updates.get(position);
+                    history.add(new OrderStatusBatchRepository.HistoryEntry(
+                            orderId, update.status(), SYSTEM_USER_ID, update.comment()));
+                    events.add(statusChangedEvent(orderId, row.getUserId(), row.getRestaurantId(),
+                            oldStatus, update.status(), null));
+                    oldStatus = update.status();
+                }
+                OrderStatus status = finalStatus.get(orderId);
+                orderSummaryProjector.statusChanged(orderId, status, status == OrderStatus.DELIVERED ? now : null, now);
+                if (status == OrderStatus.CANCELLED && row.getPromoCode() != null) {
+                    promoCodeService.releaseForOrder(orderId);
+                }
+            }
+            appliedOrders += moved.size();
+            
+            pending = new LinkedHashSet<>(finalStatus.keySet());
+            pending.removeAll(moved);
+            if (!pending.isEmpty()) {
+                log.debug("{} orders of the status batch changed concurrently, re-checking them", pending.size());
+            }
+        }
         
-        orderRepository.save(order);
-        log.info("Order {} cancelled from event", orderId);
+        if (!history.isEmpty()) {
+            orderStatusBatchRepository.insertHistory(history, now);
+            orderEventProducer.publishOrderStatusChangedAll(events);
+        }
+        log.info("Applied {} status updates from events ({} orders, {} rejected)",
+                 history.size(), appliedOrders, rejected.size());
+        return rejected;
+    }
+    
+    /**
+     * Apply several status transitions for one restaurant in one transaction (kitchen tablets).
+     * <p>
+     * Only the status columns of the orders are read, every step is validated with the state
+     * machine in request order (so READY then PICKED_UP for the same order chains), and the
+     * accepted steps are written with one JDBC batch of guarded updates, one batched history
+     * insert and one batch of status events. Entries that cannot be applied - unknown order,
+     * order of another restaurant, invalid transition, or an order changed concurrently since
+     * it was read - are reported in the result at their position; the rest still commits.
+     */
+    @Transactional
+    public List<OrderStatusChangeResultDTO> bulkUpdateOrderStatus(Long restaurantId, BulkUpdateOrderStatusDTO request) {
+        Long currentUserId = SecurityUtils.getCurrentUserId();
+        List<OrderStatusChangeDTO> changes = request.changes();
+        log.info("Bulk status update of {} orders for restaurant {}", changes.size(), restaurantId);
+        
+        Set<Long> orderIds = changes.stream().map(OrderStatusChangeDTO::orderId).collect(Collectors.toSet());
+        Map<Long, OrderRepository.StatusRow> rows = orderRepository.findStatusRowsByIdIn(orderIds).stream()
+                .filter(row -> restaurantId.equals(row.getRestaurantId()))
+                .collect(Collectors.toMap(OrderRepository.StatusRow::getId, Function.identity()));
+        
+        OrderStatusChangeResultDTO[] results = new OrderStatusChangeResultDTO[changes.size()];
+        Map<Long, OrderStatus> currentStatus = new HashMap<>();
+        Map<Long, List<Integer>> acceptedByOrder = new LinkedHashMap<>();
+        for (int i = 0; i < changes.size(); i++) {
+            OrderStatusChangeDTO change = changes.get(i);
+            OrderRepository.StatusRow row = rows.get(change.orderId());
+            if (row == null) {
+                results[i] = OrderStatusChangeResultDTO.rejected(change.orderId(), null,
+                        "Order not found with id: " + change.orderId());
+                continue;
+            }
+            OrderStatus oldStatus = currentStatus.getOrDefault(row.getId(), row.getStatus());
+            try {
+                stateMachine.validateTransition(oldStatus, change.status());
+            } catch (InvalidOrderStateException e) {
+                results[i] = OrderStatusChangeResultDTO.rejected(change.orderId(), oldStatus, e.getMessage());
+                continue;
+            }
+            currentStatus.put(row.getId(), change.status());
+            acceptedByOrder.computeIfAbsent(row.getId(), id -> new ArrayList<>()).add(i);
+            results[i] = OrderStatusChangeResultDTO.updated(change.orderId(), oldStatus, change.status());
+        }
+        
+        if (!acceptedByOrder.isEmpty()) {
+            applyBulkTransitions(changes, rows, currentStatus, acceptedByOrder, results, currentUserId);
+        }
+        return Arrays.asList(results);
+    }
+    
+    private void applyBulkTransitions(List<OrderStatusChangeDTO> changes, Map<Long, OrderRepository.StatusRow> rows,
+                                      Map<Long, OrderStatus> finalStatus, Map<Long, List<Integer>> acceptedByOrder,
+                                      OrderStatusChangeResultDTO[] results, Long changedBy) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> orderIds = new ArrayList<>(acceptedByOrder.keySet());
+        boolean[] applied = orderStatusBatchRepository.updateStatuses(orderIds.stream()
+                .map(id -> new OrderStatusBatchRepository.StatusChange(id, rows.get(id).getStatus(), finalStatus.get(id)))
+                .toList(), now);
+        
+        List<OrderStatusBatchRepository.HistoryEntry> history = new ArrayList<>();
+        List<com.fooddelivery.common.event.OrderStatusChangedEvent> events = new ArrayList<>();
+        int updatedOrders = 0;
+        for (int k = 0; k < orderIds.size(); k++) {
+            OrderRepository.StatusRow row = rows.get(orderIds.get(k));
+            List<Integer> positions = acceptedByOrder.get(row.getId());
+            if (!applied[k]) {
+                for (int position : positions) {
+                    results[position] = OrderStatusChangeResultDTO.rejected(row.getId(), null,
+                            "Order " + row.getId() + " was changed concurrently, reload and retry");
+                }
+                continue;
+            }
+            
+            updatedOrders++;
+            for (int position : positions) {
+                OrderStatusChangeResultDTO result = results[position];
+                history.add(new OrderStatusBatchRepository.HistoryEntry(
+                        row.getId(), result.newStatus(), changedBy, changes.get(position).comment()));
+                events.add(statusChangedEvent(row.getId(), row.getUserId(), row.getRestaurantId(),
+                        result.oldStatus(), result.newStatus(), changedBy));
+            }
+            OrderStatus status = finalStatus.get(row.getId());
+            orderSummaryProjector.statusChanged(row.getId(), status, status == OrderStatus.DELIVERED ? now : null, now);
+            if (status == OrderStatus.CANCELLED && row.getPromoCode() != null) {
+                promoCodeService.releaseForOrder(row.getId());
+            }
+        }
+        
+        orderStatusBatchRepository.insertHistory(history, now);
+        orderEventProducer.publishOrderStatusChangedAll(events);
+        log.info("Bulk status update applied {} transitions to {} orders", history.size(), updatedOrders);
     }
     
     /**
@@ -233,13 +483,18 @@ public class OrderService {
         Order order = findOrderById(orderId);
         validateUserAccess(order, currentUserId);
 
+        OrderStatus oldStatus = order.getStatus();
         stateMachine.validateTransition(order.getStatus(), OrderStatus.CANCELLED);
         
         order.addHistory(OrderStatus.CANCELLED, currentUserId, reason);
+        releasePromoUsage(order);
         
         Order cancelled = orderRepository.save(order);
+        orderSummaryProjector.statusChanged(cancelled);
         log.info("Order cancelled: {}", orderId);
         
+        publishOrderStatusChangedEvent(cancelled, oldStatus, currentUserId);
+        
         return orderMapper.toResponse(cancelled);
     }
 
@@ -249,49 +504,74 @@ public class OrderService {
         Order order = findOrderById(orderId);
         validateUserAccess(order, currentUserId);
         
-        return orderHistoryRepository.findByOrderIdOrderByChangedAtDesc(orderId).stream()
+        List<OrderHistory> history = orderHistoryRepository.findByOrderIdOrderByChangedAtDesc(orderId);
+        if (history.isEmpty()) {
+            // Archived orders carry their history with them
+            history = order.getHistory().stream()
+                    .sorted(Comparator.comparing(OrderHistory::getChangedAt).reversed())
+                    .toList();
+        }
+        return history.stream()
                 .map(orderHistoryMapper::toResponse)
                 .toList();
     }
     
-    private void validateCreateOrderRequest(CreateOrderRequestDTO request) {
-        if (request.items() == null || request.items().isEmpty()) {
-            throw new InvalidOrderDataException("Order must contain at least one item");
+    /**
+     * Compare-and-set status transition: one guarded UPDATE (the order is not loaded) plus a
+     * history insert. The guard is the set of statuses the state machine allows to move to
+     * {@code newStatus}, so when two transitions race the loser fails with
+     * InvalidOrderStateException instead of silently overwriting the winner.
+     *
+     * @param changedBy acting user, null for transitions driven by other services' events
+     */
+    private void transitionStatus(Long orderId, OrderStatus newStatus, Long changedBy, String comment) {
+        Set<OrderStatus> allowedFrom = stateMachine.allowedPredecessors(newStatus);
+        LocalDateTime now = LocalDateTime.now();
+        
+        OrderRepository.StatusTransition transition = allowedFrom.isEmpty() ? null : orderRepository.transitionStatus(
+                orderId, newStatus.name(), allowedFrom.stream().map(Enum::name).toList(), now).orElse(null);
+        if (transition == null) {
+            OrderStatus currentStatus = orderRepository.findStatusById(orderId)
+                    .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
+            throw new InvalidOrderStateException(
+                    String.format("Invalid status transition from %s to %s", currentStatus, newStatus));
         }
+        
+        OrderHistory historyEntry = new OrderHistory();
+        historyEntry.setOrder(orderRepository.getReferenceById(orderId));
+        historyEntry.setStatus(newStatus);
+        historyEntry.setChangedBy(changedBy != null ? changedBy : SYSTEM_USER_ID);
+        historyEntry.setComment(comment);
+        orderHistoryRepository.save(historyEntry);
+        
+        orderSummaryProjector.statusChanged(orderId, newStatus, transition.getDeliveredAt(), now);
+        if (newStatus == OrderStatus.CANCELLED && transition.getPromoCode() != null) {
+            promoCodeService.releaseForOrder(orderId);
+        }
+        
+        publishOrderStatusChangedEvent(orderId, transition.getUserId(), transition.getRestaurantId(),
+                OrderStatus.valueOf(transition.getOldStatus()), newStatus, changedBy);
     }
     
-    @CircuitBreaker(name = "restaurantService", fallbackMethod = "fetchMenuItemsDataFallback")
-    @Retry(name = "restaurantService")
-    private MenuItemsData fetchMenuItemsData(List<OrderItemRequestDTO> items) {
-        List<Long> menuItemIds = items.stream()
-                .map(OrderItemRequestDTO::menuItemId)
-                .toList();
-        
-        try {
-            String url = servicesProperties.getRestaurant().getBaseUrl() + 
-                         servicesProperties.getRestaurant().getMenuItemsBatchEndpoint() + 
-                         "?ids=" + String.join(",", menuItemIds.stream().map(String::valueOf).toList());
-            
-            log.debug("Fetching menu items from: {}", url);
-            
-            @SuppressWarnings("unchecked")
-            Map<Long, Map<String, Object>> response = restTemplate.getForObject(url, Map.class);
-            
-            return new MenuItemsData(response);
-        } catch (Exception e) {
-            log.error("Failed to fetch menu items data", e);
-            throw new InvalidOrderDataException("Failed to fetch menu items data");
+    private void releasePromoUsage(Order order) {
+        if (order.getPromoCode() != null) {
+            promoCodeService.releaseForOrder(order.getId());
         }
     }
     
-    private MenuItemsData fetchMenuItemsDataFallback(List<OrderItemRequestDTO> items, Exception e) {
-        log.error("Circuit breaker fallback: Failed to fetch menu items data after retries", e);
-        throw new InvalidOrderDataException("Restaurant service is temporarily unavailable. Please try again later.");
+    private void validateCreateOrderRequest(CreateOrderRequestDTO request) {
+        if (request.items() == null || request.items().isEmpty()) {
+            throw new InvalidOrderDataException("Order must contain at least one item");
+        }
     }
     
+    /**
+     * Live order, or a detached read-only copy from the archive if it has been archived
+     */
     @Transactional(readOnly = true)
     protected Order findOrderById(Long orderId) {
         return orderRepository.findByIdWithItems(orderId)
+                .or(() -> orderArchiveStore.find(orderId).map(OrderArchiveStore.ArchivedOrder::toOrder))
                 .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
     }
     
@@ -302,96 +582,52 @@ public class OrderService {
     }
     
     /**
-     * Publish OrderCreatedEvent to Kafka
+     * Stage OrderCreatedEvent in the outbox (must run inside the order transaction)
      */
-    private void publishOrderCreatedEvent(Order order) {
-        try {
-            Map<String, Object> restaurantData = fetchRestaurantData(order.getRestaurantId());
-            Map<String, Object> addressData = fetchAddressData(order.getDeliveryAddressId());
-            
-            OrderCreatedEvent event = OrderCreatedEvent.builder()
-                    .orderId(order.getId())
-                    .userId(order.getUserId())
-                    .restaurantId(order.getRestaurantId())
-                    .deliveryAddressId(order.getDeliveryAddressId())
-                    .totalAmount(order.getTotalAmount())
-                    .pickupLatitude(getDouble(restaurantData, "latitude"))
-                    .pickupLongitude(getDouble(restaurantData, "longitude"))
-                    .deliveryLatitude(getDouble(addressData, "latitude"))
-                    .deliveryLongitude(getDouble(addressData, "longitude"))
-                    .build();
-            
-            orderEventProducer.publishOrderCreated(event);
-        } catch (Exception e) {
-            log.error("Failed to publish OrderCreatedEvent for order {}", order.getId(), e);
-        }
+    private void publishOrderCreatedEvent(Order order, OrderLookupService.OrderLookups lookups) {
+        GeoPoint pickup = lookups.pickup();
+        GeoPoint dropoff = lookups.dropoff();
+        
+        OrderCreatedEvent event = OrderCreatedEvent.builder()
+                .orderId(order.getId())
+                .userId(order.getUserId())
+                .restaurantId(order.getRestaurantId())
+                .deliveryAddressId(order.getDeliveryAddressId())
+                .totalAmount(order.getTotalAmount())
+                .pickupLatitude(pickup != null ? pickup.latitude() : null)
+                .pickupLongitude(pickup != null ? pickup.longitude() : null)
+                .deliveryLatitude(dropoff != null ? dropoff.latitude() : null)
+                .deliveryLongitude(dropoff != null ? dropoff.longitude() : null)
+                .build();
+        
+        orderEventProducer.publishOrderCreated(event);
     }
     
     /**
-     * Publish OrderStatusChangedEvent to Kafka
+     * Stage OrderStatusChangedEvent in the outbox (must run inside the status change transaction)
      */
     private void publishOrderStatusChangedEvent(Order order, OrderStatus oldStatus, Long changedBy) {
-        try {
-            com.fooddelivery.common.event.OrderStatusChangedEvent event = com.fooddelivery.common.event.OrderStatusChangedEvent.builder()
-                    .orderId(order.getId())
-                    .userId(order.getUserId())
-                    .oldStatus(oldStatus.name())
-                    .newStatus(order.getStatus().name())
-                    .changedBy(changedBy)
-                    .build();
-            
-            orderEventProducer.publishOrderStatusChanged(event);
-        } catch (Exception e) {
-            log.error("Failed to publish OrderStatusChangedEvent for order {}", order.getId(), e);
-        }
-    }
-    
-    @CircuitBreaker(name = "restaurantService", fallbackMethod = "fetchRestaurantDataFallback")
-    @Retry(name = "restaurantService")
-    private Map<String, Object> fetchRestaurantData(Long restaurantId) {
-        try {
-            String url = servicesProperties.getRestaurant().getBaseUrl() + 
-                         servicesProperties.getRestaurant().getRestaurantsEndpoint() + 
-                         "/" + restaurantId;
-            return restTemplate.getForObject(url, Map.class);
-        } catch (Exception e) {
-            log.error("Failed to fetch restaurant data for restaurant {}", restaurantId, e);
-            return Map.of();
-        }
-    }
-    
-    private Map<String, Object> fetchRestaurantDataFallback(Long restaurantId, Exception e) {
-        log.warn("Circuit breaker fallback: Using empty restaurant data for restaurant {}", restaurantId);
-        return Map.of();
+        publishOrderStatusChangedEvent(order.getId(), order.getUserId(), order.getRestaurantId(),
+                oldStatus, order.getStatus(), changedBy);
     }
     
-    @CircuitBreaker(name = "userService", fallbackMethod = "fetchAddressDataFallback")
-    @Retry(name = "userService")
-    private Map<String, Object> fetchAddressData(Long addressId) {
-        try {
-            String url = servicesProperties.getUser().getBaseUrl() + 
-                         servicesProperties.getUser().getAddressesEndpoint() + 
-                         "/" + addressId;
-            return restTemplate.getForObject(url, Map.class);
-        } catch (Exception e) {
-            log.error("Failed to fetch address data for address {}", addressId, e);
-            return Map.of();
-        }
+    private void publishOrderStatusChangedEvent(Long orderId, Long userId, Long restaurantId,
+                                                OrderStatus oldStatus, OrderStatus newStatus, Long changedBy) {
+        orderEventProducer.publishOrderStatusChanged(
+                statusChangedEvent(orderId, userId, restaurantId, oldStatus, newStatus, changedBy));
     }
     
-    private Map<String, Object> fetchAddressDataFallback(Long addressId, Exception e) {
-        log.warn("Circuit breaker fallback: Using empty address data for address {}", addressId);
-        return Map.of();
-    }
-    
-    private Double getDouble(Map<String, Object> map, String key) {
-        Object value = map.get(key);
-        if (value instanceof Number) {
-            return ((Number) value).doubleValue();
-        }
-        return null;
+    private static com.fooddelivery.common.event.OrderStatusChangedEvent statusChangedEvent(
+            Long orderId, Long userId, Long restaurantId, OrderStatus oldStatus, OrderStatus newStatus, Long changedBy) {
+        return com.fooddelivery.common.event.OrderStatusChangedEvent.builder()
+                .orderId(orderId)
+                .userId(userId)
+                .restaurantId(restaurantId)
+                .oldStatus(oldStatus.name())
+                .newStatus(newStatus.name())
+                .changedBy(changedBy)
+                .build();
     }
     
-    private record MenuItemsData(Map<Long, Map<String, Object>> items) {}
 }
 
@@ -18,6 +18,7 @@ import java.util.*;
 public class OrderStateMachine {
     
     private final Map<OrderStatus, Set<OrderStatus>> validTransitions;
+    private final Map<OrderStatus, Set<OrderStatus>> predecessors;
     
     public OrderStateMachine() {
         Map<OrderStatus, Set<OrderStatus>> transitions = new EnumMap<>(OrderStatus.class);
@@ -44,6 +45,29 @@ public class OrderStateMachine {
             EnumSet.noneOf(OrderStatus.class));
         
         this.validTransitions = Collections.unmodifiableMap(transitions);
+        
+        Map<OrderStatus, Set<OrderStatus>> from = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            from.put(status, EnumSet.noneOf(OrderStatus.class));
+        }
+        transitions.forEach((source, targets) -> targets.forEach(target -> from.get(target).add(source)));
+        from.replaceAll((status, sources) -> Collections.unmodifiableSet(sources));
+        this.predecessors = Collections.unmodifiableMap(from);
+    }
+    
+    /**
+     * Statuses from which the order may move to the given status
+     * (used as the guard of conditional status updates)
+     * 
+     * @param newStatus desired new status (must not be null)
+     * @return allowed current statuses, empty if nothing can transition to newStatus
+     * @throws IllegalArgumentException if newStatus is null
+     */
+    public Set<OrderStatus> allowedPredecessors(OrderStatus newStatus) {
+        if (newStatus == null) {
+            throw new IllegalArgumentException("Order status cannot be null");
+        }
+        return predecessors.get(newStatus);
     }
     
     /**
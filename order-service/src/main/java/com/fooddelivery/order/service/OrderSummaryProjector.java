@@ -0,0 +1,97 @@
+package com.fooddelivery.order.service;
+
+import com.fooddelivery.order.entity.Order;
+import com.fooddelivery.order.entity.OrderItem;
+import com.fooddelivery.order.entity.OrderSummary;
+import com.fooddelivery.order.enums.OrderStatus;
+import com.fooddelivery.order.repository.OrderRepository;
+import com.fooddelivery.order.repository.OrderSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keeps the order_summary read model in step with order state transitions.
+ * Runs inside the transaction that changes the order, so the projection can never
+ * diverge from the write model.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderSummaryProjector {
+
+    private static final int ITEMS_PREVIEW_MAX_LENGTH = 255;
+
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final OrderRepository orderRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderCreated(Order order) {
+        orderSummaryRepository.save(toSummary(order));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(Order order) {
+        int updated = orderSummaryRepository.updateStatus(
+            order.getId(), order.getStatus(), LocalDateTime.now(), order.getDeliveredAt());
+        if (updated == 0) {
+            log.warn("Order summary missing for order {}, rebuilding it", order.getId());
+            orderSummaryRepository.save(toSummary(order));
+        }
+    }
+
+    /**
+     * Same as {@link #statusChanged(Order)} for transitions applied without loading the order
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(Long orderId, OrderStatus status, LocalDateTime deliveredAt, LocalDateTime changedAt) {
+        int updated = orderSummaryRepository.updateStatus(orderId, status, changedAt, deliveredAt);
+        if (updated == 0) {
+            log.warn("Order summary missing for order {}, rebuilding it", orderId);
+            orderRepository.findByIdWithItems(orderId)
+                .ifPresent(order -> orderSummaryRepository.save(toSummary(order)));
+        }
+    }
+
+    private OrderSummary toSummary(Order order) {
+        OrderSummary summary = new OrderSummary();
+        summary.setOrderId(order.getId());
+        summary.setUserId(order.getUserId());
+        summary.setRestaurantId(order.getRestaurantId());
+        summary.setDeliveryAddressId(order.getDeliveryAddressId());
+        summary.setStatus(order.getStatus());
+        summary.setSubtotal(order.getSubtotal());
+        summary.setDeliveryFee(order.getDeliveryFee());
+        summary.setDiscount(order.getDiscount());
+        summary.setTotalAmount(order.getTotalAmount());
+        summary.setPromoCode(order.getPromoCode());
+        summary.setEstimatedDeliveryTime(order.getEstimatedDeliveryTime());
+        summary.setCreatedAt(order.getCreatedAt());
+        summary.setUpdatedAt(order.getUpdatedAt());
+        summary.setDeliveredAt(order.getDeliveredAt());
+
+        int itemCount = 0;
+        StringBuilder preview = new StringBuilder();
+        for (OrderItem item : order.getItems()) {
+            itemCount += item.getQuantity();
+            if (!preview.isEmpty()) {
+                preview.append(", ");
+            }
+            preview.append(item.getQuantity()).append("x ").append(item.getMenuItemName());
+        }
+        summary.setItemCount(itemCount);
+        summary.setItemsPreview(abbreviate(preview));
+        return summary;
+    }
+
+    private static String abbreviate(StringBuilder preview) {
+        if (preview.length() <= ITEMS_PREVIEW_MAX_LENGTH) {
+            return preview.toString();
+        }
+        return preview.substring(0, ITEMS_PREVIEW_MAX_LENGTH - 3) + "...";
+    }
+}
@@ -23,6 +23,7 @@ public class PromoCodeAdminService {
 
     private final PromoCodeRepository promoCodeRepository;
     private final PromoCodeMapper promoCodeMapper;
+    private final PromoCodeIndex promoCodeIndex;
 
     @Transactional
     public PromoCodeResponseDTO createPromoCode(PromoCodeRequestDTO request) {
@@ -33,9 +34,11 @@ public class PromoCodeAdminService {
         }
 
         PromoCode promoCode = promoCodeMapper.toEntity(request);
+        promoCode.setCode(PromoCodeIndex.normalize(request.code()));
 
         try {
             PromoCode saved = promoCodeRepository.save(promoCode);
+            promoCodeIndex.refreshAfterCommit();
             log.info("Promo code created: id={}, code={}", saved.getId(), saved.getCode());
             return promoCodeMapper.toResponse(saved);
         } catch (DataIntegrityViolationException e) {
@@ -69,8 +72,10 @@ public class PromoCodeAdminService {
         }
 
         promoCodeMapper.updateEntity(request, promoCode);
+        promoCode.setCode(PromoCodeIndex.normalize(promoCode.getCode()));
 
         PromoCode updated = promoCodeRepository.save(promoCode);
+        promoCodeIndex.refreshAfterCommit();
         log.info("Promo code updated: id={}, code={}", updated.getId(), updated.getCode());
 
         return promoCodeMapper.toResponse(updated);
@@ -85,6 +90,7 @@ public class PromoCodeAdminService {
         promoCode.setActive(false);
 
         promoCodeRepository.save(promoCode);
+        promoCodeIndex.refreshAfterCommit();
         log.info("Promo code deleted (soft): id={}", id);
     }
 
@@ -0,0 +1,84 @@
+package com.fooddelivery.order.service;
+
+import com.fooddelivery.order.entity.PromoCode;
+import com.fooddelivery.order.repository.PromoCodeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory index of active promo codes keyed by normalized code.
+ * Rebuilt on startup, after every admin change on this instance and on a fixed
+ * interval (to pick up changes made through other instances). Readers never hit the DB.
+ * <p>
+ * Indexed entities are detached copies shared between threads and must be treated as read-only.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PromoCodeIndex {
+
+    private final PromoCodeRepository promoCodeRepository;
+
+    private volatile Map<String, PromoCode> byCode = Map.of();
+
+    public static String normalize(String code) {
+        return code == null ? null : code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    public Optional<PromoCode> find(String code) {
+        if (code == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(byCode.get(normalize(code)));
+    }
+
+    public List<PromoCode> activeCodes() {
+        return List.copyOf(byCode.values());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.promo.index-refresh-interval:30s}",
+               fixedDelayString = "${app.promo.index-refresh-interval:30s}")
+    public void refresh() {
+        try {
+            List<PromoCode> active = promoCodeRepository.findAllActive(LocalDateTime.now());
+            Map<String, PromoCode> next = new HashMap<>(active.size() * 2);
+            for (PromoCode promoCode : active) {
+                next.put(normalize(promoCode.getCode()), promoCode);
+            }
+            byCode = Map.copyOf(next);
+            log.debug("Promo code index refreshed: {} active codes", next.size());
+        } catch (Exception e) {
+            log.warn("Promo code index refresh failed, keeping {} cached codes: {}", byCode.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Refresh once the surrounding transaction commits, so the index never sees uncommitted admin changes
+     */
+    public void refreshAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh();
+            }
+        });
+    }
+}
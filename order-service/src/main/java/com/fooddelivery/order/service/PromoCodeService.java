@@ -7,33 +7,62 @@ import com.fooddelivery.order.repository.PromoCodeRepository;
 import com.fooddelivery.order.repository.PromoCodeUsageRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDateTime;
-
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Promo code redemption.
+ * <p>
+ * Lookup goes through {@link PromoCodeIndex} (no DB). Usage limits are enforced by a
+ * reserve/commit/release protocol bound to the order transaction:
+ * <ol>
+ *   <li>{@link #reserveUsage} atomically takes one global and one per-user redemption in Redis</li>
+ *   <li>{@link #recordUsage} writes the usage row in the order transaction</li>
+ *   <li>on commit the hold is confirmed, on rollback it is released; cancelling the order later
+ *       undoes the redemption via {@link #releaseForOrder}</li>
+ *   <li>holds left behind are swept by {@link PromoUsageReconciler}: the usage row carries the
+ *       reservation token, so a hold whose confirm was lost is dropped and stays counted</li>
+ * </ol>
+ * If Redis is unavailable the reservation falls back to a row-locked DB compare-and-set.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PromoCodeService {
     
     private static final int PERCENTAGE_DIVISOR = 100;
+    private static final int MAX_SEED_ATTEMPTS = 3;
 
     private final PromoCodeRepository promoCodeRepository;
     private final PromoCodeUsageRepository promoCodeUsageRepository;
+    private final PromoCodeIndex promoCodeIndex;
+    private final PromoUsageCounters usageCounters;
+
+    /**
+     * Usage reservation held for the current order transaction.
+     * {@code counted} is false when Redis was unavailable and limits are left to the DB.
+     */
+    public record PromoReservation(Long promoCodeId, Long userId, String token, boolean counted) {
+    }
 
     /**
      * Validate and get promo code
      */
-    @Transactional(readOnly = true)
     public PromoCode validatePromoCode(String code, Long userId, BigDecimal orderAmount) {
         if (code == null || code.isBlank()) {
             throw new InvalidPromoCodeException("Promo code cannot be empty");
         }
 
-        PromoCode promoCode = promoCodeRepository.findActiveByCode(code, LocalDateTime.now())
+        PromoCode promoCode = promoCodeIndex.find(code)
                 .orElseThrow(() -> new InvalidPromoCodeException("Invalid or expired promo code: " + code));
 
         if (!promoCode.isValid()) {
@@ -48,14 +77,66 @@ public class PromoCodeService {
             );
         }
 
-        if (promoCode.getMaxUsesPerUser() != null) {
-            int userUsageCount = promoCodeUsageRepository.countByUserIdAndPromoCodeId(userId, promoCode.getId());
-            if (userUsageCount >= promoCode.getMaxUsesPerUser()) {
+        return promoCode;
+    }
+
+    /**
+     * Reserve one redemption for the user. Must run inside the order transaction:
+     * the reservation is confirmed on commit and released on rollback.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public PromoReservation reserveUsage(PromoCode promoCode, Long userId) {
+        String token = UUID.randomUUID().toString();
+        PromoReservation reservation;
+        try {
+            reservation = reserveInRedis(promoCode, userId, token);
+        } catch (DataAccessException e) {
+            log.warn("Promo usage counters unavailable, falling back to DB limits: code={}, error={}",
+                     promoCode.getCode(), e.getMessage());
+            return new PromoReservation(promoCode.getId(), userId, token, false);
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    try {
+                        usageCounters.confirm(reservation.promoCodeId(), userId, token);
+                    } catch (Exception e) {
+                        log.warn("Failed to confirm promo reservation {}, redemption stays counted " +
+                                 "and the sweeper drops the hold: {}", token, e.getMessage());
+                    }
+                } else {
+                    try {
+                        usageCounters.release(reservation.promoCodeId(), userId, token);
+                    } catch (Exception e) {
+                        log.warn("Failed to release promo reservation {} (status={}), left to the sweeper: {}",
+                                 token, status, e.getMessage());
+                    }
+                }
+            }
+        });
+        return reservation;
+    }
+
+    private PromoReservation reserveInRedis(PromoCode promoCode, Long userId, String token) {
+        long totalSeed = PromoUsageCounters.UNKNOWN;
+        long userSeed = PromoUsageCounters.UNKNOWN;
+        for (int attempt = 0; attempt < MAX_SEED_ATTEMPTS; attempt++) {
+            long result = usageCounters.reserve(promoCode, userId, token, totalSeed, userSeed);
+            if (result == PromoUsageCounters.RESERVED) {
+                return new PromoReservation(promoCode.getId(), userId, token, true);
+            } else if (result == PromoUsageCounters.TOTAL_EXHAUSTED) {
+                throw new InvalidPromoCodeException("Promo code usage limit has been reached");
+            } else if (result == PromoUsageCounters.USER_EXHAUSTED) {
                 throw new InvalidPromoCodeException("You have already used this promo code maximum number of times");
+            } else if (result == PromoUsageCounters.TOTAL_SEED_REQUIRED) {
+                totalSeed = promoCodeUsageRepository.countByPromoCodeId(promoCode.getId());
+            } else if (result == PromoUsageCounters.USER_SEED_REQUIRED) {
+                userSeed = promoCodeUsageRepository.countByUserIdAndPromoCodeId(userId, promoCode.getId());
             }
         }
-
-        return promoCode;
+        throw new IllegalStateException("Could not seed promo usage counters for code " + promoCode.getCode());
     }
 
     /**
@@ -88,22 +169,64 @@ public class PromoCodeService {
     }
 
     /**
-     * Record promo code usage
+     * Record promo code usage for a reserved redemption
      */
-    @Transactional
-    public void recordUsage(PromoCode promoCode, Long userId, Long orderId) {
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUsage(PromoCode promoCode, PromoReservation reservation, Long orderId) {
+        if (!reservation.counted()) {
+            enforceLimitsInDatabase(promoCode, reservation.userId());
+        }
+
         PromoCodeUsage usage = new PromoCodeUsage();
-        usage.setUserId(userId);
+        usage.setUserId(reservation.userId());
         usage.setPromoCodeId(promoCode.getId());
         usage.setOrderId(orderId);
+        usage.setReservationToken(reservation.token());
 
         promoCodeUsageRepository.save(usage);
 
-        promoCode.incrementUsage();
-        promoCodeRepository.save(promoCode);
-
         log.info("Recorded promo code usage: code={}, user={}, order={}", 
-                 promoCode.getCode(), userId, orderId);
+                 promoCode.getCode(), reservation.userId(), orderId);
     }
-}
 
+    /**
+     * Redis-less path: the recount takes the promo row lock, then a compare-and-set
+     * increment and the per-user count run against a stable view.
+     */
+    private void enforceLimitsInDatabase(PromoCode promoCode, Long userId) {
+        promoCodeRepository.recountUsage(promoCode.getId());
+        if (promoCodeRepository.incrementUsageIfAvailable(promoCode.getId()) == 0) {
+            throw new InvalidPromoCodeException("Promo code usage limit has been reached");
+        }
+        if (promoCode.getMaxUsesPerUser() != null &&
+            promoCodeUsageRepository.countByUserIdAndPromoCodeId(userId, promoCode.getId()) >= promoCode.getMaxUsesPerUser()) {
+            throw new InvalidPromoCodeException("You have already used this promo code maximum number of times");
+        }
+    }
+
+    /**
+     * Give the redemption back when its order is cancelled
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void releaseForOrder(Long orderId) {
+        List<PromoCodeUsage> usages = promoCodeUsageRepository.findByOrderId(orderId);
+        if (usages.isEmpty()) {
+            return;
+        }
+        promoCodeUsageRepository.deleteAll(usages);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (PromoCodeUsage usage : usages) {
+                    try {
+                        usageCounters.unredeem(usage.getPromoCodeId(), usage.getUserId(), usage.getReservationToken());
+                    } catch (Exception e) {
+                        log.warn("Failed to return promo redemption for order {}: {}", orderId, e.getMessage());
+                    }
+                }
+            }
+        });
+        log.info("Released promo code usage for cancelled order {}", orderId);
+    }
+}
@@ -0,0 +1,233 @@
+package com.fooddelivery.order.service;
+
+import com.fooddelivery.order.config.PromoProperties;
+import com.fooddelivery.order.entity.PromoCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Atomic promo usage counters in Redis.
+ * <p>
+ * Per promo code: {@code promo:{id}:uses} (committed + held redemptions),
+ * {@code promo:{id}:user:<userId>} (same, per user), {@code promo:{id}:holds}
+ * (ZSET of open reservations scored by expiry) and {@code promo:{id}:released} (ZSET of
+ * expired holds the sweeper gave back, scored by release time, so a late confirm knows to
+ * count them again). All keys of one promo code share a
+ * hash tag, so every script touches a single slot. Limit checks and increments run
+ * inside one Lua script, so concurrent redemptions can never overshoot a limit.
+ * <p>
+ * Counters are seeded lazily from the DB: when a key is missing the script reports it
+ * and the caller retries with the current count.
+ */
+@Component
+@RequiredArgsConstructor
+public class PromoUsageCounters {
+
+    static final long RESERVED = 1L;
+    static final long TOTAL_EXHAUSTED = -1L;
+    static final long USER_EXHAUSTED = -2L;
+    static final long USER_SEED_REQUIRED = -3L;
+    static final long TOTAL_SEED_REQUIRED = -4L;
+
+    static final long UNKNOWN = -1L;
+    private static final long UNLIMITED = -1L;
+
+    private static final RedisScript<Long> RESERVE = new DefaultRedisScript<>("""
+            local maxTotal = tonumber(ARGV[1])
+            local maxPerUser = tonumber(ARGV[2])
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                if tonumber(ARGV[3]) < 0 then return -4 end
+                redis.call('SET', KEYS[1], ARGV[3], 'EX', ARGV[7])
+            end
+            if maxPerUser >= 0 and redis.call('EXISTS', KEYS[2]) == 0 then
+                if tonumber(ARGV[4]) < 0 then return -3 end
+                redis.call('SET', KEYS[2], ARGV[4], 'EX', ARGV[7])
+            end
+            if maxTotal >= 0 and tonumber(redis.call('GET', KEYS[1])) >= maxTotal then return -1 end
+            if maxPerUser >= 0 then
+                if tonumber(redis.call('GET', KEYS[2])) >= maxPerUser then return -2 end
+                redis.call('INCR', KEYS[2])
+            end
+            redis.call('INCR', KEYS[1])
+            redis.call('ZADD', KEYS[3], ARGV[6], ARGV[5])
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> CONFIRM = new DefaultRedisScript<>("""
+            if redis.call('ZREM', KEYS[3], ARGV[1]) == 1 then return 1 end
+            if redis.call('ZREM', KEYS[4], ARGV[1]) == 0 then return 0 end
+            if redis.call('EXISTS', KEYS[1]) == 1 then redis.call('INCR', KEYS[1]) end
+            if redis.call('EXISTS', KEYS[2]) == 1 then redis.call('INCR', KEYS[2]) end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>("""
+            if redis.call('ZREM', KEYS[3], ARGV[1]) == 0 then return 0 end
+            if redis.call('EXISTS', KEYS[1]) == 1 then redis.call('DECR', KEYS[1]) end
+            if redis.call('EXISTS', KEYS[2]) == 1 then redis.call('DECR', KEYS[2]) end
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> RETURN_EXPIRED = new DefaultRedisScript<>("""
+            if redis.call('ZREM', KEYS[3], ARGV[1]) == 0 then return 0 end
+            redis.call('ZADD', KEYS[4], ARGV[2], ARGV[1])
+            if redis.call('EXISTS', KEYS[1]) == 1 then redis.call('DECR', KEYS[1]) end
+            if redis.call('EXISTS', KEYS[2]) == 1 then redis.call('DECR', KEYS[2]) end
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> DROP_HOLD = new DefaultRedisScript<>("""
+            return redis.call('ZREM', KEYS[3], ARGV[1])
+            """, Long.class);
+
+    private static final RedisScript<Long> UNREDEEM = new DefaultRedisScript<>("""
+            if ARGV[1] ~= '' then
+                if redis.call('ZREM', KEYS[4], ARGV[1]) == 1 then return 0 end
+                redis.call('ZREM', KEYS[3], ARGV[1])
+            end
+            if redis.call('EXISTS', KEYS[1]) == 1 then redis.call('DECR', KEYS[1]) end
+            if redis.call('EXISTS', KEYS[2]) == 1 then redis.call('DECR', KEYS[2]) end
+            return 1
+            """, Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> EXPIRED_HOLDS = new DefaultRedisScript<>("""
+            redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', ARGV[2])
+            return redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, 500)
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final PromoProperties promoProperties;
+
+    /**
+     * Try to take one redemption of the promo code for the user, held under the given token.
+     *
+     * @return {@link #RESERVED} or one of the negative status codes
+     */
+    public long reserve(PromoCode promoCode, Long userId, String token, long totalSeed, long userSeed) {
+        long expiresAt = System.currentTimeMillis() + promoProperties.getReservationTtl().toMillis();
+        Long result = redisTemplate.execute(RESERVE, keys(promoCode.getId(), userId),
+                String.valueOf(limitOf(promoCode.getMaxTotalUses())),
+                String.valueOf(limitOf(promoCode.getMaxUsesPerUser())),
+                String.valueOf(totalSeed),
+                String.valueOf(userSeed),
+                holdMember(token, userId),
+                String.valueOf(expiresAt),
+                String.valueOf(counterTtlSeconds(promoCode)));
+        return result == null ? TOTAL_SEED_REQUIRED : result;
+    }
+
+    /**
+     * Reservation whose hold outlived the reservation TTL
+     */
+    public record ExpiredHold(String token, Long userId) {
+    }
+
+    /**
+     * Order committed: the redemption stays counted, only the hold goes away.
+     * If the sweeper already gave the hold back (commit slower than the reservation TTL)
+     * it is counted again.
+     */
+    public void confirm(Long promoCodeId, Long userId, String token) {
+        redisTemplate.execute(CONFIRM, keys(promoCodeId, userId), holdMember(token, userId));
+    }
+
+    /**
+     * Order never committed: give the held redemption back (no-op if already swept)
+     */
+    public void release(Long promoCodeId, Long userId, String token) {
+        redisTemplate.execute(RELEASE, keys(promoCodeId, userId), holdMember(token, userId));
+    }
+
+    /**
+     * Committed redemption was undone (order cancelled). A hold still open for the token
+     * (its confirm failed) is dropped, and nothing is returned if the sweeper already did.
+     */
+    public void unredeem(Long promoCodeId, Long userId, String token) {
+        redisTemplate.execute(UNREDEEM, keys(promoCodeId, userId),
+                token == null ? "" : holdMember(token, userId));
+    }
+
+    /**
+     * Holds past their expiry, oldest first and at most 500 per call. Nothing is given back
+     * here: the caller decides per hold between {@link #dropHold} and {@link #returnExpired}.
+     */
+    public List<ExpiredHold> expiredHolds(Long promoCodeId) {
+        long now = System.currentTimeMillis();
+        long releasedCutoff = now - promoProperties.getCounterRetention().toMillis();
+        List<?> members = redisTemplate.execute(EXPIRED_HOLDS,
+                List.of(holdsKey(promoCodeId), releasedKey(promoCodeId)),
+                String.valueOf(now), String.valueOf(releasedCutoff));
+        if (members == null) {
+            return List.of();
+        }
+        return members.stream()
+                .map(String::valueOf)
+                .map(PromoUsageCounters::parseHoldMember)
+                .toList();
+    }
+
+    /**
+     * Expired hold of a committed redemption (its confirm was lost): the redemption stays counted
+     */
+    public void dropHold(Long promoCodeId, ExpiredHold hold) {
+        redisTemplate.execute(DROP_HOLD, keys(promoCodeId, hold.userId()), holdMember(hold.token(), hold.userId()));
+    }
+
+    /**
+     * Expired hold whose holder died between reserve and commit/rollback: give the redemption back
+     *
+     * @return false if the hold was settled meanwhile
+     */
+    public boolean returnExpired(Long promoCodeId, ExpiredHold hold) {
+        Long returned = redisTemplate.execute(RETURN_EXPIRED, keys(promoCodeId, hold.userId()),
+                holdMember(hold.token(), hold.userId()), String.valueOf(System.currentTimeMillis()));
+        return returned != null && returned == 1L;
+    }
+
+    private List<String> keys(Long promoCodeId, Long userId) {
+        return List.of(totalKey(promoCodeId), userKeyPrefix(promoCodeId) + userId,
+                holdsKey(promoCodeId), releasedKey(promoCodeId));
+    }
+
+    private long counterTtlSeconds(PromoCode promoCode) {
+        Duration untilExpiry = Duration.between(LocalDateTime.now(), promoCode.getValidUntil());
+        return Math.max(untilExpiry.plus(promoProperties.getCounterRetention()).toSeconds(), 60);
+    }
+
+    private static long limitOf(Integer limit) {
+        return limit == null ? UNLIMITED : limit;
+    }
+
+    private static String holdMember(String token, Long userId) {
+        return token + "|" + userId;
+    }
+
+    private static ExpiredHold parseHoldMember(String member) {
+        int separator = member.lastIndexOf('|');
+        return new ExpiredHold(member.substring(0, separator), Long.valueOf(member.substring(separator + 1)));
+    }
+
+    private static String totalKey(Long promoCodeId) {
+        return "promo:{" + promoCodeId + "}:uses";
+    }
+
+    private static String userKeyPrefix(Long promoCodeId) {
+        return "promo:{" + promoCodeId + "}:user:";
+    }
+
+    private static String holdsKey(Long promoCodeId) {
+        return "promo:{" + promoCodeId + "}:holds";
+    }
+
+    private static String releasedKey(Long promoCodeId) {
+        return "promo:{" + promoCodeId + "}:released";
+    }
+}
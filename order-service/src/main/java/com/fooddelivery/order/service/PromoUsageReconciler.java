@@ -0,0 +1,80 @@
+package com.fooddelivery.order.service;
+
+import com.fooddelivery.order.entity.PromoCode;
+import com.fooddelivery.order.repository.PromoCodeRepository;
+import com.fooddelivery.order.repository.PromoCodeUsageRepository;
+import com.fooddelivery.order.service.PromoUsageCounters.ExpiredHold;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Background upkeep for promo usage: returns redemptions held by orders that never
+ * committed (an expired hold whose token has a promo_code_usage row only lost its confirm
+ * and stays counted), and keeps promo_codes.current_uses in line with promo_code_usage
+ * (the redemption hot path only inserts usage rows and never touches the promo row).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PromoUsageReconciler {
+
+    private final PromoCodeIndex promoCodeIndex;
+    private final PromoUsageCounters usageCounters;
+    private final PromoCodeRepository promoCodeRepository;
+    private final PromoCodeUsageRepository promoCodeUsageRepository;
+
+    @Scheduled(fixedDelayString = "${app.promo.reservation-sweep-interval:30s}")
+    public void sweepExpiredReservations() {
+        for (PromoCode promoCode : promoCodeIndex.activeCodes()) {
+            try {
+                sweepExpired(promoCode);
+            } catch (Exception e) {
+                log.warn("Promo reservation sweep failed: code={}, error={}", promoCode.getCode(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void sweepExpired(PromoCode promoCode) {
+        List<ExpiredHold> expired = usageCounters.expiredHolds(promoCode.getId());
+        if (expired.isEmpty()) {
+            return;
+        }
+        Set<String> committed = new HashSet<>(promoCodeUsageRepository.findReservationTokensIn(
+                expired.stream().map(ExpiredHold::token).toList()));
+
+        int kept = 0;
+        int returned = 0;
+        for (ExpiredHold hold : expired) {
+            if (committed.contains(hold.token())) {
+                usageCounters.dropHold(promoCode.getId(), hold);
+                kept++;
+            } else if (usageCounters.returnExpired(promoCode.getId(), hold)) {
+                returned++;
+            }
+        }
+        if (kept > 0) {
+            log.warn("Kept {} committed promo redemptions with unconfirmed holds: code={}",
+                     kept, promoCode.getCode());
+        }
+        if (returned > 0) {
+            log.warn("Returned {} expired promo reservations: code={}", returned, promoCode.getCode());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.promo.usage-sync-interval:30s}")
+    @Transactional
+    public void syncUsageCounters() {
+        int updated = promoCodeRepository.syncUsageCounters();
+        if (updated > 0) {
+            log.debug("Reconciled current_uses for {} promo codes", updated);
+        }
+    }
+}
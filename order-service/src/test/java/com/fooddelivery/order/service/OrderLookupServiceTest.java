@@ -0,0 +1,160 @@
+package com.fooddelivery.order.service;
+
+import com.fooddelivery.common.event.MenuItemChangedEvent;
+import com.fooddelivery.order.config.ExternalServicesProperties;
+import com.fooddelivery.order.config.PricingProperties;
+import com.fooddelivery.order.dto.CreateOrderRequestDTO;
+import com.fooddelivery.order.dto.GeoPoint;
+import com.fooddelivery.order.dto.MenuItemSnapshotDTO;
+import com.fooddelivery.order.dto.OrderItemRequestDTO;
+import com.fooddelivery.order.exception.InvalidOrderDataException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderLookupServiceTest {
+
+    @Mock
+    private ExternalServicesClient externalServicesClient;
+
+    private ExecutorService executor;
+    private MenuSnapshotCache menuSnapshotCache;
+    private DistanceService distanceService;
+    private OrderLookupService orderLookupService;
+    private CreateOrderRequestDTO request;
+
+    @BeforeEach
+    void setUp() {
+        ExternalServicesProperties properties = new ExternalServicesProperties();
+        properties.getRestaurant().setLookupTimeout(Duration.ofMillis(200));
+        properties.getUser().setLookupTimeout(Duration.ofMillis(200));
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        menuSnapshotCache = new MenuSnapshotCache();
+        distanceService = new DistanceService(new PricingProperties());
+        orderLookupService = new OrderLookupService(
+            externalServicesClient, properties, menuSnapshotCache, distanceService, executor);
+
+        request = new CreateOrderRequestDTO(1L, 2L,
+            List.of(new OrderItemRequestDTO(10L, 1, null)), null, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void fetchOrderLookups_Success() {
+        when(externalServicesClient.fetchMenuItems(anyList()))
+            .thenReturn(Map.of(10L, new MenuItemSnapshotDTO(10L, 1L, "Pizza", new BigDecimal("12.50"), true)));
+        when(externalServicesClient.fetchRestaurant(1L)).thenReturn(Map.of("latitude", 40.0, "longitude", -74.0));
+        when(externalServicesClient.fetchAddress(2L)).thenReturn(Map.of("latitude", 41.0, "longitude", -73.0));
+
+        OrderLookupService.OrderLookups lookups = orderLookupService.fetchOrderLookups(request);
+
+        assertTrue(lookups.menuItems().containsKey(10L));
+        assertEquals(new GeoPoint(40.0, -74.0), lookups.pickup());
+        assertEquals(new GeoPoint(41.0, -73.0), lookups.dropoff());
+        assertEquals(new GeoPoint(40.0, -74.0), distanceService.getCachedRestaurantLocation(1L));
+    }
+
+    @Test
+    void fetchOrderLookups_SlowAddressDegradesToEmpty() {
+        when(externalServicesClient.fetchMenuItems(anyList()))
+            .thenReturn(Map.of(10L, new MenuItemSnapshotDTO(10L, 1L, "Pizza", new BigDecimal("12.50"), true)));
+        when(externalServicesClient.fetchRestaurant(1L)).thenReturn(Map.of());
+        when(externalServicesClient.fetchAddress(any())).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return Map.of("latitude", 41.0);
+        });
+
+        OrderLookupService.OrderLookups lookups = orderLookupService.fetchOrderLookups(request);
+
+        assertNull(lookups.dropoff());
+        assertNull(distanceService.getCachedAddressLocation(2L));
+    }
+
+    @Test
+    void fetchOrderLookups_SlowMenuItemsRejectsOrder() {
+        when(externalServicesClient.fetchMenuItems(anyList())).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return Map.of();
+        });
+        when(externalServicesClient.fetchRestaurant(1L)).thenReturn(Map.of());
+        when(externalServicesClient.fetchAddress(2L)).thenReturn(Map.of());
+
+        assertThrows(InvalidOrderDataException.class, () -> orderLookupService.fetchOrderLookups(request));
+    }
+
+    @Test
+    void fetchOrderLookups_MenuSnapshotHitSkipsRemoteCall() {
+        menuSnapshotCache.apply(menuItemChanged(MenuItemChangedEvent.UPDATED, "13.00", 200L));
+        menuSnapshotCache.apply(menuItemChanged(MenuItemChangedEvent.UPDATED, "11.00", 100L));
+        when(externalServicesClient.fetchRestaurant(1L)).thenReturn(Map.of());
+        when(externalServicesClient.fetchAddress(2L)).thenReturn(Map.of());
+
+        OrderLookupService.OrderLookups lookups = orderLookupService.fetchOrderLookups(request);
+
+        assertEquals(new BigDecimal("13.00"), lookups.menuItems().get(10L).price());
+        verify(externalServicesClient, never()).fetchMenuItems(anyList());
+    }
+
+    @Test
+    void fetchOrderLookups_DeletedMenuItemIsNotFetchedRemotely() {
+        menuSnapshotCache.apply(menuItemChanged(MenuItemChangedEvent.DELETED, null, 300L));
+        menuSnapshotCache.putIfAbsent(new MenuItemSnapshotDTO(10L, 1L, "Pizza", new BigDecimal("12.50"), true));
+        when(externalServicesClient.fetchRestaurant(1L)).thenReturn(Map.of());
+        when(externalServicesClient.fetchAddress(2L)).thenReturn(Map.of());
+
+        OrderLookupService.OrderLookups lookups = orderLookupService.fetchOrderLookups(request);
+
+        assertFalse(lookups.menuItems().containsKey(10L));
+        verify(externalServicesClient, never()).fetchMenuItems(anyList());
+    }
+
+    @Test
+    void fetchOrderLookups_CachedCoordinatesSkipRemoteCalls() {
+        distanceService.cacheRestaurantLocation(1L, new GeoPoint(40.0, -74.0));
+        distanceService.cacheAddressLocation(2L, new GeoPoint(41.0, -73.0));
+        when(externalServicesClient.fetchMenuItems(anyList()))
+            .thenReturn(Map.of(10L, new MenuItemSnapshotDTO(10L, 1L, "Pizza", new BigDecimal("12.50"), true)));
+
+        OrderLookupService.OrderLookups lookups = orderLookupService.fetchOrderLookups(request);
+
+        assertEquals(new GeoPoint(40.0, -74.0), lookups.pickup());
+        assertEquals(new GeoPoint(41.0, -73.0), lookups.dropoff());
+        verify(externalServicesClient, never()).fetchRestaurant(any());
+        verify(externalServicesClient, never()).fetchAddress(any());
+    }
+
+    private MenuItemChangedEvent menuItemChanged(String changeType, String price, long version) {
+        return MenuItemChangedEvent.builder()
+            .changeType(changeType)
+            .menuItemId(10L)
+            .restaurantId(1L)
+            .name("Pizza")
+            .price(price != null ? new BigDecimal(price) : null)
+            .available(true)
+            .version(version)
+            .build();
+    }
+}
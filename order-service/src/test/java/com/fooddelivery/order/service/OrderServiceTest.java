@@ -1,12 +1,25 @@
 package com.fooddelivery.order.service;
 
+import com.fooddelivery.common.pagination.CursorPage;
 import com.fooddelivery.common.security.SecurityUtils;
+import com.fooddelivery.order.dto.BulkUpdateOrderStatusDTO;
 import com.fooddelivery.order.dto.OrderResponseDTO;
+import com.fooddelivery.order.dto.OrderStatusChangeDTO;
+import com.fooddelivery.order.dto.OrderStatusChangeResultDTO;
+import com.fooddelivery.order.dto.OrderSummaryResponseDTO;
 import com.fooddelivery.order.entity.Order;
+import com.fooddelivery.order.entity.OrderHistory;
+import com.fooddelivery.order.entity.OrderSummary;
 import com.fooddelivery.order.enums.OrderStatus;
+import com.fooddelivery.order.exception.InvalidOrderStateException;
+import com.fooddelivery.order.exception.OrderNotFoundException;
 import com.fooddelivery.order.kafka.OrderEventProducer;
 import com.fooddelivery.order.mapper.OrderMapper;
+import com.fooddelivery.order.mapper.OrderSummaryMapper;
+import com.fooddelivery.order.repository.OrderHistoryRepository;
 import com.fooddelivery.order.repository.OrderRepository;
+import com.fooddelivery.order.repository.OrderStatusBatchRepository;
+import com.fooddelivery.order.repository.OrderSummaryRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,14 +27,23 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,6 +67,27 @@ class OrderServiceTest {
     @Mock
     private OrderEventProducer orderEventProducer;
 
+    @Mock
+    private OrderSummaryProjector orderSummaryProjector;
+
+    @Mock
+    private OrderHistoryRepository orderHistoryRepository;
+
+    @Mock
+    private PromoCodeService promoCodeService;
+
+    @Mock
+    private OrderArchiveStore orderArchiveStore;
+
+    @Mock
+    private OrderStatusBatchRepository orderStatusBatchRepository;
+
+    @Mock
+    private OrderSummaryRepository orderSummaryRepository;
+
+    @Mock
+    private OrderSummaryMapper orderSummaryMapper;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -83,26 +126,169 @@ class OrderServiceTest {
         }
     }
 
+    @Test
+    void getUserOrders_ListsArchivedOrders() {
+        OrderSummary archived = new OrderSummary();
+        archived.setOrderId(1L);
+        archived.setUserId(1L);
+        archived.setStatus(OrderStatus.DELIVERED);
+        archived.setCreatedAt(LocalDateTime.now().minusYears(1));
+        OrderSummaryResponseDTO response = mock(OrderSummaryResponseDTO.class);
+        try (MockedStatic<SecurityUtils> mockedSecurity = mockStatic(SecurityUtils.class)) {
+            mockedSecurity.when(SecurityUtils::getCurrentUserId).thenReturn(1L);
+            when(orderSummaryRepository.findPageByUserId(eq(1L), any(), any(), any()))
+                    .thenReturn(new SliceImpl<>(List.of(archived)));
+            when(orderSummaryMapper.toResponse(archived)).thenReturn(response);
+
+            CursorPage<OrderSummaryResponseDTO> page = orderService.getUserOrders(null, 20);
+
+            assertEquals(List.of(response), page.items());
+            verifyNoInteractions(orderRepository, orderArchiveStore);
+        }
+    }
+
     @Test
     void updateOrderStatusByEvent_Success() {
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
-        when(stateMachine.isValidTransition(any(), any())).thenReturn(true);
+        when(stateMachine.allowedPredecessors(OrderStatus.CONFIRMED)).thenReturn(Set.of(OrderStatus.CREATED));
+        OrderRepository.StatusTransition transition = transition("CREATED", null);
+        when(orderRepository.transitionStatus(eq(1L), eq("CONFIRMED"), eq(List.of("CREATED")), any()))
+                .thenReturn(Optional.of(transition));
 
         orderService.updateOrderStatusByEvent(1L, OrderStatus.CONFIRMED);
 
-        assertEquals(OrderStatus.CONFIRMED, testOrder.getStatus());
-        verify(orderRepository).save(testOrder);
+        verify(orderRepository, never()).findByIdWithItems(any());
+        verify(orderHistoryRepository).save(any(OrderHistory.class));
+        verify(orderSummaryProjector).statusChanged(eq(1L), eq(OrderStatus.CONFIRMED), any(), any());
+        verify(orderEventProducer).publishOrderStatusChanged(any());
+    }
+
+    @Test
+    void updateOrderStatusByEvent_LostRace_ThrowsException() {
+        when(stateMachine.allowedPredecessors(OrderStatus.DELIVERED)).thenReturn(Set.of(OrderStatus.PICKED_UP));
+        when(orderRepository.transitionStatus(eq(1L), eq("DELIVERED"), any(), any())).thenReturn(Optional.empty());
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(OrderStatus.CANCELLED));
+
+        assertThrows(InvalidOrderStateException.class,
+                () -> orderService.updateOrderStatusByEvent(1L, OrderStatus.DELIVERED));
+        verify(orderHistoryRepository, never()).save(any());
+        verify(orderEventProducer, never()).publishOrderStatusChanged(any());
     }
 
     @Test
     void cancelOrderByEvent_Success() {
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
-        when(stateMachine.isValidTransition(any(), any())).thenReturn(true);
+        when(stateMachine.allowedPredecessors(OrderStatus.CANCELLED)).thenReturn(Set.of(OrderStatus.CREATED));
+        OrderRepository.StatusTransition transition = transition("CREATED", "WELCOME10");
+        when(orderRepository.transitionStatus(eq(1L), eq("CANCELLED"), any(), any()))
+                .thenReturn(Optional.of(transition));
 
         orderService.cancelOrderByEvent(1L, "Payment failed");
 
-        assertEquals(OrderStatus.CANCELLED, testOrder.getStatus());
-        verify(orderRepository).save(testOrder);
+        verify(promoCodeService).releaseForOrder(1L);
+        verify(orderHistoryRepository).save(any(OrderHistory.class));
+        verify(orderEventProducer).publishOrderStatusChanged(any());
+    }
+
+    @Test
+    void applyStatusUpdatesByEvent_AppliesValidAndRejectsRest() {
+        OrderRepository.StatusRow order = statusRow(1L, 1L, OrderStatus.CREATED);
+        when(orderRepository.findStatusRowsByIdIn(anyCollection())).thenReturn(List.of(order));
+        when(stateMachine.isValidTransition(OrderStatus.CREATED, OrderStatus.CONFIRMED)).thenReturn(true);
+        when(stateMachine.isValidTransition(OrderStatus.CONFIRMED, OrderStatus.DELIVERED)).thenReturn(false);
+        when(orderStatusBatchRepository.updateStatusesInBulk(any(), any())).thenReturn(Set.of(1L));
+
+        Map<Integer, RuntimeException> rejected = orderService.applyStatusUpdatesByEvent(List.of(
+                new OrderService.StatusUpdate(1L, OrderStatus.CONFIRMED, "Status updated from event"),
+                new OrderService.StatusUpdate(2L, OrderStatus.CONFIRMED, "Status updated from event"),
+                new OrderService.StatusUpdate(1L, OrderStatus.DELIVERED, "Status updated from event")));
+
+        assertEquals(2, rejected.size());
+        assertInstanceOf(OrderNotFoundException.class, rejected.get(1));
+        assertInstanceOf(InvalidOrderStateException.class, rejected.get(2));
+        verify(orderStatusBatchRepository).updateStatusesInBulk(
+                eq(List.of(new OrderStatusBatchRepository.StatusChange(1L, OrderStatus.CREATED, OrderStatus.CONFIRMED))), any());
+        verify(orderStatusBatchRepository).insertHistory(argThat(history -> history.size() == 1), any());
+        verify(orderSummaryProjector).statusChanged(eq(1L), eq(OrderStatus.CONFIRMED), isNull(), any());
+        verify(orderEventProducer).publishOrderStatusChangedAll(argThat(events -> events.size() == 1));
+        verify(orderRepository, never()).findAllByIdWithItems(any());
     }
-}
 
+    @Test
+    void applyStatusUpdatesByEvent_RechecksOnlyOrdersChangedConcurrently() {
+        OrderRepository.StatusRow first = statusRow(1L, 1L, OrderStatus.CREATED);
+        OrderRepository.StatusRow second = statusRow(2L, 1L, OrderStatus.CREATED);
+        OrderRepository.StatusRow third = statusRow(3L, 1L, OrderStatus.CREATED);
+        OrderRepository.StatusRow thirdCancelled = statusRow(3L, 1L, OrderStatus.CANCELLED);
+        when(orderRepository.findStatusRowsByIdIn(anyCollection()))
+                .thenReturn(List.of(first, second, third), List.of(second, thirdCancelled));
+        when(stateMachine.isValidTransition(OrderStatus.CREATED, OrderStatus.CONFIRMED)).thenReturn(true);
+        when(stateMachine.isValidTransition(OrderStatus.CANCELLED, OrderStatus.CONFIRMED)).thenReturn(false);
+        when(orderStatusBatchRepository.updateStatusesInBulk(any(), any()))
+                .thenReturn(Set.of(1L), Set.of(2L));
+
+        Map<Integer, RuntimeException> rejected = orderService.applyStatusUpdatesByEvent(List.of(
+                new OrderService.StatusUpdate(1L, OrderStatus.CONFIRMED, "Status updated from event"),
+                new OrderService.StatusUpdate(2L, OrderStatus.CONFIRMED, "Status updated from event"),
+                new OrderService.StatusUpdate(3L, OrderStatus.CONFIRMED, "Status updated from event")));
+
+        assertEquals(1, rejected.size());
+        assertInstanceOf(InvalidOrderStateException.class, rejected.get(2));
+        verify(orderRepository).findStatusRowsByIdIn(Set.of(2L, 3L));
+        verify(orderStatusBatchRepository).updateStatusesInBulk(
+                eq(List.of(new OrderStatusBatchRepository.StatusChange(2L, OrderStatus.CREATED, OrderStatus.CONFIRMED))), any());
+        verify(orderStatusBatchRepository).insertHistory(argThat(history -> history.size() == 2), any());
+        verify(orderEventProducer).publishOrderStatusChangedAll(argThat(events -> events.size() == 2));
+    }
+
+    @Test
+    void bulkUpdateOrderStatus_ChainsStepsAndReportsRejections() {
+        OrderRepository.StatusRow ownOrder = statusRow(1L, 1L, OrderStatus.CREATED);
+        OrderRepository.StatusRow otherRestaurantOrder = statusRow(2L, 2L, OrderStatus.CREATED);
+        when(orderRepository.findStatusRowsByIdIn(anyCollection())).thenReturn(List.of(ownOrder, otherRestaurantOrder));
+        lenient().doNothing().when(stateMachine).validateTransition(any(), any());
+        doThrow(new InvalidOrderStateException("Invalid status transition from PREPARING to DELIVERED"))
+                .when(stateMachine).validateTransition(OrderStatus.PREPARING, OrderStatus.DELIVERED);
+        when(orderStatusBatchRepository.updateStatuses(any(), any())).thenReturn(new boolean[]{true});
+
+        try (MockedStatic<SecurityUtils> mockedSecurity = mockStatic(SecurityUtils.class)) {
+            mockedSecurity.when(SecurityUtils::getCurrentUserId).thenReturn(7L);
+
+            List<OrderStatusChangeResultDTO> results = orderService.bulkUpdateOrderStatus(1L, new BulkUpdateOrderStatusDTO(List.of(
+                    new OrderStatusChangeDTO(1L, OrderStatus.CONFIRMED, null),
+                    new OrderStatusChangeDTO(1L, OrderStatus.PREPARING, "Started"),
+                    new OrderStatusChangeDTO(2L, OrderStatus.CONFIRMED, null),
+                    new OrderStatusChangeDTO(1L, OrderStatus.DELIVERED, null))));
+
+            assertEquals(4, results.size());
+            assertTrue(results.get(0).updated());
+            assertEquals(OrderStatus.CREATED, results.get(0).oldStatus());
+            assertTrue(results.get(1).updated());
+            assertEquals(OrderStatus.CONFIRMED, results.get(1).oldStatus());
+            assertFalse(results.get(2).updated());
+            assertFalse(results.get(3).updated());
+            assertEquals(OrderStatus.PREPARING, results.get(3).oldStatus());
+        }
+
+        verify(orderStatusBatchRepository).updateStatuses(
+                eq(List.of(new OrderStatusBatchRepository.StatusChange(1L, OrderStatus.CREATED, OrderStatus.PREPARING))), any());
+        verify(orderStatusBatchRepository).insertHistory(argThat(history -> history.size() == 2), any());
+        verify(orderEventProducer).publishOrderStatusChangedAll(argThat(events -> events.size() == 2));
+        verify(orderSummaryProjector).statusChanged(eq(1L), eq(OrderStatus.PREPARING), isNull(), any());
+        verify(orderRepository, never()).findAllByIdWithItems(any());
+    }
+
+    private static OrderRepository.StatusRow statusRow(Long orderId, Long restaurantId, OrderStatus status) {
+        OrderRepository.StatusRow row = mock(OrderRepository.StatusRow.class);
+        lenient().when(row.getId()).thenReturn(orderId);
+        lenient().when(row.getRestaurantId()).thenReturn(restaurantId);
+        lenient().when(row.getStatus()).thenReturn(status);
+        lenient().when(row.getUserId()).thenReturn(1L);
+        return row;
+    }
+
+    private static OrderRepository.StatusTransition transition(String oldStatus, String promoCode) {
+        OrderRepository.StatusTransition transition = mock(OrderRepository.StatusTransition.class);
+        when(transition.getOldStatus()).thenReturn(oldStatus);
+        lenient().when(transition.getPromoCode()).thenReturn(promoCode);
+        return transition;
+    }
+}
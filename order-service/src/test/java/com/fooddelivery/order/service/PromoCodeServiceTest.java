@@ -0,0 +1,160 @@
+package com.fooddelivery.order.service;
+
+import com.fooddelivery.order.entity.PromoCode;
+import com.fooddelivery.order.entity.PromoCodeUsage;
+import com.fooddelivery.order.enums.DiscountType;
+import com.fooddelivery.order.exception.InvalidPromoCodeException;
+import com.fooddelivery.order.repository.PromoCodeRepository;
+import com.fooddelivery.order.repository.PromoCodeUsageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PromoCodeServiceTest {
+
+    @Mock
+    private PromoCodeRepository promoCodeRepository;
+
+    @Mock
+    private PromoCodeUsageRepository promoCodeUsageRepository;
+
+    @Mock
+    private PromoCodeIndex promoCodeIndex;
+
+    @Mock
+    private PromoUsageCounters usageCounters;
+
+    @InjectMocks
+    private PromoCodeService promoCodeService;
+
+    private PromoCode promoCode;
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        promoCode = new PromoCode();
+        promoCode.setId(5L);
+        promoCode.setCode("WELCOME10");
+        promoCode.setDiscountType(DiscountType.PERCENTAGE);
+        promoCode.setDiscountValue(BigDecimal.TEN);
+        promoCode.setValidFrom(LocalDateTime.now().minusDays(1));
+        promoCode.setValidUntil(LocalDateTime.now().plusDays(1));
+        promoCode.setMaxTotalUses(1000);
+        promoCode.setMaxUsesPerUser(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void validatePromoCode_ResolvesFromIndex() {
+        when(promoCodeIndex.find(" welcome10 ")).thenReturn(Optional.of(promoCode));
+
+        PromoCode result = promoCodeService.validatePromoCode(" welcome10 ", 1L, new BigDecimal("25.00"));
+
+        assertSame(promoCode, result);
+        verify(promoCodeRepository, never()).findAllActive(any());
+    }
+
+    @Test
+    void reserveUsage_SeedsCountersOnceThenReserves() {
+        when(usageCounters.reserve(eq(promoCode), eq(1L), anyString(), eq(-1L), eq(-1L)))
+                .thenReturn(PromoUsageCounters.TOTAL_SEED_REQUIRED);
+        when(promoCodeUsageRepository.countByPromoCodeId(5L)).thenReturn(40L);
+        when(usageCounters.reserve(eq(promoCode), eq(1L), anyString(), eq(40L), eq(-1L)))
+                .thenReturn(PromoUsageCounters.USER_SEED_REQUIRED);
+        when(promoCodeUsageRepository.countByUserIdAndPromoCodeId(1L, 5L)).thenReturn(0);
+        when(usageCounters.reserve(eq(promoCode), eq(1L), anyString(), eq(40L), eq(0L)))
+                .thenReturn(PromoUsageCounters.RESERVED);
+
+        PromoCodeService.PromoReservation reservation = promoCodeService.reserveUsage(promoCode, 1L);
+
+        assertTrue(reservation.counted());
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        verify(usageCounters).confirm(5L, 1L, reservation.token());
+        verify(usageCounters, never()).release(anyLong(), anyLong(), anyString());
+    }
+
+    @Test
+    void reserveUsage_RollbackReleasesHold() {
+        when(usageCounters.reserve(eq(promoCode), eq(1L), anyString(), anyLong(), anyLong()))
+                .thenReturn(PromoUsageCounters.RESERVED);
+
+        PromoCodeService.PromoReservation reservation = promoCodeService.reserveUsage(promoCode, 1L);
+
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        verify(usageCounters).release(5L, 1L, reservation.token());
+    }
+
+    @Test
+    void reserveUsage_LimitReached_ThrowsException() {
+        when(usageCounters.reserve(eq(promoCode), eq(1L), anyString(), anyLong(), anyLong()))
+                .thenReturn(PromoUsageCounters.TOTAL_EXHAUSTED);
+
+        assertThrows(InvalidPromoCodeException.class, () -> promoCodeService.reserveUsage(promoCode, 1L));
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
+
+    @Test
+    void recordUsage_StoresReservationTokenForTheSweeper() {
+        when(usageCounters.reserve(eq(promoCode), eq(1L), anyString(), anyLong(), anyLong()))
+                .thenReturn(PromoUsageCounters.RESERVED);
+        PromoCodeService.PromoReservation reservation = promoCodeService.reserveUsage(promoCode, 1L);
+
+        promoCodeService.recordUsage(promoCode, reservation, 100L);
+
+        ArgumentCaptor<PromoCodeUsage> usage = ArgumentCaptor.forClass(PromoCodeUsage.class);
+        verify(promoCodeUsageRepository).save(usage.capture());
+        assertEquals(reservation.token(), usage.getValue().getReservationToken());
+        assertEquals(100L, usage.getValue().getOrderId());
+    }
+
+    @Test
+    void recordUsage_RedisDown_FallsBackToDatabaseCompareAndSet() {
+        when(usageCounters.reserve(any(), anyLong(), anyString(), anyLong(), anyLong()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(promoCodeRepository.incrementUsageIfAvailable(5L)).thenReturn(0);
+
+        PromoCodeService.PromoReservation reservation = promoCodeService.reserveUsage(promoCode, 1L);
+
+        assertFalse(reservation.counted());
+        assertThrows(InvalidPromoCodeException.class,
+                () -> promoCodeService.recordUsage(promoCode, reservation, 100L));
+        verify(promoCodeRepository).recountUsage(5L);
+        verify(promoCodeUsageRepository, never()).save(any(PromoCodeUsage.class));
+    }
+
+    private static void completeTransaction(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(status);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.fooddelivery.payment.config;
+
+import com.fooddelivery.common.outbox.OutboxConfig;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Kafka configuration for payment-service
+ * Produces: payment.processed, payment.failed (via transactional outbox)
+ */
+@Configuration
+@Import(OutboxConfig.class)
+public class KafkaConfig {
+}
@@ -2,9 +2,11 @@ package com.fooddelivery.payment.config;
 
 import com.fooddelivery.common.config.BaseSecurityConfig;
 import com.fooddelivery.common.filter.JwtAuthenticationFilter;
+import com.fooddelivery.common.idempotency.IdempotencyConfig;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -13,6 +15,7 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
+@Import(IdempotencyConfig.class)
 @EnableWebSecurity
 @EnableMethodSecurity
 @RequiredArgsConstructor
@@ -1,5 +1,6 @@
 package com.fooddelivery.payment.controller;
 
+import com.fooddelivery.common.pagination.CursorPage;
 import com.fooddelivery.payment.dto.PaymentResponseDTO;
 import com.fooddelivery.payment.dto.ProcessPaymentRequestDTO;
 import com.fooddelivery.payment.dto.RefundRequestDTO;
@@ -59,9 +60,10 @@ public class PaymentController {
      * Get user's payment history
      */
     @GetMapping("/my-payments")
-    public Page<PaymentResponseDTO> getMyPayments(
-            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
-        return paymentService.getUserPayments(pageable);
+    public CursorPage<PaymentResponseDTO> getMyPayments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return paymentService.getUserPayments(cursor, size);
     }
     
     /**
@@ -4,19 +4,20 @@ import com.fooddelivery.common.event.PaymentFailedEvent;
 import com.fooddelivery.common.event.PaymentProcessedEvent;
 import com.fooddelivery.common.kafka.BaseKafkaEventProducer;
 import com.fooddelivery.common.kafka.KafkaTopics;
+import com.fooddelivery.common.kafka.publish.KafkaEventPublisher;
+import com.fooddelivery.common.outbox.OutboxEventWriter;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 /**
- * Kafka event producer for payment events
+ * Kafka event producer for payment events (staged through the transactional outbox)
  */
 @Component
 @Slf4j
 public class PaymentEventProducer extends BaseKafkaEventProducer {
     
-    public PaymentEventProducer(KafkaTemplate<String, Object> kafkaTemplate) {
-        super(kafkaTemplate);
+    public PaymentEventProducer(KafkaEventPublisher kafkaEventPublisher, OutboxEventWriter outboxEventWriter) {
+        super(kafkaEventPublisher, outboxEventWriter);
     }
     
     /**
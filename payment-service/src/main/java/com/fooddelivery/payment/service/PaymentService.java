@@ -1,5 +1,8 @@
 package com.fooddelivery.payment.service;
 
+import com.fooddelivery.common.pagination.Cursor;
+import com.fooddelivery.common.pagination.CursorPage;
+import com.fooddelivery.common.pagination.CursorPagination;
 import com.fooddelivery.common.security.SecurityUtils;
 import com.fooddelivery.payment.config.PaymentSecurityProperties;
 import com.fooddelivery.payment.dto.PaymentResponseDTO;
@@ -125,7 +128,7 @@ public class PaymentService {
         
         Payment savedPayment = paymentRepository.save(payment);
         
-        // Publish Kafka events
+        // Stage Kafka events in the outbox - relayed after commit
         if (savedPayment.getStatus() == PaymentStatus.COMPLETED) {
             publishPaymentProcessedEvent(savedPayment);
         } else if (savedPayment.getStatus() == PaymentStatus.FAILED) {
@@ -171,10 +174,13 @@ public class PaymentService {
      * Get user's payment history
      */
     @Transactional(readOnly = true)
-    public Page<PaymentResponseDTO> getUserPayments(Pageable pageable) {
+    public CursorPage<PaymentResponseDTO> getUserPayments(String cursor, int size) {
         Long userId = SecurityUtils.getCurrentUserId();
-        return paymentRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable)
-                .map(paymentMapper::toResponse);
+        Cursor position = Cursor.decode(cursor);
+        return CursorPagination.page(
+                paymentRepository.findPageByUserId(userId, position.createdAt(), position.id(), CursorPagination.limit(size)),
+                payment -> new Cursor(payment.getCreatedAt(), payment.getId()),
+                paymentMapper::toResponse);
     }
     
     /**
@@ -193,43 +199,35 @@ public class PaymentService {
     }
     
     /**
-     * Publish PaymentProcessedEvent to Kafka
+     * Stage PaymentProcessedEvent in the outbox (joins the caller's transaction)
      */
     private void publishPaymentProcessedEvent(Payment payment) {
-        try {
-            com.fooddelivery.common.event.PaymentProcessedEvent event = com.fooddelivery.common.event.PaymentProcessedEvent.builder()
-                    .paymentId(payment.getId())
-                    .orderId(payment.getOrderId())
-                    .userId(payment.getUserId())
-                    .amount(payment.getAmount())
-                    .paymentMethod(payment.getMethod().name())
-                    .transactionId(payment.getTransactionId())
-                    .build();
-            
-            paymentEventProducer.publishPaymentProcessed(event);
-        } catch (Exception e) {
-            log.error("Failed to publish PaymentProcessedEvent for payment {}", payment.getId(), e);
-        }
+        com.fooddelivery.common.event.PaymentProcessedEvent event = com.fooddelivery.common.event.PaymentProcessedEvent.builder()
+                .paymentId(payment.getId())
+                .orderId(payment.getOrderId())
+                .userId(payment.getUserId())
+                .amount(payment.getAmount())
+                .paymentMethod(payment.getMethod().name())
+                .transactionId(payment.getTransactionId())
+                .build();
+        
+        paymentEventProducer.publishPaymentProcessed(event);
     }
     
     /**
-     * Publish PaymentFailedEvent to Kafka
+     * Stage PaymentFailedEvent in the outbox (joins the caller's transaction)
      */
     private void publishPaymentFailedEvent(Payment payment, String errorMessage) {
-        try {
-            com.fooddelivery.common.event.PaymentFailedEvent event = com.fooddelivery.common.event.PaymentFailedEvent.builder()
-                    .paymentId(payment.getId())
-                    .orderId(payment.getOrderId())
-                    .userId(payment.getUserId())
-                    .amount(payment.getAmount())
-                    .paymentMethod(payment.getMethod().name())
-                    .errorMessage(errorMessage)
-                    .build();
-            
-            paymentEventProducer.publishPaymentFailed(event);
-        } catch (Exception e) {
-            log.error("Failed to publish PaymentFailedEvent for payment {}", payment.getId(), e);
-        }
+        com.fooddelivery.common.event.PaymentFailedEvent event = com.fooddelivery.common.event.PaymentFailedEvent.builder()
+                .paymentId(payment.getId())
+                .orderId(payment.getOrderId())
+                .userId(payment.getUserId())
+                .amount(payment.getAmount())
+                .paymentMethod(payment.getMethod().name())
+                .errorMessage(errorMessage)
+                .build();
+        
+        paymentEventProducer.publishPaymentFailed(event);
     }
 }
 
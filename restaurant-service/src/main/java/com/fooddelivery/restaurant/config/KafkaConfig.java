@@ -0,0 +1,14 @@
+package com.fooddelivery.restaurant.config;
+
+import com.fooddelivery.common.outbox.OutboxConfig;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Kafka configuration for restaurant-service
+ * Produces: menu.item.changed, restaurant.location.changed (via transactional outbox)
+ */
+@Configuration
+@Import(OutboxConfig.class)
+public class KafkaConfig {
+}
@@ -17,6 +17,7 @@ public class RedisConfig extends BaseRedisConfig {
         
         cacheConfigs.put("restaurants", defaultConfig.entryTtl(Duration.ofHours(1)));
         cacheConfigs.put("menuItems", defaultConfig.entryTtl(Duration.ofMinutes(30)));
+        cacheConfigs.put("menuItemSummaries", defaultConfig.entryTtl(Duration.ofMinutes(30)));
         cacheConfigs.put("restaurantSearch", defaultConfig.entryTtl(Duration.ofMinutes(5)));
     }
 }
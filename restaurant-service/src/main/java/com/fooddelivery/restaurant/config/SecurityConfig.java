@@ -53,7 +53,9 @@ public class SecurityConfig extends BaseSecurityConfig {
             "/api/restaurants/search/**",
             "/api/restaurants/*/menu",
             "/api/restaurants/*/menu/**",
-            "/api/restaurants/*/reviews"
+            "/api/restaurants/*/reviews",
+            "/api/menu-items/batch",
+            "/api/menu-items/snapshot"
         };
     }
 }
@@ -0,0 +1,54 @@
+package com.fooddelivery.restaurant.controller;
+
+import com.fooddelivery.restaurant.dto.MenuItemBatchResponseDTO;
+import com.fooddelivery.restaurant.dto.MenuItemSnapshotPageDTO;
+import com.fooddelivery.restaurant.service.MenuItemService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Internal endpoints for other services (order-service resolves names and prices here)
+ */
+@RestController
+@RequestMapping("/api/menu-items")
+@RequiredArgsConstructor
+@Validated
+public class MenuItemBatchController {
+    
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final int MAX_SNAPSHOT_PAGE_SIZE = 5000;
+    
+    private final MenuItemService menuItemService;
+    
+    /**
+     * Resolve many menu items by id in one call
+     */
+    @GetMapping("/batch")
+    public MenuItemBatchResponseDTO getMenuItemsBatch(
+            @RequestParam 
+            @NotEmpty(message = "At least one id is required") 
+            @Size(max = MAX_BATCH_SIZE, message = "At most 100 ids per request") 
+            List<Long> ids) {
+        return menuItemService.getMenuItemsBatch(ids);
+    }
+    
+    /**
+     * Page through all menu items (keyset by id) to bootstrap a local snapshot
+     */
+    @GetMapping("/snapshot")
+    public MenuItemSnapshotPageDTO getMenuSnapshot(
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "1000") 
+            @Min(1) 
+            @Max(value = MAX_SNAPSHOT_PAGE_SIZE, message = "At most 5000 items per page") 
+            int limit) {
+        return menuItemService.getMenuSnapshotPage(afterId, limit);
+    }
+}
@@ -0,0 +1,11 @@
+package com.fooddelivery.restaurant.dto;
+
+import java.util.List;
+
+/**
+ * Batch lookup result: found items in request order plus ids that do not exist
+ */
+public record MenuItemBatchResponseDTO(
+    List<MenuItemSummaryDTO> items,
+    List<Long> missingIds
+) {}
@@ -0,0 +1,11 @@
+package com.fooddelivery.restaurant.dto;
+
+import java.util.List;
+
+/**
+ * Page of the full menu snapshot; nextAfterId is null on the last page
+ */
+public record MenuItemSnapshotPageDTO(
+    List<MenuItemVersionDTO> items,
+    Long nextAfterId
+) {}
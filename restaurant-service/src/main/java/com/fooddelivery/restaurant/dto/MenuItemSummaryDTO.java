@@ -0,0 +1,14 @@
+package com.fooddelivery.restaurant.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Compact menu item snapshot for service-to-service lookups (order pricing)
+ */
+public record MenuItemSummaryDTO(
+    Long id,
+    Long restaurantId,
+    String name,
+    BigDecimal price,
+    Boolean isAvailable
+) {}
@@ -0,0 +1,16 @@
+package com.fooddelivery.restaurant.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Menu item snapshot row with its last modification time, used to bootstrap consumer caches
+ */
+public record MenuItemVersionDTO(
+    Long id,
+    Long restaurantId,
+    String name,
+    BigDecimal price,
+    Boolean isAvailable,
+    LocalDateTime updatedAt
+) {}
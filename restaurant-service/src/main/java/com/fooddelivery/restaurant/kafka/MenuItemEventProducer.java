@@ -0,0 +1,33 @@
+package com.fooddelivery.restaurant.kafka;
+
+import com.fooddelivery.common.event.MenuItemChangedEvent;
+import com.fooddelivery.common.kafka.BaseKafkaEventProducer;
+import com.fooddelivery.common.kafka.KafkaTopics;
+import com.fooddelivery.common.kafka.publish.KafkaEventPublisher;
+import com.fooddelivery.common.outbox.OutboxEventWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Kafka event producer for menu item events (staged through the transactional outbox)
+ */
+@Component
+@Slf4j
+public class MenuItemEventProducer extends BaseKafkaEventProducer {
+    
+    public MenuItemEventProducer(KafkaEventPublisher kafkaEventPublisher, OutboxEventWriter outboxEventWriter) {
+        super(kafkaEventPublisher, outboxEventWriter);
+    }
+    
+    /**
+     * Publish menu item changed event (keyed by menu item id, so changes of one item stay ordered)
+     */
+    public void publishMenuItemChanged(MenuItemChangedEvent event) {
+        publishEvent(
+            KafkaTopics.MENU_ITEM_CHANGED,
+            event.getMenuItemId().toString(),
+            event,
+            "MenuItemChangedEvent"
+        );
+    }
+}
@@ -0,0 +1,33 @@
+package com.fooddelivery.restaurant.kafka;
+
+import com.fooddelivery.common.event.RestaurantLocationChangedEvent;
+import com.fooddelivery.common.kafka.BaseKafkaEventProducer;
+import com.fooddelivery.common.kafka.KafkaTopics;
+import com.fooddelivery.common.kafka.publish.KafkaEventPublisher;
+import com.fooddelivery.common.outbox.OutboxEventWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Kafka event producer for restaurant events (staged through the transactional outbox)
+ */
+@Component
+@Slf4j
+public class RestaurantEventProducer extends BaseKafkaEventProducer {
+    
+    public RestaurantEventProducer(KafkaEventPublisher kafkaEventPublisher, OutboxEventWriter outboxEventWriter) {
+        super(kafkaEventPublisher, outboxEventWriter);
+    }
+    
+    /**
+     * Publish restaurant location changed event
+     */
+    public void publishRestaurantLocationChanged(RestaurantLocationChangedEvent event) {
+        publishEvent(
+            KafkaTopics.RESTAURANT_LOCATION_CHANGED,
+            event.getRestaurantId().toString(),
+            event,
+            "RestaurantLocationChangedEvent"
+        );
+    }
+}
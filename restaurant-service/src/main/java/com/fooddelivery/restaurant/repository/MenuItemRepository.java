@@ -1,12 +1,16 @@
 package com.fooddelivery.restaurant.repository;
 
+import com.fooddelivery.restaurant.dto.MenuItemSummaryDTO;
+import com.fooddelivery.restaurant.dto.MenuItemVersionDTO;
 import com.fooddelivery.restaurant.entity.MenuItem;
 import com.fooddelivery.restaurant.enums.MenuCategory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,7 +25,25 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
     
     Optional<MenuItem> findByIdAndRestaurantId(Long id, Long restaurantId);
     
+    @Query("SELECT m FROM MenuItem m JOIN FETCH m.restaurant WHERE m.id = :id")
+    Optional<MenuItem> findByIdWithRestaurant(@Param("id") Long id);
+    
     @Query("SELECT DISTINCT m.category FROM MenuItem m WHERE m.restaurant.id = :restaurantId")
     List<MenuCategory> findCategoriesByRestaurantId(@Param("restaurantId") Long restaurantId);
+    
+    /**
+     * Batch lookup of compact menu item snapshots (single IN query, no entity hydration)
+     */
+    @Query("SELECT new com.fooddelivery.restaurant.dto.MenuItemSummaryDTO(" +
+           "m.id, m.restaurant.id, m.name, m.price, m.isAvailable) " +
+           "FROM MenuItem m WHERE m.id IN :ids")
+    List<MenuItemSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Keyset page over all menu items for snapshot bootstrap (id order, no entity hydration)
+     */
+    @Query("SELECT new com.fooddelivery.restaurant.dto.MenuItemVersionDTO(" +
+           "m.id, m.restaurant.id, m.name, m.price, m.isAvailable, m.updatedAt) " +
+           "FROM MenuItem m WHERE m.id > :afterId ORDER BY m.id")
+    List<MenuItemVersionDTO> findSnapshotPage(@Param("afterId") Long afterId, Pageable pageable);
 }
-
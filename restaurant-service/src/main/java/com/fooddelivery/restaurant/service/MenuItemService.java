@@ -1,34 +1,63 @@
 package com.fooddelivery.restaurant.service;
 
+import com.fooddelivery.common.event.MenuItemChangedEvent;
 import com.fooddelivery.common.security.SecurityUtils;
+import com.fooddelivery.restaurant.dto.MenuItemBatchResponseDTO;
 import com.fooddelivery.restaurant.dto.MenuItemRequestDTO;
 import com.fooddelivery.restaurant.dto.MenuItemResponseDTO;
+import com.fooddelivery.restaurant.dto.MenuItemSnapshotPageDTO;
+import com.fooddelivery.restaurant.dto.MenuItemSummaryDTO;
+import com.fooddelivery.restaurant.dto.MenuItemVersionDTO;
 import com.fooddelivery.restaurant.enums.MenuCategory;
 import com.fooddelivery.restaurant.entity.MenuItem;
 import com.fooddelivery.restaurant.entity.Restaurant;
 import com.fooddelivery.restaurant.exception.MenuItemNotFoundException;
 import com.fooddelivery.restaurant.exception.RestaurantNotFoundException;
 import com.fooddelivery.restaurant.exception.UnauthorizedAccessException;
+import com.fooddelivery.restaurant.kafka.MenuItemEventProducer;
 import com.fooddelivery.restaurant.mapper.MenuItemMapper;
 import com.fooddelivery.restaurant.repository.MenuItemRepository;
 import com.fooddelivery.restaurant.repository.RestaurantRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class MenuItemService {
     
+    private static final String MENU_ITEM_SUMMARIES_CACHE = "menuItemSummaries";
+    
     private final MenuItemRepository menuItemRepository;
     private final RestaurantRepository restaurantRepository;
     private final MenuItemMapper menuItemMapper;
+    private final CacheManager cacheManager;
+    private final MenuItemEventProducer menuItemEventProducer;
+    private final StringRedisTemplate redisTemplate;
+    private final PlatformTransactionManager transactionManager;
     
     @Transactional(readOnly = true)
     @Cacheable(value = "menuItems", key = "#restaurantId")
@@ -78,11 +107,55 @@ public class MenuItemService {
         MenuItem saved = menuItemRepository.save(menuItem);
         log.info("Menu item created with id: {}", saved.getId());
         
+        publishMenuItemChanged(saved, MenuItemChangedEvent.CREATED);
+        
         return menuItemMapper.toResponse(saved);
     }
     
+    /**
+     * Resolve menu items by id for other services.
+     * Each item is cached under its own id and all of them are read in one MGET; only cache
+     * misses hit the DB, in a single IN query and the only read-only transaction of the call.
+     */
+    public MenuItemBatchResponseDTO getMenuItemsBatch(List<Long> ids) {
+        List<Long> uniqueIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        
+        Cache cache = cacheManager.getCache(MENU_ITEM_SUMMARIES_CACHE);
+        Map<Long, MenuItemSummaryDTO> found = getCachedSummaries(cache, uniqueIds);
+        List<Long> misses = uniqueIds.stream()
+                .filter(id -> !found.containsKey(id))
+                .toList();
+        
+        if (!misses.isEmpty()) {
+            log.debug("Menu item batch: {} cached, {} loaded from DB", found.size(), misses.size());
+            for (MenuItemSummaryDTO summary : loadSummaries(misses)) {
+                found.put(summary.id(), summary);
+                putCachedSummary(cache, summary);
+            }
+        }
+        
+        List<MenuItemSummaryDTO> items = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            MenuItemSummaryDTO summary = found.get(id);
+            if (summary != null) {
+                items.add(summary);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        
+        return new MenuItemBatchResponseDTO(items, missingIds);
+    }
+    
     @Transactional
-    @CacheEvict(value = "menuItems", allEntries = true)
+    @Caching(evict = {
+        @CacheEvict(value = "menuItems", allEntries = true),
+        @CacheEvict(value = MENU_ITEM_SUMMARIES_CACHE, key = "#itemId")
+    })
     public MenuItemResponseDTO updateMenuItem(Long restaurantId, Long itemId, MenuItemRequestDTO request) {
         Long currentUserId = SecurityUtils.getCurrentUserId();
         log.info("Updating menu item: {} for restaurant: {}", itemId, restaurantId);
@@ -92,15 +165,29 @@ public class MenuItemService {
         MenuItem menuItem = menuItemRepository.findByIdAndRestaurantId(itemId, restaurantId)
                 .orElseThrow(() -> new MenuItemNotFoundException("Menu item not found"));
         
-        menuItemMapper.updateEntity(request, menuItem);
-        MenuItem updated = menuItemRepository.save(menuItem);
+        return applyUpdate(menuItem, request);
+    }
+    
+    /**
+     * Update menu item by id (ownership resolved through the item's restaurant)
+     */
+    @Transactional
+    @Caching(evict = {
+        @CacheEvict(value = "menuItems", allEntries = true),
+        @CacheEvict(value = MENU_ITEM_SUMMARIES_CACHE, key = "#menuItemId")
+    })
+    public MenuItemResponseDTO updateMenuItem(Long menuItemId, MenuItemRequestDTO request) {
+        Long currentUserId = SecurityUtils.getCurrentUserId();
+        log.info("Updating menu item: {}", menuItemId);
         
-        log.info("Menu item updated: {}", itemId);
-        return menuItemMapper.toResponse(updated);
+        return applyUpdate(findMenuItemAndCheckOwnership(menuItemId, currentUserId), request);
     }
     
     @Transactional
-    @CacheEvict(value = "menuItems", allEntries = true)
+    @Caching(evict = {
+        @CacheEvict(value = "menuItems", allEntries = true),
+        @CacheEvict(value = MENU_ITEM_SUMMARIES_CACHE, key = "#itemId")
+    })
     public void deleteMenuItem(Long restaurantId, Long itemId) {
         Long currentUserId = SecurityUtils.getCurrentUserId();
         log.info("Deleting menu item: {} from restaurant: {}", itemId, restaurantId);
@@ -110,8 +197,179 @@ public class MenuItemService {
         MenuItem menuItem = menuItemRepository.findByIdAndRestaurantId(itemId, restaurantId)
                 .orElseThrow(() -> new MenuItemNotFoundException("Menu item not found"));
         
+        remove(menuItem);
+    }
+    
+    /**
+     * Delete menu item by id (ownership resolved through the item's restaurant)
+     */
+    @Transactional
+    @Caching(evict = {
+        @CacheEvict(value = "menuItems", allEntries = true),
+        @CacheEvict(value = MENU_ITEM_SUMMARIES_CACHE, key = "#menuItemId")
+    })
+    public void deleteMenuItem(Long menuItemId) {
+        Long currentUserId = SecurityUtils.getCurrentUserId();
+        log.info("Deleting menu item: {}", menuItemId);
+        
+        remove(findMenuItemAndCheckOwnership(menuItemId, currentUserId));
+    }
+    
+    @Transactional
+    @Caching(evict = {
+        @CacheEvict(value = "menuItems", allEntries = true),
+        @CacheEvict(value = MENU_ITEM_SUMMARIES_CACHE, key = "#menuItemId")
+    })
+    public MenuItemResponseDTO toggleAvailability(Long menuItemId) {
+        Long currentUserId = SecurityUtils.getCurrentUserId();
+        
+        MenuItem menuItem = findMenuItemAndCheckOwnership(menuItemId, currentUserId);
+        menuItem.setIsAvailable(!Boolean.TRUE.equals(menuItem.getIsAvailable()));
+        MenuItem updated = menuItemRepository.saveAndFlush(menuItem);
+        log.info("Menu item {} availability set to {}", menuItemId, updated.getIsAvailable());
+        
+        publishMenuItemChanged(updated, MenuItemChangedEvent.AVAILABILITY_CHANGED);
+        
+        return menuItemMapper.toResponse(updated);
+    }
+    
+    /**
+     * Full menu snapshot, paged by id, for consumers bootstrapping a local copy
+     */
+    @Transactional(readOnly = true)
+    public MenuItemSnapshotPageDTO getMenuSnapshotPage(Long afterId, int limit) {
+        List<MenuItemVersionDTO> items = menuItemRepository.findSnapshotPage(
+                afterId != null ? afterId : 0L, PageRequest.of(0, limit));
+        Long nextAfterId = items.size() == limit ? items.get(items.size() - 1).id() : null;
+        return new MenuItemSnapshotPageDTO(items, nextAfterId);
+    }
+    
+    private MenuItemResponseDTO applyUpdate(MenuItem menuItem, MenuItemRequestDTO request) {
+        menuItemMapper.updateEntity(request, menuItem);
+        // Flush so @PreUpdate stamps updatedAt before it becomes the event version
+        MenuItem updated = menuItemRepository.saveAndFlush(menuItem);
+        log.info("Menu item updated: {}", updated.getId());
+        
+        publishMenuItemChanged(updated, MenuItemChangedEvent.UPDATED);
+        
+        return menuItemMapper.toResponse(updated);
+    }
+    
+    private void remove(MenuItem menuItem) {
         menuItemRepository.delete(menuItem);
-        log.info("Menu item deleted: {}", itemId);
+        log.info("Menu item deleted: {}", menuItem.getId());
+        
+        MenuItemChangedEvent event = MenuItemChangedEvent.builder()
+                .changeType(MenuItemChangedEvent.DELETED)
+                .menuItemId(menuItem.getId())
+                .restaurantId(menuItem.getRestaurant().getId())
+                .available(false)
+                .version(MenuItemChangedEvent.versionOf(LocalDateTime.now()))
+                .build();
+        menuItemEventProducer.publishMenuItemChanged(event);
+    }
+    
+    /**
+     * Stage MenuItemChangedEvent in the outbox (joins the caller's transaction)
+     */
+    private void publishMenuItemChanged(MenuItem menuItem, String changeType) {
+        MenuItemChangedEvent event = MenuItemChangedEvent.builder()
+                .changeType(changeType)
+                .menuItemId(menuItem.getId())
+                .restaurantId(menuItem.getRestaurant().getId())
+                .name(menuItem.getName())
+                .price(menuItem.getPrice())
+                .available(menuItem.getIsAvailable())
+                .version(MenuItemChangedEvent.versionOf(menuItem.getUpdatedAt()))
+                .build();
+        menuItemEventProducer.publishMenuItemChanged(event);
+    }
+    
+    /**
+     * Batch cache read: one MGET on the keys the Redis cache writes, decoded with its value
+     * serializer. Degrades to all misses when Redis is unavailable.
+     */
+    private Map<Long, MenuItemSummaryDTO> getCachedSummaries(Cache cache, List<Long> ids) {
+        Map<Long, MenuItemSummaryDTO> found = new HashMap<>();
+        if (!(cache instanceof RedisCache redisCache)) {
+            for (Long id : ids) {
+                MenuItemSummaryDTO cached = getCachedSummary(cache, id);
+                if (cached != null) {
+                    found.put(id, cached);
+                }
+            }
+            return found;
+        }
+        if (ids.isEmpty()) {
+            return found;
+        }
+        
+        RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+        String prefix = config.getKeyPrefixFor(redisCache.getName());
+        byte[][] keys = ids.stream()
+                .map(id -> (prefix + id).getBytes(StandardCharsets.UTF_8))
+                .toArray(byte[][]::new);
+        try {
+            List<byte[]> values = redisTemplate.execute(
+                    (RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(keys));
+            if (values == null) {
+                return found;
+            }
+            for (int i = 0; i < ids.size(); i++) {
+                byte[] value = values.get(i);
+                if (value != null
+                        && config.getValueSerializationPair().read(ByteBuffer.wrap(value)) instanceof MenuItemSummaryDTO summary) {
+                    found.put(ids.get(i), summary);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Menu item cache batch read failed for {} ids: {}", ids.size(), e.getMessage());
+            found.clear();
+        }
+        return found;
+    }
+    
+    private List<MenuItemSummaryDTO> loadSummaries(List<Long> ids) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> menuItemRepository.findSummariesByIdIn(ids));
+    }
+    
+    /**
+     * Cache read that degrades to a miss when Redis is unavailable
+     */
+    private MenuItemSummaryDTO getCachedSummary(Cache cache, Long id) {
+        if (cache == null) {
+            return null;
+        }
+        try {
+            return cache.get(id, MenuItemSummaryDTO.class);
+        } catch (RuntimeException e) {
+            log.warn("Menu item cache read failed for id {}: {}", id, e.getMessage());
+            return null;
+        }
+    }
+    
+    private void putCachedSummary(Cache cache, MenuItemSummaryDTO summary) {
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.put(summary.id(), summary);
+        } catch (RuntimeException e) {
+            log.warn("Menu item cache write failed for id {}: {}", summary.id(), e.getMessage());
+        }
+    }
+    
+    private MenuItem findMenuItemAndCheckOwnership(Long menuItemId, Long currentUserId) {
+        MenuItem menuItem = menuItemRepository.findByIdWithRestaurant(menuItemId)
+                .orElseThrow(() -> new MenuItemNotFoundException("Menu item not found"));
+        
+        if (!menuItem.getRestaurant().getOwnerId().equals(currentUserId)) {
+            throw new UnauthorizedAccessException("You are not authorized to manage this restaurant's menu");
+        }
+        
+        return menuItem;
     }
     
     @Transactional(readOnly = true)
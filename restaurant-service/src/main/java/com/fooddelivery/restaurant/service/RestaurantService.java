@@ -1,5 +1,6 @@
 package com.fooddelivery.restaurant.service;
 
+import com.fooddelivery.common.event.RestaurantLocationChangedEvent;
 import com.fooddelivery.common.security.SecurityUtils;
 import com.fooddelivery.restaurant.dto.RestaurantRequestDTO;
 import com.fooddelivery.restaurant.dto.RestaurantResponseDTO;
@@ -7,6 +8,7 @@ import com.fooddelivery.restaurant.dto.RestaurantSearchDTO;
 import com.fooddelivery.restaurant.entity.Restaurant;
 import com.fooddelivery.restaurant.exception.RestaurantNotFoundException;
 import com.fooddelivery.restaurant.exception.UnauthorizedAccessException;
+import com.fooddelivery.restaurant.kafka.RestaurantEventProducer;
 import com.fooddelivery.restaurant.mapper.RestaurantMapper;
 import com.fooddelivery.restaurant.repository.RestaurantRepository;
 import lombok.RequiredArgsConstructor;
@@ -16,7 +18,9 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -27,6 +31,7 @@ public class RestaurantService {
     
     private final RestaurantRepository restaurantRepository;
     private final RestaurantMapper restaurantMapper;
+    private final RestaurantEventProducer restaurantEventProducer;
     
     @Transactional(readOnly = true)
     @Cacheable(value = "restaurants", key = "#id")
@@ -105,10 +110,16 @@ public class RestaurantService {
         log.info("Updating restaurant: {}", id);
         
         Restaurant restaurant = findRestaurantAndCheckOwnership(id, currentUserId);
+        BigDecimal oldLatitude = restaurant.getLatitude();
+        BigDecimal oldLongitude = restaurant.getLongitude();
         
         restaurantMapper.updateEntity(request, restaurant);
         Restaurant updated = restaurantRepository.save(restaurant);
         
+        if (!Objects.equals(oldLatitude, updated.getLatitude()) || !Objects.equals(oldLongitude, updated.getLongitude())) {
+            publishLocationChanged(updated, false);
+        }
+        
         log.info("Restaurant updated: {}", id);
         return restaurantMapper.toResponse(updated);
     }
@@ -123,9 +134,23 @@ public class RestaurantService {
         
         restaurant.softDelete();
         restaurantRepository.save(restaurant);
+        publishLocationChanged(restaurant, true);
         log.info("Restaurant soft deleted: {}", id);
     }
     
+    /**
+     * Stage RestaurantLocationChangedEvent in the outbox (joins the caller's transaction)
+     */
+    private void publishLocationChanged(Restaurant restaurant, boolean deleted) {
+        RestaurantLocationChangedEvent event = RestaurantLocationChangedEvent.builder()
+                .restaurantId(restaurant.getId())
+                .latitude(restaurant.getLatitude())
+                .longitude(restaurant.getLongitude())
+                .deleted(deleted)
+                .build();
+        restaurantEventProducer.publishRestaurantLocationChanged(event);
+    }
+    
     @Transactional(readOnly = true)
     private Restaurant findActiveRestaurantById(Long id) {
         return restaurantRepository.findActiveById(id)
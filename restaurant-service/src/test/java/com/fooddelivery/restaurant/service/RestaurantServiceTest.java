@@ -6,6 +6,7 @@ import com.fooddelivery.restaurant.dto.RestaurantSearchDTO;
 import com.fooddelivery.restaurant.entity.Restaurant;
 import com.fooddelivery.restaurant.exception.RestaurantNotFoundException;
 import com.fooddelivery.restaurant.exception.UnauthorizedAccessException;
+import com.fooddelivery.restaurant.kafka.RestaurantEventProducer;
 import com.fooddelivery.restaurant.mapper.RestaurantMapper;
 import com.fooddelivery.restaurant.repository.RestaurantRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -33,6 +34,9 @@ class RestaurantServiceTest {
     @Mock
     private RestaurantMapper restaurantMapper;
 
+    @Mock
+    private RestaurantEventProducer restaurantEventProducer;
+
     @InjectMocks
     private RestaurantService restaurantService;
 
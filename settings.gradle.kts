@@ -23,3 +23,6 @@ include("notification-service")
 // Common library
 include("common-lib")
 
+// JMH benchmarks (not deployed)
+include("benchmarks")
+
@@ -0,0 +1,14 @@
+package com.fooddelivery.user.config;
+
+import com.fooddelivery.common.outbox.OutboxConfig;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Kafka configuration for user-service
+ * Produces: user.address.changed (via transactional outbox)
+ */
+@Configuration
+@Import(OutboxConfig.class)
+public class KafkaConfig {
+}
@@ -0,0 +1,33 @@
+package com.fooddelivery.user.kafka;
+
+import com.fooddelivery.common.event.AddressChangedEvent;
+import com.fooddelivery.common.kafka.BaseKafkaEventProducer;
+import com.fooddelivery.common.kafka.KafkaTopics;
+import com.fooddelivery.common.kafka.publish.KafkaEventPublisher;
+import com.fooddelivery.common.outbox.OutboxEventWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Kafka event producer for address events (staged through the transactional outbox)
+ */
+@Component
+@Slf4j
+public class AddressEventProducer extends BaseKafkaEventProducer {
+    
+    public AddressEventProducer(KafkaEventPublisher kafkaEventPublisher, OutboxEventWriter outboxEventWriter) {
+        super(kafkaEventPublisher, outboxEventWriter);
+    }
+    
+    /**
+     * Publish address changed event
+     */
+    public void publishAddressChanged(AddressChangedEvent event) {
+        publishEvent(
+            KafkaTopics.ADDRESS_CHANGED,
+            event.getAddressId().toString(),
+            event,
+            "AddressChangedEvent"
+        );
+    }
+}
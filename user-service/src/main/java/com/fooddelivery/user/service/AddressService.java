@@ -1,5 +1,6 @@
 package com.fooddelivery.user.service;
 
+import com.fooddelivery.common.event.AddressChangedEvent;
 import com.fooddelivery.user.config.AddressProperties;
 import com.fooddelivery.user.dto.AddressRequestDTO;
 import com.fooddelivery.user.dto.AddressResponseDTO;
@@ -8,6 +9,7 @@ import com.fooddelivery.user.entity.UserAddress;
 import com.fooddelivery.user.exception.AddressLimitExceededException;
 import com.fooddelivery.user.exception.AddressNotFoundException;
 import com.fooddelivery.user.exception.UserNotFoundException;
+import com.fooddelivery.user.kafka.AddressEventProducer;
 import com.fooddelivery.user.repository.UserAddressRepository;
 import com.fooddelivery.user.repository.UserRepository;
 import com.fooddelivery.user.security.UserPrincipal;
@@ -20,7 +22,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -31,6 +35,7 @@ public class AddressService {
     private final UserRepository userRepository;
     private final AddressMapper addressMapper;
     private final AddressProperties addressProperties;
+    private final AddressEventProducer addressEventProducer;
     
     @Transactional(readOnly = true)
     @Cacheable(value = "addresses", key = "#root.target.getCurrentUserId()")
@@ -105,6 +110,9 @@ public class AddressService {
             addressRepository.resetDefaultForUser(userId);
         }
         
+        BigDecimal oldLatitude = address.getLatitude();
+        BigDecimal oldLongitude = address.getLongitude();
+        
         address.setAddressLine(request.addressLine());
         address.setCity(request.city());
         address.setPostalCode(request.postalCode());
@@ -119,6 +127,11 @@ public class AddressService {
         }
         
         UserAddress updatedAddress = addressRepository.save(address);
+        
+        if (!Objects.equals(oldLatitude, updatedAddress.getLatitude()) 
+                || !Objects.equals(oldLongitude, updatedAddress.getLongitude())) {
+            publishAddressChanged(updatedAddress, userId, false);
+        }
         log.info("Address updated successfully: {}", addressId);
         
         return addressMapper.toResponse(updatedAddress);
@@ -133,6 +146,21 @@ public class AddressService {
         
         log.info("Deleting address: {} for user: {}", addressId, userId);
         addressRepository.delete(address);
+        publishAddressChanged(address, userId, true);
+    }
+    
+    /**
+     * Stage AddressChangedEvent in the outbox (joins the caller's transaction)
+     */
+    private void publishAddressChanged(UserAddress address, Long userId, boolean deleted) {
+        AddressChangedEvent event = AddressChangedEvent.builder()
+                .addressId(address.getId())
+                .userId(userId)
+                .latitude(address.getLatitude())
+                .longitude(address.getLongitude())
+                .deleted(deleted)
+                .build();
+        addressEventProducer.publishAddressChanged(event);
     }
     
     private Long getCurrentUserId() {
@@ -7,6 +7,7 @@ import com.fooddelivery.user.entity.User;
 import com.fooddelivery.user.entity.UserAddress;
 import com.fooddelivery.user.exception.AddressNotFoundException;
 import com.fooddelivery.user.exception.UserNotFoundException;
+import com.fooddelivery.user.kafka.AddressEventProducer;
 import com.fooddelivery.user.mapper.AddressMapper;
 import com.fooddelivery.user.repository.AddressRepository;
 import com.fooddelivery.user.repository.UserRepository;
@@ -38,6 +39,9 @@ class AddressServiceTest {
     @Mock
     private AddressMapper addressMapper;
 
+    @Mock
+    private AddressEventProducer addressEventProducer;
+
     @InjectMocks
     private AddressService addressService;
 